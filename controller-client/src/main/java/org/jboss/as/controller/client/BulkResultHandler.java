@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handler receiving the results of operations executed in bulk.
+ * <p>
+ * Results are reported as soon as they are received, possibly by the threads handling the connection to the
+ * controller, so implementations should not block.
+ * </p>
+ *
+ * @see org.jboss.as.controller.client.helpers.BulkOperationExecution#execute(ModelControllerClient, java.util.List, int, BulkResultHandler)
+ */
+public interface BulkResultHandler {
+
+    /**
+     * Handle the result of an operation.
+     *
+     * @param index the index of the operation in the list of executed operations
+     * @param result the result of the operation
+     */
+    void handleResult(int index, ModelNode result);
+
+    /**
+     * Handle the failure to get the result of an operation, for instance because the connection to the controller was
+     * closed or the operation was cancelled. A failed operation reports its failure as a {@link #handleResult(int, ModelNode) result}.
+     *
+     * @param index the index of the operation in the list of executed operations
+     * @param cause the cause of the failure
+     */
+    void handleFailure(int index, Throwable cause);
+}
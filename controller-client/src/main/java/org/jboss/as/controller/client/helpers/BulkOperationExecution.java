@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client.helpers;
+
+import static org.jboss.as.controller.client.logging.ControllerClientLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.jboss.as.controller.client.BulkResultHandler;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * Executes independent operations over a {@link ModelControllerClient}, sending an operation without waiting for the
+ * result of the previous ones as long as the number of operations in flight stays below a limit.
+ * <p>
+ * Unlike the steps of a composite operation, the operations are executed separately: the failure of one of them
+ * doesn't roll back the others, and no lock is held from one operation to the next. The results are reported to the
+ * handler as soon as they are received, which may not be in the order of the operations.
+ * </p>
+ */
+public final class BulkOperationExecution {
+
+    private static final AsyncFuture.Listener<ModelNode, Entry> LISTENER = new AsyncFuture.Listener<ModelNode, Entry>() {
+
+        @Override
+        public void handleComplete(final AsyncFuture<? extends ModelNode> future, final Entry entry) {
+            try {
+                entry.execution.resultHandler.handleResult(entry.index, future.getUninterruptibly());
+            } catch (ExecutionException e) {
+                entry.execution.resultHandler.handleFailure(entry.index, e.getCause());
+            } finally {
+                entry.execution.completed(entry.index);
+            }
+        }
+
+        @Override
+        public void handleFailed(final AsyncFuture<? extends ModelNode> future, final Throwable cause, final Entry entry) {
+            try {
+                entry.execution.resultHandler.handleFailure(entry.index, cause);
+            } finally {
+                entry.execution.completed(entry.index);
+            }
+        }
+
+        @Override
+        public void handleCancelled(final AsyncFuture<? extends ModelNode> future, final Entry entry) {
+            try {
+                entry.execution.resultHandler.handleFailure(entry.index, new CancellationException());
+            } finally {
+                entry.execution.completed(entry.index);
+            }
+        }
+    };
+
+    private final BulkResultHandler resultHandler;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final AsyncFuture<?>[] futures;
+
+    private BulkOperationExecution(final int size, final int maxInFlight, final BulkResultHandler resultHandler) {
+        this.resultHandler = resultHandler;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.futures = new AsyncFuture<?>[size];
+    }
+
+    /**
+     * Executes the operations and waits for all the results to be reported to the handler.
+     *
+     * @param client the client to use
+     * @param operations the operations to execute
+     * @param maxInFlight the maximum number of operations sent and whose result wasn't received yet
+     * @param resultHandler the handler receiving the results
+     * @throws IOException if an operation could not be sent, or if the thread was interrupted, in which case the
+     *                     operations in flight are cancelled
+     */
+    public static void execute(final ModelControllerClient client, final List<Operation> operations, final int maxInFlight,
+                               final BulkResultHandler resultHandler) throws IOException {
+        if (maxInFlight < 1) {
+            throw ROOT_LOGGER.invalidMaxInFlight(maxInFlight);
+        }
+        new BulkOperationExecution(operations.size(), maxInFlight, resultHandler).execute(client, operations);
+    }
+
+    private void execute(final ModelControllerClient client, final List<Operation> operations) throws IOException {
+        try {
+            int index = 0;
+            for (Operation operation : operations) {
+                permits.acquire();
+                final AsyncFuture<ModelNode> future;
+                try {
+                    future = client.executeAsync(operation, null);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    awaitCompletion();
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw e;
+                }
+                synchronized (futures) {
+                    futures[index] = future;
+                }
+                future.addListener(LISTENER, new Entry(this, index));
+                index++;
+            }
+            awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw ROOT_LOGGER.bulkExecutionInterrupted();
+        }
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        permits.acquire(maxInFlight);
+        permits.release(maxInFlight);
+    }
+
+    private void completed(final int index) {
+        synchronized (futures) {
+            futures[index] = null;
+        }
+        permits.release();
+    }
+
+    private void cancel() {
+        synchronized (futures) {
+            for (AsyncFuture<?> future : futures) {
+                if (future != null) {
+                    future.asyncCancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final BulkOperationExecution execution;
+        private final int index;
+
+        private Entry(final BulkOperationExecution execution, final int index) {
+            this.execution = execution;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,583 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client.helpers;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.client.logging.ControllerClientLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.dmr.ValueExpression;
+
+/**
+ * Encodes and decodes {@link ModelNode}s in the Concise Binary Object Representation (CBOR, RFC 7049), the format of
+ * the {@value #APPLICATION_CBOR} content type of the HTTP management API.
+ * <p>
+ * The types without a CBOR equivalent are marked with tags, so that any node is decoded as the node which was
+ * encoded:
+ * <ul>
+ * <li>{@link ModelType#UNDEFINED} is the {@code undefined} simple value, {@code null} being decoded as undefined as
+ * well</li>
+ * <li>{@link ModelType#BOOLEAN}, {@link ModelType#STRING}, {@link ModelType#BYTES}, {@link ModelType#LIST} and
+ * {@link ModelType#OBJECT} are booleans, text strings, byte strings, arrays and maps</li>
+ * <li>{@link ModelType#INT} is an integer, while {@link ModelType#LONG} is an integer tagged with {@value #TAG_LONG}.
+ * An untagged integer is decoded as an {@code INT} if it fits, as a {@code LONG} or a {@code BIG_INTEGER}
+ * otherwise</li>
+ * <li>{@link ModelType#DOUBLE} is a double precision float, any float being decoded as a {@code DOUBLE}</li>
+ * <li>{@link ModelType#BIG_INTEGER} is a bignum (tags 2 and 3), whatever its value</li>
+ * <li>{@link ModelType#BIG_DECIMAL} is a decimal fraction (tag 4)</li>
+ * <li>{@link ModelType#EXPRESSION} and {@link ModelType#TYPE} are text strings tagged with {@value #TAG_EXPRESSION}
+ * and {@value #TAG_TYPE}</li>
+ * <li>{@link ModelType#PROPERTY} is an array of the name and the value tagged with {@value #TAG_PROPERTY}</li>
+ * </ul>
+ * Other tags are ignored when decoding.
+ * </p>
+ */
+public final class CborCodec {
+
+    /**
+     * The media type of CBOR data.
+     */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    /**
+     * Tag of the integers which are a {@link ModelType#LONG}.
+     */
+    public static final int TAG_LONG = 38080;
+
+    /**
+     * Tag of the text strings which are a {@link ModelType#EXPRESSION}.
+     */
+    public static final int TAG_EXPRESSION = 38081;
+
+    /**
+     * Tag of the text strings which are a {@link ModelType#TYPE}.
+     */
+    public static final int TAG_TYPE = 38082;
+
+    /**
+     * Tag of the arrays of a name and a value which are a {@link ModelType#PROPERTY}.
+     */
+    public static final int TAG_PROPERTY = 38083;
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int TAG_POSITIVE_BIGNUM = 2;
+    private static final int TAG_NEGATIVE_BIGNUM = 3;
+    private static final int TAG_DECIMAL_FRACTION = 4;
+
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int UNDEFINED = 0xf7;
+    private static final int HALF_FLOAT = 0xf9;
+    private static final int FLOAT = 0xfa;
+    private static final int DOUBLE = 0xfb;
+    private static final int BREAK = 0xff;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int INDEFINITE_LENGTH = 31;
+    private static final int MAX_DEPTH = 512;
+    // Byte and text strings larger than this are read incrementally, so a forged length can't exhaust the memory
+    private static final int MAX_PREALLOCATED_LENGTH = 64 * 1024;
+
+    private static final BigInteger MAX_UNSIGNED_LONG = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private CborCodec() {
+    }
+
+    /**
+     * Encodes a node.
+     *
+     * @param node the node to encode. Cannot be {@code null}
+     * @return the CBOR data
+     */
+    public static byte[] toCbor(final ModelNode node) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeCbor(node, out);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the encoding of a node to a stream. The stream is flushed but not closed.
+     *
+     * @param node the node to encode. Cannot be {@code null}
+     * @param out the stream to write to. Cannot be {@code null}
+     * @throws IOException if the stream can't be written
+     */
+    public static void writeCbor(final ModelNode node, final OutputStream out) throws IOException {
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+        writeNode(output, node);
+        output.flush();
+    }
+
+    /**
+     * Decodes a node.
+     *
+     * @param data the CBOR data. Cannot be {@code null}
+     * @return the decoded node
+     * @throws IOException if the data isn't valid CBOR
+     */
+    public static ModelNode fromCbor(final byte[] data) throws IOException {
+        return readCbor(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Reads a node from a stream. Only the bytes of the encoded node are read from the stream.
+     *
+     * @param in the stream to read from. Cannot be {@code null}
+     * @return the decoded node
+     * @throws IOException if the stream can't be read or its content isn't valid CBOR
+     */
+    public static ModelNode readCbor(final InputStream in) throws IOException {
+        return readNode(in, readByte(in), 0);
+    }
+
+    private static void writeNode(final DataOutputStream out, final ModelNode node) throws IOException {
+        switch (node.getType()) {
+            case UNDEFINED:
+                out.write(UNDEFINED);
+                break;
+            case BOOLEAN:
+                out.write(node.asBoolean() ? TRUE : FALSE);
+                break;
+            case INT:
+                writeInteger(out, node.asInt());
+                break;
+            case LONG:
+                writeHead(out, MAJOR_TAG, TAG_LONG);
+                writeInteger(out, node.asLong());
+                break;
+            case DOUBLE:
+                out.write(DOUBLE);
+                out.writeDouble(node.asDouble());
+                break;
+            case BIG_INTEGER:
+                writeBignum(out, node.asBigInteger());
+                break;
+            case BIG_DECIMAL: {
+                final BigDecimal value = node.asBigDecimal();
+                writeHead(out, MAJOR_TAG, TAG_DECIMAL_FRACTION);
+                writeHead(out, MAJOR_ARRAY, 2);
+                writeInteger(out, -(long) value.scale());
+                final BigInteger mantissa = value.unscaledValue();
+                if (mantissa.bitLength() < 64) {
+                    writeInteger(out, mantissa.longValue());
+                } else {
+                    writeBignum(out, mantissa);
+                }
+                break;
+            }
+            case BYTES: {
+                final byte[] bytes = node.asBytes();
+                writeHead(out, MAJOR_BYTES, bytes.length);
+                out.write(bytes);
+                break;
+            }
+            case STRING:
+                writeText(out, node.asString());
+                break;
+            case EXPRESSION:
+                writeHead(out, MAJOR_TAG, TAG_EXPRESSION);
+                writeText(out, node.asExpression().getExpressionString());
+                break;
+            case TYPE:
+                writeHead(out, MAJOR_TAG, TAG_TYPE);
+                writeText(out, node.asType().name());
+                break;
+            case PROPERTY: {
+                final Property property = node.asProperty();
+                writeHead(out, MAJOR_TAG, TAG_PROPERTY);
+                writeHead(out, MAJOR_ARRAY, 2);
+                writeText(out, property.getName());
+                writeNode(out, property.getValue());
+                break;
+            }
+            case LIST: {
+                final List<ModelNode> elements = node.asList();
+                writeHead(out, MAJOR_ARRAY, elements.size());
+                for (ModelNode element : elements) {
+                    writeNode(out, element);
+                }
+                break;
+            }
+            case OBJECT: {
+                final List<Property> properties = node.asPropertyList();
+                writeHead(out, MAJOR_MAP, properties.size());
+                for (Property property : properties) {
+                    writeText(out, property.getName());
+                    writeNode(out, property.getValue());
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(node.getType().name());
+        }
+    }
+
+    private static void writeInteger(final DataOutputStream out, final long value) throws IOException {
+        if (value >= 0) {
+            writeHead(out, MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(out, MAJOR_NEGATIVE, -1L - value);
+        }
+    }
+
+    private static void writeBignum(final DataOutputStream out, final BigInteger value) throws IOException {
+        final BigInteger magnitude;
+        if (value.signum() >= 0) {
+            writeHead(out, MAJOR_TAG, TAG_POSITIVE_BIGNUM);
+            magnitude = value;
+        } else {
+            writeHead(out, MAJOR_TAG, TAG_NEGATIVE_BIGNUM);
+            magnitude = BigInteger.ONE.negate().subtract(value);
+        }
+        byte[] bytes = magnitude.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            // Sign byte
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        writeHead(out, MAJOR_BYTES, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeText(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        writeHead(out, MAJOR_TEXT, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes the head of an item, {@code value} being an unsigned integer.
+     */
+    private static void writeHead(final DataOutputStream out, final int majorType, final long value) throws IOException {
+        final int type = majorType << 5;
+        if (value < 0L) {
+            // More than 63 bits, only used by unsigned values
+            out.write(type | 27);
+            out.writeLong(value);
+        } else if (value < 24L) {
+            out.write(type | (int) value);
+        } else if (value <= 0xffL) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value <= 0xffffL) {
+            out.write(type | 25);
+            out.writeShort((int) value);
+        } else if (value <= 0xffffffffL) {
+            out.write(type | 26);
+            out.writeInt((int) value);
+        } else {
+            out.write(type | 27);
+            out.writeLong(value);
+        }
+    }
+
+    private static ModelNode readNode(final InputStream in, final int initialByte, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw ControllerClientLogger.ROOT_LOGGER.cborNestingTooDeep(MAX_DEPTH);
+        }
+        final int majorType = initialByte >>> 5;
+        final int info = initialByte & 0x1f;
+        switch (majorType) {
+            case MAJOR_UNSIGNED:
+                return integerNode(readArgument(in, majorType, info), false);
+            case MAJOR_NEGATIVE:
+                return integerNode(readArgument(in, majorType, info), true);
+            case MAJOR_BYTES:
+                return new ModelNode(readString(in, majorType, info));
+            case MAJOR_TEXT:
+                return new ModelNode(new String(readString(in, majorType, info), UTF_8));
+            case MAJOR_ARRAY: {
+                final ModelNode result = new ModelNode().setEmptyList();
+                if (info == INDEFINITE_LENGTH) {
+                    int b;
+                    while ((b = readByte(in)) != BREAK) {
+                        result.add(readNode(in, b, depth + 1));
+                    }
+                } else {
+                    final int length = readLength(in, majorType, info);
+                    for (int i = 0; i < length; i++) {
+                        result.add(readNode(in, readByte(in), depth + 1));
+                    }
+                }
+                return result;
+            }
+            case MAJOR_MAP: {
+                final ModelNode result = new ModelNode().setEmptyObject();
+                if (info == INDEFINITE_LENGTH) {
+                    int b;
+                    while ((b = readByte(in)) != BREAK) {
+                        readEntry(in, b, result, depth);
+                    }
+                } else {
+                    final int length = readLength(in, majorType, info);
+                    for (int i = 0; i < length; i++) {
+                        readEntry(in, readByte(in), result, depth);
+                    }
+                }
+                return result;
+            }
+            case MAJOR_TAG:
+                return readTagged(in, readArgument(in, majorType, info), depth);
+            default:
+                return readSimple(in, initialByte);
+        }
+    }
+
+    private static void readEntry(final InputStream in, final int initialByte, final ModelNode object, final int depth) throws IOException {
+        // DMR keys are strings, other keys are converted
+        final String key = readNode(in, initialByte, depth + 1).asString();
+        object.get(key).set(readNode(in, readByte(in), depth + 1));
+    }
+
+    private static ModelNode readTagged(final InputStream in, final long tag, final int depth) throws IOException {
+        final ModelNode item = readNode(in, readByte(in), depth + 1);
+        if (tag == TAG_LONG) {
+            checkInteger(item, tag);
+            return new ModelNode(item.asLong());
+        } else if (tag == TAG_POSITIVE_BIGNUM) {
+            checkType(item, ModelType.BYTES, tag);
+            return new ModelNode(new BigInteger(1, item.asBytes()));
+        } else if (tag == TAG_NEGATIVE_BIGNUM) {
+            checkType(item, ModelType.BYTES, tag);
+            return new ModelNode(BigInteger.ONE.negate().subtract(new BigInteger(1, item.asBytes())));
+        } else if (tag == TAG_DECIMAL_FRACTION) {
+            checkPair(item, tag);
+            checkInteger(item.get(0), tag);
+            final long exponent = item.get(0).asLong();
+            // The scale is the opposite of the exponent
+            if (exponent < -Integer.MAX_VALUE || exponent > -(long) Integer.MIN_VALUE) {
+                throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+            }
+            final ModelNode mantissa = item.get(1);
+            if (mantissa.getType() != ModelType.BIG_INTEGER) {
+                checkInteger(mantissa, tag);
+            }
+            return new ModelNode(new BigDecimal(mantissa.asBigInteger(), (int) -exponent));
+        } else if (tag == TAG_EXPRESSION) {
+            checkType(item, ModelType.STRING, tag);
+            return new ModelNode(new ValueExpression(item.asString()));
+        } else if (tag == TAG_TYPE) {
+            checkType(item, ModelType.STRING, tag);
+            final ModelType type;
+            try {
+                type = ModelType.valueOf(item.asString());
+            } catch (IllegalArgumentException e) {
+                throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_TAG, (int) tag);
+            }
+            return new ModelNode(type);
+        } else if (tag == TAG_PROPERTY) {
+            checkPair(item, tag);
+            checkType(item.get(0), ModelType.STRING, tag);
+            return new ModelNode().set(item.get(0).asString(), item.get(1));
+        }
+        return item;
+    }
+
+    /**
+     * Checks that the content of a tag is of the type the tag applies to, so that a malformed item is reported as such
+     * rather than failing the conversion of the node.
+     */
+    private static void checkType(final ModelNode item, final ModelType type, final long tag) throws IOException {
+        if (item.getType() != type) {
+            throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_TAG, (int) tag);
+        }
+    }
+
+    private static void checkInteger(final ModelNode item, final long tag) throws IOException {
+        if (item.getType() != ModelType.INT && item.getType() != ModelType.LONG) {
+            throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_TAG, (int) tag);
+        }
+    }
+
+    private static void checkPair(final ModelNode item, final long tag) throws IOException {
+        if (item.getType() != ModelType.LIST || item.asList().size() != 2) {
+            throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_TAG, (int) tag);
+        }
+    }
+
+    private static ModelNode readSimple(final InputStream in, final int initialByte) throws IOException {
+        switch (initialByte) {
+            case FALSE:
+                return new ModelNode(false);
+            case TRUE:
+                return new ModelNode(true);
+            case NULL:
+            case UNDEFINED:
+                return new ModelNode();
+            case HALF_FLOAT:
+                return new ModelNode(halfToDouble((readByte(in) << 8) | readByte(in)));
+            case FLOAT:
+                return new ModelNode((double) Float.intBitsToFloat((int) readUnsigned(in, 4)));
+            case DOUBLE:
+                return new ModelNode(Double.longBitsToDouble(readUnsigned(in, 8)));
+            default:
+                throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(MAJOR_SIMPLE, initialByte & 0x1f);
+        }
+    }
+
+    private static double halfToDouble(final int half) {
+        final int exponent = (half >>> 10) & 0x1f;
+        final int mantissa = half & 0x3ff;
+        final double value;
+        if (exponent == 0) {
+            value = Math.scalb((double) mantissa, -24);
+        } else if (exponent == 0x1f) {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = Math.scalb((double) (mantissa + 0x400), exponent - 25);
+        }
+        return (half & 0x8000) == 0 ? value : -value;
+    }
+
+    /**
+     * Creates the node of an integer, {@code argument} being the unsigned argument of the item.
+     */
+    private static ModelNode integerNode(final long argument, final boolean negative) {
+        if (argument < 0L) {
+            // More than 63 bits
+            final BigInteger value = MAX_UNSIGNED_LONG.and(BigInteger.valueOf(argument));
+            return new ModelNode(negative ? BigInteger.ONE.negate().subtract(value) : value);
+        }
+        final long value = negative ? -1L - argument : argument;
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return new ModelNode((int) value);
+        }
+        return new ModelNode(value);
+    }
+
+    private static byte[] readString(final InputStream in, final int majorType, final int info) throws IOException {
+        if (info != INDEFINITE_LENGTH) {
+            return readBytes(in, readLength(in, majorType, info));
+        }
+        // Concatenation of definite length chunks of the same major type
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = readByte(in)) != BREAK) {
+            if (b >>> 5 != majorType || (b & 0x1f) == INDEFINITE_LENGTH) {
+                throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(b >>> 5, b & 0x1f);
+            }
+            out.write(readBytes(in, readLength(in, majorType, b & 0x1f)));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readBytes(final InputStream in, final int length) throws IOException {
+        if (length <= MAX_PREALLOCATED_LENGTH) {
+            final byte[] bytes = new byte[length];
+            readFully(in, bytes, length);
+            return bytes;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(MAX_PREALLOCATED_LENGTH);
+        final byte[] buffer = new byte[MAX_PREALLOCATED_LENGTH];
+        int remaining = length;
+        while (remaining > 0) {
+            final int read = Math.min(remaining, buffer.length);
+            readFully(in, buffer, read);
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+        return out.toByteArray();
+    }
+
+    private static void readFully(final InputStream in, final byte[] bytes, final int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            final int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw ControllerClientLogger.ROOT_LOGGER.unexpectedEndOfCborData();
+            }
+            offset += read;
+        }
+    }
+
+    private static int readLength(final InputStream in, final int majorType, final int info) throws IOException {
+        final long length = readArgument(in, majorType, info);
+        if (length < 0L || length > Integer.MAX_VALUE) {
+            throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(majorType, info);
+        }
+        return (int) length;
+    }
+
+    /**
+     * Reads the argument of an item as an unsigned value, values using the 64 bits being negative.
+     */
+    private static long readArgument(final InputStream in, final int majorType, final int info) throws IOException {
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return readUnsigned(in, 1);
+            case 25:
+                return readUnsigned(in, 2);
+            case 26:
+                return readUnsigned(in, 4);
+            case 27:
+                return readUnsigned(in, 8);
+            default:
+                throw ControllerClientLogger.ROOT_LOGGER.unsupportedCborItem(majorType, info);
+        }
+    }
+
+    private static long readUnsigned(final InputStream in, final int length) throws IOException {
+        long result = 0L;
+        for (int i = 0; i < length; i++) {
+            result = (result << 8) | readByte(in);
+        }
+        return result;
+    }
+
+    private static int readByte(final InputStream in) throws IOException {
+        final int b = in.read();
+        if (b < 0) {
+            throw ControllerClientLogger.ROOT_LOGGER.unexpectedEndOfCborData();
+        }
+        return b;
+    }
+}
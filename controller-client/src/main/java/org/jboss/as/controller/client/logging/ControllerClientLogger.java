@@ -33,7 +33,9 @@ import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URL;
 
 /**
@@ -376,6 +378,50 @@ public interface ControllerClientLogger extends BasicLogger {
     @Message(id = 36, value = "Stream was closed")
     IOException streamWasClosed();
 
+    /**
+     * Creates an exception indicating the maximum number of operations in flight is not valid.
+     *
+     * @param maxInFlight the invalid value
+     * @return an {@link IllegalArgumentException} for the error
+     */
+    @Message(id = 37, value = "The maximum number of operations in flight must be greater than zero: %d")
+    IllegalArgumentException invalidMaxInFlight(int maxInFlight);
+
+    /**
+     * Creates an exception indicating the thread was interrupted while executing operations in bulk.
+     *
+     * @return an {@link InterruptedIOException} for the error
+     */
+    @Message(id = 38, value = "Interrupted while executing operations in bulk")
+    InterruptedIOException bulkExecutionInterrupted();
+
+    /**
+     * Creates an exception indicating CBOR data ended before the end of the item being read.
+     *
+     * @return an {@link EOFException} for the error
+     */
+    @Message(id = 39, value = "Unexpected end of CBOR data")
+    EOFException unexpectedEndOfCborData();
+
+    /**
+     * Creates an exception indicating a CBOR item can't be decoded.
+     *
+     * @param majorType the major type of the item
+     * @param additionalInformation the additional information of the initial byte of the item
+     * @return an {@link IOException} for the error
+     */
+    @Message(id = 40, value = "Unsupported CBOR item of major type %d with additional information %d")
+    IOException unsupportedCborItem(int majorType, int additionalInformation);
+
+    /**
+     * Creates an exception indicating CBOR data is nested too deeply.
+     *
+     * @param maxDepth the maximum depth
+     * @return an {@link IOException} for the error
+     */
+    @Message(id = 41, value = "CBOR data is nested deeper than %d levels")
+    IOException cborNestingTooDeep(int maxDepth);
+
     class LeakDescription extends Throwable {
         private static final long serialVersionUID = -7193498784746897578L;
 
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.client.helpers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Test;
+
+/**
+ * Tests of {@link CborCodec}.
+ */
+public class CborCodecTestCase {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ModelNode node = new ModelNode();
+        node.get("undefined");
+        node.get("boolean").set(true);
+        node.get("int").set(-1000);
+        node.get("small-long").set(1L);
+        node.get("long").set(Long.MIN_VALUE);
+        node.get("double").set(1.1);
+        node.get("big-integer").set(new BigInteger("-18446744073709551617"));
+        node.get("small-big-integer").set(BigInteger.TEN);
+        node.get("big-decimal").set(new BigDecimal("-1234567890123456789012345678901234567890.0123456789"));
+        node.get("bytes").set(new byte[] {0, 1, 2, (byte) 0xff});
+        node.get("string").set("caf\u00e9");
+        node.get("expression").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        node.get("type").set(ModelType.BIG_DECIMAL);
+        node.get("property").set("name", new ModelNode(1));
+        node.get("list").add(1).add("two").add(new ModelNode().setEmptyList());
+        node.get("object", "nested").set(3L);
+        node.get("empty-object").setEmptyObject();
+
+        final ModelNode decoded = CborCodec.fromCbor(CborCodec.toCbor(node));
+        assertEquals(node, decoded);
+        for (String key : node.keys()) {
+            assertEquals(key, node.get(key).getType(), decoded.get(key).getType());
+        }
+    }
+
+    @Test
+    public void testEncoding() {
+        assertArrayEquals(bytes(0x1a, 0x00, 0x0f, 0x42, 0x40), CborCodec.toCbor(new ModelNode(1000000)));
+        assertArrayEquals(bytes(0x39, 0x03, 0xe7), CborCodec.toCbor(new ModelNode(-1000)));
+        assertArrayEquals(bytes(0xd9, 0x94, 0xc0, 0x01), CborCodec.toCbor(new ModelNode(1L)));
+        assertArrayEquals(bytes(0x64, 0x49, 0x45, 0x54, 0x46), CborCodec.toCbor(new ModelNode("IETF")));
+        assertArrayEquals(bytes(0xc4, 0x82, 0x21, 0x19, 0x6a, 0xb3), CborCodec.toCbor(new ModelNode(new BigDecimal("273.15"))));
+        assertArrayEquals(bytes(0xc2, 0x49, 0x01, 0, 0, 0, 0, 0, 0, 0, 0),
+                CborCodec.toCbor(new ModelNode(new BigInteger("18446744073709551616"))));
+        assertArrayEquals(bytes(0xf7), CborCodec.toCbor(new ModelNode()));
+    }
+
+    @Test
+    public void testDecoding() throws IOException {
+        // Examples of RFC 7049
+        assertDecoded(new ModelNode(1000000), 0x1a, 0x00, 0x0f, 0x42, 0x40);
+        assertDecoded(new ModelNode(1000000000000L), 0x1b, 0x00, 0x00, 0x00, 0xe8, 0xd4, 0xa5, 0x10, 0x00);
+        assertDecoded(new ModelNode(new BigInteger("18446744073709551615")), 0x1b, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff);
+        assertDecoded(new ModelNode(new BigInteger("-18446744073709551617")), 0xc3, 0x49, 0x01, 0, 0, 0, 0, 0, 0, 0, 0);
+        assertDecoded(new ModelNode(1.0), 0xf9, 0x3c, 0x00);
+        assertDecoded(new ModelNode(-4.0), 0xf9, 0xc4, 0x00);
+        assertDecoded(new ModelNode(5.960464477539063e-8), 0xf9, 0x00, 0x01);
+        assertDecoded(new ModelNode(100000.0), 0xfa, 0x47, 0xc3, 0x50, 0x00);
+        assertDecoded(new ModelNode(), 0xf6);
+        assertDecoded(new ModelNode("streaming"), 0x7f, 0x65, 0x73, 0x74, 0x72, 0x65, 0x61, 0x64, 0x6d, 0x69, 0x6e, 0x67, 0xff);
+        final ModelNode list = new ModelNode();
+        list.add(1);
+        list.add().add(2).add(3);
+        list.add().add(4).add(5);
+        assertDecoded(list, 0x9f, 0x01, 0x82, 0x02, 0x03, 0x9f, 0x04, 0x05, 0xff, 0xff);
+        final ModelNode object = new ModelNode();
+        object.get("a").set(1);
+        object.get("b").add(2).add(3);
+        assertDecoded(object, 0xa2, 0x61, 0x61, 0x01, 0x61, 0x62, 0x82, 0x02, 0x03);
+        // Unknown tags are ignored
+        assertDecoded(new ModelNode("2013-03-21T20:04:00Z"), 0xc0, 0x74, 0x32, 0x30, 0x31, 0x33, 0x2d, 0x30, 0x33, 0x2d,
+                0x32, 0x31, 0x54, 0x32, 0x30, 0x3a, 0x30, 0x34, 0x3a, 0x30, 0x30, 0x5a);
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        try {
+            CborCodec.fromCbor(bytes(0x82, 0x01));
+            fail("Truncated data was decoded");
+        } catch (EOFException expected) {
+            // expected
+        }
+        try {
+            // Break outside of an indefinite length item
+            CborCodec.fromCbor(bytes(0xff));
+            fail("Invalid data was decoded");
+        } catch (IOException expected) {
+            // expected
+        }
+        try {
+            // Decimal fraction which isn't an array
+            CborCodec.fromCbor(bytes(0xc4, 0x01));
+            fail("Malformed decimal fraction was decoded");
+        } catch (IOException expected) {
+            // expected
+        }
+        try {
+            // Property which isn't an array
+            CborCodec.fromCbor(bytes(0xd9, 0x94, 0xc3, 0x61, 0x61));
+            fail("Malformed property was decoded");
+        } catch (IOException expected) {
+            // expected
+        }
+        final byte[] nested = new byte[100000];
+        Arrays.fill(nested, (byte) 0x81);
+        try {
+            CborCodec.fromCbor(nested);
+            fail("Too deeply nested data was decoded");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    private static void assertDecoded(final ModelNode expected, final int... data) throws IOException {
+        final ModelNode decoded = CborCodec.fromCbor(bytes(data));
+        assertEquals(expected, decoded);
+        assertEquals(expected.getType(), decoded.getType());
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+}
@@ -43,6 +43,7 @@ import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
+import org.jboss.as.controller.notification.NotificationSupportService;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
@@ -250,6 +251,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
         final ExecutorService executorService = injectedExecutorService.getOptionalValue();
 
         final NotificationSupport notificationSupport = NotificationSupport.Factory.create(executorService);
+        NotificationSupportService.addService(target, notificationSupport);
         WritableAuthorizerConfiguration authorizerConfig = authorizer.getWritableAuthorizerConfiguration();
         authorizerConfig.reset();
         ManagementResourceRegistration rootResourceRegistration = ManagementResourceRegistration.Factory.create(rootResourceDefinition, authorizerConfig);
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A histogram of durations that is cheap enough to be always on, for the metrics of subsystems.
+ * <p/>
+ * Durations are recorded in microseconds into logarithmic buckets, four buckets per power of two, so that percentiles
+ * are known within 25%. Each bucket is a {@link LongAdder}, which only gets striped across several cells when it is
+ * updated concurrently, so recording a value neither allocates nor contends between threads in the common case.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Covers durations up to 2^40 microseconds, i.e. about 12 days, longer durations go to the last bucket
+     */
+    private static final int BUCKETS = 40 * SUB_BUCKETS;
+
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        buckets[bucketIndex(micros)].increment();
+        total.add(micros);
+        max.accumulate(micros);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+    }
+
+    /**
+     * @return the highest duration, in microseconds, that is counted in the given bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Takes a snapshot of the histogram. As the histogram keeps being updated the snapshot may be slightly inconsistent,
+     * which is fine for monitoring.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, total.sum(), max.get());
+    }
+
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Gets the durations recorded since an earlier snapshot. The highest duration can't be known for that period,
+         * so the highest duration ever recorded is kept.
+         *
+         * @param earlier a snapshot of the same histogram taken before this one
+         * @return the snapshot of the durations recorded in between
+         */
+        public Snapshot since(Snapshot earlier) {
+            final long[] delta = new long[counts.length];
+            long deltaCount = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                delta[i] = Math.max(0, counts[i] - earlier.counts[i]);
+                deltaCount += delta[i];
+            }
+            return new Snapshot(delta, deltaCount, Math.max(0, total - earlier.total), max);
+        }
+
+        /**
+         * @return the number of recorded durations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum of the recorded durations in microseconds
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return the mean duration in microseconds, or 0 if nothing was recorded
+         */
+        public long getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * @return the highest duration in microseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile the percentile, between 0 and 100
+         * @return the duration in microseconds below which the given percentage of the durations are, or 0 if nothing was
+         * recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(max, bucketUpperBound(i));
+                }
+            }
+            return max;
+        }
+    }
+}
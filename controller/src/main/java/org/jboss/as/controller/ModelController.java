@@ -92,6 +92,42 @@ public interface ModelController {
      */
      NotificationHandlerRegistration getNotificationRegistry();
 
+    /**
+     * Gets the generation of the configuration read from a resource, which changes whenever a change of the persistent
+     * configuration can change what is read from the resource, including changes of access control. The generation
+     * can be used to tell whether the result of reading the resource without runtime data changed.
+     * <p>
+     * Unlike {@link #getModelGeneration(PathAddress)}, this is only known for resources whose content doesn't depend on
+     * the runtime, and it also changes when the access control configuration changes.
+     * </p>
+     *
+     * @param address the address of the resource
+     * @param recursive {@code true} if the children of the resource are read as well
+     * @return the generation, or {@code -1} if the content of the resource doesn't only depend on the persistent
+     *         configuration, e.g. if it has runtime attributes or runtime children, if the address matches more than
+     *         one resource, or if it isn't known
+     */
+    default long getConfigurationGeneration(PathAddress address, boolean recursive) {
+        return -1L;
+    }
+
+    /**
+     * Gets the generation of the model at a resource, which changes whenever a committed operation changes the
+     * resource, one of its descendants or one of its parents. Resources added to or removed from the model without
+     * going through an operation, e.g. the children of runtime-only resources, don't change the generation.
+     * <p>
+     * Unlike {@link #getConfigurationGeneration(PathAddress, boolean)}, this is known for any resource but doesn't tell
+     * whether what can be read from the resource changed, since neither runtime data nor access control are taken into
+     * account. It is meant to tell which parts of the resource tree have to be walked again.
+     * </p>
+     *
+     * @param address the address of the resource
+     * @return the generation, or {@code -1} if changes of the model aren't tracked
+     */
+    default long getModelGeneration(PathAddress address) {
+        return -1L;
+    }
+
     /**
      * A callback interface for the operation's completion status.  Implemented in order to control whether a complete
      * operation is committed or rolled back after it is prepared.
@@ -23,15 +23,19 @@
 package org.jboss.as.controller;
 
 import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACTIVE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ALLOW_RESOURCE_SERVICE_RESTART;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTACHED_STREAMS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUTHORIZATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING_TIMEOUT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_UUID;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -119,6 +123,8 @@ class ModelControllerImpl implements ModelController {
     private static final String INITIAL_BOOT_OPERATION = "initial-boot-operation";
     private static final String POST_EXTENSION_BOOT_OPERATION = "post-extension-boot-operation";
     static final ModelNode EMPTY_ADDRESS = new ModelNode().setEmptyList();
+    private static final PathAddress ACCESS_CONTROL_ADDRESS = PathAddress.pathAddress(
+            PathElement.pathElement(CORE_SERVICE, MANAGEMENT), PathElement.pathElement(ACCESS, AUTHORIZATION));
 
     static {
         EMPTY_ADDRESS.protect();
@@ -129,6 +135,7 @@ class ModelControllerImpl implements ModelController {
     private final ModelControllerLock controllerLock = new ModelControllerLock();
     private final ContainerStateMonitor stateMonitor;
     private final AtomicReference<ManagementModelImpl> managementModel = new AtomicReference<>();
+    private final ModelGenerationTracker generationTracker = new ModelGenerationTracker();
     private final ConfigurationPersister persister;
     private final ProcessType processType;
     private final RunningModeControl runningModeControl;
@@ -618,6 +625,8 @@ class ModelControllerImpl implements ModelController {
         // Notify the audit logger that we're done booting
         auditLogger.bootDone();
         bootingFlag.set(false);
+        // Whatever was read while booting is outdated
+        generationTracker.modelChanged(Collections.singleton(PathAddress.EMPTY_ADDRESS));
     }
 
     ManagementModel getManagementModel() {
@@ -628,6 +637,25 @@ class ModelControllerImpl implements ModelController {
         return modelControllerResource;
     }
 
+    @Override
+    public long getConfigurationGeneration(final PathAddress address, final boolean recursive) {
+        if (address.isMultiTarget()) {
+            // The generation of the wildcard address doesn't change when one of the matching resources changes
+            return -1L;
+        }
+        final ImmutableManagementResourceRegistration registration = managementModel.get().getRootResourceRegistration().getSubModel(address);
+        if (registration == null || !generationTracker.isConfigurationOnly(registration, recursive)) {
+            return -1L;
+        }
+        // What can be read also depends on the access control configuration
+        return Math.max(generationTracker.getGeneration(address), generationTracker.getGeneration(ACCESS_CONTROL_ADDRESS));
+    }
+
+    @Override
+    public long getModelGeneration(final PathAddress address) {
+        return generationTracker.getGeneration(address);
+    }
+
     public ModelControllerClient createClient(final Executor executor) {
 
         SecurityManager sm = System.getSecurityManager();
@@ -775,7 +803,11 @@ class ModelControllerImpl implements ModelController {
                 if (hostServerGroupTracker != null) {
                     hostServerGroupTracker.invalidate();
                 }
+                // Bump the generations around the publication, so concurrent reads never see a generation older
+                // than the model they read
+                generationTracker.modelChanged(affectedAddresses);
                 model.publish();
+                generationTracker.modelChanged(affectedAddresses);
                 delegate.commit();
             }
 
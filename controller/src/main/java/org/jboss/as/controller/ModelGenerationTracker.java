@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+
+/**
+ * Tracks the generation of the configuration of the resources of a {@link ModelControllerImpl}.
+ * <p>
+ * Each committed change of the model gets a new generation from a monotonic counter, which is recorded for the changed
+ * addresses and for the subtrees containing them. The generation of a resource is the highest of the generations of
+ * its subtree and of its parents, so it changes whenever something that can be read from the resource changes. The
+ * counter starts from the current time, so that generations of a reloaded controller don't match the ones of
+ * the previous instance.
+ * </p>
+ */
+final class ModelGenerationTracker {
+
+    private final long initialGeneration;
+    private final AtomicLong generation;
+    // Generation of the latest change of the resource itself
+    private final Map<PathAddress, Long> resourceGenerations = new ConcurrentHashMap<PathAddress, Long>();
+    // Generation of the latest change of the resource or of one of its children
+    private final Map<PathAddress, Long> subtreeGenerations = new ConcurrentHashMap<PathAddress, Long>();
+    // Whether the content read from a registration only depends on the configuration, by recursive flag
+    private final Map<ImmutableManagementResourceRegistration, Boolean> configurationOnly = new ConcurrentHashMap<ImmutableManagementResourceRegistration, Boolean>();
+    private final Map<ImmutableManagementResourceRegistration, Boolean> recursiveConfigurationOnly = new ConcurrentHashMap<ImmutableManagementResourceRegistration, Boolean>();
+
+    ModelGenerationTracker() {
+        this(System.currentTimeMillis() * 1000L);
+    }
+
+    ModelGenerationTracker(final long initialGeneration) {
+        this.initialGeneration = initialGeneration;
+        this.generation = new AtomicLong(initialGeneration);
+    }
+
+    /**
+     * Records a change of the model. Called both before and after the changed model is published, so that a read
+     * running concurrently with the publication can't associate the content of one model with the generation of the
+     * other one.
+     *
+     * @param affectedAddresses the addresses of the resources which were changed
+     */
+    void modelChanged(final Set<PathAddress> affectedAddresses) {
+        final Long changed = generation.incrementAndGet();
+        for (PathAddress address : affectedAddresses) {
+            resourceGenerations.put(address, changed);
+            for (PathAddress current = address; current != null; current = current.size() == 0 ? null : current.getParent()) {
+                subtreeGenerations.put(current, changed);
+            }
+        }
+        // Changes of the model can register new resource types
+        configurationOnly.clear();
+        recursiveConfigurationOnly.clear();
+    }
+
+    /**
+     * Gets the generation of a resource.
+     *
+     * @param address the address of the resource
+     * @return the generation of the resource
+     */
+    long getGeneration(final PathAddress address) {
+        long result = get(subtreeGenerations, address);
+        for (PathAddress current = address; current.size() > 0; ) {
+            current = current.getParent();
+            result = Math.max(result, get(resourceGenerations, current));
+        }
+        return result;
+    }
+
+    private long get(final Map<PathAddress, Long> generations, final PathAddress address) {
+        final Long result = generations.get(address);
+        return result == null ? initialGeneration : result;
+    }
+
+    /**
+     * Gets whether the content of a resource read without including runtime data only depends on the persistent
+     * configuration, that is if its registration is neither a proxy nor a runtime only resource and has no runtime
+     * attribute.
+     *
+     * @param registration the registration of the resource
+     * @param recursive {@code true} if the children of the resource are read as well
+     * @return {@code true} if the content only changes with the configuration
+     */
+    boolean isConfigurationOnly(final ImmutableManagementResourceRegistration registration, final boolean recursive) {
+        final Map<ImmutableManagementResourceRegistration, Boolean> cache = recursive ? recursiveConfigurationOnly : configurationOnly;
+        Boolean result = cache.get(registration);
+        if (result == null) {
+            result = checkConfigurationOnly(registration, recursive);
+            cache.put(registration, result);
+        }
+        return result;
+    }
+
+    private static boolean checkConfigurationOnly(final ImmutableManagementResourceRegistration registration, final boolean recursive) {
+        if (registration.isRemote() || registration.isRuntimeOnly()) {
+            return false;
+        }
+        for (String name : registration.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+            if (access == null || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION) {
+                return false;
+            }
+        }
+        for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+            if (child == null) {
+                return false;
+            }
+            if (recursive) {
+                // Runtime and proxy resources are skipped when reading the children without runtime data
+                if (!child.isRemote() && !child.isRuntimeOnly() && !child.isAlias() && !checkConfigurationOnly(child, true)) {
+                    return false;
+                }
+            } else if (child.isRemote() || child.isRuntimeOnly()) {
+                // The names of runtime children are listed and can change at any time
+                return false;
+            }
+        }
+        return true;
+    }
+}
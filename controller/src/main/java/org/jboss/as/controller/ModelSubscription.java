@@ -0,0 +1,354 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationFilter;
+import org.jboss.as.controller.notification.NotificationHandler;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Subscription of a management client to the attributes and the notifications of the resources matching a set of
+ * address patterns.
+ * <p>
+ * The attributes are sampled at a fixed interval by executing {@code read-attribute} operations on behalf of the
+ * subscriber, so the usual access control applies, and only the values which changed since the previous sample are
+ * pushed to the {@link Listener}. The notifications emitted by the matching resources are pushed as they are emitted,
+ * once the subscriber has been checked to be allowed to read their source resource by executing a
+ * {@code read-resource} operation on its behalf, so notifications of resources which no longer exist are dropped.
+ * The old and new values of {@code attribute-value-written} notifications are removed unless the subscriber can read
+ * the attribute.
+ * </p>
+ * <p>
+ * Each event pushed to the listener is a model node with a {@code type} of either {@link #ATTRIBUTE_VALUE}, with the
+ * {@code address}, {@code name} and {@code value} of the attribute, or {@link #NOTIFICATION}, with the
+ * {@link Notification#toModelNode() notification} itself.
+ * </p>
+ */
+public final class ModelSubscription implements Closeable {
+
+    public static final String ATTRIBUTE_VALUE = "attribute-value";
+    public static final String NOTIFICATION = "notification";
+
+    /**
+     * Shortest sampling interval in milliseconds.
+     */
+    public static final long MIN_INTERVAL = 500L;
+
+    public static final StringListAttributeDefinition ADDRESSES = new StringListAttributeDefinition.Builder("addresses")
+            .build();
+
+    public static final StringListAttributeDefinition ATTRIBUTE_NAMES = new StringListAttributeDefinition.Builder(ATTRIBUTES)
+            .setAllowNull(true)
+            .build();
+
+    public static final SimpleAttributeDefinition INTERVAL = new SimpleAttributeDefinitionBuilder("interval", ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(5000L))
+            .setValidator(new LongRangeValidator(MIN_INTERVAL, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition INCLUDE_NOTIFICATIONS = new SimpleAttributeDefinitionBuilder(NOTIFICATIONS, ModelType.BOOLEAN, true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
+    /**
+     * Receives the events of a subscription. Events are pushed from the sampling thread and from the threads emitting
+     * the notifications, so implementations must be thread safe and should not block.
+     */
+    public interface Listener {
+        void handleEvent(ModelNode event);
+    }
+
+    private final ModelController controller;
+    private final Subject subject;
+    private final ModelNode operationHeaders = new ModelNode();
+    private final List<PathAddress> addresses = new ArrayList<PathAddress>();
+    private final List<String> attributes = new ArrayList<String>();
+    private final long interval;
+    private final boolean notifications;
+    private final Listener listener;
+    private final NotificationHandler notificationHandler = new NotificationHandler() {
+        @Override
+        public void handleNotification(final Notification notification) {
+            if (closed) {
+                return;
+            }
+            // Authorizing executes operations, which don't belong in the thread delivering the notifications
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        pushNotification(notification);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+    };
+    private Map<PathAddress, Map<String, ModelNode>> values = Collections.emptyMap();
+    private volatile ScheduledExecutorService executor;
+    private ScheduledFuture<?> sampling;
+    private volatile boolean closed;
+
+    /**
+     * Creates a subscription on behalf of the subject associated with the calling thread.
+     *
+     * @param controller the controller against which the attributes are read
+     * @param request the subscription parameters, i.e. {@link #ADDRESSES}, {@link #ATTRIBUTE_NAMES}, {@link #INTERVAL}
+     *                and {@link #INCLUDE_NOTIFICATIONS}. The caller type and access mechanism operation headers of
+     *                the request are applied to the sampling operations
+     * @param listener the listener receiving the events
+     * @throws OperationFailedException if the request is not valid
+     */
+    public ModelSubscription(final ModelController controller, final ModelNode request, final Listener listener)
+            throws OperationFailedException {
+        this.controller = controller;
+        this.subject = SecurityActions.getSubject();
+        this.listener = listener;
+        for (ModelNode address : ADDRESSES.validateOperation(request).asList()) {
+            try {
+                final String pattern = address.asString().trim();
+                addresses.add("/".equals(pattern) ? PathAddress.EMPTY_ADDRESS : PathAddress.parseCLIStyleAddress(pattern));
+            } catch (IllegalArgumentException e) {
+                throw new OperationFailedException(e.getLocalizedMessage());
+            }
+        }
+        final ModelNode attributeNames = ATTRIBUTE_NAMES.validateOperation(request);
+        if (attributeNames.isDefined()) {
+            for (ModelNode name : attributeNames.asList()) {
+                attributes.add(name.asString());
+            }
+        }
+        this.interval = INTERVAL.validateOperation(request).asLong();
+        this.notifications = INCLUDE_NOTIFICATIONS.validateOperation(request).asBoolean();
+        operationHeaders.get(CALLER_TYPE).set(USER);
+        if (request.hasDefined(OPERATION_HEADERS) && request.get(OPERATION_HEADERS).hasDefined(ACCESS_MECHANISM)) {
+            operationHeaders.get(ACCESS_MECHANISM).set(request.get(OPERATION_HEADERS, ACCESS_MECHANISM));
+        }
+    }
+
+    /**
+     * Starts pushing events to the listener. The first sample pushes the current value of every attribute.
+     *
+     * @param executor the executor sampling the attributes and authorizing the notifications
+     */
+    public synchronized void start(final ScheduledExecutorService executor) {
+        if (closed || this.executor != null) {
+            return;
+        }
+        this.executor = executor;
+        if (notifications) {
+            final NotificationHandlerRegistration registry = controller.getNotificationRegistry();
+            for (PathAddress address : addresses) {
+                registry.registerNotificationHandler(address, notificationHandler, NotificationFilter.ALL);
+            }
+        }
+        if (!attributes.isEmpty()) {
+            sampling = executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        sample();
+                    } catch (RuntimeException e) {
+                        // Keep sampling, the failure may be transient
+                        ROOT_LOGGER.debugf(e, "Failed sampling the attributes of %s", addresses);
+                    }
+                }
+            }, 0L, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Reads the attributes and pushes those whose value changed since the previous sample.
+     */
+    synchronized void sample() {
+        final Map<PathAddress, Map<String, ModelNode>> current = new HashMap<PathAddress, Map<String, ModelNode>>();
+        for (PathAddress address : addresses) {
+            for (String attribute : attributes) {
+                if (closed) {
+                    return;
+                }
+                final ModelNode operation = Util.getReadAttributeOperation(address, attribute);
+                operation.get(INCLUDE_DEFAULTS).set(true);
+                operation.get(OPERATION_HEADERS).set(operationHeaders);
+                final ModelNode response = execute(operation);
+                if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    // Not readable by the subscriber, or no match for the pattern at the moment
+                    continue;
+                }
+                final ModelNode result = response.get(RESULT);
+                if (address.isMultiTarget()) {
+                    if (result.getType() == ModelType.LIST) {
+                        for (ModelNode entry : result.asList()) {
+                            if (SUCCESS.equals(entry.get(OUTCOME).asString())) {
+                                update(current, PathAddress.pathAddress(entry.get(OP_ADDR)), attribute, entry.get(RESULT));
+                            }
+                        }
+                    }
+                } else {
+                    update(current, address, attribute, result);
+                }
+            }
+        }
+        values = current;
+    }
+
+    private void update(final Map<PathAddress, Map<String, ModelNode>> current, final PathAddress address,
+                        final String attribute, final ModelNode value) {
+        Map<String, ModelNode> attributeValues = current.get(address);
+        if (attributeValues == null) {
+            attributeValues = new HashMap<String, ModelNode>();
+            current.put(address, attributeValues);
+        }
+        if (attributeValues.put(attribute, value) != null) {
+            // Already pushed for an overlapping pattern
+            return;
+        }
+        final Map<String, ModelNode> previous = values.get(address);
+        if (previous == null || !value.equals(previous.get(attribute))) {
+            final ModelNode event = new ModelNode();
+            event.get(TYPE).set(ATTRIBUTE_VALUE);
+            event.get(ADDRESS).set(address.toModelNode());
+            event.get(NAME).set(attribute);
+            event.get(VALUE).set(value);
+            listener.handleEvent(event);
+        }
+    }
+
+    /**
+     * Pushes a notification if the subscriber can read its source, without the values the subscriber can't read.
+     */
+    void pushNotification(final Notification notification) {
+        if (closed) {
+            return;
+        }
+        final PathAddress source = notification.getSource();
+        ModelNode pushed = notification.toModelNode();
+        final ModelNode data = notification.getData();
+        if (ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION.equals(notification.getType()) && data != null && data.hasDefined(NAME)) {
+            final String attribute = data.get(NAME).asString();
+            final ModelNode readAttribute = Util.getReadAttributeOperation(source, attribute);
+            if (!isSuccess(readAttribute)) {
+                if (!isSuccess(getReadResourceOperation(source))) {
+                    return;
+                }
+                // The subscriber can read the resource, but not the attribute
+                pushed = pushed.clone();
+                pushed.get(Notification.MESSAGE).set(ROOT_LOGGER.attributeValueChanged(attribute));
+                pushed.get(Notification.DATA).remove(GlobalNotifications.OLD_VALUE);
+                pushed.get(Notification.DATA).remove(GlobalNotifications.NEW_VALUE);
+            }
+        } else if (!isSuccess(getReadResourceOperation(source))) {
+            return;
+        }
+        final ModelNode event = new ModelNode();
+        event.get(TYPE).set(NOTIFICATION);
+        event.get(NOTIFICATION).set(pushed);
+        listener.handleEvent(event);
+    }
+
+    private static ModelNode getReadResourceOperation(final PathAddress address) {
+        final ModelNode operation = Util.createEmptyOperation(READ_RESOURCE_OPERATION, address);
+        operation.get(ATTRIBUTES_ONLY).set(true);
+        operation.get(INCLUDE_RUNTIME).set(false);
+        return operation;
+    }
+
+    private boolean isSuccess(final ModelNode operation) {
+        operation.get(OPERATION_HEADERS).set(operationHeaders);
+        return SUCCESS.equals(execute(operation).get(OUTCOME).asString());
+    }
+
+    private ModelNode execute(final ModelNode operation) {
+        return AccessAuditContext.doAs(subject, new PrivilegedAction<ModelNode>() {
+            @Override
+            public ModelNode run() {
+                return controller.execute(operation, OperationMessageHandler.DISCARD,
+                        ModelController.OperationTransactionControl.COMMIT, null);
+            }
+        });
+    }
+
+    /**
+     * Stops pushing events to the listener.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (sampling != null) {
+                sampling.cancel(false);
+            }
+            if (notifications) {
+                final NotificationHandlerRegistration registry = controller.getNotificationRegistry();
+                for (PathAddress address : addresses) {
+                    registry.unregisterNotificationHandler(address, notificationHandler, NotificationFilter.ALL);
+                }
+            }
+            values = Collections.emptyMap();
+        }
+    }
+}
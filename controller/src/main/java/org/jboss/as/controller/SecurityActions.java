@@ -52,6 +52,20 @@ class SecurityActions {
         return createCallerActions().getSubject(caller);
     }
 
+    static Subject getSubject() {
+        final AccessControlContext acc = AccessController.getContext();
+        if (WildFlySecurityManager.isChecking()) {
+            return doPrivileged(new PrivilegedAction<Subject>() {
+
+                @Override
+                public Subject run() {
+                    return Subject.getSubject(acc);
+                }
+            });
+        }
+        return Subject.getSubject(acc);
+    }
+
     static AccessAuditContext currentAccessAuditContext() {
         return createAccessAuditContextActions().currentContext();
     }
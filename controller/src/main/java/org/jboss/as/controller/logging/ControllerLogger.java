@@ -3363,4 +3363,10 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 407, value = "Couldn't build the report")
     RuntimeException failedToBuildReport(@Cause Throwable t);
+
+    @Message(id = 408, value = "%d events were dropped as they were produced faster than they could be reported")
+    String subscriptionEventsDropped(long count);
+
+    @Message(id = 409, value = "The attribute %s value has been changed.")
+    String attributeValueChanged(String attributeName);
 }
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.notification;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Exposes the {@link NotificationSupport} of the model controller, so that services can emit notifications about
+ * changes of the runtime state that are not caused by a management operation.
+ */
+public class NotificationSupportService implements Service<NotificationSupport> {
+
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("management", "notification-support");
+
+    public static ServiceController<NotificationSupport> addService(ServiceTarget target, NotificationSupport notificationSupport) {
+        return target.addService(SERVICE_NAME, new NotificationSupportService(notificationSupport)).install();
+    }
+
+    private final NotificationSupport notificationSupport;
+
+    private NotificationSupportService(NotificationSupport notificationSupport) {
+        this.notificationSupport = notificationSupport;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+    }
+
+    @Override
+    public void stop(StopContext context) {
+    }
+
+    @Override
+    public NotificationSupport getValue() {
+        return notificationSupport;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operations.common;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelSubscription;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.MessageSeverity;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Operation streaming the events of a {@link ModelSubscription} to the caller, as messages reported through the
+ * {@link org.jboss.as.controller.client.OperationMessageHandler} of the operation. Each message is the JSON form of an
+ * event.
+ * <p>
+ * The operation runs until its duration elapses or until it is cancelled, and returns the number of reported events.
+ * The duration is bounded, so that a subscription can't hold a management thread forever.
+ * </p>
+ */
+public class SubscribeHandler implements OperationStepHandler {
+
+    public static final String OPERATION_NAME = "subscribe";
+
+    /**
+     * Maximum number of events waiting to be reported, further events being dropped.
+     */
+    private static final int MAX_PENDING_EVENTS = 10000;
+
+    /**
+     * Longest duration of the operation in seconds.
+     */
+    public static final int MAX_DURATION = 3600;
+
+    public static final SimpleAttributeDefinition DURATION = new SimpleAttributeDefinitionBuilder("duration", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(60))
+            .setValidator(new IntRangeValidator(1, MAX_DURATION, true, false))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME, ControllerResolver.getResolver("core"))
+            .setParameters(ModelSubscription.ADDRESSES, ModelSubscription.ATTRIBUTE_NAMES, ModelSubscription.INTERVAL,
+                    ModelSubscription.INCLUDE_NOTIFICATIONS, DURATION)
+            .setReplyType(ModelType.LONG)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    private final ServiceName controllerName;
+    private final ServiceName executorName;
+
+    /**
+     * Creates the handler.
+     *
+     * @param controllerName the name of the service providing the {@link ModelController} to subscribe to
+     * @param executorName the name of the service providing the {@link ScheduledExecutorService} sampling the attributes
+     */
+    public SubscribeHandler(final ServiceName controllerName, final ServiceName executorName) {
+        this.controllerName = controllerName;
+        this.executorName = executorName;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final int duration = DURATION.validateOperation(operation).asInt();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final ModelController controller = (ModelController) context.getServiceRegistry(false).getRequiredService(controllerName).getValue();
+                final ScheduledExecutorService executor = (ScheduledExecutorService) context.getServiceRegistry(false).getRequiredService(executorName).getValue();
+
+                final BlockingQueue<ModelNode> events = new LinkedBlockingQueue<ModelNode>(MAX_PENDING_EVENTS);
+                final AtomicLong dropped = new AtomicLong();
+                final ModelSubscription subscription = new ModelSubscription(controller, operation, new ModelSubscription.Listener() {
+                    @Override
+                    public void handleEvent(ModelNode event) {
+                        if (!events.offer(event)) {
+                            dropped.incrementAndGet();
+                        }
+                    }
+                });
+                long reported = 0L;
+                subscription.start(executor);
+                try {
+                    final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+                    for (;;) {
+                        final long timeout = end - System.nanoTime();
+                        if (timeout <= 0L) {
+                            break;
+                        }
+                        final ModelNode event = events.poll(timeout, TimeUnit.NANOSECONDS);
+                        if (event != null) {
+                            context.report(MessageSeverity.INFO, event.toJSONString(true));
+                            reported++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // Cancelled by the caller
+                    Thread.currentThread().interrupt();
+                } finally {
+                    subscription.close();
+                }
+                if (dropped.get() > 0L) {
+                    context.report(MessageSeverity.WARN, ControllerLogger.ROOT_LOGGER.subscriptionEventsDropped(dropped.get()));
+                }
+                context.getResult().set(reported);
+                context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
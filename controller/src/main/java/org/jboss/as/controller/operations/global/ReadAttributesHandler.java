@@ -0,0 +1,337 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * {@link org.jboss.as.controller.OperationStepHandler} reading a set of attributes from many resources at once.
+ * <p>
+ * With the "attributes" parameter the named attributes are read at the operation address, which can be a wildcard
+ * address, and the result is an object holding the value of each attribute. With the "targets" parameter, a list of
+ * address patterns relative to the operation address each associated with the attribute names to read, the result
+ * is a table per target: the "columns" are the address followed by the attribute names, and each matching resource
+ * adds one of the "rows", holding its address and the values of the attributes.
+ * </p>
+ * <p>
+ * Unlike {@code read-resource(include-runtime=true)} only the requested attributes are authorized and read. The
+ * attribute registrations are looked up once per pattern and resource registration rather than once per resource.
+ * Values the caller isn't allowed to read are left undefined and reported in the access control response header.
+ * </p>
+ */
+public class ReadAttributesHandler extends GlobalOperationHandlers.AbstractMultiTargetHandler {
+
+    public static final String OPERATION_NAME = "read-attributes";
+
+    static final String TARGETS = "targets";
+    static final String COLUMNS = "columns";
+    static final String ROWS = "rows";
+
+    private static final StringListAttributeDefinition ATTRIBUTE_NAMES = new StringListAttributeDefinition.Builder(ATTRIBUTES)
+            .setAllowNull(true)
+            .setAlternatives(TARGETS)
+            .build();
+
+    private static final SimpleAttributeDefinition TARGET_ADDRESS = new SimpleAttributeDefinitionBuilder(ADDRESS, ModelType.STRING)
+            .setValidator(new StringLengthValidator(1))
+            .build();
+
+    private static final StringListAttributeDefinition TARGET_ATTRIBUTE_NAMES = new StringListAttributeDefinition.Builder(ATTRIBUTES)
+            .build();
+
+    private static final ObjectListAttributeDefinition TARGETS_LIST = ObjectListAttributeDefinition.Builder.of(TARGETS,
+            ObjectTypeAttributeDefinition.Builder.of(TARGETS, TARGET_ADDRESS, TARGET_ATTRIBUTE_NAMES).build())
+            .setAllowNull(true)
+            .setAlternatives(ATTRIBUTES)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME, ControllerResolver.getResolver("global"))
+            .setParameters(ATTRIBUTE_NAMES, TARGETS_LIST)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
+    private static final GlobalOperationHandlers.FilterPredicate FILTER_PREDICATE = new GlobalOperationHandlers.FilterPredicate() {
+        @Override
+        public boolean appliesTo(ModelNode item) {
+            return !item.hasDefined(RESULT);
+        }
+    };
+
+    public static final OperationStepHandler INSTANCE = new ReadAttributesHandler();
+
+    ReadAttributesHandler() {
+        super(null, false, FILTER_PREDICATE);
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (operation.hasDefined(TARGETS)) {
+            readTargets(context, operation);
+        } else {
+            super.execute(context, operation);
+        }
+    }
+
+    @Override
+    void doExecute(OperationContext context, ModelNode operation, FilteredData filteredData, boolean ignoreMissingResource) throws OperationFailedException {
+        final ModelNode names = ATTRIBUTE_NAMES.validateOperation(operation);
+        if (!names.isDefined()) {
+            throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.required(ATTRIBUTES));
+        }
+        new RowHandler(names.asList(), filteredData).execute(context, operation);
+    }
+
+    private void readTargets(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final List<ModelNode> targets = TARGETS_LIST.validateOperation(operation).asList();
+        final PathAddress base = context.getCurrentAddress();
+        final FilteredData filteredData = new FilteredData(PathAddress.EMPTY_ADDRESS);
+        final ModelNode result = context.getResult().setEmptyList();
+        final ModelNode[] requests = new ModelNode[targets.size()];
+        final ModelNode[] matches = new ModelNode[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            final ModelNode target = targets.get(i);
+            final String pattern = target.get(ADDRESS).asString().trim();
+            final PathAddress address;
+            try {
+                address = "/".equals(pattern) ? base : base.append(PathAddress.parseCLIStyleAddress(pattern));
+            } catch (IllegalArgumentException e) {
+                throw new OperationFailedException(e.getLocalizedMessage());
+            }
+            final ModelNode table = result.add();
+            table.get(ADDRESS).set(pattern);
+            table.get(COLUMNS).add(ADDRESS);
+            for (ModelNode name : target.get(ATTRIBUTES).asList()) {
+                table.get(COLUMNS).add(name);
+            }
+            table.get(ROWS).setEmptyList();
+            requests[i] = Util.createEmptyOperation(OPERATION_NAME, address);
+            requests[i].get(ATTRIBUTES).set(target.get(ATTRIBUTES));
+            matches[i] = new ModelNode().setEmptyList();
+        }
+
+        // A step added first runs before those added previously, so go backwards to resolve the targets in order
+        for (int i = targets.size() - 1; i >= 0; i--) {
+            final RowHandler rowHandler = new RowHandler(requests[i].get(ATTRIBUTES).asList(), filteredData);
+            context.addStep(new ModelNode(), FAKE_OPERATION.clone(),
+                    new GlobalOperationHandlers.ModelAddressResolver(requests[i], matches[i], filteredData, rowHandler, FILTER_PREDICATE),
+                    OperationContext.Stage.MODEL, true);
+        }
+
+        context.completeStep(new OperationContext.ResultHandler() {
+            @Override
+            public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
+                if (resultAction == OperationContext.ResultAction.KEEP) {
+                    for (int i = 0; i < matches.length; i++) {
+                        final ModelNode table = result.get(i);
+                        final List<ModelNode> columns = table.get(COLUMNS).asList();
+                        for (ModelNode match : matches[i].asList()) {
+                            final ModelNode values = match.get(RESULT);
+                            final ModelNode row = table.get(ROWS).add();
+                            row.add(PathAddress.pathAddress(match.get(OP_ADDR)).subAddress(base.size()).toCLIStyleString());
+                            for (int j = 1; j < columns.size(); j++) {
+                                row.add(values.get(columns.get(j).asString()));
+                            }
+                        }
+                    }
+                }
+                if (filteredData.hasFilteredData()) {
+                    context.getResponseHeaders().get(ACCESS_CONTROL).set(filteredData.toModelNode());
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the attributes of the resource at the current address into an object. The attribute registrations are
+     * cached per resource registration, so a handler shared by the resources matching a pattern only looks them up
+     * once.
+     */
+    private static class RowHandler implements OperationStepHandler {
+
+        private final String[] names;
+        private final FilteredData filteredData;
+        private final Map<ImmutableManagementResourceRegistration, AttributeAccess[]> registrations =
+                new IdentityHashMap<ImmutableManagementResourceRegistration, AttributeAccess[]>();
+
+        private RowHandler(List<ModelNode> names, FilteredData filteredData) {
+            this.names = new String[names.size()];
+            for (int i = 0; i < this.names.length; i++) {
+                this.names[i] = names.get(i).asString();
+            }
+            this.filteredData = filteredData;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final AttributeAccess[] accesses = getAttributeAccesses(context.getResourceRegistration());
+            final PathAddress address = context.getCurrentAddress();
+            final ModelNode row = context.getResult().setEmptyObject();
+            for (String name : names) {
+                row.get(name);
+            }
+            ModelNode model = null;
+            // A step added first runs before those added previously, so go backwards to read the attributes in order
+            for (int i = names.length - 1; i >= 0; i--) {
+                final AttributeAccess access = accesses[i];
+                final ModelNode readOperation = Util.getReadAttributeOperation(address, names[i]);
+                readOperation.get(INCLUDE_DEFAULTS).set(true);
+                if (access.getReadHandler() == null) {
+                    if (model == null) {
+                        model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+                    }
+                    final ModelNode value;
+                    if (model.hasDefined(names[i])) {
+                        value = model.get(names[i]);
+                    } else {
+                        final ModelNode defaultValue = access.getAttributeDefinition().getDefaultValue();
+                        value = defaultValue == null ? new ModelNode() : defaultValue;
+                    }
+                    if (authorize(context, readOperation, value, filteredData)) {
+                        row.get(names[i]).set(value);
+                    }
+                } else {
+                    final ModelNode response = new ModelNode();
+                    context.addStep(response, readOperation, new CellHandler(row.get(names[i]), filteredData), OperationContext.Stage.MODEL, true);
+                    context.addStep(response, readOperation, new ReadHandler(access.getReadHandler()), OperationContext.Stage.MODEL, true);
+                }
+            }
+        }
+
+        private AttributeAccess[] getAttributeAccesses(ImmutableManagementResourceRegistration registration) throws OperationFailedException {
+            AttributeAccess[] accesses = registrations.get(registration);
+            if (accesses == null) {
+                accesses = new AttributeAccess[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    accesses[i] = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, names[i]);
+                    if (accesses[i] == null) {
+                        throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.unknownAttribute(names[i]));
+                    }
+                }
+                registrations.put(registration, accesses);
+            }
+            return accesses;
+        }
+    }
+
+    /**
+     * Invokes the read handler of an attribute, as {@code read-attribute} does.
+     */
+    private static class ReadHandler implements OperationStepHandler {
+
+        private final OperationStepHandler handler;
+
+        private ReadHandler(OperationStepHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(handler.getClass());
+            try {
+                handler.execute(context, operation);
+            } finally {
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
+            }
+        }
+    }
+
+    /**
+     * Authorizes the value produced by a read handler and copies it to the row once the runtime stage, in which most
+     * read handlers provide their value, has completed.
+     */
+    private static class CellHandler implements OperationStepHandler {
+
+        private final ModelNode cell;
+        private final FilteredData filteredData;
+
+        private CellHandler(ModelNode cell, FilteredData filteredData) {
+            this.cell = cell;
+            this.filteredData = filteredData;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final ModelNode value = context.hasResult() ? context.getResult().clone() : new ModelNode();
+            if (authorize(context, operation, value, filteredData)) {
+                context.completeStep(new OperationContext.ResultHandler() {
+                    @Override
+                    public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
+                        if (context.hasResult()) {
+                            cell.set(context.getResult());
+                        }
+                    }
+                });
+            } else {
+                context.getResult().clear();
+            }
+        }
+    }
+
+    private static boolean authorize(OperationContext context, ModelNode readOperation, ModelNode value, FilteredData filteredData) {
+        final String name = readOperation.require(NAME).asString();
+        final AuthorizationResult authorizationResult = context.authorize(readOperation, name, value);
+        if (authorizationResult.getDecision() == AuthorizationResult.Decision.DENY) {
+            if (filteredData == null) {
+                throw ControllerLogger.ROOT_LOGGER.unauthorized(OPERATION_NAME, context.getCurrentAddress(), authorizationResult.getExplanation());
+            }
+            // Report the failure to the filter and leave the value undefined
+            filteredData.addReadRestrictedAttribute(context.getCurrentAddress(), name);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.remote;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor limiting the number of tasks of a connection running at the same time on a shared executor.
+ * <p>
+ * Tasks submitted once the limit is reached are queued, and run in order by the threads completing the running tasks.
+ * As queued tasks are never resubmitted to the shared executor, they can't be rejected by it once accepted here.
+ * </p>
+ */
+final class BoundedRequestExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int limit;
+    private final Queue<Runnable> queue = new ArrayDeque<Runnable>();
+    private int running;
+
+    BoundedRequestExecutor(final Executor delegate, final int limit) {
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        synchronized (this) {
+            if (running >= limit) {
+                queue.add(task);
+                return;
+            }
+            running++;
+        }
+        try {
+            delegate.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runTasks(task);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                running--;
+            }
+            throw e;
+        }
+    }
+
+    private void runTasks(final Runnable first) {
+        Runnable task = first;
+        try {
+            while (task != null) {
+                task.run();
+                task = next();
+            }
+        } finally {
+            if (task != null) {
+                // The task failed, let another thread go on with the queued tasks
+                final Runnable queued;
+                synchronized (this) {
+                    running--;
+                    queued = queue.poll();
+                }
+                if (queued != null) {
+                    execute(queued);
+                }
+            }
+        }
+    }
+
+    private synchronized Runnable next() {
+        final Runnable task = queue.poll();
+        if (task == null) {
+            running--;
+        }
+        return task;
+    }
+
+    /**
+     * Gets the number of tasks running or waiting for a running task to complete.
+     *
+     * @return the number of tasks
+     */
+    synchronized int getPendingCount() {
+        return running + queue.size();
+    }
+}
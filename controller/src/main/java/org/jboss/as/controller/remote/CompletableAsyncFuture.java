@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.remote;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * {@link CompletableFuture} completed by the listener of an {@link AsyncFuture}, that is by the thread completing the
+ * {@code AsyncFuture}. For remote clients it's the thread reading the response from the connection, so no thread waits
+ * for the result of the operation. Cancelling the {@code CompletableFuture} cancels the {@code AsyncFuture}.
+ * <p>
+ * A {@link org.jboss.as.controller.client.ModelControllerClient} operation is executed without blocking with
+ * {@code CompletableAsyncFuture.create(client.executeAsync(operation, messageHandler))}.
+ * </p>
+ *
+ * @param <T> the type of the result
+ */
+public final class CompletableAsyncFuture<T> extends CompletableFuture<T> {
+
+    private static final AsyncFuture.Listener<Object, CompletableAsyncFuture<Object>> LISTENER = new AsyncFuture.Listener<Object, CompletableAsyncFuture<Object>>() {
+
+        @Override
+        public void handleComplete(final AsyncFuture<?> future, final CompletableAsyncFuture<Object> completable) {
+            try {
+                completable.complete(future.getUninterruptibly());
+            } catch (ExecutionException e) {
+                completable.completeExceptionally(e.getCause());
+            } catch (RuntimeException e) {
+                completable.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void handleFailed(final AsyncFuture<?> future, final Throwable cause, final CompletableAsyncFuture<Object> completable) {
+            completable.completeExceptionally(cause);
+        }
+
+        @Override
+        public void handleCancelled(final AsyncFuture<?> future, final CompletableAsyncFuture<Object> completable) {
+            completable.completeExceptionally(new CancellationException());
+        }
+    };
+
+    private final AsyncFuture<T> delegate;
+
+    private CompletableAsyncFuture(final AsyncFuture<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a {@code CompletableFuture} completed with the result of an {@code AsyncFuture}.
+     *
+     * @param future the future to adapt
+     * @param <T> the type of the result
+     * @return the completable future
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> create(final AsyncFuture<T> future) {
+        final CompletableAsyncFuture<T> completable = new CompletableAsyncFuture<T>(future);
+        future.addListener(LISTENER, (CompletableAsyncFuture<Object>) completable);
+        return completable;
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        delegate.asyncCancel(mayInterruptIfRunning);
+        return super.cancel(mayInterruptIfRunning);
+    }
+}
@@ -69,6 +69,7 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.ProtocolUtils;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Operation handlers for the remote implementation of {@link org.jboss.as.controller.client.ModelControllerClient}
@@ -78,6 +79,13 @@ import org.jboss.dmr.ModelNode;
  */
 public class ModelControllerClientOperationHandler implements ManagementRequestHandlerFactory {
 
+    /**
+     * The system property holding the maximum number of operations of a connection executing at the same time. Further
+     * operations are queued until a running one completes.
+     */
+    public static final String MAX_IN_FLIGHT_REQUESTS_PROPERTY = "jboss.as.management.client.max-in-flight-requests";
+    private static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 16;
+
     private final ModelController controller;
 
     private final ManagementChannelAssociation channelAssociation;
@@ -101,7 +109,23 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
         this.channelAssociation = channelAssociation;
         this.responseAttachmentSupport = responseAttachmentSupport;
         this.subject = subject;
-        this.clientRequestExecutor = clientRequestExecutor;
+        this.clientRequestExecutor = new BoundedRequestExecutor(clientRequestExecutor, resolveMaxInFlightRequests());
+    }
+
+    private static int resolveMaxInFlightRequests() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(MAX_IN_FLIGHT_REQUESTS_PROPERTY, null);
+        if (value != null) {
+            try {
+                final int max = Integer.parseInt(value.trim());
+                if (max > 0) {
+                    return max;
+                }
+            } catch (NumberFormatException e) {
+                // ignored
+            }
+            ROOT_LOGGER.debugf("Invalid value %s for %s, using %d", value, MAX_IN_FLIGHT_REQUESTS_PROPERTY, DEFAULT_MAX_IN_FLIGHT_REQUESTS);
+        }
+        return DEFAULT_MAX_IN_FLIGHT_REQUESTS;
     }
 
     @Override
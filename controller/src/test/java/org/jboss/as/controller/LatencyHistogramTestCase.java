@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBucketBounds() {
+        for (long micros = 0; micros < 100000; ++micros) {
+            final int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(micros <= LatencyHistogram.bucketUpperBound(index));
+            if (index > 0) {
+                assertTrue(micros > LatencyHistogram.bucketUpperBound(index - 1));
+            }
+            //the bucket is at most 25% wider than its lower bound
+            assertTrue(LatencyHistogram.bucketUpperBound(index) <= micros + micros / 4 + 1);
+        }
+        assertEquals(LatencyHistogram.bucketIndex(Long.MAX_VALUE), LatencyHistogram.bucketIndex(Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getPercentile(99));
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.getMean());
+        assertEquals(1000, snapshot.getMax());
+        assertWithin(500, snapshot.getPercentile(50));
+        assertWithin(900, snapshot.getPercentile(90));
+        assertWithin(990, snapshot.getPercentile(99));
+        assertEquals(1000, snapshot.getPercentile(100));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 25% of " + expected, actual >= expected && actual <= expected * 1.25);
+    }
+}
@@ -31,7 +31,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -41,15 +43,18 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.jboss.as.controller.client.BulkResultHandler;
 import org.jboss.as.controller.client.MessageSeverity;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.BulkOperationExecution;
 import org.jboss.as.controller.client.impl.ExistingChannelModelControllerClient;
 import org.jboss.as.controller.client.impl.InputStreamEntry;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.as.controller.remote.CompletableAsyncFuture;
 import org.jboss.as.controller.remote.ModelControllerClientOperationHandler;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.support.RemoteChannelPairSetup;
@@ -331,6 +336,96 @@ public class ModelControllerClientTestCase {
 
     }
 
+    @Test
+    public void testCompletableExecution() throws Exception {
+        final CountDownLatch executeLatch = new CountDownLatch(1);
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                this.operation = operation;
+                try {
+                    executeLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ModelNode result = new ModelNode();
+                result.get("testing").set(operation.get("test"));
+                return result;
+            }
+        };
+
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            ModelNode operation = new ModelNode();
+            operation.get("test").set("123");
+            operation.get("operation").set("fake");
+
+            final CompletableFuture<String> result = CompletableAsyncFuture.create(client.executeAsync(operation, null))
+                    .thenApply(node -> node.get("testing").asString());
+            Assert.assertFalse(result.isDone());
+            executeLatch.countDown();
+            assertEquals("123", result.get(10, TimeUnit.SECONDS));
+            assertEquals("123", controller.getOperation().get("test").asString());
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
+    @Test
+    public void testBulkExecution() throws Exception {
+        final AtomicInteger executing = new AtomicInteger();
+        final AtomicInteger maxExecuting = new AtomicInteger();
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                final int current = executing.incrementAndGet();
+                maxExecuting.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    executing.decrementAndGet();
+                }
+                ModelNode result = new ModelNode();
+                result.get("testing").set(operation.get("test"));
+                return result;
+            }
+        };
+
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            final List<Operation> operations = new ArrayList<Operation>();
+            for (int i = 0; i < 50; i++) {
+                ModelNode operation = new ModelNode();
+                operation.get("test").set(i);
+                operation.get("operation").set("fake");
+                operations.add(OperationBuilder.create(operation).build());
+            }
+            final ModelNode[] results = new ModelNode[operations.size()];
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            BulkOperationExecution.execute(client, operations, 8, new BulkResultHandler() {
+                @Override
+                public void handleResult(int index, ModelNode result) {
+                    results[index] = result;
+                }
+
+                @Override
+                public void handleFailure(int index, Throwable cause) {
+                    failure.set(cause);
+                }
+            });
+            Assert.assertNull(failure.get());
+            for (int i = 0; i < results.length; i++) {
+                assertEquals(i, results[i].get("testing").asInt());
+            }
+            // Operations were sent without waiting for the previous results
+            Assert.assertTrue(maxExecuting.get() > 1);
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
     @Test
     public void testCloseInputStreamEntry() throws Exception {
         final MockModelController controller = new MockModelController() {
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ModelGenerationTracker}.
+ */
+public class ModelGenerationTrackerTestCase {
+
+    private static final PathAddress SUBSYSTEM = PathAddress.pathAddress("subsystem", "test");
+    private static final PathAddress CHILD = SUBSYSTEM.append("child", "a");
+    private static final PathAddress SIBLING = SUBSYSTEM.append("child", "b");
+
+    @Test
+    public void testInitialGeneration() {
+        final ModelGenerationTracker tracker = new ModelGenerationTracker(100L);
+        assertEquals(100L, tracker.getGeneration(PathAddress.EMPTY_ADDRESS));
+        assertEquals(100L, tracker.getGeneration(CHILD));
+    }
+
+    @Test
+    public void testChildChange() {
+        final ModelGenerationTracker tracker = new ModelGenerationTracker(100L);
+        tracker.modelChanged(Collections.singleton(CHILD));
+        final long generation = tracker.getGeneration(CHILD);
+        assertTrue(generation > 100L);
+        // The change is visible from every subtree containing the child
+        assertEquals(generation, tracker.getGeneration(SUBSYSTEM));
+        assertEquals(generation, tracker.getGeneration(PathAddress.EMPTY_ADDRESS));
+        // but not from the other children
+        assertEquals(100L, tracker.getGeneration(SIBLING));
+    }
+
+    @Test
+    public void testParentChange() {
+        final ModelGenerationTracker tracker = new ModelGenerationTracker(100L);
+        tracker.modelChanged(Collections.singleton(CHILD));
+        final long childGeneration = tracker.getGeneration(CHILD);
+        tracker.modelChanged(Collections.singleton(SUBSYSTEM));
+        final long generation = tracker.getGeneration(SUBSYSTEM);
+        assertTrue(generation > childGeneration);
+        // A change of a parent changes what is read from all its children
+        assertEquals(generation, tracker.getGeneration(CHILD));
+        assertEquals(generation, tracker.getGeneration(SIBLING));
+        assertEquals(generation, tracker.getGeneration(PathAddress.EMPTY_ADDRESS));
+    }
+
+    @Test
+    public void testGenerationsIncrease() {
+        final ModelGenerationTracker tracker = new ModelGenerationTracker(100L);
+        long previous = tracker.getGeneration(PathAddress.EMPTY_ADDRESS);
+        for (int i = 0; i < 10; i++) {
+            tracker.modelChanged(Collections.singleton(i % 2 == 0 ? CHILD : SIBLING));
+            final long current = tracker.getGeneration(PathAddress.EMPTY_ADDRESS);
+            assertTrue(current > previous);
+            previous = current;
+        }
+    }
+}
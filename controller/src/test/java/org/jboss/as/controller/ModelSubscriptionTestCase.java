@@ -0,0 +1,259 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationHandler;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ModelSubscription}.
+ */
+public class ModelSubscriptionTestCase {
+
+    private static final PathAddress QUEUE_A = PathAddress.pathAddress("subsystem", "test").append("queue", "a");
+    private static final PathAddress QUEUE_B = PathAddress.pathAddress("subsystem", "test").append("queue", "b");
+
+    private final Map<PathAddress, ModelNode> counts = new LinkedHashMap<PathAddress, ModelNode>();
+    private final NotificationHandlerRegistration notificationRegistry = NotificationHandlerRegistration.Factory.create();
+    private final List<ModelNode> events = new ArrayList<ModelNode>();
+    // Resources and attributes the subscriber can't read
+    private final Set<PathAddress> hiddenResources = new HashSet<PathAddress>();
+    private final Set<String> hiddenAttributes = new HashSet<String>();
+
+    private final ModelController controller = new MockModelController() {
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control,
+                                 OperationAttachments attachments) {
+            final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+            final ModelNode response = new ModelNode();
+            if (hiddenResources.contains(address) || hiddenAttributes.contains(operation.get(NAME).asString())) {
+                response.get(OUTCOME).set(FAILED);
+                return response;
+            }
+            response.get(OUTCOME).set(SUCCESS);
+            if (address.isMultiTarget()) {
+                response.get(RESULT).setEmptyList();
+                for (Map.Entry<PathAddress, ModelNode> entry : counts.entrySet()) {
+                    final ModelNode item = new ModelNode();
+                    item.get(OP_ADDR).set(entry.getKey().toModelNode());
+                    item.get(OUTCOME).set(SUCCESS);
+                    item.get(RESULT).set(entry.getValue());
+                    response.get(RESULT).add(item);
+                }
+            } else if (counts.containsKey(address)) {
+                response.get(RESULT).set(counts.get(address));
+            }
+            return response;
+        }
+
+        @Override
+        public NotificationHandlerRegistration getNotificationRegistry() {
+            return notificationRegistry;
+        }
+    };
+
+    private final ModelSubscription.Listener listener = new ModelSubscription.Listener() {
+        @Override
+        public void handleEvent(ModelNode event) {
+            synchronized (events) {
+                events.add(event);
+            }
+        }
+    };
+
+    @Test
+    public void testOnlyChangedValuesArePushed() throws OperationFailedException {
+        counts.put(QUEUE_A, new ModelNode(1));
+        final ModelSubscription subscription = new ModelSubscription(controller, request(QUEUE_A.toCLIStyleString(), true), listener);
+
+        subscription.sample();
+        assertEquals(1, events.size());
+        assertEquals(ModelSubscription.ATTRIBUTE_VALUE, events.get(0).get(TYPE).asString());
+        assertEquals(QUEUE_A, PathAddress.pathAddress(events.get(0).get(ADDRESS)));
+        assertEquals("count", events.get(0).get(NAME).asString());
+        assertEquals(1, events.get(0).get(VALUE).asInt());
+
+        subscription.sample();
+        assertEquals(1, events.size());
+
+        counts.put(QUEUE_A, new ModelNode(2));
+        subscription.sample();
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(1).get(VALUE).asInt());
+        subscription.close();
+    }
+
+    @Test
+    public void testWildcardAddress() throws OperationFailedException {
+        counts.put(QUEUE_A, new ModelNode(1));
+        counts.put(QUEUE_B, new ModelNode(5));
+        final ModelSubscription subscription = new ModelSubscription(controller, request("/subsystem=test/queue=*", true), listener);
+
+        subscription.sample();
+        assertEquals(2, events.size());
+
+        counts.put(QUEUE_B, new ModelNode(6));
+        subscription.sample();
+        assertEquals(3, events.size());
+        assertEquals(QUEUE_B, PathAddress.pathAddress(events.get(2).get(ADDRESS)));
+        assertEquals(6, events.get(2).get(VALUE).asInt());
+
+        // A removed resource which comes back is pushed again
+        counts.remove(QUEUE_A);
+        subscription.sample();
+        assertEquals(3, events.size());
+        counts.put(QUEUE_A, new ModelNode(1));
+        subscription.sample();
+        assertEquals(4, events.size());
+        assertEquals(QUEUE_A, PathAddress.pathAddress(events.get(3).get(ADDRESS)));
+        subscription.close();
+    }
+
+    @Test
+    public void testNotifications() throws Exception {
+        final ModelNode request = request("/subsystem=test/queue=*", false);
+        request.get(NOTIFICATIONS).set(true);
+        final ModelSubscription subscription = new ModelSubscription(controller, request, listener);
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        subscription.start(executor);
+
+        emit(new Notification("test", QUEUE_A, "message"));
+        emit(new Notification("test", PathAddress.pathAddress("subsystem", "other"), "message"));
+        // The notifications are authorized and pushed by the executor
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, events.size());
+        assertEquals(ModelSubscription.NOTIFICATION, events.get(0).get(TYPE).asString());
+        assertEquals("test", events.get(0).get(ModelSubscription.NOTIFICATION, Notification.TYPE).asString());
+
+        subscription.close();
+        emit(new Notification("test", QUEUE_A, "message"));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testNotificationsAreAuthorized() throws OperationFailedException {
+        final ModelNode request = request("/subsystem=test/queue=*", false);
+        request.get(NOTIFICATIONS).set(true);
+        final ModelSubscription subscription = new ModelSubscription(controller, request, listener);
+        hiddenResources.add(QUEUE_B);
+        hiddenAttributes.add("password");
+
+        // The source of the notification can't be read
+        subscription.pushNotification(new Notification("test", QUEUE_B, "message"));
+        subscription.pushNotification(attributeValueWritten(QUEUE_B, "count"));
+        assertEquals(0, events.size());
+
+        // The written attribute can be read
+        subscription.pushNotification(attributeValueWritten(QUEUE_A, "count"));
+        assertEquals(1, events.size());
+        ModelNode data = events.get(0).get(ModelSubscription.NOTIFICATION, Notification.DATA);
+        assertEquals("old", data.get(GlobalNotifications.OLD_VALUE).asString());
+        assertEquals("new", data.get(GlobalNotifications.NEW_VALUE).asString());
+
+        // The written attribute can't be read, only its name is pushed
+        subscription.pushNotification(attributeValueWritten(QUEUE_A, "password"));
+        assertEquals(2, events.size());
+        final ModelNode notification = events.get(1).get(ModelSubscription.NOTIFICATION);
+        data = notification.get(Notification.DATA);
+        assertEquals("password", data.get(NAME).asString());
+        assertFalse(data.has(GlobalNotifications.OLD_VALUE));
+        assertFalse(data.has(GlobalNotifications.NEW_VALUE));
+        assertFalse(notification.get(Notification.MESSAGE).asString().contains("old"));
+        subscription.close();
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        try {
+            new ModelSubscription(controller, request("subsystem=test", true), listener);
+            fail("Invalid address accepted");
+        } catch (OperationFailedException expected) {
+            // expected
+        }
+        final ModelNode request = request(QUEUE_A.toCLIStyleString(), true);
+        request.get(ModelSubscription.INTERVAL.getName()).set(ModelSubscription.MIN_INTERVAL - 1);
+        try {
+            new ModelSubscription(controller, request, listener);
+            fail("Too short interval accepted");
+        } catch (OperationFailedException expected) {
+            // expected
+        }
+    }
+
+    private static Notification attributeValueWritten(PathAddress address, String attribute) {
+        final ModelNode data = new ModelNode();
+        data.get(NAME).set(attribute);
+        data.get(GlobalNotifications.OLD_VALUE).set("old");
+        data.get(GlobalNotifications.NEW_VALUE).set("new");
+        return new Notification(ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION, address, attribute + " changed from old to new", data);
+    }
+
+    private void emit(Notification notification) {
+        for (NotificationHandler handler : notificationRegistry.findMatchingNotificationHandlers(notification)) {
+            handler.handleNotification(notification);
+        }
+    }
+
+    private static ModelNode request(String address, boolean count) {
+        final ModelNode request = new ModelNode();
+        request.get(ModelSubscription.ADDRESSES.getName()).add(address);
+        if (count) {
+            request.get(ATTRIBUTES).add("count");
+        }
+        request.get(NOTIFICATIONS).set(false);
+        return request;
+    }
+}
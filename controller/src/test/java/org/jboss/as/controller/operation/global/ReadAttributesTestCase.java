@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.operation.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.List;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.operations.global.ReadAttributesHandler;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code read-attributes} global operation.
+ */
+public class ReadAttributesTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(10))
+            .build();
+
+    private static final AttributeDefinition NAME_LENGTH = new SimpleAttributeDefinitionBuilder("name-length", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
+    private static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, "test");
+    private static final PathElement POOL_PATH = PathElement.pathElement("pool");
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        ResourceDefinition subsystem = ResourceBuilder.Factory.create(SUBSYSTEM_PATH, new NonResolvingResourceDescriptionResolver())
+                .setAddOperation(new AbstractAddStepHandler())
+                .setRemoveOperation(ReloadRequiredRemoveStepHandler.INSTANCE)
+                .pushChild(POOL_PATH)
+                    .setAddOperation(new AbstractAddStepHandler(SIZE))
+                    .setRemoveOperation(ReloadRequiredRemoveStepHandler.INSTANCE)
+                    .addReadWriteAttribute(SIZE, null, new ModelOnlyWriteAttributeHandler(SIZE))
+                    .addMetric(NAME_LENGTH, new AbstractRuntimeOnlyHandler() {
+                        @Override
+                        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+                            context.getResult().set(context.getCurrentAddressValue().length());
+                        }
+                    })
+                .pop()
+                .build();
+        rootRegistration.registerSubModel(subsystem);
+    }
+
+    @Before
+    public void setup() throws OperationFailedException {
+        executeCheckNoFailure(createOperation("add", PathAddress.pathAddress(SUBSYSTEM_PATH)));
+        ModelNode op = createOperation("add", PathAddress.pathAddress(SUBSYSTEM_PATH, PathElement.pathElement("pool", "a")));
+        op.get(SIZE.getName()).set(5);
+        executeCheckNoFailure(op);
+        executeCheckNoFailure(createOperation("add", PathAddress.pathAddress(SUBSYSTEM_PATH, PathElement.pathElement("pool", "bcd"))));
+    }
+
+    @Test
+    public void testReadAttributes() throws OperationFailedException {
+        ModelNode op = createOperation(ReadAttributesHandler.OPERATION_NAME, PathAddress.pathAddress(SUBSYSTEM_PATH, PathElement.pathElement("pool", "a")));
+        op.get(ATTRIBUTES).add(NAME_LENGTH.getName()).add(SIZE.getName());
+        ModelNode result = executeForResult(op);
+        Assert.assertEquals(1, result.get(NAME_LENGTH.getName()).asInt());
+        Assert.assertEquals(5, result.get(SIZE.getName()).asInt());
+
+        op = createOperation(ReadAttributesHandler.OPERATION_NAME, PathAddress.pathAddress(SUBSYSTEM_PATH, POOL_PATH));
+        op.get(ATTRIBUTES).add(SIZE.getName());
+        List<ModelNode> list = executeForResult(op).asList();
+        Assert.assertEquals(2, list.size());
+        for (ModelNode item : list) {
+            String name = PathAddress.pathAddress(item.get(OP_ADDR)).getLastElement().getValue();
+            Assert.assertEquals("a".equals(name) ? 5 : 10, item.get(RESULT, SIZE.getName()).asInt());
+        }
+    }
+
+    @Test
+    public void testReadTargets() throws OperationFailedException {
+        ModelNode op = createOperation(ReadAttributesHandler.OPERATION_NAME);
+        ModelNode target = op.get("targets").add();
+        target.get(ADDRESS).set("/subsystem=test/pool=*");
+        target.get(ATTRIBUTES).add(SIZE.getName()).add(NAME_LENGTH.getName());
+        target = op.get("targets").add();
+        target.get(ADDRESS).set("/subsystem=test/pool=bcd");
+        target.get(ATTRIBUTES).add(NAME_LENGTH.getName());
+
+        List<ModelNode> tables = executeForResult(op).asList();
+        Assert.assertEquals(2, tables.size());
+
+        ModelNode table = tables.get(0);
+        Assert.assertEquals("/subsystem=test/pool=*", table.get(ADDRESS).asString());
+        Assert.assertEquals(3, table.get("columns").asInt());
+        Assert.assertEquals(ADDRESS, table.get("columns").get(0).asString());
+        Assert.assertEquals(SIZE.getName(), table.get("columns").get(1).asString());
+        Assert.assertEquals(NAME_LENGTH.getName(), table.get("columns").get(2).asString());
+        List<ModelNode> rows = table.get("rows").asList();
+        Assert.assertEquals(2, rows.size());
+        for (ModelNode row : rows) {
+            String name = PathAddress.parseCLIStyleAddress(row.get(0).asString()).getLastElement().getValue();
+            Assert.assertEquals("a".equals(name) ? 5 : 10, row.get(1).asInt());
+            Assert.assertEquals(name.length(), row.get(2).asInt());
+        }
+
+        table = tables.get(1);
+        rows = table.get("rows").asList();
+        Assert.assertEquals(1, rows.size());
+        Assert.assertEquals("/subsystem=test/pool=bcd", rows.get(0).get(0).asString());
+        Assert.assertEquals(3, rows.get(0).get(1).asInt());
+    }
+
+    @Test
+    public void testRelativeTarget() throws OperationFailedException {
+        ModelNode op = createOperation(ReadAttributesHandler.OPERATION_NAME, PathAddress.pathAddress(SUBSYSTEM_PATH));
+        ModelNode target = op.get("targets").add();
+        target.get(ADDRESS).set("/pool=a");
+        target.get(ATTRIBUTES).add(SIZE.getName());
+        ModelNode rows = executeForResult(op).get(0).get("rows");
+        Assert.assertEquals(1, rows.asInt());
+        Assert.assertEquals("/pool=a", rows.get(0).get(0).asString());
+        Assert.assertEquals(5, rows.get(0).get(1).asInt());
+    }
+
+    @Test
+    public void testUnknownAttribute() throws OperationFailedException {
+        ModelNode op = createOperation(ReadAttributesHandler.OPERATION_NAME);
+        ModelNode target = op.get("targets").add();
+        target.get(ADDRESS).set("/subsystem=test/pool=*");
+        target.get(ATTRIBUTES).add("unknown");
+        executeForFailure(op);
+
+        executeForFailure(createOperation(ReadAttributesHandler.OPERATION_NAME));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link BoundedRequestExecutor}.
+ */
+public class BoundedRequestExecutorTestCase {
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        final BoundedRequestExecutor executor = new BoundedRequestExecutor(executorService, 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2);
+        awaitIdle(executor);
+    }
+
+    @Test
+    public void testQueuedInOrder() throws Exception {
+        final BoundedRequestExecutor executor = new BoundedRequestExecutor(executorService, 1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<Integer> order = new CopyOnWriteArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(10);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            final int index = i;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    order.add(index);
+                    done.countDown();
+                }
+            });
+        }
+        assertEquals(11, executor.getPendingCount());
+        blocked.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+        awaitIdle(executor);
+    }
+
+    @Test
+    public void testFailedTask() throws Exception {
+        final BoundedRequestExecutor executor = new BoundedRequestExecutor(executorService, 1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException();
+            }
+        });
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        blocked.countDown();
+        // The queued task still runs
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        awaitIdle(executor);
+    }
+
+    private static void awaitIdle(final BoundedRequestExecutor executor) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10000L;
+        while (executor.getPendingCount() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, executor.getPendingCount());
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.repository;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Stores content as deduplicated chunks, the boundaries of the chunks being defined by the content itself.
+ * <p>
+ * Content is split with a gear rolling hash: a chunk ends where the masked bits of the hash of the last bytes are all
+ * zero, within a minimum and a maximum chunk size. As boundaries only depend on the nearby bytes, a local change to the
+ * content only changes the chunks around it and the other chunks are shared between the versions of the content.
+ * Chunks are stored by their SHA-1 using the same two level layout as the content repository.
+ * </p>
+ */
+public final class ContentChunkStore {
+
+    /**
+     * Name of the directory of the content repository under which chunks are stored.
+     */
+    public static final String CHUNKS = "chunks";
+
+    static final int MIN_CHUNK_SIZE = 16 * 1024;
+    static final int MAX_CHUNK_SIZE = 256 * 1024;
+    // 16 bits set, i.e. a boundary every 64KB on average. The high bits of the hash depend on the last 64 bytes
+    private static final long BOUNDARY_MASK = 0xffff_0000_0000_0000L;
+    private static final long[] GEAR = new long[256];
+
+    static {
+        // The table must be identical on every host, so it's generated from a fixed seed
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < GEAR.length; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            GEAR[i] = seed;
+        }
+    }
+
+    private final Path root;
+
+    public ContentChunkStore(final File root) {
+        this.root = root.toPath();
+    }
+
+    /**
+     * Gets the directory under which the chunks are stored.
+     *
+     * @return the root of the chunk store
+     */
+    public File getRoot() {
+        return root.toFile();
+    }
+
+    /**
+     * Gets whether the given string can be the hex encoded SHA-1 of a chunk or of a content.
+     *
+     * @param hash the string to check
+     * @return {@code true} if the string is a valid hash
+     */
+    public static boolean isValidHash(String hash) {
+        if (hash == null || hash.length() != 40) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            if (Character.digit(hash.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the path of a chunk relative to the root of the store.
+     *
+     * @param hash the hex encoded SHA-1 of the chunk
+     * @return the relative path of the chunk, using {@code /} as separator
+     */
+    public static String getRelativePath(String hash) {
+        return hash.substring(0, 2) + '/' + hash.substring(2);
+    }
+
+    /**
+     * Gets the file in which a chunk is stored.
+     *
+     * @param hash the hex encoded SHA-1 of the chunk
+     * @return the chunk file, which may not exist
+     */
+    public File getChunkFile(String hash) {
+        return getChunkPath(hash).toFile();
+    }
+
+    private Path getChunkPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2));
+    }
+
+    /**
+     * Gets whether a chunk is present in the store.
+     *
+     * @param hash the hex encoded SHA-1 of the chunk
+     * @return {@code true} if the chunk is present
+     */
+    public boolean hasChunk(String hash) {
+        return Files.exists(getChunkPath(hash));
+    }
+
+    /**
+     * Gets the chunks of a content that are not present in the store.
+     *
+     * @param manifest the manifest of the content
+     * @return the hashes of the missing chunks, without duplicates
+     */
+    public Set<String> getMissingChunks(ContentManifest manifest) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (ContentManifest.Chunk chunk : manifest.getChunks()) {
+            if (!hasChunk(chunk.getHash())) {
+                missing.add(chunk.getHash());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Checks that chunks are present and that their content matches their hash. Invalid chunks are removed from the
+     * store.
+     *
+     * @param hashes the hex encoded SHA-1 of the chunks
+     * @throws IOException if a chunk is missing or invalid
+     */
+    public void verifyChunks(Collection<String> hashes) throws IOException {
+        for (String hash : hashes) {
+            if (!verifyChunk(hash)) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunk(hash);
+            }
+        }
+    }
+
+    /**
+     * Checks that the content of a chunk matches its hash, removing it from the store if it doesn't.
+     *
+     * @param hash the hex encoded SHA-1 of the chunk
+     * @return {@code true} if the chunk is present and valid
+     */
+    public boolean verifyChunk(String hash) {
+        final Path chunk = getChunkPath(hash);
+        try {
+            if (Files.exists(chunk) && hash.equals(HashUtil.bytesToHexString(digest(chunk)))) {
+                return true;
+            }
+            Files.deleteIfExists(chunk);
+        } catch (IOException ioex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ioex, chunk.toString());
+        }
+        return false;
+    }
+
+    /**
+     * Splits a content into chunks and adds the chunks that are not already present to the store.
+     *
+     * @param content the content to split
+     * @param contentHash the SHA-1 of the whole content
+     * @return the manifest of the content
+     * @throws IOException if the content can't be read or the chunks can't be stored
+     */
+    public ContentManifest addContent(Path content, byte[] contentHash) throws IOException {
+        final MessageDigest messageDigest = createMessageDigest();
+        final List<ContentManifest.Chunk> chunks = new ArrayList<>();
+        final byte[] buffer = new byte[MAX_CHUNK_SIZE];
+        long contentSize = 0L;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(content))) {
+            int length;
+            while ((length = nextChunk(in, buffer)) > 0) {
+                messageDigest.update(buffer, 0, length);
+                String hash = HashUtil.bytesToHexString(messageDigest.digest());
+                storeChunk(hash, buffer, length);
+                chunks.add(new ContentManifest.Chunk(hash, length));
+                contentSize += length;
+            }
+        }
+        return new ContentManifest(HashUtil.bytesToHexString(contentHash), contentSize, chunks);
+    }
+
+    /**
+     * Reads the next chunk of the stream into the buffer.
+     *
+     * @return the size of the chunk, {@code 0} if the end of the stream was reached
+     */
+    static int nextChunk(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        long hash = 0L;
+        int read;
+        // The minimum size of the chunk is read at once, as no boundary can be found there
+        while (length < MIN_CHUNK_SIZE && (read = in.read(buffer, length, MIN_CHUNK_SIZE - length)) > 0) {
+            length += read;
+        }
+        if (length < MIN_CHUNK_SIZE) {
+            return length;
+        }
+        int b;
+        while (length < MAX_CHUNK_SIZE && (b = in.read()) >= 0) {
+            buffer[length++] = (byte) b;
+            hash = (hash << 1) + GEAR[b];
+            if ((hash & BOUNDARY_MASK) == 0L) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    private void storeChunk(String hash, byte[] buffer, int length) throws IOException {
+        final Path chunk = getChunkPath(hash);
+        if (Files.exists(chunk)) {
+            // Refresh the chunk so it isn't seen as obsolete while the manifest referencing it is being written
+            Files.setLastModifiedTime(chunk, FileTime.fromMillis(System.currentTimeMillis()));
+            return;
+        }
+        Files.createDirectories(chunk.getParent());
+        final Path tmp = Files.createTempFile(chunk.getParent(), "chunk", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                out.write(buffer, 0, length);
+            }
+            Files.move(tmp, chunk);
+        } catch (FileAlreadyExistsException faeex) {
+            // Concurrently stored
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Writes a content from its chunks, checking that the result matches the content hash.
+     *
+     * @param manifest the manifest of the content
+     * @param target the file to write
+     * @throws IOException if a chunk is missing or the assembled content doesn't match its hash
+     */
+    public void assemble(ContentManifest manifest, Path target) throws IOException {
+        final MessageDigest messageDigest = createMessageDigest();
+        final Path tmp = Files.createTempFile(target.getParent(), "content", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                final byte[] buffer = new byte[8192];
+                for (ContentManifest.Chunk chunk : manifest.getChunks()) {
+                    try (InputStream in = Files.newInputStream(getChunkPath(chunk.getHash()))) {
+                        int read;
+                        while ((read = in.read(buffer)) > -1) {
+                            messageDigest.update(buffer, 0, read);
+                            out.write(buffer, 0, read);
+                        }
+                    }
+                }
+            }
+            final String hash = HashUtil.bytesToHexString(messageDigest.digest());
+            if (!hash.equals(manifest.getContentHash())) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.contentHashMismatch(hash, manifest.getContentHash());
+            }
+            try {
+                Files.move(tmp, target);
+            } catch (FileAlreadyExistsException faeex) {
+                // Concurrently assembled
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Removes the chunks that are not referenced anymore.
+     *
+     * @param referenced the hashes of the chunks still referenced by a manifest
+     * @param timeout the time in ms after which an unreferenced chunk is removed, to leave time to the manifest of
+     *                content being added to be written
+     * @return the number of removed chunks
+     */
+    public int removeUnreferencedChunks(Set<String> referenced, long timeout) {
+        int removed = 0;
+        final File[] prefixes = root.toFile().listFiles();
+        if (prefixes == null) {
+            return removed;
+        }
+        final long limit = System.currentTimeMillis() - timeout;
+        for (File prefix : prefixes) {
+            final File[] chunks = prefix.listFiles();
+            if (chunks == null) {
+                continue;
+            }
+            for (File chunk : chunks) {
+                final String hash = prefix.getName() + chunk.getName();
+                if (isValidHash(hash) && !referenced.contains(hash) && chunk.lastModified() < limit) {
+                    try {
+                        Files.deleteIfExists(chunk.toPath());
+                        removed++;
+                    } catch (IOException ioex) {
+                        DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ioex, chunk.getAbsolutePath());
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        final MessageDigest messageDigest = createMessageDigest();
+        try (InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+}
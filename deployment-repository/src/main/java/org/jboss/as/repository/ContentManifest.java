@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Ordered list of the chunks a content is made of in a {@link ContentChunkStore}.
+ * <p>
+ * The manifest is stored as a text file. The first line holds the SHA-1 and the size of the whole content, each of the
+ * following lines holds the SHA-1 and the size of one chunk.
+ * </p>
+ */
+public final class ContentManifest {
+
+    /**
+     * Name of the file holding the whole content in the repository.
+     */
+    public static final String CONTENT = "content";
+
+    /**
+     * Name of the manifest file stored alongside the content in the repository.
+     */
+    public static final String MANIFEST = CONTENT + ".manifest";
+
+    private final String contentHash;
+    private final long contentSize;
+    private final List<Chunk> chunks;
+
+    ContentManifest(String contentHash, long contentSize, List<Chunk> chunks) {
+        this.contentHash = contentHash;
+        this.contentSize = contentSize;
+        this.chunks = Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * Gets the hex encoded SHA-1 of the whole content.
+     *
+     * @return the content hash
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Gets the size of the whole content.
+     *
+     * @return the content size
+     */
+    public long getContentSize() {
+        return contentSize;
+    }
+
+    /**
+     * Gets the chunks making up the content, in order.
+     *
+     * @return the chunks. Will not be {@code null}
+     */
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Writes this manifest to a file.
+     *
+     * @param file the target file
+     * @throws IOException if the manifest can't be written
+     */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write(contentHash);
+            writer.write(' ');
+            writer.write(Long.toString(contentSize));
+            writer.newLine();
+            for (Chunk chunk : chunks) {
+                writer.write(chunk.getHash());
+                writer.write(' ');
+                writer.write(Integer.toString(chunk.getSize()));
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a manifest from a file.
+     *
+     * @param file the manifest file
+     * @return the manifest, or {@code null} if the file doesn't exist
+     * @throws IOException if the manifest can't be read or is invalid
+     */
+    public static ContentManifest read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentManifest(file.toString());
+            }
+            String[] header = split(line, file);
+            List<Chunk> chunks = new ArrayList<>();
+            long size = 0L;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    String[] entry = split(line, file);
+                    Chunk chunk = new Chunk(entry[0], Integer.parseInt(entry[1]));
+                    size += chunk.getSize();
+                    chunks.add(chunk);
+                }
+            }
+            long contentSize = Long.parseLong(header[1]);
+            if (size != contentSize) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentManifest(file.toString());
+            }
+            return new ContentManifest(header[0], contentSize, chunks);
+        } catch (NumberFormatException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentManifest(file.toString());
+        }
+    }
+
+    private static String[] split(String line, Path file) throws IOException {
+        String[] parts = line.trim().split(" ");
+        if (parts.length != 2 || !ContentChunkStore.isValidHash(parts[0])) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentManifest(file.toString());
+        }
+        return parts;
+    }
+
+    /**
+     * A chunk of content, identified by its SHA-1.
+     */
+    public static final class Chunk {
+        private final String hash;
+        private final int size;
+
+        Chunk(String hash, int size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        /**
+         * Gets the hex encoded SHA-1 of the chunk.
+         *
+         * @return the chunk hash
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        /**
+         * Gets the size of the chunk.
+         *
+         * @return the chunk size
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+}
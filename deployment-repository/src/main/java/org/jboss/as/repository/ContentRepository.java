@@ -21,15 +21,19 @@
  */
 package org.jboss.as.repository;
 
-import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -136,10 +140,31 @@ public interface ContentRepository {
      */
     Map<String, Set<String>> cleanObsoleteContent();
 
+    /**
+     * Gets the statistics about the content added to the repository through {@link #addContent(InputStream)}.
+     *
+     * @return the upload statistics. Will not be {@code null}
+     */
+    default ContentUploadMetrics getUploadMetrics() {
+        return new ContentUploadMetrics();
+    }
+
     static class Factory {
 
         public static void addService(final ServiceTarget serviceTarget, final File repoRoot) {
-            ContentRepositoryImpl contentRepository = new ContentRepositoryImpl(repoRoot, OBSOLETE_CONTENT_TIMEOUT);
+            addService(serviceTarget, repoRoot, false);
+        }
+
+        /**
+         * Installs a content repository service.
+         *
+         * @param serviceTarget the service target
+         * @param repoRoot the root of the repository
+         * @param chunked {@code true} if content should also be stored as deduplicated chunks in a {@link ContentChunkStore}
+         */
+        public static void addService(final ServiceTarget serviceTarget, final File repoRoot, final boolean chunked) {
+            ContentRepositoryImpl contentRepository = chunked ? new ChunkedContentRepositoryImpl(repoRoot, OBSOLETE_CONTENT_TIMEOUT)
+                    : new ContentRepositoryImpl(repoRoot, OBSOLETE_CONTENT_TIMEOUT);
             serviceTarget.addService(SERVICE_NAME, contentRepository).install();
         }
 
@@ -147,8 +172,23 @@ public interface ContentRepository {
             return create(repoRoot, OBSOLETE_CONTENT_TIMEOUT);
         }
 
+        /**
+         * Creates a content repository.
+         *
+         * @param repoRoot the root of the repository
+         * @param chunked {@code true} if content should also be stored as deduplicated chunks in a {@link ContentChunkStore}
+         * @return the content repository
+         */
+        public static ContentRepository create(final File repoRoot, final boolean chunked) {
+            return create(repoRoot, OBSOLETE_CONTENT_TIMEOUT, chunked);
+        }
+
         static ContentRepository create(final File repoRoot, long timeout) {
-            return new ContentRepositoryImpl(repoRoot, timeout);
+            return create(repoRoot, timeout, false);
+        }
+
+        static ContentRepository create(final File repoRoot, long timeout, boolean chunked) {
+            return chunked ? new ChunkedContentRepositoryImpl(repoRoot, timeout) : new ContentRepositoryImpl(repoRoot, timeout);
         }
 
         /**
@@ -158,12 +198,13 @@ public interface ContentRepository {
          */
         private static class ContentRepositoryImpl implements ContentRepository, Service<ContentRepository> {
 
-            protected static final String CONTENT = "content";
+            protected static final String CONTENT = ContentManifest.CONTENT;
+            private static final int BUFFER_SIZE = 64 * 1024;
             private final File repoRoot;
-            protected final MessageDigest messageDigest;
-            private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<String, Set<ContentReference>>();
+            private final ContentUploadMetrics uploadMetrics = new ContentUploadMetrics();
+            protected final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<String, Set<ContentReference>>();
             private final Map<String, Long> obsoleteContents = new HashMap<String, Long>();
-            private final long obsolescenceTimeout;
+            protected final long obsolescenceTimeout;
 
             protected ContentRepositoryImpl(final File repoRoot, long obsolescenceTimeout) {
                 if (repoRoot == null) {
@@ -180,36 +221,33 @@ public interface ContentRepository {
                 }
                 this.repoRoot = repoRoot;
                 this.obsolescenceTimeout = obsolescenceTimeout;
-                try {
-                    this.messageDigest = MessageDigest.getInstance("SHA-1");
-                } catch (NoSuchAlgorithmException e) {
-                    throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
-                }
+                // Fail fast if SHA-1 isn't available rather than on the first upload
+                createMessageDigest();
             }
 
             @Override
             public byte[] addContent(InputStream stream) throws IOException {
-                byte[] sha1Bytes;
-                Path tmp = Files.createTempFile(repoRoot.toPath(), CONTENT, ".tmp");
-                OutputStream fos = Files.newOutputStream(tmp);
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    try {
-                        DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                        BufferedInputStream bis = new BufferedInputStream(stream);
-                        byte[] bytes = new byte[8192];
-                        int read;
-                        while ((read = bis.read(bytes)) > -1) {
-                            dos.write(bytes, 0, read);
+                // Each upload gets its own digest so concurrent uploads are streamed and hashed in parallel
+                final MessageDigest messageDigest = createMessageDigest();
+                final long start = System.nanoTime();
+                uploadMetrics.uploadStarted();
+                final long size;
+                final Path tmp;
+                try {
+                    tmp = Files.createTempFile(repoRoot.toPath(), CONTENT, ".tmp");
+                    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                        if (stream instanceof FileInputStream) {
+                            size = copyLocalContent(((FileInputStream) stream).getChannel(), out, messageDigest);
+                        } else {
+                            size = copyContent(Channels.newChannel(stream), out, messageDigest);
                         }
-                        fos.flush();
-                        fos.close();
-                        fos = null;
-                    } finally {
-                        safeClose(fos);
                     }
-                    sha1Bytes = messageDigest.digest();
+                } catch (IOException | RuntimeException e) {
+                    uploadMetrics.uploadFailed();
+                    throw e;
                 }
+                uploadMetrics.uploadCompleted(size, System.nanoTime() - start);
+                final byte[] sha1Bytes = messageDigest.digest();
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -228,6 +266,66 @@ public interface ContentRepository {
                 return sha1Bytes;
             }
 
+            @Override
+            public ContentUploadMetrics getUploadMetrics() {
+                return uploadMetrics;
+            }
+
+            private static MessageDigest createMessageDigest() {
+                try {
+                    return MessageDigest.getInstance("SHA-1");
+                } catch (NoSuchAlgorithmException e) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+                }
+            }
+
+            /**
+             * Copies a local file into the repository. The copy itself is delegated to the file system with
+             * {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}, the copy being read back through a
+             * direct buffer to compute its hash, so the hash always matches the stored bytes even if the source is
+             * modified concurrently.
+             */
+            private static long copyLocalContent(FileChannel in, FileChannel out, MessageDigest messageDigest) throws IOException {
+                final long size = in.size() - in.position();
+                long transferred = 0L;
+                while (transferred < size) {
+                    long count = out.transferFrom(in, transferred, size - transferred);
+                    if (count <= 0L) {
+                        break;
+                    }
+                    transferred += count;
+                }
+                final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                long position = 0L;
+                while (position < transferred) {
+                    buffer.limit((int) Math.min(buffer.capacity(), transferred - position));
+                    final int read = out.read(buffer, position);
+                    if (read < 0) {
+                        break;
+                    }
+                    position += read;
+                    buffer.flip();
+                    messageDigest.update(buffer);
+                    buffer.clear();
+                }
+                return transferred;
+            }
+
+            private static long copyContent(ReadableByteChannel in, FileChannel out, MessageDigest messageDigest) throws IOException {
+                final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                long size = 0L;
+                while (in.read(buffer) > -1) {
+                    buffer.flip();
+                    // digest the buffer through a duplicate so it can still be written out afterwards
+                    messageDigest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                return size;
+            }
+
             @Override
             public void addContentReference(ContentReference reference) {
                 synchronized (contentHashReferences) {
@@ -309,6 +407,9 @@ public interface ContentRepository {
                 Path localTmp = permanentFile.resolveSibling("tmp");
                 try {
                     Files.move(tmpFile, permanentFile);
+                } catch (FileAlreadyExistsException faeex) {
+                    // The same content was concurrently uploaded and is already present
+                    DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", permanentFile.toAbsolutePath().toString());
                 } catch (IOException ioex) {
                     // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
                     // Copy tmpFile to another tmpfile in the same dir as the permanent file (and thus same filesystem)
@@ -359,6 +460,12 @@ public interface ContentRepository {
                 } catch (IOException ex) {
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, file.toString());
                 }
+                Path manifest = file.resolveSibling(ContentManifest.MANIFEST);
+                try {
+                    Files.deleteIfExists(manifest);
+                } catch (IOException ex) {
+                    DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, manifest.toString());
+                }
                 Path parent = file.getParent();
                 try {
                     Files.deleteIfExists(parent);
@@ -422,11 +529,11 @@ public interface ContentRepository {
                 return false;
             }
 
-            private Set<ContentReference> listLocalContents() {
+            protected Set<ContentReference> listLocalContents() {
                 Set<ContentReference> localReferences = new HashSet<>();
                 File[] rootHashes = repoRoot.listFiles();
                 for (File rootHash : rootHashes) {
-                    if (rootHash.isDirectory()) {
+                    if (rootHash.isDirectory() && !ContentChunkStore.CHUNKS.equals(rootHash.getName())) {
                         File[] complementaryHashes = rootHash.listFiles();
                         if (complementaryHashes == null || complementaryHashes.length == 0) {
                             ContentReference reference = new ContentReference(rootHash.getAbsolutePath(), rootHash.getName());
@@ -469,5 +576,84 @@ public interface ContentRepository {
             }
         }
 
+        /**
+         * {@link ContentRepository} that also stores its content as deduplicated chunks along with a
+         * {@link ContentManifest}, so that hosts can synchronize the content by transferring only the chunks they are
+         * missing. The whole content is still kept so that it can be mounted, and is assembled back from the chunks if
+         * it is missing.
+         */
+        private static class ChunkedContentRepositoryImpl extends ContentRepositoryImpl {
+
+            private final ContentChunkStore chunkStore;
+
+            protected ChunkedContentRepositoryImpl(final File repoRoot, long obsolescenceTimeout) {
+                super(repoRoot, obsolescenceTimeout);
+                this.chunkStore = new ContentChunkStore(new File(repoRoot, ContentChunkStore.CHUNKS));
+            }
+
+            @Override
+            public byte[] addContent(InputStream stream) throws IOException {
+                final byte[] sha1Bytes = super.addContent(stream);
+                final Path manifestFile = getDeploymentContentFile(sha1Bytes).resolveSibling(ContentManifest.MANIFEST);
+                if (!Files.exists(manifestFile)) {
+                    chunkStore.addContent(getDeploymentContentFile(sha1Bytes), sha1Bytes).write(manifestFile);
+                }
+                return sha1Bytes;
+            }
+
+            @Override
+            public VirtualFile getContent(byte[] hash) {
+                if (hash != null && !super.hasContent(hash)) {
+                    assembleContent(hash);
+                }
+                return super.getContent(hash);
+            }
+
+            @Override
+            public boolean hasContent(byte[] hash) {
+                return super.hasContent(hash) || assembleContent(hash);
+            }
+
+            private boolean assembleContent(byte[] hash) {
+                final Path file = getDeploymentContentFile(hash);
+                try {
+                    final ContentManifest manifest = ContentManifest.read(file.resolveSibling(ContentManifest.MANIFEST));
+                    if (manifest == null || !chunkStore.getMissingChunks(manifest).isEmpty()) {
+                        return false;
+                    }
+                    chunkStore.assemble(manifest, file);
+                    return true;
+                } catch (IOException ioex) {
+                    DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Couldn't assemble content %s from its chunks", file);
+                    return false;
+                }
+            }
+
+            @Override
+            public Map<String, Set<String>> cleanObsoleteContent() {
+                final Map<String, Set<String>> cleanedContents = super.cleanObsoleteContent();
+                final Set<String> referencedChunks = new HashSet<>();
+                synchronized (contentHashReferences) {
+                    for (ContentReference fsContent : listLocalContents()) {
+                        final Path manifestFile = new File(fsContent.getContentIdentifier(), ContentManifest.MANIFEST).toPath();
+                        try {
+                            final ContentManifest manifest = ContentManifest.read(manifestFile);
+                            if (manifest != null) {
+                                for (ContentManifest.Chunk chunk : manifest.getChunks()) {
+                                    referencedChunks.add(chunk.getHash());
+                                }
+                            }
+                        } catch (IOException ioex) {
+                            // Don't remove any chunk, they may belong to this content
+                            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Couldn't read content manifest %s", manifestFile);
+                            return cleanedContents;
+                        }
+                    }
+                    chunkStore.removeUnreferencedChunks(referencedChunks, obsolescenceTimeout);
+                }
+                return cleanedContents;
+            }
+        }
+
     }
 }
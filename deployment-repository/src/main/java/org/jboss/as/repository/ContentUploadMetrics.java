@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the content uploaded to a {@link ContentRepository}.
+ */
+public final class ContentUploadMetrics {
+
+    private final AtomicInteger activeUploads = new AtomicInteger();
+    private final AtomicLong completedUploads = new AtomicLong();
+    private final AtomicLong failedUploads = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong uploadTime = new AtomicLong();
+
+    void uploadStarted() {
+        activeUploads.incrementAndGet();
+    }
+
+    void uploadCompleted(long bytes, long durationNanos) {
+        activeUploads.decrementAndGet();
+        completedUploads.incrementAndGet();
+        uploadedBytes.addAndGet(bytes);
+        uploadTime.addAndGet(durationNanos);
+    }
+
+    void uploadFailed() {
+        activeUploads.decrementAndGet();
+        failedUploads.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of uploads currently being streamed into the repository.
+     *
+     * @return the number of uploads in progress
+     */
+    public int getActiveUploads() {
+        return activeUploads.get();
+    }
+
+    /**
+     * Gets the number of uploads that were successfully stored in the repository.
+     *
+     * @return the number of completed uploads
+     */
+    public long getCompletedUploads() {
+        return completedUploads.get();
+    }
+
+    /**
+     * Gets the number of uploads that failed while being read or stored.
+     *
+     * @return the number of failed uploads
+     */
+    public long getFailedUploads() {
+        return failedUploads.get();
+    }
+
+    /**
+     * Gets the total number of bytes read from completed uploads.
+     *
+     * @return the number of uploaded bytes
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    /**
+     * Gets the cumulated time spent streaming and hashing completed uploads.
+     *
+     * @param unit the unit of the returned value. Cannot be {@code null}
+     * @return the total upload time
+     */
+    public long getTotalUploadTime(TimeUnit unit) {
+        return unit.convert(uploadTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the average upload throughput, computed over all the completed uploads.
+     *
+     * @return the average throughput in bytes per second, or {@code 0} if nothing was uploaded yet
+     */
+    public long getAverageThroughput() {
+        final long nanos = uploadTime.get();
+        if (nanos <= 0L) {
+            return 0L;
+        }
+        return (long) (uploadedBytes.get() * ((double) TimeUnit.SECONDS.toNanos(1L) / nanos));
+    }
+}
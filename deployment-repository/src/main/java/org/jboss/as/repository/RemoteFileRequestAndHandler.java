@@ -32,7 +32,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.StreamUtils;
@@ -134,11 +136,16 @@ public abstract class RemoteFileRequestAndHandler {
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
             public void execute(ManagementRequestContext<Void> context) throws Exception {
-                final File localPath = reader.readRootFile(rootId, filePath);
+                final Map<String, File> files = reader.readRootFiles(rootId, filePath);
+                final File localPath = files == null ? reader.readRootFile(rootId, filePath) : null;
                 //final FlushableDataOutput output = writeGenericResponseHeader(context);
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    if (files == null) {
+                        writeResponse(localPath, output);
+                    } else {
+                        writeResponse(files, output);
+                    }
                     output.close();
                 } finally {
                     StreamUtils.safeClose(output);
@@ -169,6 +176,20 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
+    private void writeResponse(final Map<String, File> files, final FlushableDataOutput output) throws IOException {
+        final Map<String, File> existingFiles = new LinkedHashMap<String, File>();
+        for (Map.Entry<String, File> entry : files.entrySet()) {
+            if (entry.getValue().isFile()) {
+                existingFiles.put(entry.getKey(), entry.getValue());
+            }
+        }
+        output.writeByte(protocol.paramNumFiles());
+        output.writeInt(existingFiles.isEmpty() ? -1 : existingFiles.size());
+        for (Map.Entry<String, File> entry : existingFiles.entrySet()) {
+            writeFile(entry.getKey(), entry.getValue(), output);
+        }
+    }
+
     private List<File> getChildFiles(final File base) {
         final List<File> childFiles = new ArrayList<File>();
         getChildFiles(base, childFiles);
@@ -186,13 +207,20 @@ public abstract class RemoteFileRequestAndHandler {
     }
 
     private String getRelativePath(final File parent, final File child) {
+        if (parent.equals(child)) {
+            return child.getName();
+        }
         return child.getAbsolutePath().substring(parent.getAbsolutePath().length()+1);
     }
 
     private void writeFile(final File localPath, final File file, final FlushableDataOutput output) throws IOException {
+        writeFile(getRelativePath(localPath, file), file, output);
+    }
+
+    private void writeFile(final String path, final File file, final FlushableDataOutput output) throws IOException {
         output.writeByte(protocol.fileStart());
         output.writeByte(protocol.paramFilePath());
-        output.writeUTF(getRelativePath(localPath, file));
+        output.writeUTF(path);
         output.writeByte(protocol.paramFileSize());
         output.writeLong(file.length());
         InputStream inputStream = null;
@@ -231,6 +259,17 @@ public abstract class RemoteFileRequestAndHandler {
      */
     public interface RootFileReader {
         File readRootFile(byte rootId, String filePath) throws RequestProcessingException;
+
+        /**
+         * Reads several files at once for roots whose file path denotes a set of files rather than a single root file.
+         * Only the existing files are sent back, under the path they are mapped to.
+         *
+         * @return the files to send back keyed by their path, or {@code null} if the file path denotes a single root
+         * file to be read with {@link #readRootFile(byte, String)}
+         */
+        default Map<String, File> readRootFiles(byte rootId, String filePath) throws RequestProcessingException {
+            return null;
+        }
     }
 
     /**
@@ -26,6 +26,8 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
+
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
@@ -121,4 +123,35 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 10, value = "Couldn't delete content %s")
     void contentDeletionError(@Cause Throwable cause, String name);
+
+    /**
+     * Creates an exception indicating the content manifest file, represented by the {@code path} parameter, is invalid.
+     *
+     * @param path the path name.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 11, value = "Invalid content manifest %s")
+    IOException invalidContentManifest(String path);
+
+    /**
+     * Creates an exception indicating the content assembled from its chunks doesn't match the expected hash.
+     *
+     * @param actual   the hash of the assembled content.
+     * @param expected the expected hash.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 12, value = "Content assembled from chunks has hash %s instead of %s")
+    IOException contentHashMismatch(String actual, String expected);
+
+    /**
+     * Creates an exception indicating the chunk, represented by the {@code hash} parameter, is missing or corrupted.
+     *
+     * @param hash the hash of the chunk.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 13, value = "Chunk %s is missing or corrupted")
+    IOException invalidChunk(String hash);
 }
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.repository;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the chunked storage of the {@link ContentRepository}.
+ */
+public class ContentChunkStoreTest {
+
+    private final File rootDir = new File("target", "chunked-repository");
+    private ContentRepository repository;
+    private ContentChunkStore chunkStore;
+
+    @Before
+    public void createRepository() {
+        deleteRecursively(rootDir);
+        rootDir.mkdirs();
+        repository = ContentRepository.Factory.create(rootDir, 0L, true);
+        chunkStore = new ContentChunkStore(new File(rootDir, ContentChunkStore.CHUNKS));
+    }
+
+    @After
+    public void destroyRepository() {
+        deleteRecursively(rootDir);
+        repository = null;
+    }
+
+    private void deleteRecursively(File file) {
+        if (file.exists()) {
+            if (file.isDirectory()) {
+                for (String name : file.list()) {
+                    deleteRecursively(new File(file, name));
+                }
+            }
+            file.delete();
+        }
+    }
+
+    private ContentManifest readManifest(byte[] hash) throws Exception {
+        Path content = repository.getContent(hash).getPhysicalFile().toPath();
+        return ContentManifest.read(content.resolveSibling(ContentManifest.MANIFEST));
+    }
+
+    /**
+     * Test that a local change to the content only changes the chunks around it.
+     */
+    @Test
+    public void testChunksAreShared() throws Exception {
+        byte[] data = new byte[4 * 1024 * 1024];
+        new Random(42L).nextBytes(data);
+        byte[] hash = repository.addContent(new ByteArrayInputStream(data));
+        ContentManifest manifest = readManifest(hash);
+        assertThat(manifest.getContentHash(), is(HashUtil.bytesToHexString(hash)));
+        assertThat(manifest.getContentSize(), is((long) data.length));
+        assertTrue(manifest.getChunks().size() > 1);
+
+        byte[] modified = data.clone();
+        for (int i = 0; i < 100; i++) {
+            modified[data.length / 2 + i] ^= 0xFF;
+        }
+        byte[] modifiedHash = repository.addContent(new ByteArrayInputStream(modified));
+        ContentManifest modifiedManifest = readManifest(modifiedHash);
+        Set<String> chunks = new HashSet<>();
+        for (ContentManifest.Chunk chunk : manifest.getChunks()) {
+            chunks.add(chunk.getHash());
+        }
+        int newChunks = 0;
+        for (ContentManifest.Chunk chunk : modifiedManifest.getChunks()) {
+            if (!chunks.contains(chunk.getHash())) {
+                newChunks++;
+            }
+        }
+        assertTrue("Too many changed chunks: " + newChunks, newChunks <= 2);
+    }
+
+    /**
+     * Test that a content is assembled back from its chunks when the whole content is missing.
+     */
+    @Test
+    public void testAssembleContent() throws Exception {
+        byte[] data = new byte[1024 * 1024];
+        new Random(7L).nextBytes(data);
+        byte[] hash = repository.addContent(new ByteArrayInputStream(data));
+        Path content = repository.getContent(hash).getPhysicalFile().toPath();
+        Files.delete(content);
+        assertThat(repository.hasContent(hash), is(true));
+        assertArrayEquals(data, Files.readAllBytes(content));
+
+        ContentManifest manifest = readManifest(hash);
+        String chunk = manifest.getChunks().get(0).getHash();
+        Files.write(chunkStore.getChunkFile(chunk).toPath(), new byte[]{1, 2, 3});
+        assertThat(chunkStore.verifyChunk(chunk), is(false));
+        assertThat(chunkStore.getMissingChunks(manifest).contains(chunk), is(true));
+        Files.delete(content);
+        assertThat(repository.hasContent(hash), is(false));
+    }
+
+    /**
+     * Test that the chunks of removed content are cleaned.
+     */
+    @Test
+    public void testCleanObsoleteChunks() throws Exception {
+        byte[] data = new byte[512 * 1024];
+        new Random(3L).nextBytes(data);
+        byte[] hash = repository.addContent(new ByteArrayInputStream(data));
+        ContentManifest manifest = readManifest(hash);
+        repository.removeContent(new ContentReference("test", hash));
+        assertThat(chunkStore.getMissingChunks(manifest).isEmpty(), is(true));
+        Thread.sleep(10);
+        repository.cleanObsoleteContent();
+        assertThat(chunkStore.getMissingChunks(manifest).size(), is(manifest.getChunks().size()));
+    }
+}
@@ -30,8 +30,16 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.jboss.vfs.VirtualFile;
 import org.junit.After;
 import org.junit.Before;
@@ -100,6 +108,61 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method with a local file, of class ContentRepository.
+     */
+    @Test
+    public void testAddLocalContent() throws Exception {
+        File overlay = new File(this.getClass().getClassLoader().getResource("overlay.xhtml").toURI());
+        try (InputStream stream = new FileInputStream(overlay)) {
+            String expResult = "0c40ffacd15b0f66d5081a93407d3ff5e3c65a71";
+            byte[] result = repository.addContent(stream);
+            assertThat(result, is(notNullValue()));
+            assertThat(HashUtil.bytesToHexString(result), is(expResult));
+            assertThat(readFileContent(repository.getContent(result).getPhysicalFile()), is(readFileContent(overlay)));
+        }
+    }
+
+    /**
+     * Test that concurrent uploads of the same content are hashed independently, of class ContentRepository.
+     */
+    @Test
+    public void testConcurrentAddContent() throws Exception {
+        final int uploads = 8;
+        final String expResult = "0c40ffacd15b0f66d5081a93407d3ff5e3c65a71";
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>(uploads);
+            for (int i = 0; i < uploads; i++) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        latch.await();
+                        try (InputStream stream = ContentRepositoryTest.this.getClass().getClassLoader().getResourceAsStream("overlay.xhtml")) {
+                            return repository.addContent(stream);
+                        }
+                    }
+                }));
+            }
+            latch.countDown();
+            for (Future<byte[]> result : results) {
+                assertThat(HashUtil.bytesToHexString(result.get(10, TimeUnit.SECONDS)), is(expResult));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(repository.hasContent(HashUtil.hexStringToByteArray(expResult)), is(true));
+        ContentUploadMetrics metrics = repository.getUploadMetrics();
+        long size = new File(this.getClass().getClassLoader().getResource("overlay.xhtml").toURI()).length();
+        assertThat(metrics.getActiveUploads(), is(0));
+        assertThat(metrics.getCompletedUploads(), is((long) uploads));
+        assertThat(metrics.getFailedUploads(), is(0L));
+        assertThat(metrics.getUploadedBytes(), is(uploads * size));
+        assertThat(metrics.getTotalUploadTime(TimeUnit.NANOSECONDS) > 0L, is(true));
+        assertThat(metrics.getAverageThroughput() > 0L, is(true));
+    }
+
     /**
      * Test of addContentReference method, of class ContentRepository.
      */
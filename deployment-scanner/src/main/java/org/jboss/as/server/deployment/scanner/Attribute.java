@@ -42,6 +42,7 @@ enum Attribute {
     AUTO_DEPLOY_XML(CommonAttributes.AUTO_DEPLOY_XML),
     DEPLOYMENT_TIMEOUT(CommonAttributes.DEPLOYMENT_TIMEOUT),
     RUNTIME_FAILURE_CAUSES_ROLLBACK(CommonAttributes.RUNTIME_FAILURE_CAUSES_ROLLBACK),
+    SCAN_MODE(CommonAttributes.SCAN_MODE),
     ;
 
     private final String name;
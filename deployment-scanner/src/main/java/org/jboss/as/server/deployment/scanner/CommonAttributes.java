@@ -39,5 +39,13 @@ interface CommonAttributes {
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
+    String SCAN_MODE = "scan-mode";
+
+    // Metrics
+    String SCAN_COUNT = "scan-count";
+    String LAST_SCAN_DURATION = "last-scan-duration";
+    String TOTAL_SCAN_DURATION = "total-scan-duration";
+    String LAST_SCAN_FILES_INSPECTED = "last-scan-files-inspected";
+    String WATCHING = "watching";
 
 }
@@ -22,10 +22,13 @@
 
 package org.jboss.as.server.deployment.scanner;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManager;
@@ -110,7 +113,40 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(new ModelNode().set(false))
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition SCAN_MODE =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.SCAN_MODE, ModelType.STRING, true)
+                    .setXmlName(Attribute.SCAN_MODE.getLocalName())
+                    .setAllowExpression(true)
+                    .setValidator(new EnumValidator<ScanMode>(ScanMode.class, true, true))
+                    .setDefaultValue(new ModelNode().set(ScanMode.POLL.toString()))
+                    .build();
+
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK,SCAN_MODE};
+
+    static final AttributeDefinition SCAN_COUNT =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.SCAN_COUNT, ModelType.LONG, false)
+                    .setStorageRuntime()
+                    .build();
+    static final AttributeDefinition LAST_SCAN_DURATION =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_DURATION, ModelType.LONG, false)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+    static final AttributeDefinition TOTAL_SCAN_DURATION =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.TOTAL_SCAN_DURATION, ModelType.LONG, false)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+    static final AttributeDefinition LAST_SCAN_FILES_INSPECTED =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_FILES_INSPECTED, ModelType.LONG, false)
+                    .setStorageRuntime()
+                    .build();
+    static final AttributeDefinition WATCHING =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.WATCHING, ModelType.BOOLEAN, false)
+                    .setStorageRuntime()
+                    .build();
+
+    static final AttributeDefinition[] METRICS = {SCAN_COUNT, LAST_SCAN_DURATION, TOTAL_SCAN_DURATION, LAST_SCAN_FILES_INSPECTED, WATCHING};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -124,6 +160,10 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, WriteAutoDeployXMLAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, WriteDeploymentTimeoutAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, WriteRuntimeFailureCausesRollbackAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(SCAN_MODE, null, WriteScanModeAttributeHandler.INSTANCE);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, DeploymentScannerMetricsHandler.INSTANCE);
+        }
     }
 
     @Override
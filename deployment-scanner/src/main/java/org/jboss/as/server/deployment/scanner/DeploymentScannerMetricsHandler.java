@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the scan metrics of a {@code DeploymentScanner}.
+ */
+class DeploymentScannerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final DeploymentScannerMetricsHandler INSTANCE = new DeploymentScannerMetricsHandler();
+
+    private DeploymentScannerMetricsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final String name = context.getCurrentAddressValue();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(name));
+        if (controller != null && controller.getState() == ServiceController.State.UP) {
+            final FileSystemDeploymentService scanner = (FileSystemDeploymentService) controller.getValue();
+            final ModelNode result = context.getResult();
+            if (CommonAttributes.SCAN_COUNT.equals(attributeName)) {
+                result.set(scanner.getScanCount());
+            } else if (CommonAttributes.LAST_SCAN_DURATION.equals(attributeName)) {
+                result.set(scanner.getLastScanDuration());
+            } else if (CommonAttributes.TOTAL_SCAN_DURATION.equals(attributeName)) {
+                result.set(scanner.getTotalScanDuration());
+            } else if (CommonAttributes.LAST_SCAN_FILES_INSPECTED.equals(attributeName)) {
+                result.set(scanner.getLastScanFilesInspected());
+            } else if (CommonAttributes.WATCHING.equals(attributeName)) {
+                result.set(scanner.isWatching());
+            }
+        }
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+}
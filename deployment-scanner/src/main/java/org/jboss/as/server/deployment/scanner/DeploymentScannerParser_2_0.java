@@ -82,6 +82,7 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
                 DeploymentScannerDefinition.AUTO_DEPLOY_XML.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK.marshallAsAttribute(configuration, writer);
+                DeploymentScannerDefinition.SCAN_MODE.marshallAsAttribute(configuration, writer);
             }
             writer.writeEndElement();
         }
@@ -109,7 +110,8 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
             switch (Namespace.forUri(reader.getNamespaceURI())) {
                 case DEPLOYMENT_SCANNER_1_0:
                 case DEPLOYMENT_SCANNER_1_1:
-                case DEPLOYMENT_SCANNER_2_0: {
+                case DEPLOYMENT_SCANNER_2_0:
+                case DEPLOYMENT_SCANNER_2_1: {
                     final Element element = Element.forName(reader.getLocalName());
                     switch (element) {
                         case DEPLOYMENT_SCANNER: {
@@ -182,6 +184,13 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
                     DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK.parseAndSetParameter(value,operation,reader);
                     break;
                 }
+                case SCAN_MODE: {
+                    if (Namespace.forUri(reader.getNamespaceURI()) != Namespace.DEPLOYMENT_SCANNER_2_1) {
+                        throw ParseUtils.unexpectedAttribute(reader, i);
+                    }
+                    DeploymentScannerDefinition.SCAN_MODE.parseAndSetParameter(value,operation,reader);
+                    break;
+                }
                 default:
                     throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -0,0 +1,234 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the state of the directories inspected by a {@link FileSystemDeploymentService} up to date from the events of a
+ * {@link WatchService}, so that a scan only goes back to the file system for the directories in which something changed.
+ * <p>
+ * The watcher caches the children of the directories that were listed and the latest timestamp of the exploded
+ * deployments. A directory is registered with the watch service before it is listed, so a change made after the listing
+ * is always reported by an event, which discards the cached state of the directory and of its parents before the next
+ * scan uses it.
+ * </p>
+ *
+ * @see FileSystemDeploymentService
+ */
+final class DirectoryWatcher implements Closeable {
+
+    /**
+     * Types of file stores on which changes made by other hosts are not reported
+     */
+    private static final Set<String> REMOTE_FILE_STORE_TYPES = new HashSet<String>(Arrays.asList("nfs", "nfs4", "cifs",
+            "smbfs", "smb2", "smb3", "afs", "ncpfs", "9p", "davfs", "fuse.sshfs", "fuse.glusterfs", "gfs2", "ocfs2"));
+
+    /**
+     * The JDK implementation used when the platform has no native support. It polls the directories itself.
+     */
+    private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+    private final Path root;
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> keys = new HashMap<Path, WatchKey>();
+    private final Map<Path, File[]> children = new HashMap<Path, File[]>();
+    private final Map<Path, Long> timestamps = new HashMap<Path, Long>();
+    private boolean closed;
+
+    private DirectoryWatcher(final Path root, final WatchService watchService) {
+        this.root = root;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Creates a watcher for a deployment directory.
+     *
+     * @param directory the deployment directory
+     * @return the watcher, or {@code null} if changes to the directory can't be reliably watched
+     */
+    static DirectoryWatcher create(final File directory) {
+        final Path root = directory.toPath();
+        try {
+            final FileStore fileStore = Files.getFileStore(root);
+            if (REMOTE_FILE_STORE_TYPES.contains(fileStore.type().toLowerCase(Locale.ENGLISH))) {
+                ROOT_LOGGER.unreliableFileSystemWatch(directory.getAbsolutePath(), fileStore.type());
+                return null;
+            }
+            final WatchService watchService = root.getFileSystem().newWatchService();
+            if (POLLING_WATCH_SERVICE.equals(watchService.getClass().getName())) {
+                watchService.close();
+                ROOT_LOGGER.unreliableFileSystemWatch(directory.getAbsolutePath(), fileStore.type());
+                return null;
+            }
+            final DirectoryWatcher watcher = new DirectoryWatcher(root, watchService);
+            if (!watcher.watch(directory)) {
+                watcher.close();
+                return null;
+            }
+            return watcher;
+        } catch (IOException | UnsupportedOperationException e) {
+            ROOT_LOGGER.cannotWatchDirectory(e, directory.getAbsolutePath());
+            return null;
+        }
+    }
+
+    /**
+     * Applies the pending events to the cached state.
+     *
+     * @return {@code false} if the watcher can't be used anymore
+     */
+    synchronized boolean processEvents() {
+        if (closed) {
+            return false;
+        }
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                final Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        // Events were lost, nothing cached can be trusted
+                        children.clear();
+                        timestamps.clear();
+                    } else {
+                        invalidate(directory, directory.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    // The directory is gone or can't be accessed anymore
+                    keys.remove(directory, key);
+                    invalidate(directory, directory);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            closed = true;
+            return false;
+        }
+        final WatchKey rootKey = keys.get(root);
+        return rootKey != null && rootKey.isValid();
+    }
+
+    private void invalidate(final Path directory, final Path changed) {
+        children.remove(directory);
+        timestamps.remove(changed);
+        for (Path path = directory; path != null && path.startsWith(root); path = path.getParent()) {
+            timestamps.remove(path);
+        }
+    }
+
+    /**
+     * Registers a directory with the watch service, if not already done. Must be called before the directory is listed.
+     *
+     * @param directory the directory
+     * @return {@code false} if the directory can't be watched
+     */
+    synchronized boolean watch(final File directory) {
+        if (closed) {
+            return false;
+        }
+        final Path path = directory.toPath();
+        final WatchKey key = keys.get(path);
+        if (key != null && key.isValid()) {
+            return true;
+        }
+        try {
+            keys.put(path, path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+            return true;
+        } catch (IOException | ClosedWatchServiceException e) {
+            ROOT_LOGGER.cannotWatchDirectory(e, directory.getAbsolutePath());
+            return false;
+        }
+    }
+
+    /**
+     * Gets the cached children of a directory.
+     *
+     * @param directory the directory
+     * @return the children, or {@code null} if the directory must be listed again
+     */
+    synchronized File[] getChildren(final File directory) {
+        return closed ? null : children.get(directory.toPath());
+    }
+
+    synchronized void setChildren(final File directory, final File[] directoryChildren) {
+        if (!closed) {
+            children.put(directory.toPath(), directoryChildren);
+        }
+    }
+
+    /**
+     * Gets the cached timestamp of an exploded deployment.
+     *
+     * @param deployment the root directory of the deployment
+     * @return the latest timestamp of the deployment content, or {@code null} if it must be computed again
+     */
+    synchronized Long getTimestamp(final File deployment) {
+        return closed ? null : timestamps.get(deployment.toPath());
+    }
+
+    synchronized void setTimestamp(final File deployment, final long timestamp) {
+        if (!closed) {
+            timestamps.put(deployment.toPath(), timestamp);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            for (Iterator<WatchKey> it = keys.values().iterator(); it.hasNext(); ) {
+                it.next().cancel();
+                it.remove();
+            }
+            children.clear();
+            timestamps.clear();
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                ROOT_LOGGER.tracef(e, "Failed closing the watch service of %s", root);
+            }
+        }
+    }
+}
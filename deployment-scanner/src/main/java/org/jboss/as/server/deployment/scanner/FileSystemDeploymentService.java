@@ -146,6 +146,18 @@ class FileSystemDeploymentService implements DeploymentScanner {
     private volatile long maxNoProgress = MAX_NO_PROGRESS;
     private volatile boolean rollbackOnRuntimeFailure;
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
+    private volatile boolean watchEnabled;
+    private volatile boolean watchUnavailable;
+    private volatile DirectoryWatcher watcher;
+
+    /**
+     * Number of directory entries read from the file system during the current scan
+     */
+    private long filesInspected;
+    private volatile long scanCount;
+    private volatile long lastScanDuration;
+    private volatile long totalScanDuration;
+    private volatile long lastScanFilesInspected;
 
     private final ModelNode resourceAddress;
     private final String relativeTo;
@@ -284,6 +296,52 @@ class FileSystemDeploymentService implements DeploymentScanner {
         startScan();
     }
 
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+        // Give the file system another chance, whatever made it fall back to polling may be gone
+        this.watchUnavailable = false;
+        if (!watchEnabled) {
+            closeWatcher();
+        }
+    }
+
+    /**
+     * Gets whether the deployment directory is currently watched for changes, i.e. watching is enabled and the scanner
+     * didn't have to fall back to polling.
+     */
+    boolean isWatching() {
+        return watcher != null;
+    }
+
+    /**
+     * Gets the number of scans of the deployment directory performed since the scanner was created.
+     */
+    long getScanCount() {
+        return scanCount;
+    }
+
+    /**
+     * Gets the time spent inspecting the deployment directory in the last scan, in milliseconds.
+     */
+    long getLastScanDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(lastScanDuration);
+    }
+
+    /**
+     * Gets the cumulated time spent inspecting the deployment directory, in milliseconds.
+     */
+    long getTotalScanDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(totalScanDuration);
+    }
+
+    /**
+     * Gets the number of directory entries read from the file system in the last scan.
+     */
+    long getLastScanFilesInspected() {
+        return lastScanFilesInspected;
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -323,6 +381,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        closeWatcher();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -478,7 +537,15 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
             ScanContext scanContext = new ScanContext(deploymentOperations);
 
+            final long scanStart = System.nanoTime();
+            filesInspected = 0;
+            updateWatcher();
             scanDirectory(deploymentDir, relativePath, scanContext);
+            final long scanDuration = System.nanoTime() - scanStart;
+            lastScanDuration = scanDuration;
+            totalScanDuration += scanDuration;
+            lastScanFilesInspected = filesInspected;
+            scanCount++;
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -957,6 +1024,14 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     private long getDeploymentTimestamp(File deploymentFile) {
         if (deploymentFile.isDirectory()) {
+            final DirectoryWatcher watcher = this.watcher;
+            if (watcher != null) {
+                final Long timestamp = watcher.getTimestamp(deploymentFile);
+                if (timestamp != null) {
+                    // Nothing changed in the directory tree since the last scan
+                    return timestamp;
+                }
+            }
             // Scan for most recent file
             long latest = deploymentFile.lastModified();
             for (File child : listDirectoryChildren(deploymentFile)) {
@@ -965,6 +1040,9 @@ class FileSystemDeploymentService implements DeploymentScanner {
                     latest = childTimestamp;
                 }
             }
+            if (watcher != null) {
+                watcher.setTimestamp(deploymentFile, latest);
+            }
             return latest;
         } else {
             return deploymentFile.lastModified();
@@ -1188,18 +1266,74 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     }
 
-    private static File[] listDirectoryChildren(File directory) {
+    private File[] listDirectoryChildren(File directory) {
         return listDirectoryChildren(directory, null);
     }
 
-    private static File[] listDirectoryChildren(File directory, FileFilter filter) {
-        File[] result = directory.listFiles(filter);
+    private File[] listDirectoryChildren(File directory, FileFilter filter) {
+        final DirectoryWatcher watcher = this.watcher;
+        File[] result = watcher == null ? null : watcher.getChildren(directory);
         if (result == null) {
-            throw DeploymentScannerLogger.ROOT_LOGGER.cannotListDirectoryFiles(directory);
+            // The directory must be watched before being listed, or a change made in between would be missed
+            if (watcher != null && !watcher.watch(directory)) {
+                watchUnavailable = true;
+                closeWatcher();
+            }
+            result = directory.listFiles();
+            if (result == null) {
+                throw DeploymentScannerLogger.ROOT_LOGGER.cannotListDirectoryFiles(directory);
+            }
+            filesInspected += result.length;
+            if (watcher != null) {
+                watcher.setChildren(directory, result);
+            }
+        }
+        if (filter != null) {
+            final List<File> accepted = new ArrayList<File>(result.length);
+            for (File child : result) {
+                if (filter.accept(child)) {
+                    accepted.add(child);
+                }
+            }
+            result = accepted.toArray(new File[accepted.size()]);
         }
         return result;
     }
 
+    /**
+     * Brings the state of the directories up to date from the file system events received since the last scan, starting
+     * to watch the deployment directory if watching was enabled. Falls back to polling if the events can't be relied upon.
+     */
+    private void updateWatcher() {
+        final DirectoryWatcher watcher = this.watcher;
+        if (watcher != null) {
+            if (!watcher.processEvents()) {
+                closeWatcher();
+            }
+        } else if (watchEnabled && !watchUnavailable) {
+            final DirectoryWatcher created = DirectoryWatcher.create(deploymentDir);
+            if (created == null) {
+                watchUnavailable = true;
+            } else {
+                synchronized (this) {
+                    if (watchEnabled) {
+                        this.watcher = created;
+                    } else {
+                        created.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void closeWatcher() {
+        final DirectoryWatcher watcher = this.watcher;
+        this.watcher = null;
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
     private abstract class ScannerTask {
         protected final String deploymentName;
         protected final String parent;
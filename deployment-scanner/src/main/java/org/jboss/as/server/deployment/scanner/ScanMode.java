@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+/**
+ * How a deployment scanner finds the changes made to its deployment directory.
+ */
+enum ScanMode {
+
+    /**
+     * Each scan inspects the whole deployment directory.
+     */
+    POLL("poll"),
+    /**
+     * The deployment directory is watched for changes and each scan only inspects the entries that changed.
+     */
+    WATCH("watch"),
+    ;
+
+    private final String name;
+
+    ScanMode(final String name) {
+        this.name = name;
+    }
+
+    static ScanMode forName(String name) {
+        for (ScanMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        return POLL;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -140,4 +140,13 @@ public interface DeploymentScanner {
      */
     void setRuntimeFailureCausesRollback(boolean rollback);
 
+    /**
+     * Sets whether the scanner watches the file system for changes, so that a scan only inspects the entries that
+     * changed since the previous scan instead of the whole deployment directory. The scanner falls back to inspecting
+     * the whole directory on each scan where change notifications are not available or can't be relied upon.
+     *
+     * @param watchEnabled true if the file system should be watched for changes
+     */
+    void setWatchEnabled(boolean watchEnabled);
+
 }
@@ -396,4 +396,24 @@ public interface DeploymentScannerLogger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 35, value = "Scan found %s which is not well-formed at lineNumber: %s, columnNumber: %s. Either the file was incompletely copied at the time of the scanning or it is just wrong.")
     void invalidXmlFileFound(String name, int lineNumber, int columnNumber);
+
+    /**
+     * Logs a warning message indicating file system change notifications can't be relied upon for a directory.
+     *
+     * @param directory the deployment directory.
+     * @param fileStoreType the type of the file store holding the directory.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 36, value = "File system change notifications are not reliable for %s on a file store of type %s. The directory will be polled for changes instead")
+    void unreliableFileSystemWatch(String directory, String fileStoreType);
+
+    /**
+     * Logs a warning message indicating a directory can't be watched for changes.
+     *
+     * @param cause the cause of the error.
+     * @param directory the deployment directory.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 37, value = "Cannot watch %s for changes. The directory will be polled for changes instead")
+    void cannotWatchDirectory(@Cause Throwable cause, String directory);
 }
@@ -4,6 +4,7 @@ package org.jboss.as.server.deployment.scanner;
 import java.io.IOException;
 
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.junit.Test;
 
 /**
  * @author Tomaz Cerar
@@ -11,7 +12,7 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
  */
 
 public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest {
-    private static final String SUBSYSTEM_XML =
+    private static final String SUBSYSTEM_XML_2_0 =
             "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.0\">\n" +
             "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
                    "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
@@ -22,6 +23,17 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
                    "auto-deploy-xml=\"true\" deployment-timeout=\"30\"/>\n" +
             "</subsystem>";
 
+    private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
+                   "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"60\" " +
+                    "runtime-failure-causes-rollback=\"${runtime-failure-causes-rollback:false}\"/>\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\" scan-mode=\"watch\"/>\n" +
+            "</subsystem>";
+
 
     public DeploymentScannerParsingTestCase() {
         super(DeploymentScannerExtension.SUBSYSTEM_NAME, new DeploymentScannerExtension());
@@ -38,5 +50,15 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Override
+    protected String getSubsystemXml(String configId) throws IOException {
+        return "2.0".equals(configId) ? SUBSYSTEM_XML_2_0 : super.getSubsystemXml(configId);
+    }
+
+    @Test
+    public void testSubsystem2_0() throws Exception {
+        standardSubsystemTest("2.0", false);
+    }
 }
 
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DirectoryWatcher}
+ */
+public class DirectoryWatcherUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    private File root;
+    private DirectoryWatcher watcher;
+
+    @BeforeClass
+    public static void setupClass() {
+        testSupport = new AutoDeployTestSupport(DirectoryWatcherUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void teardownClass() {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Before
+    public void setup() {
+        root = new File(testSupport.getTempDir(), String.valueOf(System.nanoTime()));
+        Assert.assertTrue(root.mkdirs());
+        watcher = DirectoryWatcher.create(root);
+        Assume.assumeNotNull(watcher);
+    }
+
+    @After
+    public void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    public void testChildrenInvalidatedOnCreate() throws Exception {
+        Assert.assertTrue(watcher.watch(root));
+        watcher.setChildren(root, root.listFiles());
+        Assert.assertTrue(watcher.processEvents());
+        Assert.assertNotNull(watcher.getChildren(root));
+
+        createFile(root, "foo.war");
+        Assert.assertTrue(awaitInvalidation(root, false));
+    }
+
+    @Test
+    public void testTimestampInvalidatedOnNestedChange() throws Exception {
+        final File war = new File(root, "foo.war");
+        final File webInf = new File(war, "WEB-INF");
+        Assert.assertTrue(webInf.mkdirs());
+        final File webXml = createFile(webInf, "web.xml");
+
+        Assert.assertTrue(watcher.watch(war));
+        Assert.assertTrue(watcher.watch(webInf));
+        watcher.setTimestamp(war, webXml.lastModified());
+        Assert.assertTrue(watcher.processEvents());
+        Assert.assertNotNull(watcher.getTimestamp(war));
+
+        Assert.assertTrue(webXml.setLastModified(webXml.lastModified() + 10000));
+        Assert.assertTrue(awaitInvalidation(war, true));
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        Assert.assertTrue(watcher.watch(root));
+        watcher.setChildren(root, root.listFiles());
+        watcher.close();
+        Assert.assertNull(watcher.getChildren(root));
+        Assert.assertFalse(watcher.processEvents());
+        Assert.assertFalse(watcher.watch(root));
+    }
+
+    private boolean awaitInvalidation(File file, boolean timestamp) throws InterruptedException {
+        // Events are delivered asynchronously
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            Assert.assertTrue(watcher.processEvents());
+            if ((timestamp ? watcher.getTimestamp(file) : watcher.getChildren(file)) == null) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private static File createFile(File dir, String name) throws IOException {
+        final File file = new File(dir, name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(name.getBytes("UTF-8"));
+        }
+        return file;
+    }
+}
@@ -93,6 +93,7 @@ import org.jboss.threads.AsyncFuture;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -1359,6 +1360,36 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(nonarchive.exists());
     }
 
+    /**
+     * Tests that a watched exploded deployment isn't walked again when nothing changed in it
+     */
+    @Test
+    public void testWatchedExplodedDeployment() throws Exception {
+        File war = createDirectory("foo.war", "index.html", "a.jsp", "b.jsp");
+        createDirectory(war, "WEB-INF", "web.xml", "c.class", "d.class");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployExplodedContent(true);
+        ts.testee.setWatchEnabled(true);
+
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.controller.added.size());
+        Assume.assumeTrue(ts.testee.isWatching());
+        long inspected = ts.testee.getLastScanFilesInspected();
+
+        ts.testee.scan();
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.controller.added.size());
+        assertEquals(2, ts.testee.getScanCount());
+        assertTrue(ts.testee.getLastScanFilesInspected() < inspected);
+
+        ts.testee.setWatchEnabled(false);
+        assertFalse(ts.testee.isWatching());
+    }
+
     /**
      * Tests that the .skipdeploy marker prevents auto-deploy
      */
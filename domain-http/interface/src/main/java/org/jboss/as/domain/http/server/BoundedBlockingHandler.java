@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+
+/**
+ * Handler starting blocking mode and dispatching the request to a {@link ManagementHttpRequestExecutor}, the
+ * counterpart of {@link io.undertow.server.handlers.BlockingHandler} for management requests. Requests rejected by
+ * the executor get a {@code 503} response.
+ */
+class BoundedBlockingHandler implements HttpHandler {
+
+    /**
+     * Delay in seconds after which a client whose request was rejected is told to try again.
+     */
+    private static final String RETRY_AFTER = "1";
+
+    private final ManagementHttpRequestExecutor executor;
+    private final HttpHandler next;
+
+    BoundedBlockingHandler(final ManagementHttpRequestExecutor executor, final HttpHandler next) {
+        this.executor = executor;
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (exchange.isInIoThread()) {
+            if (!executor.dispatch(exchange, this)) {
+                ROOT_LOGGER.debugf("Request rejected as too many management requests are waiting");
+                exchange.setResponseCode(503);
+                exchange.getResponseHeaders().put(Headers.RETRY_AFTER, RETRY_AFTER);
+                exchange.endExchange();
+            }
+            return;
+        }
+        exchange.startBlocking();
+        next.handleRequest(exchange);
+    }
+}
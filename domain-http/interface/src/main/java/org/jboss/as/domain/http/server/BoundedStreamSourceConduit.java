@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.xnio.channels.StreamSinkChannel;
+import org.xnio.conduits.AbstractStreamSourceConduit;
+import org.xnio.conduits.ConduitReadableByteChannel;
+import org.xnio.conduits.Conduits;
+import org.xnio.conduits.StreamSourceConduit;
+
+/**
+ * A source conduit failing the read of a request body once more than a maximum number of bytes has been read. Wraps
+ * the decoding conduit of a compressed request, whose size isn't bounded by the size of what was sent.
+ */
+class BoundedStreamSourceConduit extends AbstractStreamSourceConduit<StreamSourceConduit> {
+
+    private final long maxSize;
+    private long remaining;
+
+    BoundedStreamSourceConduit(final StreamSourceConduit next, final long maxSize) {
+        super(next);
+        this.maxSize = maxSize;
+        this.remaining = maxSize;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return (int) count(next.read(dst));
+    }
+
+    @Override
+    public long read(final ByteBuffer[] dsts, final int offs, final int len) throws IOException {
+        return count(next.read(dsts, offs, len));
+    }
+
+    @Override
+    public long transferTo(final long position, final long count, final FileChannel target) throws IOException {
+        return target.transferFrom(new ConduitReadableByteChannel(this), position, count);
+    }
+
+    @Override
+    public long transferTo(final long count, final ByteBuffer throughBuffer, final StreamSinkChannel target) throws IOException {
+        return Conduits.transfer(this, count, throughBuffer, target);
+    }
+
+    private long count(final long read) throws IOException {
+        if (read > 0) {
+            remaining -= read;
+            if (remaining < 0) {
+                terminateReads();
+                throw ROOT_LOGGER.requestBodyTooLarge(maxSize);
+            }
+        }
+        return read;
+    }
+}
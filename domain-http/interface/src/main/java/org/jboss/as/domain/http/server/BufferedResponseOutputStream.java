@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+
+/**
+ * Stream writing the body of a response. The beginning of the body is buffered, so that a small response is sent at
+ * once with its content length, while a larger one is streamed to the client as it is written instead of being fully
+ * held in memory.
+ * <p>
+ * The exchange must be handled in a worker thread.
+ * </p>
+ */
+final class BufferedResponseOutputStream extends OutputStream {
+
+    private final HttpServerExchange exchange;
+    private byte[] buffer;
+    private int count;
+    private OutputStream out;
+    private boolean closed;
+
+    BufferedResponseOutputStream(final HttpServerExchange exchange, final int bufferSize) {
+        this.exchange = exchange;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (out == null) {
+            if (count < buffer.length) {
+                buffer[count++] = (byte) b;
+                return;
+            }
+            startStreaming();
+        }
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null) {
+            if (len <= buffer.length - count) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            startStreaming();
+        }
+        out.write(b, off, len);
+    }
+
+    private void startStreaming() throws IOException {
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        out = exchange.getOutputStream();
+        out.write(buffer, 0, count);
+        buffer = null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Flushing doesn't end the buffering, otherwise the content length of small responses would be lost
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (out == null) {
+            // The whole response was buffered
+            exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, count);
+            startStreaming();
+        }
+        out.close();
+    }
+}
@@ -27,11 +27,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 
 import io.undertow.io.IoCallback;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
+import org.jboss.as.controller.client.helpers.CborCodec;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -50,6 +53,7 @@ public class Common {
 
     static final String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
     static final String APPLICATION_JSON = "application/json";
+    static final String APPLICATION_CBOR = CborCodec.APPLICATION_CBOR;
     static final String TEXT_PLAIN = "text/plain";
     static final String TEXT_HTML = "text/html";
     static final int ONE_WEEK = 7 * 24 * 60 * 60;
@@ -66,7 +70,42 @@ public class Common {
         sendError(exchange, encode, msg, errorCode);
     }
 
+    /**
+     * Gets whether the client sent or asked for the CBOR representation of the model.
+     *
+     * @param requestHeaders the headers of the request
+     * @return {@code true} if the request or the expected response content is {@code application/cbor}
+     */
+    static boolean isCbor(HeaderMap requestHeaders) {
+        return APPLICATION_CBOR.equals(requestHeaders.getFirst(Headers.ACCEPT))
+                || APPLICATION_CBOR.equals(requestHeaders.getFirst(Headers.CONTENT_TYPE));
+    }
+
     static void sendError(HttpServerExchange exchange, boolean encode, ModelNode msg, int errorCode) {
+        sendError(exchange, encode, isCbor(exchange.getRequestHeaders()), msg, errorCode);
+    }
+
+    static void sendError(HttpServerExchange exchange, boolean encode, boolean cbor, ModelNode msg) {
+        int errorCode = getErrorResponseCode(msg.asString());
+        sendError(exchange, encode, cbor, msg, errorCode);
+    }
+
+    static void sendError(HttpServerExchange exchange, boolean encode, boolean cbor, ModelNode msg, int errorCode) {
+        if (cbor) {
+            try {
+                byte[] bytes = CborCodec.toCbor(msg);
+
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, APPLICATION_CBOR);
+                exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, String.valueOf(bytes.length));
+                exchange.setResponseCode(errorCode);
+
+                exchange.getResponseSender().send(ByteBuffer.wrap(bytes), IoCallback.END_EXCHANGE);
+                return;
+            } catch (IOException e) {
+                // fallback to JSON, should not happen
+                encode = false;
+            }
+        }
         if(encode) {
 
             try {
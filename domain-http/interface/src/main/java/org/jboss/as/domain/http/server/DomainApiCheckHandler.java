@@ -24,23 +24,32 @@ package org.jboss.as.domain.http.server;
 import static org.jboss.as.domain.http.server.cors.CorsUtil.matchOrigin;
 import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
 
+import io.undertow.conduits.GzipStreamSourceConduit;
+import io.undertow.conduits.InflatingStreamSourceConduit;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.ConduitWrapper;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
-import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
 import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import io.undertow.server.handlers.encoding.RequestEncodingHandler;
+import io.undertow.util.ConduitFactory;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import io.undertow.util.Methods;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ControlledProcessStateService;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.domain.http.server.cors.CorsUtil;
 import org.jboss.as.domain.http.server.security.SubjectDoAsHandler;
+import org.xnio.conduits.StreamSourceConduit;
 
 /**
  *
@@ -51,19 +60,34 @@ class DomainApiCheckHandler implements HttpHandler {
     static String PATH = "/management";
     private static final String GENERIC_CONTENT_REQUEST = PATH + "-upload";
     private static final String ADD_CONTENT_REQUEST = PATH + "/add-content";
+    static final String SUBSCRIBE_REQUEST = PATH + "-subscribe";
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+    /**
+     * Size under which a response is not compressed. Responses without a content length are streamed and always
+     * compressed when the client accepts it.
+     */
+    private static final long MIN_COMPRESSED_SIZE = 1024;
 
     private final ControlledProcessStateService controlledProcessStateService;
     private final HttpHandler domainApiHandler;
     private final HttpHandler addContentHandler;
     private final HttpHandler genericOperationHandler;
+    private final HttpHandler subscriptionHandler;
     private final Collection<String> allowedOrigins = new ArrayList<String>();
 
 
-    DomainApiCheckHandler(final ModelController modelController, final ControlledProcessStateService controlledProcessStateService, final Collection<String> allowedOrigins) {
+    DomainApiCheckHandler(final ModelController modelController, final ControlledProcessStateService controlledProcessStateService,
+                          final Collection<String> allowedOrigins, final ManagementHttpRequestExecutor requestExecutor,
+                          final ScheduledExecutorService subscriptionExecutor, final long maxInflatedRequestSize,
+                          final int maxSubscriptions, final int maxSubscriptionsPerPrincipal) {
         this.controlledProcessStateService = controlledProcessStateService;
-        domainApiHandler = new BlockingHandler(new SubjectDoAsHandler(new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiHandler(modelController))));
-        addContentHandler = new BlockingHandler(new SubjectDoAsHandler(new DomainApiUploadHandler(modelController)));
-        genericOperationHandler = new BlockingHandler(new SubjectDoAsHandler(new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiGenericOperationHandler(modelController))));
+        domainApiHandler = new BoundedBlockingHandler(requestExecutor, new SubjectDoAsHandler(encoding(new DomainApiHandler(modelController), maxInflatedRequestSize)));
+        addContentHandler = new BoundedBlockingHandler(requestExecutor, new SubjectDoAsHandler(new DomainApiUploadHandler(modelController)));
+        genericOperationHandler = new BoundedBlockingHandler(requestExecutor, new SubjectDoAsHandler(encoding(new DomainApiGenericOperationHandler(modelController), maxInflatedRequestSize)));
+        // Server-sent events are written asynchronously, so no worker thread is held by a subscription
+        subscriptionHandler = new SubjectDoAsHandler(new DomainApiSubscriptionHandler(modelController, subscriptionExecutor,
+                maxSubscriptions, maxSubscriptionsPerPrincipal));
         if (allowedOrigins != null) {
             for (String allowedOrigin : allowedOrigins) {
                 this.allowedOrigins.add(CorsUtil.sanitizeDefaultPort(allowedOrigin));
@@ -71,6 +95,43 @@ class DomainApiCheckHandler implements HttpHandler {
         }
     }
 
+    /**
+     * Adds the negotiation of the content encoding of the request and response bodies to a handler. Responses whose
+     * length is known to be small are sent as is, as compressing them costs more than it saves. Compressed requests fail
+     * once more than {@code maxInflatedSize} bytes have been decompressed.
+     */
+    private static HttpHandler encoding(final HttpHandler next, final long maxInflatedSize) {
+        final Predicate compressible = new Predicate() {
+            @Override
+            public boolean resolve(HttpServerExchange exchange) {
+                final String length = exchange.getResponseHeaders().getFirst(Headers.CONTENT_LENGTH);
+                return length == null || Long.parseLong(length) > MIN_COMPRESSED_SIZE;
+            }
+        };
+        final ContentEncodingRepository repository = new ContentEncodingRepository()
+                .addEncodingHandler(GZIP, new GzipEncodingProvider(), 50, compressible)
+                .addEncodingHandler(DEFLATE, new DeflateEncodingProvider(), 10, compressible);
+        final HttpHandler bounded = new HttpHandler() {
+            @Override
+            public void handleRequest(HttpServerExchange exchange) throws Exception {
+                if (exchange.getRequestHeaders().contains(Headers.CONTENT_ENCODING)) {
+                    // Added after the wrapper of the decoding conduit, so it reads the decompressed body
+                    exchange.addRequestWrapper(new ConduitWrapper<StreamSourceConduit>() {
+                        @Override
+                        public StreamSourceConduit wrap(ConduitFactory<StreamSourceConduit> factory, HttpServerExchange exchange) {
+                            return new BoundedStreamSourceConduit(factory.create(), maxInflatedSize);
+                        }
+                    });
+                }
+                next.handleRequest(exchange);
+            }
+        };
+        final RequestEncodingHandler requestEncodingHandler = new RequestEncodingHandler(bounded)
+                .addEncoding(GZIP, GzipStreamSourceConduit.WRAPPER)
+                .addEncoding(DEFLATE, InflatingStreamSourceConduit.WRAPPER);
+        return new EncodingHandler(requestEncodingHandler, repository);
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (!commonChecks(exchange)) {
@@ -90,6 +151,9 @@ class DomainApiCheckHandler implements HttpHandler {
             if (!checkPostContentType(exchange)) {
                 return;
             }
+        } else if (SUBSCRIBE_REQUEST.equals(exchange.getRequestPath())) {
+            subscriptionHandler.handleRequest(exchange);
+            return;
         }
 
         domainApiHandler.handleRequest(exchange);
@@ -98,12 +162,13 @@ class DomainApiCheckHandler implements HttpHandler {
     private boolean checkPostContentType(HttpServerExchange exchange) throws Exception {
         HeaderMap headers = exchange.getRequestHeaders();
         String contentType = extractContentType(headers.getFirst(Headers.CONTENT_TYPE));
-        if (!(Common.APPLICATION_JSON.equals(contentType) || Common.APPLICATION_DMR_ENCODED.equals(contentType))) {
+        if (!(Common.APPLICATION_JSON.equals(contentType) || Common.APPLICATION_DMR_ENCODED.equals(contentType)
+                || Common.APPLICATION_CBOR.equals(contentType))) {
             // RFC 2616: 14.11 Content-Encoding
             // If the content-coding of an entity in a request message is not
             // acceptable to the origin server, the server SHOULD respond with a
             // status code of 415 (Unsupported Media Type).
-            ROOT_LOGGER.debug("Request rejected due to unsupported media type - should be one of (application/json,application/dmr-encoded).");
+            ROOT_LOGGER.debug("Request rejected due to unsupported media type - should be one of (application/json,application/dmr-encoded,application/cbor).");
             Common.UNSUPPORTED_MEDIA_TYPE.handleRequest(exchange);
             return false;
         }
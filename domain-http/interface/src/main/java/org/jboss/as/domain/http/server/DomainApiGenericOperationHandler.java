@@ -36,6 +36,9 @@ import static org.jboss.as.domain.http.server.DomainUtil.writeResponse;
 import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Deque;
 import java.util.Iterator;
 
@@ -49,6 +52,7 @@ import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.CborCodec;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.dmr.ModelNode;
 
@@ -57,7 +61,7 @@ import org.jboss.dmr.ModelNode;
  * a {@code multipart/form-data} message. The operation is required, the attachment streams are optional.
  *
  * Content-Disposition: form-data; name="operation"
- * (optional) Content-Type: application/dmr-encoded
+ * (optional) Content-Type: application/dmr-encoded or application/cbor
  *
  * Content-Disposition: form-data; name="..."; filename="..."
  *
@@ -84,13 +88,22 @@ class DomainApiGenericOperationHandler implements HttpHandler {
         }
         // Parse the form data
         final FormData data = parser.parseBlocking();
-        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(false);
+        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(false)
+                .cbor(Common.isCbor(exchange.getRequestHeaders()));
 
         // Process the operation
         final FormData.FormValue op = data.getFirst(OPERATION);
         final ModelNode operation;
         try {
-            if (Common.APPLICATION_DMR_ENCODED.equals(op.getHeaders().getFirst(Headers.CONTENT_TYPE))) {
+            final String contentType = op.getHeaders().getFirst(Headers.CONTENT_TYPE);
+            if (Common.APPLICATION_CBOR.equals(contentType)) {
+                // Parts without a file name are decoded as ISO-8859-1 text, which maps each byte to one char
+                try (InputStream in = op.isFile() ? Files.newInputStream(op.getPath())
+                        : new ByteArrayInputStream(op.getValue().getBytes(StandardCharsets.ISO_8859_1))) {
+                    operation = CborCodec.readCbor(in);
+                }
+                operationParameterBuilder.cbor(true);
+            } else if (Common.APPLICATION_DMR_ENCODED.equals(contentType)) {
                 operation = ModelNode.fromBase64(new ByteArrayInputStream(op.getValue().getBytes()));
                 operationParameterBuilder.encode(true);
             } else {
@@ -124,7 +137,7 @@ class DomainApiGenericOperationHandler implements HttpHandler {
             @Override
             void doSendResponse(final ModelNode response) {
                 if (response.hasDefined(OUTCOME) && FAILED.equals(response.get(OUTCOME).asString())) {
-                    Common.sendError(exchange, opParam.isEncode(), response);
+                    Common.sendError(exchange, opParam.isEncode(), opParam.isCbor(), response);
                     return;
                 }
                 writeResponse(exchange, 200, response, opParam);
@@ -27,14 +27,20 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTE_FOR_COORDINATOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROXIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOLVE_EXPRESSIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYNC_REMOVED_FOR_READD;
@@ -45,7 +51,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
@@ -58,6 +63,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.client.helpers.CborCodec;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.as.protocol.StreamUtils;
@@ -65,13 +71,14 @@ import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 import org.xnio.streams.ChannelInputStream;
 
+import io.undertow.security.api.SecurityContext;
+import io.undertow.security.idm.Account;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.ETag;
 import io.undertow.util.ETagUtils;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
-import io.undertow.util.HexConverter;
 import io.undertow.util.HttpString;
 import io.undertow.util.Methods;
 
@@ -131,11 +138,11 @@ class DomainApiHandler implements HttpHandler {
         final OperationResponse response;
 
         final HeaderMap requestHeaders = exchange.getRequestHeaders();
-        final boolean cachable;
         final boolean get = exchange.getRequestMethod().equals(Methods.GET);
         final boolean encode = Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.ACCEPT))
                 || Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.CONTENT_TYPE));
-        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(get).encode(encode);
+        final boolean cbor = Common.isCbor(requestHeaders);
+        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(get).encode(encode).cbor(cbor);
         final int streamIndex = getStreamIndex(exchange, requestHeaders);
 
         try {
@@ -143,10 +150,8 @@ class DomainApiHandler implements HttpHandler {
                 GetOperation operation = getOperation(exchange);
                 operationParameterBuilder.maxAge(operation.getMaxAge());
                 dmr = convertGetRequest(exchange, operation);
-                cachable = operation.getMaxAge() > 0;
             } else {
                 dmr = convertPostRequest(exchange, encode);
-                cachable = false;
             }
             //operationParameterBuilder.pretty(dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean());
             boolean pretty = false;
@@ -162,6 +167,19 @@ class DomainApiHandler implements HttpHandler {
             return;
         }
 
+        final boolean notModified;
+        if (get && streamIndex < 0) {
+            // Unchanged configuration doesn't need to be sent again. The operation is still executed, so that the
+            // caller is authorized and audited as for any other read
+            final ETag etag = getConfigurationETag(exchange, dmr, encode, cbor);
+            if (etag != null) {
+                operationParameterBuilder.etag(etag);
+            }
+            notModified = etag != null && !ETagUtils.handleIfNoneMatch(exchange, etag, true);
+        } else {
+            notModified = false;
+        }
+
         final ResponseCallback callback = new ResponseCallback() {
             @Override
             void doSendResponse(final OperationResponse response) {
@@ -172,7 +190,11 @@ class DomainApiHandler implements HttpHandler {
                         Common.sendError(exchange, encode, responseNode);
                         return;
                     }
-                    if (streamIndex < 0) {
+                    if (notModified) {
+                        exchange.setResponseCode(304);
+                        DomainUtil.writeCacheHeaders(exchange, 304, operationParameterBuilder.build());
+                        exchange.endExchange();
+                    } else if (streamIndex < 0) {
                         writeResponse(exchange, 200, responseNode, operationParameterBuilder.build());
                     } else {
                         List<OperationResponse.StreamEntry> streamEntries = response.getInputStreams();
@@ -210,19 +232,6 @@ class DomainApiHandler implements HttpHandler {
         try {
             dmr.get(OPERATION_HEADERS, ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
-            if (cachable && streamIndex > -1) {
-                // Use the MD5 of the model nodes toString() method as ETag
-                MessageDigest md = MessageDigest.getInstance("MD5");
-                md.update(response.toString().getBytes());
-                ETag etag = new ETag(false, HexConverter.convertToHexString(md.digest()));
-                operationParameterBuilder.etag(etag);
-                if (!ETagUtils.handleIfNoneMatch(exchange, etag, false)) {
-                    exchange.setResponseCode(304);
-                    DomainUtil.writeCacheHeaders(exchange, 304, operationParameterBuilder.build());
-                    exchange.endExchange();
-                    return;
-                }
-            }
         } catch (Throwable t) {
             ROOT_LOGGER.modelRequestError(t);
             Common.sendError(exchange, encode, t.getLocalizedMessage());
@@ -232,6 +241,49 @@ class DomainApiHandler implements HttpHandler {
         callback.sendResponse(response);
     }
 
+    /**
+     * Gets the ETag of a GET request reading configuration, derived from the generation of the configuration of the
+     * target resource. It is computed before the operation is executed, so that a concurrent change of the configuration
+     * can't be missed.
+     *
+     * @return the ETag, or {@code null} if the result of the operation can change without the configuration changing
+     */
+    private ETag getConfigurationETag(final HttpServerExchange exchange, final ModelNode dmr, final boolean encode,
+                                      final boolean cbor) {
+        final long generation;
+        try {
+            final String op = dmr.get(OP).asString();
+            final boolean recursive;
+            if (READ_RESOURCE_OPERATION.equals(op)) {
+                recursive = isTrue(dmr, RECURSIVE) || (dmr.hasDefined(RECURSIVE_DEPTH) && dmr.get(RECURSIVE_DEPTH).asInt() > 0);
+            } else if (READ_ATTRIBUTE_OPERATION.equals(op)) {
+                recursive = false;
+            } else {
+                return null;
+            }
+            if (isTrue(dmr, INCLUDE_RUNTIME) || isTrue(dmr, PROXIES) || isTrue(dmr, RESOLVE_EXPRESSIONS)) {
+                return null;
+            }
+            generation = modelController.getConfigurationGeneration(PathAddress.pathAddress(dmr.get(OP_ADDR)), recursive);
+        } catch (RuntimeException e) {
+            // Invalid requests are reported when executed
+            return null;
+        }
+        if (generation < 0) {
+            return null;
+        }
+        // Different callers and different queries of the same resource get different representations
+        final SecurityContext securityContext = exchange.getSecurityContext();
+        final Account account = securityContext != null ? securityContext.getAuthenticatedAccount() : null;
+        final String variant = (account != null ? account.getPrincipal().getName() : "") + '?' + exchange.getQueryString()
+                + (encode ? "#dmr" : "") + (cbor ? "#cbor" : "");
+        return new ETag(true, Long.toHexString(generation) + '-' + Integer.toHexString(variant.hashCode()));
+    }
+
+    private static boolean isTrue(final ModelNode dmr, final String parameter) {
+        return dmr.hasDefined(parameter) && dmr.get(parameter).asBoolean();
+    }
+
     private static int getStreamIndex(final HttpServerExchange exchange, final HeaderMap requestHeaders) {
         // First check for an HTTP header
         int result = getStreamIndex(requestHeaders.get(USE_STREAM_AS_RESPONSE_HEADER));
@@ -314,6 +366,10 @@ class DomainApiHandler implements HttpHandler {
     private ModelNode convertPostRequest(HttpServerExchange exchange, boolean encode) throws IOException {
         InputStream in = new ChannelInputStream(exchange.getRequestChannel());
         try {
+            // The client may also post JSON and only ask for a CBOR response
+            if (Common.APPLICATION_CBOR.equals(exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE))) {
+                return CborCodec.readCbor(in);
+            }
             return encode ? ModelNode.fromBase64(in) : ModelNode.fromJSONStream(in);
         } finally {
             IoUtils.safeClose(in);
@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.sse.ServerSentEventConnection;
+import io.undertow.server.handlers.sse.ServerSentEventConnectionCallback;
+import io.undertow.server.handlers.sse.ServerSentEventHandler;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelSubscription;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+
+/**
+ * Streams the events of a {@link ModelSubscription} to the client as server-sent events.
+ * <p>
+ * The subscription is described by the query parameters of a GET request: {@code address}, which can be repeated,
+ * {@code attribute}, which can be repeated, {@code interval} and {@code notifications}. Each event is sent with its
+ * type as event name and its JSON form as data. The subscription ends when the client closes the connection.
+ * </p>
+ * <p>
+ * The number of open subscriptions is limited, both overall and by principal, as each of them keeps sampling
+ * attributes until it is closed. Subscriptions over the limits get a {@code 503} response.
+ * </p>
+ */
+class DomainApiSubscriptionHandler implements HttpHandler {
+
+    private static final String ADDRESS = "address";
+    private static final String ATTRIBUTE = "attribute";
+
+    private final ModelController modelController;
+    private final ScheduledExecutorService executor;
+    private final int maxSubscriptions;
+    private final int maxSubscriptionsPerPrincipal;
+    // Guarded by this
+    private final Map<String, Integer> principalSubscriptions = new HashMap<String, Integer>();
+    // Guarded by this
+    private int subscriptions;
+
+    DomainApiSubscriptionHandler(final ModelController modelController, final ScheduledExecutorService executor,
+                                 final int maxSubscriptions, final int maxSubscriptionsPerPrincipal) {
+        this.modelController = modelController;
+        this.executor = executor;
+        this.maxSubscriptions = maxSubscriptions;
+        this.maxSubscriptionsPerPrincipal = maxSubscriptionsPerPrincipal;
+    }
+
+    @Override
+    public void handleRequest(final HttpServerExchange exchange) throws Exception {
+        final Map<String, Deque<String>> parameters = exchange.getQueryParameters();
+        final ModelNode request = new ModelNode();
+        copyParameter(parameters, ADDRESS, request, ModelSubscription.ADDRESSES.getName(), true);
+        copyParameter(parameters, ATTRIBUTE, request, ModelSubscription.ATTRIBUTE_NAMES.getName(), true);
+        copyParameter(parameters, ModelSubscription.INTERVAL.getName(), request, ModelSubscription.INTERVAL.getName(), false);
+        copyParameter(parameters, ModelSubscription.INCLUDE_NOTIFICATIONS.getName(), request, ModelSubscription.INCLUDE_NOTIFICATIONS.getName(), false);
+        request.get(OPERATION_HEADERS, ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
+
+        final EventSender sender = new EventSender();
+        final ModelSubscription subscription;
+        try {
+            subscription = new ModelSubscription(modelController, request, sender);
+        } catch (OperationFailedException e) {
+            Common.sendError(exchange, false, e.getFailureDescription(), 400);
+            return;
+        }
+        final String principal = ManagementHttpRequestExecutor.getPrincipalName(exchange);
+        if (!acquire(principal)) {
+            ROOT_LOGGER.debugf("Subscription rejected as too many subscriptions are open");
+            exchange.setResponseCode(503);
+            exchange.endExchange();
+            return;
+        }
+        final AtomicBoolean released = new AtomicBoolean();
+        exchange.addExchangeCompleteListener(new ExchangeCompletionListener() {
+            @Override
+            public void exchangeEvent(final HttpServerExchange exchange, final NextListener nextListener) {
+                try {
+                    subscription.close();
+                    if (released.compareAndSet(false, true)) {
+                        release(principal);
+                    }
+                } finally {
+                    nextListener.proceed();
+                }
+            }
+        });
+        new ServerSentEventHandler(new ServerSentEventConnectionCallback() {
+            @Override
+            public void connected(final ServerSentEventConnection connection, final String lastEventId) {
+                sender.connection = connection;
+                connection.addCloseTask(new ChannelListener<ServerSentEventConnection>() {
+                    @Override
+                    public void handleEvent(final ServerSentEventConnection channel) {
+                        subscription.close();
+                        if (released.compareAndSet(false, true)) {
+                            release(principal);
+                        }
+                    }
+                });
+                subscription.start(executor);
+            }
+        }).handleRequest(exchange);
+    }
+
+    private synchronized boolean acquire(final String principal) {
+        final Integer count = principalSubscriptions.get(principal);
+        final int current = count == null ? 0 : count;
+        if (subscriptions >= maxSubscriptions || current >= maxSubscriptionsPerPrincipal) {
+            return false;
+        }
+        subscriptions++;
+        principalSubscriptions.put(principal, current + 1);
+        return true;
+    }
+
+    private synchronized void release(final String principal) {
+        subscriptions--;
+        final int count = principalSubscriptions.get(principal);
+        if (count == 1) {
+            principalSubscriptions.remove(principal);
+        } else {
+            principalSubscriptions.put(principal, count - 1);
+        }
+    }
+
+    private static void copyParameter(final Map<String, Deque<String>> parameters, final String parameter,
+                                      final ModelNode request, final String name, final boolean list) {
+        final Deque<String> values = parameters.get(parameter);
+        if (values != null && !values.isEmpty()) {
+            if (list) {
+                for (String value : values) {
+                    request.get(name).add(value);
+                }
+            } else {
+                request.get(name).set(values.getFirst());
+            }
+        }
+    }
+
+    private static class EventSender implements ModelSubscription.Listener, ServerSentEventConnection.EventCallback {
+
+        private volatile ServerSentEventConnection connection;
+
+        @Override
+        public void handleEvent(final ModelNode event) {
+            final ServerSentEventConnection connection = this.connection;
+            if (connection != null) {
+                connection.send(event.toJSONString(true), event.get(TYPE).asString(), null, this);
+            }
+        }
+
+        @Override
+        public void done(ServerSentEventConnection connection, String data, String event, String id) {
+        }
+
+        @Override
+        public void failed(ServerSentEventConnection connection, String data, String event, String id, IOException e) {
+            // The close task ends the subscription
+            IoUtils.safeClose(connection);
+        }
+    }
+}
@@ -28,6 +28,9 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
@@ -38,6 +41,8 @@ import io.undertow.util.HeaderMap;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.client.helpers.CborCodec;
+import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 
@@ -48,14 +53,25 @@ import org.xnio.IoUtils;
  */
 public class DomainUtil {
 
+    /**
+     * Size of the beginning of a response which is buffered before being sent, responses fitting in it being sent
+     * with their content length.
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+
     public static void writeResponse(final HttpServerExchange exchange, final int status, ModelNode response,
             OperationParameter operationParameter) {
 
         exchange.setResponseCode(status);
 
         final HeaderMap responseHeaders = exchange.getResponseHeaders();
-        final String contentType = operationParameter.isEncode() ? Common.APPLICATION_DMR_ENCODED : Common.APPLICATION_JSON;
-        responseHeaders.put(Headers.CONTENT_TYPE, contentType + "; charset=" + Common.UTF_8);
+        if (operationParameter.isCbor()) {
+            // Binary content, no charset
+            responseHeaders.put(Headers.CONTENT_TYPE, Common.APPLICATION_CBOR);
+        } else {
+            final String contentType = operationParameter.isEncode() ? Common.APPLICATION_DMR_ENCODED : Common.APPLICATION_JSON;
+            responseHeaders.put(Headers.CONTENT_TYPE, contentType + "; charset=" + Common.UTF_8);
+        }
 
         writeCacheHeaders(exchange, status, operationParameter);
 
@@ -65,9 +81,14 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                // Large results are streamed rather than converted to a single array
+                writeResponseBody(exchange, response, operationParameter);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -156,7 +177,9 @@ public class DomainUtil {
     }
 
     private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
-        if (operationParameter.isEncode()) {
+        if (operationParameter.isCbor()) {
+            return CborCodec.toCbor(modelNode);
+        } else if (operationParameter.isEncode()) {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             BufferedOutputStream out = new BufferedOutputStream(baos);
             modelNode.writeBase64(out);
@@ -168,6 +191,29 @@ public class DomainUtil {
         }
     }
 
+    private static void writeResponseBody(final HttpServerExchange exchange, final ModelNode modelNode,
+                                          final OperationParameter operationParameter) throws IOException {
+        final OutputStream out = new BufferedResponseOutputStream(exchange, RESPONSE_BUFFER_SIZE);
+        try {
+            if (operationParameter.isCbor()) {
+                CborCodec.writeCbor(modelNode, out);
+            } else if (operationParameter.isEncode()) {
+                final BufferedOutputStream buffered = new BufferedOutputStream(out);
+                modelNode.writeBase64(buffered);
+                buffered.flush();
+            } else {
+                final PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                modelNode.writeJSONString(writer, !operationParameter.isPretty());
+                // PrintWriter doesn't report errors
+                if (writer.checkError()) {
+                    throw HttpServerLogger.ROOT_LOGGER.failedWritingResponse();
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
     public static void writeCacheHeaders(final HttpServerExchange exchange, final int status, final OperationParameter operationParameter) {
         final HeaderMap responseHeaders = exchange.getResponseHeaders();
 
@@ -0,0 +1,323 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.Principal;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.undertow.security.api.SecurityContext;
+import io.undertow.security.idm.Account;
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Executes the HTTP management requests in a dedicated thread pool, separated from the XNIO worker.
+ * <p>
+ * The number of requests of a principal executing at the same time is limited, the other requests of the principal
+ * waiting in a queue of their own until the exchange of one of its requests completes. So a client sending many requests can't hold
+ * more than its share of the threads, and the requests of the other clients keep being executed. Once the number of
+ * waiting requests reaches its limit, new requests which would have to wait are rejected.
+ * </p>
+ */
+public final class ManagementHttpRequestExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int maxRequestsPerPrincipal;
+    private final int maxQueuedRequests;
+    // Guarded by this
+    private final Map<String, PrincipalRequests> principals = new HashMap<String, PrincipalRequests>();
+    // Guarded by this
+    private int waitingRequests;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+
+    /**
+     * Creates the executor.
+     *
+     * @param maxThreads the number of threads executing requests
+     * @param maxRequestsPerPrincipal the number of requests of a same principal which can be executed concurrently
+     * @param maxQueuedRequests the number of requests which can wait for their principal to be under its limit
+     */
+    public ManagementHttpRequestExecutor(final int maxThreads, final int maxRequestsPerPrincipal, final int maxQueuedRequests) {
+        this.maxRequestsPerPrincipal = maxRequestsPerPrincipal;
+        this.maxQueuedRequests = maxQueuedRequests;
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("management-http-request-thread"), Boolean.FALSE, null, "%G - %t", null, null);
+            }
+        });
+        // The queue only holds requests of principals under their limit, so it can't grow beyond that
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Dispatches the handling of a request to the executor. The request holds one of the slots of its principal until
+     * its exchange completes, which for an asynchronous exchange is after the handler returns.
+     *
+     * @param exchange the exchange of the request, which must be authenticated
+     * @param handler the handler to call in the executor
+     * @return {@code false} if the request was rejected as too many requests are waiting
+     */
+    boolean dispatch(final HttpServerExchange exchange, final HttpHandler handler) {
+        final String name = getPrincipalName(exchange);
+        final Request request;
+        synchronized (this) {
+            PrincipalRequests requests = principals.get(name);
+            if (requests == null) {
+                requests = new PrincipalRequests(name);
+                principals.put(name, requests);
+            }
+            if (requests.running < maxRequestsPerPrincipal) {
+                requests.running++;
+                request = new Request(requests, State.RUNNING);
+            } else if (waitingRequests < maxQueuedRequests) {
+                // The task is only known once dispatched, the place in the queue is reserved until then
+                waitingRequests++;
+                requests.reserved++;
+                request = new Request(requests, State.RESERVED);
+            } else {
+                rejectedRequests.incrementAndGet();
+                return false;
+            }
+        }
+        queuedRequests.incrementAndGet();
+        exchange.addExchangeCompleteListener(new ExchangeCompletionListener() {
+            @Override
+            public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
+                try {
+                    requestCompleted(request);
+                } finally {
+                    nextListener.proceed();
+                }
+            }
+        });
+        exchange.dispatch(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                submit(request, command);
+            }
+        }, handler);
+        return true;
+    }
+
+    private synchronized void submit(final Request request, final Runnable command) {
+        final PrincipalRequests requests = request.requests;
+        if (request.state == State.RESERVED) {
+            requests.reserved--;
+            if (requests.running >= maxRequestsPerPrincipal) {
+                request.command = command;
+                request.state = State.WAITING;
+                requests.waiting.add(request);
+                return;
+            }
+            // A request of the principal completed in the meantime
+            waitingRequests--;
+            requests.running++;
+            request.state = State.RUNNING;
+        } else if (request.state == State.DONE) {
+            // The exchange ended before being dispatched
+            return;
+        }
+        try {
+            executor.execute(new RequestTask(command));
+        } catch (RejectedExecutionException e) {
+            // The executor was shut down, the request will never run
+            queuedRequests.decrementAndGet();
+            releaseSlot(request);
+            throw e;
+        }
+    }
+
+    private synchronized void requestCompleted(final Request request) {
+        final PrincipalRequests requests = request.requests;
+        switch (request.state) {
+            case RUNNING:
+                releaseSlot(request);
+                break;
+            case WAITING:
+                requests.waiting.remove(request);
+                abandon(request);
+                break;
+            case RESERVED:
+                requests.reserved--;
+                abandon(request);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Forgets a request whose exchange ended before it got a slot of its principal.
+     */
+    private void abandon(final Request request) {
+        assert Thread.holdsLock(this);
+        request.state = State.DONE;
+        waitingRequests--;
+        queuedRequests.decrementAndGet();
+        removeIfIdle(request.requests);
+    }
+
+    /**
+     * Hands the slot of a request over to the next waiting request of its principal, if any.
+     */
+    private void releaseSlot(final Request request) {
+        assert Thread.holdsLock(this);
+        final PrincipalRequests requests = request.requests;
+        request.state = State.DONE;
+        Request next;
+        while ((next = requests.waiting.poll()) != null) {
+            waitingRequests--;
+            try {
+                executor.execute(new RequestTask(next.command));
+                next.state = State.RUNNING;
+                return;
+            } catch (RejectedExecutionException e) {
+                // The executor was shut down, none of the waiting requests will run
+                next.state = State.DONE;
+                queuedRequests.decrementAndGet();
+            }
+        }
+        requests.running--;
+        removeIfIdle(requests);
+    }
+
+    private void removeIfIdle(final PrincipalRequests requests) {
+        assert Thread.holdsLock(this);
+        if (requests.running == 0 && requests.reserved == 0 && requests.waiting.isEmpty()) {
+            principals.remove(requests.name);
+        }
+    }
+
+    static String getPrincipalName(final HttpServerExchange exchange) {
+        final SecurityContext securityContext = exchange.getSecurityContext();
+        final Account account = securityContext == null ? null : securityContext.getAuthenticatedAccount();
+        final Principal principal = account == null ? null : account.getPrincipal();
+        return principal == null ? "" : principal.getName();
+    }
+
+    /**
+     * Gets the number of requests being executed.
+     *
+     * @return the number of active requests
+     */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    /**
+     * Gets the number of accepted requests whose execution didn't start yet.
+     *
+     * @return the number of queued requests
+     */
+    public int getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    /**
+     * Gets the number of requests rejected since the executor was created.
+     *
+     * @return the number of rejected requests
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class PrincipalRequests {
+        private final String name;
+        // Requests holding a slot of the principal
+        private int running;
+        // Requests accepted, but not dispatched yet
+        private int reserved;
+        private final Deque<Request> waiting = new ArrayDeque<Request>();
+
+        private PrincipalRequests(final String name) {
+            this.name = name;
+        }
+    }
+
+    private enum State {
+        /** Accepted while its principal is at its limit, not dispatched yet. */
+        RESERVED,
+        /** Waiting in the queue of its principal. */
+        WAITING,
+        /** Holding a slot of its principal. */
+        RUNNING,
+        /** Completed, or never to be executed. */
+        DONE,
+    }
+
+    /**
+     * An accepted request. Guarded by the executor.
+     */
+    private static final class Request {
+        private final PrincipalRequests requests;
+        private State state;
+        private Runnable command;
+
+        private Request(final PrincipalRequests requests, final State state) {
+            this.requests = requests;
+            this.state = state;
+        }
+    }
+
+    private final class RequestTask implements Runnable {
+        private final Runnable command;
+
+        private RequestTask(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            queuedRequests.decrementAndGet();
+            activeRequests.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                activeRequests.decrementAndGet();
+            }
+        }
+    }
+}
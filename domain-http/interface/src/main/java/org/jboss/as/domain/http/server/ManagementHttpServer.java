@@ -23,6 +23,7 @@ package org.jboss.as.domain.http.server;
 
 import org.jboss.as.domain.http.server.cors.CorsHttpHandler;
 
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
 import static org.xnio.Options.SSL_CLIENT_AUTH_MODE;
 import static org.xnio.SslClientAuthMode.REQUESTED;
@@ -32,10 +33,14 @@ import javax.net.ssl.SSLContext;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 
 import io.undertow.protocols.ssl.UndertowXnioSsl;
 import io.undertow.security.api.AuthenticationMechanism;
@@ -54,13 +59,17 @@ import io.undertow.security.impl.DigestQop;
 import io.undertow.security.impl.GSSAPIAuthenticationMechanism;
 import io.undertow.security.impl.SimpleNonceManager;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.OpenListener;
 import io.undertow.server.handlers.CanonicalPathHandler;
 import io.undertow.server.handlers.ChannelUpgradeHandler;
 import io.undertow.server.handlers.PathHandler;
 import io.undertow.server.handlers.cache.CacheHandler;
 import io.undertow.server.handlers.cache.DirectBufferCache;
 import io.undertow.server.handlers.error.SimpleErrorPageHandler;
+import io.undertow.server.protocol.http.AlpnOpenListener;
 import io.undertow.server.protocol.http.HttpOpenListener;
+import io.undertow.server.protocol.http2.Http2OpenListener;
+import io.undertow.server.protocol.http2.Http2UpgradeHandler;
 import java.util.Collection;
 
 import org.jboss.as.controller.ControlledProcessStateService;
@@ -79,6 +88,8 @@ import org.jboss.modules.Module;
 import org.jboss.modules.ModuleIdentifier;
 import org.jboss.modules.ModuleLoadException;
 import org.jboss.msc.service.StartException;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.BufferAllocator;
 import org.xnio.ByteBufferSlicePool;
 import org.xnio.ChannelListener;
@@ -102,7 +113,49 @@ import org.xnio.ssl.XnioSsl;
  */
 public class ManagementHttpServer {
 
+    /**
+     * System property which can be set to {@code true} to enable HTTP/2, negotiated with ALPN on the secure socket and
+     * with an h2c upgrade on the plain one.
+     */
+    public static final String HTTP2_ENABLED_PROPERTY = "jboss.management.http.http2";
+
+    /**
+     * System property setting the number of threads executing management requests.
+     */
+    public static final String MAX_THREADS_PROPERTY = "jboss.management.http.max-threads";
+
+    /**
+     * System property setting the number of requests of a same principal which can be executed concurrently.
+     */
+    public static final String MAX_REQUESTS_PER_PRINCIPAL_PROPERTY = "jboss.management.http.max-requests-per-principal";
+
+    /**
+     * System property setting the number of requests which can wait for the completion of other requests of their
+     * principal before new requests are rejected.
+     */
+    public static final String MAX_QUEUED_REQUESTS_PROPERTY = "jboss.management.http.max-queued-requests";
+
+    /**
+     * System property setting the maximum size in bytes of a compressed request body once decompressed.
+     */
+    public static final String MAX_INFLATED_REQUEST_SIZE_PROPERTY = "jboss.management.http.max-inflated-request-size";
+
+    /**
+     * System property setting the number of subscriptions which can be open at the same time.
+     */
+    public static final String MAX_SUBSCRIPTIONS_PROPERTY = "jboss.management.http.max-subscriptions";
+
+    /**
+     * System property setting the number of subscriptions of a same principal which can be open at the same time.
+     */
+    public static final String MAX_SUBSCRIPTIONS_PER_PRINCIPAL_PROPERTY = "jboss.management.http.max-subscriptions-per-principal";
+
+    private static final int SUBSCRIPTION_THREADS = 2;
+
     private final HttpOpenListener openListener;
+    private final OpenListener secureOpenListener;
+    private final ManagementHttpRequestExecutor requestExecutor;
+    private final ScheduledExecutorService subscriptionExecutor;
     private final InetSocketAddress httpAddress;
     private final InetSocketAddress secureAddress;
     private volatile XnioWorker worker;
@@ -112,8 +165,12 @@ public class ManagementHttpServer {
     private final SslClientAuthMode sslClientAuthMode;
 
 
-    private ManagementHttpServer(HttpOpenListener openListener, InetSocketAddress httpAddress, InetSocketAddress secureAddress, SSLContext sslContext, SslClientAuthMode sslClientAuthMode) {
+    private ManagementHttpServer(HttpOpenListener openListener, OpenListener secureOpenListener, ManagementHttpRequestExecutor requestExecutor,
+                                 ScheduledExecutorService subscriptionExecutor, InetSocketAddress httpAddress, InetSocketAddress secureAddress, SSLContext sslContext, SslClientAuthMode sslClientAuthMode) {
         this.openListener = openListener;
+        this.secureOpenListener = secureOpenListener;
+        this.requestExecutor = requestExecutor;
+        this.subscriptionExecutor = subscriptionExecutor;
         this.httpAddress = httpAddress;
         this.secureAddress = secureAddress;
         this.sslContext = sslContext;
@@ -153,7 +210,8 @@ public class ManagementHttpServer {
                 }
                 OptionMap secureOptions = serverOptionsBuilder.getMap();
                 XnioSsl xnioSsl = new UndertowXnioSsl(worker.getXnio(), secureOptions, sslContext);
-                secureServer = xnioSsl.createSslConnectionServer(worker, secureAddress, acceptListener, secureOptions);
+                ChannelListener secureAcceptListener = ChannelListeners.openListenerAdapter(secureOpenListener);
+                secureServer = xnioSsl.createSslConnectionServer(worker, secureAddress, secureAcceptListener, secureOptions);
                 secureServer.resumeAccepts();
             }
         } catch (IOException e) {
@@ -165,6 +223,17 @@ public class ManagementHttpServer {
         IoUtils.safeClose(normalServer);
         IoUtils.safeClose(secureServer);
         worker.shutdown();
+        requestExecutor.shutdown();
+        subscriptionExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets the executor of the management requests, providing statistics about them.
+     *
+     * @return the request executor
+     */
+    public ManagementHttpRequestExecutor getRequestExecutor() {
+        return requestExecutor;
     }
 
     public static ManagementHttpServer create(InetSocketAddress bindAddress, InetSocketAddress secureBindAddress, int backlog,
@@ -191,7 +260,8 @@ public class ManagementHttpServer {
             }
         }
 
-        HttpOpenListener openListener = new HttpOpenListener(new ByteBufferSlicePool(BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR, 4096, 10 * 4096));
+        ByteBufferSlicePool bufferPool = new ByteBufferSlicePool(BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR, 4096, 10 * 4096);
+        HttpOpenListener openListener = new HttpOpenListener(bufferPool);
 
         int secureRedirectPort = secureBindAddress != null ? secureBindAddress.getPort() : -1;
         // WFLY-2870 -- redirect not supported if bindAddress and secureBindAddress are using different InetAddress
@@ -201,9 +271,29 @@ public class ManagementHttpServer {
             secureRedirectPort = -1;
         }
 
+        ManagementHttpRequestExecutor requestExecutor = new ManagementHttpRequestExecutor(
+                getIntProperty(MAX_THREADS_PROPERTY, 10), getIntProperty(MAX_REQUESTS_PER_PRINCIPAL_PROPERTY, 4),
+                getIntProperty(MAX_QUEUED_REQUESTS_PROPERTY, 100));
+        ScheduledExecutorService subscriptionExecutor = createSubscriptionExecutor();
         setupOpenListener(openListener, modelController, consoleMode, consoleSlot, controlledProcessStateService,
-                secureRedirectPort, securityRealm, upgradeHandler, managementHttpRequestProcessor, allowedOrigins);
-        return new ManagementHttpServer(openListener, bindAddress, secureBindAddress, sslContext, sslClientAuthMode);
+                secureRedirectPort, securityRealm, upgradeHandler, managementHttpRequestProcessor, allowedOrigins, requestExecutor,
+                subscriptionExecutor, getIntProperty(MAX_INFLATED_REQUEST_SIZE_PROPERTY, 100 * 1024 * 1024),
+                getIntProperty(MAX_SUBSCRIPTIONS_PROPERTY, 100), getIntProperty(MAX_SUBSCRIPTIONS_PER_PRINCIPAL_PROPERTY, 4));
+
+        OpenListener secureOpenListener = openListener;
+        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(HTTP2_ENABLED_PROPERTY, "false"))) {
+            HttpHandler rootHandler = openListener.getRootHandler();
+            openListener.setRootHandler(new Http2UpgradeHandler(rootHandler));
+            if (secureBindAddress != null) {
+                // Clients which don't negotiate h2 with ALPN keep using HTTP/1.1
+                Http2OpenListener http2Listener = new Http2OpenListener(bufferPool, OptionMap.EMPTY);
+                http2Listener.setRootHandler(rootHandler);
+                AlpnOpenListener alpnListener = new AlpnOpenListener(bufferPool, OptionMap.EMPTY, openListener);
+                alpnListener.addProtocol(Http2OpenListener.HTTP2, http2Listener, 10);
+                secureOpenListener = alpnListener;
+            }
+        }
+        return new ManagementHttpServer(openListener, secureOpenListener, requestExecutor, subscriptionExecutor, bindAddress, secureBindAddress, sslContext, sslClientAuthMode);
     }
 
 
@@ -211,7 +301,9 @@ public class ManagementHttpServer {
                                           String consoleSlot, ControlledProcessStateService controlledProcessStateService,
                                           int secureRedirectPort, SecurityRealm securityRealm,
                                           final ChannelUpgradeHandler upgradeHandler, final ManagementHttpRequestProcessor managementHttpRequestProcessor,
-                                          final Collection<String> allowedOrigins) {
+                                          final Collection<String> allowedOrigins, final ManagementHttpRequestExecutor requestExecutor,
+                                          final ScheduledExecutorService subscriptionExecutor, final int maxInflatedRequestSize,
+                                          final int maxSubscriptions, final int maxSubscriptionsPerPrincipal) {
 
         CanonicalPathHandler canonicalPathHandler = new CanonicalPathHandler();
         ManagementHttpRequestHandler managementHttpRequestHandler = new ManagementHttpRequestHandler(managementHttpRequestProcessor, canonicalPathHandler);
@@ -249,7 +341,8 @@ public class ManagementHttpServer {
         }
 
         ManagementRootConsoleRedirectHandler rootConsoleRedirectHandler = new ManagementRootConsoleRedirectHandler(consoleHandler);
-        DomainApiCheckHandler domainApiHandler = new DomainApiCheckHandler(modelController, controlledProcessStateService, allowedOrigins);
+        DomainApiCheckHandler domainApiHandler = new DomainApiCheckHandler(modelController, controlledProcessStateService, allowedOrigins, requestExecutor,
+                subscriptionExecutor, maxInflatedRequestSize, maxSubscriptions, maxSubscriptionsPerPrincipal);
         pathHandler.addPrefixPath("/", rootConsoleRedirectHandler);
         if (consoleHandler != null) {
             HttpHandler readinessHandler = new RedirectReadinessHandler(securityRealm, consoleHandler.getHandler(),
@@ -260,12 +353,41 @@ public class ManagementHttpServer {
         HttpHandler readinessHandler = new DmrFailureReadinessHandler(securityRealm, secureDomainAccess(domainApiHandler, securityRealm), ErrorContextHandler.ERROR_CONTEXT);
         pathHandler.addPrefixPath(DomainApiCheckHandler.PATH, readinessHandler);
         pathHandler.addExactPath("management-upload", readinessHandler);
+        pathHandler.addExactPath("management-subscribe", readinessHandler);
 
         if (securityRealm != null) {
             pathHandler.addPrefixPath(LogoutHandler.PATH, new LogoutHandler(securityRealm.getName()));
         }
     }
 
+    /**
+     * Creates the executor sampling the attributes of the subscriptions.
+     */
+    private static ScheduledExecutorService createSubscriptionExecutor() {
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("management-http-subscription-thread"), Boolean.FALSE, null, "%G - %t", null, null);
+            }
+        });
+        return new ScheduledThreadPoolExecutor(SUBSCRIPTION_THREADS, threadFactory);
+    }
+
+    private static int getIntProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result > 0) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // use the default
+            }
+            ROOT_LOGGER.invalidPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
     private static HttpHandler secureDomainAccess(final HttpHandler domainHandler, final SecurityRealm securityRealm) {
         RealmIdentityManager rim = new RealmIdentityManager(securityRealm);
         List<AuthenticationMechanism> undertowMechanisms;
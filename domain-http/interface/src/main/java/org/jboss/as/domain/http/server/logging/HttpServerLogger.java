@@ -23,7 +23,9 @@ package org.jboss.as.domain.http.server.logging;
 
 import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.net.InetAddress;
 
 import org.jboss.logging.BasicLogger;
@@ -93,4 +95,14 @@ public interface HttpServerLogger extends BasicLogger {
 
     @Message(id = 13, value = "Invalid useStreamIndex value '%d'. The operation response had %d streams attached.")
     String invalidUseStreamAsResponseIndex(int index, int available);
+
+    @Message(id = 14, value = "Failed to write the response")
+    IOException failedWritingResponse();
+
+    @LogMessage(level = WARN)
+    @Message(id = 15, value = "Invalid value '%s' for system property %s, using %d")
+    void invalidPropertyValue(String value, String name, int defaultValue);
+
+    @Message(id = 16, value = "The request body exceeds the maximum of %d bytes once decompressed")
+    IOException requestBodyTooLarge(long maxSize);
 }
@@ -140,6 +140,7 @@ import org.jboss.as.process.ProcessInfo;
 import org.jboss.as.process.ProcessMessageHandler;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
+import org.jboss.as.repository.ContentChunkStore;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
 import org.jboss.as.repository.LocalFileRepository;
@@ -226,7 +227,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
         final LocalHostControllerInfoImpl hostControllerInfo = new LocalHostControllerInfoImpl(processState, environment);
         final AbstractVaultReader vaultReader = loadVaultReaderService();
         ROOT_LOGGER.debugf("Using VaultReader %s", vaultReader);
-        final ContentRepository contentRepository = ContentRepository.Factory.create(environment.getDomainContentDir());
+        final ContentRepository contentRepository = ContentRepository.Factory.create(environment.getDomainContentDir(), environment.isDomainContentChunking());
         final IgnoredDomainResourceRegistry ignoredRegistry = new IgnoredDomainResourceRegistry(hostControllerInfo);
         final ManagedAuditLogger auditLogger = createAuditLogger(environment);
         final DelegatingConfigurableAuthorizer authorizer = new DelegatingConfigurableAuthorizer();
@@ -274,7 +275,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
         this.hostControllerInfo = hostControllerInfo;
         this.localFileRepository = new LocalFileRepository(environment.getDomainBaseDir(), environment.getDomainContentDir(), environment.getDomainConfigurationDir());
 
-        this.remoteFileRepository = new RemoteFileRepository(localFileRepository);
+        this.remoteFileRepository = new RemoteFileRepository(localFileRepository, environment.isDomainContentChunking()
+                ? new ContentChunkStore(new File(environment.getDomainContentDir(), ContentChunkStore.CHUNKS)) : null);
         this.contentRepository = contentRepository;
         this.hostProxies = hostProxies;
         this.serverProxies = serverProxies;
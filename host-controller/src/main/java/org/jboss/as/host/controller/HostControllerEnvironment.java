@@ -124,6 +124,14 @@ public class HostControllerEnvironment extends ProcessEnvironment {
     @Deprecated
     public static final String DOMAIN_DEPLOYMENT_DIR = "jboss.domain.deployment.dir";
 
+    /**
+     * Constant that holds the name of the system property
+     * for specifying {@link #isDomainContentChunking() whether domain content is stored as deduplicated chunks}.
+     *
+     * <p>Defaults to <tt>false</tt>.
+     */
+    public static final String DOMAIN_CONTENT_CHUNKING = "jboss.domain.content.chunking";
+
     /**
      * Constant that holds the name of the system property
      * for specifying {@link #getDomainLogDir()} the domain log directory}.
@@ -222,6 +230,7 @@ public class HostControllerEnvironment extends ProcessEnvironment {
     private final String initialDomainConfig;
     private ConfigurationFile domainConfigurationFile;
     private final File domainContentDir;
+    private final boolean domainContentChunking;
     private final File domainDataDir;
     private final File domainLogDir;
     private final File domainServersDir;
@@ -419,6 +428,7 @@ public class HostControllerEnvironment extends ProcessEnvironment {
 
         WildFlySecurityManager.setPropertyPrivileged(DOMAIN_CONTENT_DIR, this.domainContentDir.getAbsolutePath());
         WildFlySecurityManager.setPropertyPrivileged(deprecatedDepDir, this.domainContentDir.getAbsolutePath());
+        this.domainContentChunking = Boolean.parseBoolean(hostSystemProperties.get(DOMAIN_CONTENT_CHUNKING));
 
         tmp = getFileFromProperty(DOMAIN_LOG_DIR);
         if (tmp == null) {
@@ -652,6 +662,18 @@ public class HostControllerEnvironment extends ProcessEnvironment {
         return domainContentDir;
     }
 
+    /**
+     * Gets whether the domain managed content is also stored as deduplicated chunks, allowing hosts to synchronize
+     * content with the master by transferring only the chunks they are missing.
+     *
+     * <p>Defaults to <tt>false</tt></p>
+     *
+     * @return <code>true</code> if the domain content is stored as chunks
+     */
+    public boolean isDomainContentChunking() {
+        return domainContentChunking;
+    }
+
     /**
      * Deprecated previous name for {@link #getDomainContentDir()}.
      * @return the domain managed content storage directory.
@@ -103,6 +103,8 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
+import org.jboss.as.repository.ContentChunkStore;
+import org.jboss.as.repository.ContentManifest;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
@@ -688,11 +690,16 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     localPath = localFileRepository.getConfigurationFile(filePath);
                     break;
                 }
-                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT: {
+                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT:
+                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_MANIFEST: {
                     byte[] hash = HashUtil.hexStringToByteArray(filePath);
                     localPath = localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                     break;
                 }
+                case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS: {
+                    localPath = new File(localFileRepository.getDeploymentRoot(null), ContentChunkStore.CHUNKS);
+                    break;
+                }
                 default: {
                     localPath = null;
                 }
@@ -708,11 +715,19 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     }
 
     static class RemoteFileRepository implements HostFileRepository {
+        /** Maximum number of chunks requested at once, keeping the request path well below the 64KB UTF limit */
+        private static final int CHUNKS_PER_REQUEST = 1000;
         private final HostFileRepository localFileRepository;
+        private final ContentChunkStore chunkStore;
         private volatile RemoteFileRepositoryExecutor remoteFileRepositoryExecutor;
 
         RemoteFileRepository(final HostFileRepository localFileRepository) {
+            this(localFileRepository, null);
+        }
+
+        RemoteFileRepository(final HostFileRepository localFileRepository, final ContentChunkStore chunkStore) {
             this.localFileRepository = localFileRepository;
+            this.chunkStore = chunkStore;
         }
 
         @Override
@@ -735,11 +750,54 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         public File getDeploymentRoot(ContentReference reference) {
             File file = localFileRepository.getDeploymentRoot(reference);
             if(! file.exists()) {
+                if (chunkStore != null && getDeploymentChunks(reference, file)) {
+                    return file;
+                }
                 return getFile(reference.getHexHash(), DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT);
             }
             return file;
         }
 
+        /**
+         * Gets a deployment from the manifest of its content, only transferring the chunks missing from the local
+         * chunk store.
+         *
+         * @return {@code true} if the deployment content was assembled, {@code false} if the whole content needs to
+         * be transferred
+         */
+        private boolean getDeploymentChunks(ContentReference reference, File deploymentRoot) {
+            final File manifestFile = new File(deploymentRoot, ContentManifest.MANIFEST);
+            final File contentFile = new File(deploymentRoot, ContentManifest.CONTENT);
+            boolean assembled = false;
+            try {
+                getFile(reference.getHexHash(), DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_MANIFEST);
+                final ContentManifest manifest = ContentManifest.read(manifestFile.toPath());
+                if (manifest == null || !reference.getHexHash().equals(manifest.getContentHash())) {
+                    // The master doesn't store this content as chunks
+                    return false;
+                }
+                final List<String> missingChunks = new ArrayList<String>(chunkStore.getMissingChunks(manifest));
+                ROOT_LOGGER.debugf("Getting %d of the %d chunks of %s", missingChunks.size(), manifest.getChunks().size(), reference.getHexHash());
+                for (int i = 0; i < missingChunks.size(); i += CHUNKS_PER_REQUEST) {
+                    final List<String> chunks = missingChunks.subList(i, Math.min(i + CHUNKS_PER_REQUEST, missingChunks.size()));
+                    getFile(String.join(",", chunks), DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS);
+                    chunkStore.verifyChunks(chunks);
+                }
+                chunkStore.assemble(manifest, contentFile.toPath());
+                assembled = true;
+            } catch (IOException | RuntimeException e) {
+                ROOT_LOGGER.cannotSyncContentChunks(e, reference.getHexHash());
+            } finally {
+                if (!assembled) {
+                    // Leave no partial deployment behind, as the existence of its root means it is available
+                    contentFile.delete();
+                    manifestFile.delete();
+                    deploymentRoot.delete();
+                }
+            }
+            return assembled;
+        }
+
         private File getFile(final String relativePath, final byte repoId) {
             return remoteFileRepositoryExecutor.getFile(relativePath, repoId, localFileRepository);
         }
@@ -1226,4 +1226,8 @@ public interface HostControllerLogger extends BasicLogger {
 
     @Message(id = 160, value = "Could not read or create the domain UUID in file: %s")
     IllegalStateException couldNotObtainDomainUuid(@Cause Throwable cause, Path file);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 161, value = "Could not synchronize content %s by chunks from the master, the whole content will be transferred")
+    void cannotSyncContentChunks(@Cause Throwable cause, String contentHash);
 }
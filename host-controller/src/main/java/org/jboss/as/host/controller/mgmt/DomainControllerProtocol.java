@@ -46,6 +46,8 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte PARAM_ROOT_ID_CONFIGURATION = 0x27;
     byte PARAM_ROOT_ID_DEPLOYMENT = 0x28;
     byte PARAM_NUM_FILES = 0x29;
+    byte PARAM_ROOT_ID_DEPLOYMENT_MANIFEST = 0x2A;
+    byte PARAM_ROOT_ID_DEPLOYMENT_CHUNKS = 0x2B;
     byte FILE_START = 0x30;
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
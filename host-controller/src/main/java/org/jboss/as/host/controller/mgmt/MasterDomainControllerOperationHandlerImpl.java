@@ -23,6 +23,8 @@ import static org.jboss.as.process.protocol.ProtocolUtils.expectHeader;
 import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.controller.HashUtil;
@@ -38,6 +40,8 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHandlerFactory;
 import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
+import org.jboss.as.repository.ContentChunkStore;
+import org.jboss.as.repository.ContentManifest;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.HostFileRepository;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.RootFileReader;
@@ -110,11 +114,35 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
                             byte[] hash = HashUtil.hexStringToByteArray(filePath);
                             return localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                         }
+                        case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_MANIFEST: {
+                            if (!ContentChunkStore.isValidHash(filePath)) {
+                                return null;
+                            }
+                            byte[] hash = HashUtil.hexStringToByteArray(filePath);
+                            return new File(localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash)), ContentManifest.MANIFEST);
+                        }
                         default: {
                             throw HostControllerLogger.ROOT_LOGGER.invalidRootId(rootId);
                         }
                     }
                 }
+
+                @Override
+                public Map<String, File> readRootFiles(byte rootId, String filePath) throws RequestProcessingException {
+                    if (rootId != DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT_CHUNKS) {
+                        return null;
+                    }
+                    // The file path is the comma separated list of the requested chunks
+                    final HostFileRepository localFileRepository = domainController.getLocalFileRepository();
+                    final ContentChunkStore chunkStore = new ContentChunkStore(new File(localFileRepository.getDeploymentRoot(null), ContentChunkStore.CHUNKS));
+                    final Map<String, File> chunks = new LinkedHashMap<String, File>();
+                    for (String chunk : filePath.split(",")) {
+                        if (ContentChunkStore.isValidHash(chunk)) {
+                            chunks.put(ContentChunkStore.getRelativePath(chunk), chunkStore.getChunkFile(chunk));
+                        }
+                    }
+                    return chunks;
+                }
             };
 
             remoteSupport.handleRequest(input, reader, context);
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics of a {@link SlabBufferPool}.
+ */
+class BufferPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> service = context.getServiceRegistry(false)
+                .getService(IOServices.BUFFER_POOL.append(context.getCurrentAddressValue()));
+        if (service == null || service.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final SlabBufferPool pool = ((BufferPoolService) service.getService()).getBufferPool();
+        if (pool == null) {
+            return;
+        }
+        final ModelNode result = context.getResult();
+        switch (operation.require(ModelDescriptionConstants.NAME).asString()) {
+            case Constants.ALLOCATED_BUFFERS:
+                result.set(pool.getAllocatedBuffers());
+                break;
+            case Constants.ALLOCATED_MEMORY:
+                result.set(pool.getAllocatedMemory());
+                break;
+            case Constants.IN_USE_BUFFERS:
+                result.set(pool.getInUseBuffers());
+                break;
+            case Constants.THREAD_LOCAL_HITS:
+                result.set(pool.getThreadLocalHits());
+                break;
+            case Constants.HEAP_FALLBACKS:
+                result.set(pool.getHeapFallbacks());
+                break;
+        }
+    }
+}
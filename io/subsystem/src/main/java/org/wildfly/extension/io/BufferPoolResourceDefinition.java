@@ -39,6 +39,9 @@ import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
@@ -87,6 +90,18 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     static final SimpleAttributeDefinition DIRECT_BUFFERS = new SimpleAttributeDefinitionBuilder(Constants.DIRECT_BUFFERS, ModelType.BOOLEAN, true)
             .setAllowExpression(true)
             .build();
+    static final SimpleAttributeDefinition MAX_DIRECT_MEMORY = new SimpleAttributeDefinitionBuilder(Constants.MAX_DIRECT_MEMORY, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setValidator(new LongRangeValidator(0L, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setDefaultValue(new ModelNode(0L))
+            .build();
+
+    static final SimpleAttributeDefinition ALLOCATED_BUFFERS = runtime(Constants.ALLOCATED_BUFFERS, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition ALLOCATED_MEMORY = runtime(Constants.ALLOCATED_MEMORY, MeasurementUnit.BYTES);
+    static final SimpleAttributeDefinition IN_USE_BUFFERS = runtime(Constants.IN_USE_BUFFERS, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition THREAD_LOCAL_HITS = runtime(Constants.THREAD_LOCAL_HITS, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition HEAP_FALLBACKS = runtime(Constants.HEAP_FALLBACKS, MeasurementUnit.NONE);
 
 
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
@@ -94,7 +109,16 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             BUFFER_SIZE,
             BUFFER_PER_SLICE,
-            DIRECT_BUFFERS
+            DIRECT_BUFFERS,
+            MAX_DIRECT_MEMORY
+    );
+
+    static final List<SimpleAttributeDefinition> METRICS = Arrays.asList(
+            ALLOCATED_BUFFERS,
+            ALLOCATED_MEMORY,
+            IN_USE_BUFFERS,
+            THREAD_LOCAL_HITS,
+            HEAP_FALLBACKS
     );
 
 
@@ -114,6 +138,22 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        final BufferPoolMetricsHandler handler = new BufferPoolMetricsHandler();
+        for (SimpleAttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, handler);
+        }
+    }
+
+    private static SimpleAttributeDefinition runtime(String name, MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG, false)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
         private BufferPoolAdd() {
@@ -127,12 +167,13 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             final ModelNode bufferSizeModel = BUFFER_SIZE.resolveModelAttribute(context, model);
             final ModelNode bufferPerSliceModel = BUFFER_PER_SLICE.resolveModelAttribute(context, model);
             final ModelNode directModel = DIRECT_BUFFERS.resolveModelAttribute(context, model);
+            final long maxDirectMemory = MAX_DIRECT_MEMORY.resolveModelAttribute(context, model).asLong();
 
             final int bufferSize = bufferSizeModel.isDefined() ? bufferSizeModel.asInt() : defaultBufferSize;
             final int bufferPerSlice = bufferPerSliceModel.isDefined() ? bufferPerSliceModel.asInt() : defaultBuffersPerRegion;
             final boolean direct = directModel.isDefined() ? directModel.asBoolean() : defaultDirectBuffers;
 
-            final BufferPoolService service = new BufferPoolService(bufferSize, bufferPerSlice, direct);
+            final BufferPoolService service = new BufferPoolService(bufferSize, bufferPerSlice, direct, maxDirectMemory);
             context.getServiceTarget().addService(IOServices.BUFFER_POOL.append(name), service)
                     .setInitialMode(ServiceController.Mode.ACTIVE)
                     .install();
@@ -30,38 +30,43 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
-import org.xnio.BufferAllocator;
-import org.xnio.ByteBufferSlicePool;
 import org.xnio.Pool;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
-    private volatile Pool<ByteBuffer> bufferPool;
+    private volatile SlabBufferPool bufferPool;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
     private final boolean directBuffers;
+    private final long maxDirectMemory;
 
-    public BufferPoolService(int bufferSize, int buffersPerSlice, final boolean directBuffers) {
+    public BufferPoolService(int bufferSize, int buffersPerSlice, final boolean directBuffers, final long maxDirectMemory) {
         this.bufferSize = bufferSize;
         this.buffersPerSlice = buffersPerSlice;
         this.directBuffers = directBuffers;
+        this.maxDirectMemory = maxDirectMemory;
     }
 
     @Override
     public void start(StartContext context) throws StartException {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        bufferPool = new SlabBufferPool(bufferSize, buffersPerSlice, directBuffers, maxDirectMemory);
     }
 
     @Override
     public void stop(StopContext context) {
-
+        bufferPool.close();
+        bufferPool = null;
     }
 
     @Override
     public Pool<ByteBuffer> getValue() throws IllegalStateException, IllegalArgumentException {
         return bufferPool;
     }
+
+    SlabBufferPool getBufferPool() {
+        return bufferPool;
+    }
 }
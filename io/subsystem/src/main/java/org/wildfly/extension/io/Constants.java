@@ -32,6 +32,12 @@ interface Constants {
     String BUFFER_SIZE = "buffer-size";
     String BUFFER_PER_SLICE = "buffers-per-slice";
     String DIRECT_BUFFERS = "direct-buffers";
+    String MAX_DIRECT_MEMORY = "max-direct-memory";
+    String ALLOCATED_BUFFERS = "allocated-buffers";
+    String ALLOCATED_MEMORY = "allocated-memory";
+    String IN_USE_BUFFERS = "in-use-buffers";
+    String THREAD_LOCAL_HITS = "thread-local-hits";
+    String HEAP_FALLBACKS = "heap-fallbacks";
     String WORKER = "worker";
     String WORKER_IO_THREADS = "io-threads";
     String WORKER_TASK_CORE_THREADS = "task-core-threads";
@@ -40,4 +46,12 @@ interface Constants {
     String WORKER_TASK_MAX_THREADS = "task-max-threads";
     String THREAD_DAEMON = "thread-daemon";
     String STACK_SIZE = "stack-size";
+    String BUSY_TASK_THREAD_COUNT = "busy-task-thread-count";
+    String TASK_QUEUE_SIZE = "task-queue-size";
+    String REGISTERED_CHANNELS = "registered-channels";
+    String SELECTOR_LOOP_TIME = "selector-loop-time";
+    String DUMP_IO_THREAD_LOAD = "dump-io-thread-load";
+    String IO_THREAD = "io-thread";
+    String NAME = "name";
+    String NUMBER = "number";
 }
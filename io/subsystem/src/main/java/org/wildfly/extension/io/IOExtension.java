@@ -35,6 +35,10 @@ import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.GenericSubsystemDescribeHandler;
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
 
 
 /**
@@ -47,6 +51,8 @@ public class IOExtension implements Extension {
     protected static final PathElement BUFFER_POOL_PATH = PathElement.pathElement(Constants.BUFFER_POOL);
     protected static final PathElement WORKER_PATH = PathElement.pathElement(Constants.WORKER);
     private static final String RESOURCE_NAME = IOExtension.class.getPackage().getName() + ".LocalDescriptions";
+    static final ModelVersion VERSION_2_0_0 = ModelVersion.create(2, 0, 0);
+    private static final ModelVersion CURRENT_VERSION = ModelVersion.create(2, 1, 0);
 
     public static StandardResourceDescriptionResolver getResolver(final String... keyPrefix) {
         StringBuilder prefix = new StringBuilder(SUBSYSTEM_NAME);
@@ -60,14 +66,28 @@ public class IOExtension implements Extension {
     public void initializeParsers(ExtensionParsingContext context) {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.IO_1_0.getUriString(), IOSubsystemParser_1_0.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.IO_1_1.getUriString(), IOSubsystemParser_1_1.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.IO_1_2.getUriString(), IOSubsystemParser_1_2.INSTANCE);
     }
 
     @Override
     public void initialize(ExtensionContext context) {
-        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, ModelVersion.create(2));
+        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, CURRENT_VERSION);
         final ManagementResourceRegistration registration = subsystem.registerSubsystemModel(IORootDefinition.INSTANCE);
         registration.registerOperationHandler(GenericSubsystemDescribeHandler.DEFINITION, GenericSubsystemDescribeHandler.INSTANCE, false);
-        subsystem.registerXMLElementWriter(IOSubsystemParser_1_1.INSTANCE);
+        subsystem.registerXMLElementWriter(IOSubsystemParser_1_2.INSTANCE);
+        if (context.isRegisterTransformers()) {
+            registerTransformers_2_0(subsystem);
+        }
+    }
+
+    private static void registerTransformers_2_0(SubsystemRegistration subsystem) {
+        final ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        builder.addChildResource(BUFFER_POOL_PATH).getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true,
+                        BufferPoolResourceDefinition.MAX_DIRECT_MEMORY.getDefaultValue()), BufferPoolResourceDefinition.MAX_DIRECT_MEMORY)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, BufferPoolResourceDefinition.MAX_DIRECT_MEMORY)
+                .end();
+        TransformationDescription.Tools.register(builder.build(), subsystem, VERSION_2_0_0);
     }
 
 
@@ -39,7 +39,7 @@ class IOSubsystemParser_1_1 extends PersistentResourceXMLParser {
     private static final PersistentResourceXMLDescription xmlDescription;
 
     static {
-        xmlDescription = builder(IORootDefinition.INSTANCE, Namespace.CURRENT.getUriString())
+        xmlDescription = builder(IORootDefinition.INSTANCE, Namespace.IO_1_1.getUriString())
                 .addChild(
                         builder(WorkerResourceDefinition.INSTANCE)
                                 .addAttributes(
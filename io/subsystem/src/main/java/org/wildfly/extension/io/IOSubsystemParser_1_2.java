@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.io;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and marshaller of the 1.2 version of the io subsystem, which adds the max-direct-memory attribute of the
+ * buffer pools.
+ */
+class IOSubsystemParser_1_2 extends PersistentResourceXMLParser {
+    static final IOSubsystemParser_1_2 INSTANCE = new IOSubsystemParser_1_2();
+
+
+    private static final PersistentResourceXMLDescription xmlDescription;
+
+    static {
+        xmlDescription = builder(IORootDefinition.INSTANCE, Namespace.IO_1_2.getUriString())
+                .addChild(
+                        builder(WorkerResourceDefinition.INSTANCE)
+                                .addAttributes(
+                                        WorkerResourceDefinition.WORKER_IO_THREADS,
+                                        WorkerResourceDefinition.WORKER_TASK_KEEPALIVE,
+                                        WorkerResourceDefinition.WORKER_TASK_MAX_THREADS,
+                                        WorkerResourceDefinition.STACK_SIZE)
+                )
+                .addChild(
+                        builder(BufferPoolResourceDefinition.INSTANCE)
+                                .addAttributes(BufferPoolResourceDefinition.BUFFER_SIZE,
+                                        BufferPoolResourceDefinition.BUFFER_PER_SLICE,
+                                        BufferPoolResourceDefinition.DIRECT_BUFFERS,
+                                        BufferPoolResourceDefinition.MAX_DIRECT_MEMORY)
+                )
+                .build();
+    }
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return xmlDescription;
+    }
+}
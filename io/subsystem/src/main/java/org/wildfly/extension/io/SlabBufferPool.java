@@ -0,0 +1,380 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * A {@link Pool} of byte buffers of several size classes, sliced out of large slabs.
+ * <p/>
+ * The largest size class is the configured buffer size, each smaller class being half of the previous one. The free
+ * buffers of a size class are kept in a shared list, and each thread keeps a small magazine of free buffers per size
+ * class in front of it. A thread that frees and allocates buffers in turn, as the IO threads do, thus doesn't touch the
+ * shared list. A full magazine is half emptied into the shared list at once, and the magazines of the threads that
+ * died are given back to the shared lists when a new thread starts using the pool.
+ * <p/>
+ * The memory of the slabs of a direct pool can be bounded. Once the limit is reached, or if the JVM can't allocate more
+ * direct memory, buffers are allocated on the heap instead and aren't pooled. Discarded buffers keep counting against
+ * the limit, as the memory of a slab is only released with all of its buffers.
+ */
+public final class SlabBufferPool implements Pool<ByteBuffer> {
+
+    static final int SIZE_CLASSES = 4;
+    static final int MIN_BUFFER_SIZE = 256;
+    static final int MAGAZINE_SIZE = 32;
+
+    private final SizeClass[] sizeClasses;
+    private final boolean direct;
+    private final long maxDirectMemory;
+    private final int slabSize;
+    private final AtomicLong allocatedMemory = new AtomicLong();
+    private final AtomicLong allocatedBuffers = new AtomicLong();
+    private final LongAdder inUseBuffers = new LongAdder();
+    private final LongAdder threadLocalHits = new LongAdder();
+    private final LongAdder heapFallbacks = new LongAdder();
+    private final ConcurrentMap<Thread, Magazine[]> magazinesByThread = new ConcurrentHashMap<>();
+    private final ThreadLocal<Magazine[]> magazines = new ThreadLocal<Magazine[]>() {
+        @Override
+        protected Magazine[] initialValue() {
+            return register(Thread.currentThread());
+        }
+    };
+    private volatile boolean closed;
+
+    /**
+     * @param bufferSize the size of the buffers of the largest size class
+     * @param buffersPerSlice the number of buffers of the largest size class in a slab
+     * @param direct whether the buffers are direct
+     * @param maxDirectMemory the maximum memory used by the slabs of a direct pool, {@code 0} for no limit
+     */
+    public SlabBufferPool(final int bufferSize, final int buffersPerSlice, final boolean direct, final long maxDirectMemory) {
+        this.direct = direct;
+        this.maxDirectMemory = direct ? maxDirectMemory : 0L;
+        this.slabSize = bufferSize * buffersPerSlice;
+        int classes = 1;
+        while (classes < SIZE_CLASSES && bufferSize >> classes >= MIN_BUFFER_SIZE) {
+            classes++;
+        }
+        sizeClasses = new SizeClass[classes];
+        for (int i = 0; i < classes; i++) {
+            sizeClasses[i] = new SizeClass(i, bufferSize >> (classes - 1 - i));
+        }
+    }
+
+    /**
+     * Allocates a buffer of the largest size class, that is of the configured buffer size.
+     *
+     * @return the pooled buffer
+     */
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        return allocate(sizeClasses[sizeClasses.length - 1]);
+    }
+
+    /**
+     * Allocates a buffer of the smallest size class that can hold the given number of bytes. A buffer larger than the
+     * largest size class is allocated on the heap and isn't pooled.
+     *
+     * @param size the minimum capacity of the buffer
+     * @return the pooled buffer
+     */
+    public Pooled<ByteBuffer> allocate(final int size) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass.bufferSize >= size) {
+                return allocate(sizeClass);
+            }
+        }
+        heapFallbacks.increment();
+        return new PooledBuffer(this, null, ByteBuffer.allocate(size));
+    }
+
+    private Pooled<ByteBuffer> allocate(final SizeClass sizeClass) {
+        ByteBuffer buffer = magazines.get()[sizeClass.index].pop();
+        if (buffer != null) {
+            threadLocalHits.increment();
+        } else {
+            buffer = sizeClass.free.poll();
+            if (buffer == null) {
+                buffer = sizeClass.allocateSlab();
+                if (buffer == null) {
+                    heapFallbacks.increment();
+                    return new PooledBuffer(this, null, ByteBuffer.allocate(sizeClass.bufferSize));
+                }
+            }
+        }
+        buffer.clear();
+        inUseBuffers.increment();
+        return new PooledBuffer(this, sizeClass, buffer);
+    }
+
+    private void release(final SizeClass sizeClass, final ByteBuffer buffer) {
+        inUseBuffers.decrement();
+        if (closed) {
+            return;
+        }
+        final Magazine magazine = magazines.get()[sizeClass.index];
+        if (!magazine.push(buffer)) {
+            magazine.drain(sizeClass.free, MAGAZINE_SIZE / 2);
+            magazine.push(buffer);
+        }
+    }
+
+    private Magazine[] register(final Thread thread) {
+        // Give back the buffers cached by the threads that died since the last registration
+        for (Map.Entry<Thread, Magazine[]> entry : magazinesByThread.entrySet()) {
+            // Only the thread that removes the entry drains it, as magazines aren't thread safe
+            if (!entry.getKey().isAlive() && magazinesByThread.remove(entry.getKey(), entry.getValue())) {
+                for (Magazine magazine : entry.getValue()) {
+                    magazine.drain(magazine.sizeClass.free, MAGAZINE_SIZE);
+                }
+            }
+        }
+        final Magazine[] threadMagazines = new Magazine[sizeClasses.length];
+        for (int i = 0; i < threadMagazines.length; i++) {
+            threadMagazines[i] = new Magazine(sizeClasses[i]);
+        }
+        if (!closed) {
+            magazinesByThread.put(thread, threadMagazines);
+        }
+        return threadMagazines;
+    }
+
+    /**
+     * Releases the free buffers held by the pool. Buffers allocated afterwards aren't pooled anymore.
+     */
+    public void close() {
+        closed = true;
+        magazinesByThread.clear();
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.free.clear();
+        }
+    }
+
+    /**
+     * Gets the sizes of the buffers this pool allocates.
+     *
+     * @return the buffer size of each size class, in ascending order
+     */
+    public int[] getBufferSizes() {
+        final int[] sizes = new int[sizeClasses.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = sizeClasses[i].bufferSize;
+        }
+        return sizes;
+    }
+
+    /**
+     * Gets the number of pooled buffers sliced out of the slabs.
+     *
+     * @return the number of allocated buffers
+     */
+    public long getAllocatedBuffers() {
+        return allocatedBuffers.get();
+    }
+
+    /**
+     * Gets the memory of the slabs, in bytes.
+     *
+     * @return the allocated memory
+     */
+    public long getAllocatedMemory() {
+        return allocatedMemory.get();
+    }
+
+    /**
+     * Gets the number of pooled buffers currently allocated and not freed or discarded yet.
+     *
+     * @return the number of buffers in use
+     */
+    public long getInUseBuffers() {
+        return inUseBuffers.sum();
+    }
+
+    /**
+     * Gets the number of allocations served by the magazine of the calling thread.
+     *
+     * @return the number of thread-local hits
+     */
+    public long getThreadLocalHits() {
+        return threadLocalHits.sum();
+    }
+
+    /**
+     * Gets the number of buffers allocated on the heap, outside of the pool.
+     *
+     * @return the number of heap fallbacks
+     */
+    public long getHeapFallbacks() {
+        return heapFallbacks.sum();
+    }
+
+    private final class SizeClass {
+        private final int index;
+        private final int bufferSize;
+        private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+        private SizeClass(final int index, final int bufferSize) {
+            this.index = index;
+            this.bufferSize = bufferSize;
+        }
+
+        /**
+         * Allocates a new slab, keeping the first buffer and adding the others to the free list.
+         *
+         * @return the first buffer of the slab, or {@code null} if no more memory can be allocated
+         */
+        private ByteBuffer allocateSlab() {
+            if (closed) {
+                return null;
+            }
+            final int buffers = Math.max(1, slabSize / bufferSize);
+            final int size = buffers * bufferSize;
+            long memory;
+            do {
+                memory = allocatedMemory.get();
+                if (maxDirectMemory > 0L && memory + size > maxDirectMemory) {
+                    return null;
+                }
+            } while (!allocatedMemory.compareAndSet(memory, memory + size));
+            final ByteBuffer slab;
+            try {
+                slab = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+            } catch (OutOfMemoryError e) {
+                // The JVM limit on direct memory was reached
+                allocatedMemory.addAndGet(-size);
+                if (direct) {
+                    return null;
+                }
+                throw e;
+            }
+            allocatedBuffers.addAndGet(buffers);
+            ByteBuffer first = null;
+            for (int i = 0; i < buffers; i++) {
+                slab.limit((i + 1) * bufferSize).position(i * bufferSize);
+                final ByteBuffer buffer = slab.slice();
+                if (first == null) {
+                    first = buffer;
+                } else {
+                    free.offer(buffer);
+                }
+            }
+            return first;
+        }
+    }
+
+    /**
+     * The free buffers of a size class cached by a thread. Only used by its thread, or once its thread died.
+     */
+    private static final class Magazine {
+        private final SizeClass sizeClass;
+        private final ByteBuffer[] buffers = new ByteBuffer[MAGAZINE_SIZE];
+        private int size;
+
+        private Magazine(final SizeClass sizeClass) {
+            this.sizeClass = sizeClass;
+        }
+
+        private ByteBuffer pop() {
+            if (size == 0) {
+                return null;
+            }
+            final ByteBuffer buffer = buffers[--size];
+            buffers[size] = null;
+            return buffer;
+        }
+
+        private boolean push(final ByteBuffer buffer) {
+            if (size == buffers.length) {
+                return false;
+            }
+            buffers[size++] = buffer;
+            return true;
+        }
+
+        private void drain(final ConcurrentLinkedQueue<ByteBuffer> free, final int count) {
+            for (int i = 0; i < count && size > 0; i++) {
+                free.offer(pop());
+            }
+        }
+    }
+
+    private static final class PooledBuffer implements Pooled<ByteBuffer> {
+        private static final AtomicReferenceFieldUpdater<PooledBuffer, ByteBuffer> bufferUpdater =
+                AtomicReferenceFieldUpdater.newUpdater(PooledBuffer.class, ByteBuffer.class, "buffer");
+
+        private final SlabBufferPool pool;
+        private final SizeClass sizeClass;
+        private volatile ByteBuffer buffer;
+
+        private PooledBuffer(final SlabBufferPool pool, final SizeClass sizeClass, final ByteBuffer buffer) {
+            this.pool = pool;
+            this.sizeClass = sizeClass;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void discard() {
+            if (bufferUpdater.getAndSet(this, null) != null && sizeClass != null) {
+                pool.inUseBuffers.decrement();
+            }
+        }
+
+        @Override
+        public void free() {
+            final ByteBuffer buffer = bufferUpdater.getAndSet(this, null);
+            if (buffer != null && sizeClass != null) {
+                pool.release(sizeClass, buffer);
+            }
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            final ByteBuffer buffer = this.buffer;
+            if (buffer == null) {
+                throw IOLogger.ROOT_LOGGER.bufferFreed();
+            }
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            free();
+        }
+
+        @Override
+        public String toString() {
+            return "Pooled buffer " + buffer;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.reflect.Field;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+
+/**
+ * Observes the load of the task threads and of the IO threads of a {@link XnioWorker}.
+ * <p/>
+ * XNIO doesn't expose any statistics, so the task pool and the selectors of the IO threads are looked up by their type
+ * in the fields of the worker and of its IO threads. The values that can't be read are reported as {@code -1}.
+ * <p/>
+ * The IO threads are probed by running a task in each of them: the time it takes for the task to run is the time taken
+ * by the selector loop to come back to its task queue, and the task counts the channels registered with the selector
+ * from the IO thread itself, as the key set of a selector can't be used concurrently.
+ * <p/>
+ * Probes never block the caller: {@link #getIoThreadLoads()} returns the last sample and starts a new probe when that
+ * sample is older than {@link #SAMPLE_INTERVAL}, so a read reports the load observed by the previous probe. A probe
+ * that didn't complete within {@link #PROBE_TIMEOUT} is reported as is, with the IO threads that are stuck showing the
+ * time they have made the probe wait so far.
+ */
+final class WorkerLoad {
+
+    static final long PROBE_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+    static final long SAMPLE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final XnioWorker worker;
+    private final ThreadPoolExecutor taskPool;
+    /** The last probe started. */
+    private volatile Probe probe;
+    /** The probe replaced by {@link #probe}, which completed or timed out. */
+    private volatile Probe previous;
+
+    WorkerLoad(final XnioWorker worker) {
+        this.worker = worker;
+        this.taskPool = (ThreadPoolExecutor) findField(worker, ThreadPoolExecutor.class);
+        this.probe = new Probe(worker);
+    }
+
+    /**
+     * Gets the number of task threads currently running a task.
+     *
+     * @return the number of busy task threads, or {@code -1} if unknown
+     */
+    int getBusyTaskThreadCount() {
+        return taskPool == null ? -1 : taskPool.getActiveCount();
+    }
+
+    /**
+     * Gets the number of tasks waiting for a task thread.
+     *
+     * @return the size of the task queue, or {@code -1} if unknown
+     */
+    int getTaskQueueSize() {
+        return taskPool == null ? -1 : taskPool.getQueue().size();
+    }
+
+    /**
+     * Gets the last sample of the load of the IO threads, starting a new probe if that sample is stale. Never waits for
+     * a probe to run.
+     *
+     * @return the load of each IO thread, by thread number
+     */
+    IoThreadLoad[] getIoThreadLoads() {
+        final Probe probe = this.probe;
+        final long age = System.nanoTime() - probe.start;
+        if (probe.isComplete()) {
+            if (age >= SAMPLE_INTERVAL) {
+                replace(probe);
+            }
+            return probe.loads;
+        }
+        if (age >= PROBE_TIMEOUT) {
+            replace(probe);
+            return probe.loads;
+        }
+        final Probe previous = this.previous;
+        return previous == null ? probe.loads : previous.loads;
+    }
+
+    /**
+     * Waits for the last probe started to complete.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the probe completed, {@code false} if the timeout elapsed first
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    boolean awaitProbe(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return probe.latch.await(timeout, unit);
+    }
+
+    private void replace(final Probe expected) {
+        synchronized (this) {
+            if (probe == expected) {
+                previous = expected;
+                probe = new Probe(worker);
+            }
+        }
+    }
+
+    private static int countChannels(final Thread ioThread) {
+        final Selector selector = (Selector) findField(ioThread, Selector.class);
+        if (selector == null) {
+            return -1;
+        }
+        int count = 0;
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Object findField(final Object object, final Class<?> type) {
+        if (System.getSecurityManager() == null) {
+            return doFindField(object, type);
+        }
+        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                return doFindField(object, type);
+            }
+        });
+    }
+
+    private static Object doFindField(final Object object, final Class<?> type) {
+        for (Class<?> clazz = object.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (type.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        return field.get(object);
+                    } catch (RuntimeException | IllegalAccessException e) {
+                        IOLogger.ROOT_LOGGER.tracef(e, "Cannot read %s of %s", field, object);
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A probe run in each IO thread of a worker.
+     */
+    private static final class Probe {
+        private final long start = System.nanoTime();
+        private final IoThreadLoad[] loads;
+        private final CountDownLatch latch;
+
+        private Probe(final XnioWorker worker) {
+            final int count = worker.getIoThreadCount();
+            loads = new IoThreadLoad[count];
+            latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                final XnioIoThread ioThread = worker.getIoThread(i);
+                final IoThreadLoad load = new IoThreadLoad(ioThread.getName(), ioThread.getNumber(), start);
+                loads[i] = load;
+                ioThread.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        load.complete(countChannels(Thread.currentThread()));
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+
+        private boolean isComplete() {
+            return latch.getCount() == 0L;
+        }
+    }
+
+    /**
+     * The load of an IO thread, as observed by a probe.
+     */
+    static final class IoThreadLoad {
+        private final String name;
+        private final int number;
+        private final long start;
+        private volatile long loopTime = -1L;
+        private volatile int registeredChannels = -1;
+
+        private IoThreadLoad(final String name, final int number, final long start) {
+            this.name = name;
+            this.number = number;
+            this.start = start;
+        }
+
+        private void complete(final int registeredChannels) {
+            this.registeredChannels = registeredChannels;
+            this.loopTime = System.nanoTime() - start;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getNumber() {
+            return number;
+        }
+
+        /**
+         * Gets the time the probe waited before running in the IO thread.
+         *
+         * @return the selector loop time in microseconds, or the time the probe has waited so far if it didn't run yet
+         */
+        long getLoopTime() {
+            final long loopTime = this.loopTime;
+            return TimeUnit.NANOSECONDS.toMicros(loopTime < 0L ? System.nanoTime() - start : loopTime);
+        }
+
+        /**
+         * Gets the number of channels registered with the selector of the IO thread.
+         *
+         * @return the number of registered channels, or {@code -1} if unknown or if the probe didn't run yet
+         */
+        int getRegisteredChannels() {
+            return registeredChannels;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.xnio.XnioWorker;
+
+/**
+ * Reads the load of a worker. Registered as the handler of the worker metrics and of the
+ * {@value Constants#DUMP_IO_THREAD_LOAD} operation.
+ */
+class WorkerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final WorkerMetricsHandler INSTANCE = new WorkerMetricsHandler();
+
+    private WorkerMetricsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> service = context.getServiceRegistry(false).getService(
+                WorkerResourceDefinition.IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue(), XnioWorker.class));
+        if (service == null || service.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final WorkerLoad workerLoad = ((WorkerService) service.getService()).getWorkerLoad();
+        if (workerLoad == null) {
+            return;
+        }
+        final ModelNode result = context.getResult();
+        if (Constants.DUMP_IO_THREAD_LOAD.equals(operation.require(ModelDescriptionConstants.OP).asString())) {
+            result.get(Constants.BUSY_TASK_THREAD_COUNT).set(workerLoad.getBusyTaskThreadCount());
+            result.get(Constants.TASK_QUEUE_SIZE).set(workerLoad.getTaskQueueSize());
+            final ModelNode ioThreads = result.get(Constants.IO_THREAD).setEmptyList();
+            for (WorkerLoad.IoThreadLoad load : workerLoad.getIoThreadLoads()) {
+                final ModelNode ioThread = new ModelNode();
+                ioThread.get(Constants.NAME).set(load.getName());
+                ioThread.get(Constants.NUMBER).set(load.getNumber());
+                ioThread.get(Constants.REGISTERED_CHANNELS).set(load.getRegisteredChannels());
+                ioThread.get(Constants.SELECTOR_LOOP_TIME).set(load.getLoopTime());
+                ioThreads.add(ioThread);
+            }
+            return;
+        }
+        switch (operation.require(ModelDescriptionConstants.NAME).asString()) {
+            case Constants.BUSY_TASK_THREAD_COUNT:
+                result.set(workerLoad.getBusyTaskThreadCount());
+                break;
+            case Constants.TASK_QUEUE_SIZE:
+                result.set(workerLoad.getTaskQueueSize());
+                break;
+            case Constants.REGISTERED_CHANNELS:
+                result.setEmptyList();
+                for (WorkerLoad.IoThreadLoad load : workerLoad.getIoThreadLoads()) {
+                    result.add(load.getRegisteredChannels());
+                }
+                break;
+            case Constants.SELECTOR_LOOP_TIME:
+                result.setEmptyList();
+                for (WorkerLoad.IoThreadLoad load : workerLoad.getIoThreadLoads()) {
+                    result.add(load.getLoopTime());
+                }
+                break;
+        }
+    }
+}
@@ -31,9 +31,17 @@ import java.util.Map;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.xnio.Options;
 import org.xnio.XnioWorker;
 
@@ -71,6 +79,33 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             STACK_SIZE
     };
 
+    static final SimpleAttributeDefinition BUSY_TASK_THREAD_COUNT = new SimpleAttributeDefinitionBuilder(Constants.BUSY_TASK_THREAD_COUNT, ModelType.INT, false)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition TASK_QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.TASK_QUEUE_SIZE, ModelType.INT, false)
+            .setStorageRuntime()
+            .build();
+    static final PrimitiveListAttributeDefinition REGISTERED_CHANNELS = new PrimitiveListAttributeDefinition.Builder(Constants.REGISTERED_CHANNELS, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final PrimitiveListAttributeDefinition SELECTOR_LOOP_TIME = new PrimitiveListAttributeDefinition.Builder(Constants.SELECTOR_LOOP_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] METRICS = new AttributeDefinition[]{
+            BUSY_TASK_THREAD_COUNT,
+            TASK_QUEUE_SIZE,
+            REGISTERED_CHANNELS,
+            SELECTOR_LOOP_TIME
+    };
+
+    static final SimpleOperationDefinition DUMP_IO_THREAD_LOAD = new SimpleOperationDefinitionBuilder(Constants.DUMP_IO_THREAD_LOAD, IOExtension.getResolver(Constants.WORKER))
+            .setRuntimeOnly()
+            .setReadOnly()
+            .setReplyType(ModelType.OBJECT)
+            .build();
+
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
 
     static {
@@ -97,4 +132,18 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
     public Collection<AttributeDefinition> getAttributes() {
         return (Collection) ATTRIBUTES_BY_XMLNAME.values();
     }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, WorkerMetricsHandler.INSTANCE);
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        resourceRegistration.registerOperationHandler(DUMP_IO_THREAD_LOAD, WorkerMetricsHandler.INSTANCE);
+    }
 }
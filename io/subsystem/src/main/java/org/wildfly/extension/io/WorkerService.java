@@ -40,6 +40,7 @@ import org.xnio.XnioWorker;
 public class WorkerService implements Service<XnioWorker> {
     private final OptionMap options;
     private volatile XnioWorker worker;
+    private volatile WorkerLoad workerLoad;
 
     public WorkerService(OptionMap options) {
         this.options = options;
@@ -51,6 +52,7 @@ public class WorkerService implements Service<XnioWorker> {
 
         try {
             worker = xnio.createWorker(options);
+            workerLoad = new WorkerLoad(worker);
         } catch (IOException e) {
             throw new StartException("Could not create worker!", e);
         }
@@ -59,10 +61,15 @@ public class WorkerService implements Service<XnioWorker> {
     @Override
     public void stop(StopContext stopContext) {
         worker.shutdown();
+        workerLoad = null;
     }
 
     @Override
     public XnioWorker getValue() throws IllegalStateException, IllegalArgumentException {
         return worker;
     }
+
+    WorkerLoad getWorkerLoad() {
+        return workerLoad;
+    }
 }
@@ -25,6 +25,7 @@
 package org.wildfly.extension.io;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.controller.RunningMode;
@@ -54,12 +55,12 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("io-1.1.xml");
+        return readResource("io-1.2.xml");
     }
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-io_1_1.xsd";
+        return "schema/wildfly-io_1_2.xsd";
     }
 
     @Override
@@ -69,6 +70,11 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
         };
     }
 
+    @Test
+    public void testSubsystem1_1() throws Exception {
+        standardSubsystemTest("io-1.1.xml", false);
+    }
+
     @Test
     public void testRuntime() throws Exception {
         KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
@@ -83,6 +89,16 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
         XnioWorker worker = workerServiceController.getService().getValue();
         Assert.assertEquals(Runtime.getRuntime().availableProcessors() * 2, worker.getIoThreadCount());
         Assert.assertEquals(Runtime.getRuntime().availableProcessors() * 16, worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue());
+
+        WorkerLoad workerLoad = new WorkerLoad(worker);
+        Assert.assertTrue(workerLoad.awaitProbe(WorkerLoad.PROBE_TIMEOUT, TimeUnit.NANOSECONDS));
+        WorkerLoad.IoThreadLoad[] loads = workerLoad.getIoThreadLoads();
+        Assert.assertEquals(worker.getIoThreadCount(), loads.length);
+        for (int i = 0; i < loads.length; i++) {
+            // Idle IO threads run the probe right away
+            Assert.assertTrue(loads[i].getLoopTime() < TimeUnit.NANOSECONDS.toMicros(WorkerLoad.PROBE_TIMEOUT));
+            Assert.assertNotNull(loads[i].getName());
+        }
     }
 
     @Override
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xnio.Pooled;
+
+/**
+ * Tests of {@link SlabBufferPool}.
+ */
+public class SlabBufferPoolTestCase {
+
+    @Test
+    public void testSizeClasses() {
+        SlabBufferPool pool = new SlabBufferPool(16 * 1024, 4, false, 0L);
+        Assert.assertArrayEquals(new int[]{2048, 4096, 8192, 16384}, pool.getBufferSizes());
+        Assert.assertEquals(16 * 1024, pool.allocate().getResource().capacity());
+        Assert.assertEquals(2048, pool.allocate(100).getResource().capacity());
+        Assert.assertEquals(4096, pool.allocate(2049).getResource().capacity());
+        Assert.assertEquals(16 * 1024, pool.allocate(16 * 1024).getResource().capacity());
+
+        // Buffers larger than the largest size class are not pooled
+        Assert.assertEquals(0L, pool.getHeapFallbacks());
+        Assert.assertEquals(32 * 1024, pool.allocate(32 * 1024).getResource().capacity());
+        Assert.assertEquals(1L, pool.getHeapFallbacks());
+
+        Assert.assertArrayEquals(new int[]{256, 512}, new SlabBufferPool(512, 4, false, 0L).getBufferSizes());
+        Assert.assertArrayEquals(new int[]{100}, new SlabBufferPool(100, 4, false, 0L).getBufferSizes());
+    }
+
+    @Test
+    public void testThreadLocalReuse() {
+        SlabBufferPool pool = new SlabBufferPool(1024, 8, true, 0L);
+        Pooled<ByteBuffer> pooled = pool.allocate();
+        ByteBuffer buffer = pooled.getResource();
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(8L, pool.getAllocatedBuffers());
+        Assert.assertEquals(8 * 1024L, pool.getAllocatedMemory());
+        Assert.assertEquals(1L, pool.getInUseBuffers());
+        Assert.assertEquals(0L, pool.getThreadLocalHits());
+
+        buffer.put((byte) 1);
+        pooled.free();
+        Assert.assertEquals(0L, pool.getInUseBuffers());
+        try {
+            pooled.getResource();
+            Assert.fail("Expected a freed buffer to be unavailable");
+        } catch (IllegalStateException e) {
+        }
+        // Freeing twice is harmless
+        pooled.free();
+        Assert.assertEquals(0L, pool.getInUseBuffers());
+
+        Pooled<ByteBuffer> reused = pool.allocate();
+        Assert.assertSame(buffer, reused.getResource());
+        Assert.assertEquals(0, reused.getResource().position());
+        Assert.assertEquals(1L, pool.getThreadLocalHits());
+        Assert.assertEquals(8L, pool.getAllocatedBuffers());
+    }
+
+    @Test
+    public void testDirectMemoryLimit() {
+        SlabBufferPool pool = new SlabBufferPool(1024, 4, true, 8 * 1024L);
+        List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Pooled<ByteBuffer> pooled = pool.allocate();
+            Assert.assertTrue(pooled.getResource().isDirect());
+            buffers.add(pooled);
+        }
+        Assert.assertEquals(8 * 1024L, pool.getAllocatedMemory());
+        Assert.assertEquals(0L, pool.getHeapFallbacks());
+
+        Pooled<ByteBuffer> fallback = pool.allocate();
+        Assert.assertFalse(fallback.getResource().isDirect());
+        Assert.assertEquals(1024, fallback.getResource().capacity());
+        Assert.assertEquals(1L, pool.getHeapFallbacks());
+        Assert.assertEquals(8L, pool.getInUseBuffers());
+        fallback.free();
+        Assert.assertEquals(8L, pool.getInUseBuffers());
+
+        for (Pooled<ByteBuffer> pooled : buffers) {
+            pooled.free();
+        }
+        Assert.assertEquals(0L, pool.getInUseBuffers());
+        Assert.assertTrue(pool.allocate().getResource().isDirect());
+        Assert.assertEquals(8 * 1024L, pool.getAllocatedMemory());
+    }
+
+    @Test
+    public void testBuffersOfDeadThreadsAreReclaimed() throws Exception {
+        final SlabBufferPool pool = new SlabBufferPool(1024, 4, true, 4 * 1024L);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    buffers.add(pool.allocate());
+                }
+                for (Pooled<ByteBuffer> pooled : buffers) {
+                    pooled.free();
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        Assert.assertEquals(0L, pool.getInUseBuffers());
+
+        // The buffers cached by the dead thread are given back to the shared list when this thread registers
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(pool.allocate().getResource().isDirect());
+        }
+        Assert.assertEquals(0L, pool.getHeapFallbacks());
+        Assert.assertEquals(4 * 1024L, pool.getAllocatedMemory());
+    }
+
+    @Test
+    public void testFullMagazine() {
+        SlabBufferPool pool = new SlabBufferPool(1024, 4, false, 0L);
+        List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+        for (int i = 0; i < SlabBufferPool.MAGAZINE_SIZE * 2; i++) {
+            buffers.add(pool.allocate());
+        }
+        for (Pooled<ByteBuffer> pooled : buffers) {
+            pooled.free();
+        }
+        buffers.clear();
+        long allocated = pool.getAllocatedBuffers();
+        for (int i = 0; i < SlabBufferPool.MAGAZINE_SIZE * 2; i++) {
+            buffers.add(pool.allocate());
+        }
+        Assert.assertEquals(allocated, pool.getAllocatedBuffers());
+        Assert.assertEquals(SlabBufferPool.MAGAZINE_SIZE * 2, pool.getInUseBuffers());
+    }
+
+    @Test
+    public void testClose() {
+        SlabBufferPool pool = new SlabBufferPool(1024, 4, true, 0L);
+        Pooled<ByteBuffer> pooled = pool.allocate();
+        pool.close();
+        pooled.free();
+        Assert.assertEquals(0L, pool.getInUseBuffers());
+        Assert.assertFalse(pool.allocate().getResource().isDirect());
+    }
+}
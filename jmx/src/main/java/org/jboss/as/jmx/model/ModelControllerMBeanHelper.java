@@ -37,6 +37,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VAL
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -68,7 +69,6 @@ import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.jmx.logging.JmxLogger;
 import org.jboss.as.jmx.model.ChildAddOperationFinder.ChildAddOperationEntry;
 import org.jboss.as.jmx.model.ResourceAccessControlUtil.ResourceAccessControl;
-import org.jboss.as.jmx.model.RootResourceIterator.ResourceAction;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -83,6 +83,7 @@ public class ModelControllerMBeanHelper {
     private final MutabilityChecker mutabilityChecker;
     private final ModelController controller;
     private final ResourceAccessControlUtil accessControlUtil;
+    private final ObjectNameAddressIndex index;
     private final PathAddress CORE_SERVICE_PLATFORM_MBEAN = PathAddress.pathAddress(PathElement.pathElement("core-service", "platform-mbean"));
 
     private final TypeConverters converters;
@@ -98,78 +99,57 @@ public class ModelControllerMBeanHelper {
         this.domain = domain;
         this.controller = controller;
         this.accessControlUtil = new ResourceAccessControlUtil(controller);
+        this.index = new ObjectNameAddressIndex(domain, controller, CORE_SERVICE_PLATFORM_MBEAN);
         this.mutabilityChecker = mutabilityChecker;
         this.managementModelProvider = managementModelProvider;
     }
 
     int getMBeanCount() {
-        return new RootResourceIterator<Integer>(accessControlUtil, getRootResourceAndRegistration().getResource(), new ResourceAction<Integer>() {
-            int count;
-
-            @Override
-            public ObjectName onAddress(PathAddress address) {
-                return isExcludeAddress(address) ? null : ObjectNameAddressUtil.createObjectName(domain, address);
-            }
-
-            public boolean onResource(ObjectName address) {
-                count++;
-                return true;
-            }
-
-            public Integer getResult() {
-                return count;
-            }
-        }).iterate();
+        return getAccessibleNames(null).size();
     }
 
     Set<ObjectInstance> queryMBeans(final ObjectName name, final QueryExp query) {
-        return new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
-
-            Set<ObjectInstance> set = new HashSet<ObjectInstance>();
-
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    //TODO check query
-                    set.add(new ObjectInstance(resourceName, CLASS_NAME));
-                }
-                return true;
-            }
-
-            @Override
-            public Set<ObjectInstance> getResult() {
-                if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectName(domain))) {
-                    return Collections.emptySet();
-                }
-                return set;
-            }
-        }).iterate();
+        final Set<ObjectInstance> set = new HashSet<ObjectInstance>();
+        for (ObjectName resourceName : queryNames(name, query)) {
+            set.add(new ObjectInstance(resourceName, CLASS_NAME));
+        }
+        return set;
     }
 
     Set<ObjectName> queryNames(final ObjectName name, final QueryExp query) {
-        return new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
-
-            Set<ObjectName> set = new HashSet<ObjectName>();
+        //TODO check query
+        final Set<ObjectName> set = getAccessibleNames(name);
+        if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectName(domain))) {
+            return Collections.emptySet();
+        }
+        return set;
+    }
 
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    //TODO check query
-                    set.add(resourceName);
-                }
-                return true;
+    private Set<ObjectName> getAccessibleNames(final ObjectName name) {
+        final ManagementModelIntegration.ResourceAndRegistration reg = getRootResourceAndRegistration();
+        final Map<ObjectName, PathAddress> matches = index.query(name, reg.getResource(), reg.getRegistration());
+        final Map<PathAddress, Boolean> accessible = new HashMap<PathAddress, Boolean>();
+        final Set<ObjectName> set = new HashSet<ObjectName>();
+        for (Map.Entry<ObjectName, PathAddress> match : matches.entrySet()) {
+            if (isAccessibleResource(match.getValue(), accessible)) {
+                set.add(match.getKey());
             }
+        }
+        return set;
+    }
 
-            @Override
-            public Set<ObjectName> getResult() {
-                if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectName(domain))) {
-                  return Collections.emptySet();
-                }
-                return set;
-            }
-        }).iterate();
+    /**
+     * Checks that a resource and all its parents are accessible, so that resources under an inaccessible resource
+     * are hidden as well.
+     */
+    private boolean isAccessibleResource(final PathAddress address, final Map<PathAddress, Boolean> accessible) {
+        Boolean result = accessible.get(address);
+        if (result == null) {
+            result = accessControlUtil.getResourceAccess(address, false).isAccessibleResource()
+                    && (address.size() == 0 || isAccessibleResource(address.getParent(), accessible));
+            accessible.put(address, result);
+        }
+        return result;
     }
 
 
@@ -502,10 +482,6 @@ public class ModelControllerMBeanHelper {
         throw JmxLogger.ROOT_LOGGER.attributeNotFound(attributeName);
     }
 
-    private boolean isExcludeAddress(PathAddress pathAddress) {
-        return pathAddress.equals(CORE_SERVICE_PLATFORM_MBEAN);
-    }
-
     private boolean isVaultExpression(Object value) {
         if (value != null && value.getClass() == String.class){
             String valueString = (String)value;
@@ -538,65 +514,4 @@ public class ModelControllerMBeanHelper {
     TypeConverters getConverters() {
         return converters;
     }
-
-    private abstract class ObjectNameMatchResourceAction<T> implements ResourceAction<T> {
-
-        private final ObjectName baseName;
-        private final Map<String, String> properties;
-        private final ObjectName domainOnlyName;
-
-        protected ObjectNameMatchResourceAction(ObjectName baseName) {
-            this.baseName = baseName;
-            this.properties = baseName == null ? Collections.<String, String>emptyMap() : baseName.getKeyPropertyList();
-            try {
-                this.domainOnlyName = baseName == null ? null : ObjectName.getInstance(baseName.getDomain() + ":*");
-            } catch (MalformedObjectNameException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-
-        @Override
-        public ObjectName onAddress(PathAddress address) {
-            if (isExcludeAddress(address)) {
-                return null;
-            }
-
-            ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address);
-            if (baseName == null) {
-                result = toMatch;
-            } else if (address.size() == 0) {
-                // We can't compare the ObjectName properties a la the final 'else' block,
-                // because the special management=server property will not match
-                // Just confirm correct domain
-                if (domainOnlyName.apply(toMatch)) {
-                    result = toMatch;
-                }
-            } else if (address.size() >= properties.size()) {
-                // We have same or more elements than our target has properties; let it do the match
-                if (baseName.apply(toMatch)) {
-                    result = toMatch;
-                }
-            } else {
-                // Address may be a parent of an interesting address, so see if it matches all elements it has
-                boolean matches = domainOnlyName.apply(toMatch);
-                if (matches) {
-                    for (Map.Entry<String, String> entry : toMatch.getKeyPropertyList().entrySet()) {
-
-                        String propertyValue = properties.get(entry.getKey());
-                        if (propertyValue == null
-                                || (!entry.getValue().equals(propertyValue))
-                                        && !baseName.isPropertyValuePattern(entry.getKey())) {
-                            matches = false;
-                            break;
-                        }
-                    }
-                }
-                if (matches) {
-                    result = toMatch;
-                }
-            }
-            return result;
-        }
-    }
 }
@@ -0,0 +1,259 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jmx.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.registry.Resource.ResourceEntry;
+
+/**
+ * Index of the {@link ObjectName}s of the resources of the management model, so that queries don't have to walk the
+ * whole resource tree and convert every address.
+ * <p>
+ * The index mirrors the resource tree. Each node remembers the {@link ModelController#getModelGeneration(PathAddress)
+ * model generation} of its resource when its children were listed, so a refresh only lists again the children of the
+ * resources changed by the operations committed since the previous refresh. The children of runtime-only and proxied
+ * resources can change without any operation, so they are listed on every refresh. If the controller doesn't track
+ * the generations of the model, everything is listed on every refresh.
+ * </p>
+ * <p>
+ * The index doesn't check access control, callers are expected to check it on the resources they return.
+ * </p>
+ */
+final class ObjectNameAddressIndex {
+
+    private final String domain;
+    private final ModelController controller;
+    private final PathAddress excludedAddress;
+    private final Node root;
+    private Snapshot snapshot;
+
+    /**
+     * Creates an index.
+     *
+     * @param domain the domain of the object names
+     * @param controller the controller providing the generations of the model
+     * @param excludedAddress the address of a resource which, along with its children, is not indexed
+     */
+    ObjectNameAddressIndex(final String domain, final ModelController controller, final PathAddress excludedAddress) {
+        this.domain = domain;
+        this.controller = controller;
+        this.excludedAddress = excludedAddress;
+        this.root = new Node(PathAddress.EMPTY_ADDRESS, ObjectNameAddressUtil.createObjectName(domain, PathAddress.EMPTY_ADDRESS));
+    }
+
+    /**
+     * Gets the resources whose name matches a pattern, in the order of the resource tree.
+     *
+     * @param pattern the pattern, or {@code null} to get all the resources
+     * @param rootResource the current root resource
+     * @param rootRegistration the root resource registration
+     * @return the addresses of the matching resources by name
+     */
+    Map<ObjectName, PathAddress> query(final ObjectName pattern, final Resource rootResource,
+                                       final ImmutableManagementResourceRegistration rootRegistration) {
+        final Snapshot current = refresh(rootResource, rootRegistration);
+        if (pattern == null) {
+            return Collections.unmodifiableMap(current.addresses);
+        }
+        if (!pattern.isPattern()) {
+            final PathAddress address = current.addresses.get(pattern);
+            return address == null ? Collections.<ObjectName, PathAddress>emptyMap() : Collections.singletonMap(pattern, address);
+        }
+        if (!pattern.isDomainPattern() && !domain.equals(pattern.getDomain())) {
+            return Collections.emptyMap();
+        }
+        // Only check the names having the least common of the property values the pattern requires
+        Iterable<ObjectName> candidates = current.addresses.keySet();
+        int size = current.addresses.size();
+        for (Map.Entry<String, String> property : pattern.getKeyPropertyList().entrySet()) {
+            if (!pattern.isPropertyValuePattern(property.getKey())) {
+                final Map<String, List<ObjectName>> values = current.properties.get(property.getKey());
+                final List<ObjectName> names = values == null ? null : values.get(property.getValue());
+                if (names == null) {
+                    return Collections.emptyMap();
+                }
+                if (names.size() < size) {
+                    candidates = names;
+                    size = names.size();
+                }
+            }
+        }
+        final Map<ObjectName, PathAddress> result = new LinkedHashMap<ObjectName, PathAddress>();
+        for (ObjectName name : candidates) {
+            if (pattern.apply(name)) {
+                result.put(name, current.addresses.get(name));
+            }
+        }
+        return result;
+    }
+
+    private synchronized Snapshot refresh(final Resource rootResource, final ImmutableManagementResourceRegistration rootRegistration) {
+        final boolean changed = refresh(root, controller.getModelGeneration(PathAddress.EMPTY_ADDRESS), rootResource, rootRegistration);
+        if (changed || snapshot == null) {
+            snapshot = new Snapshot(root);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Refreshes a node and its children.
+     *
+     * @return {@code true} if resources were added or removed
+     */
+    private boolean refresh(final Node node, final long generation, final Resource resource,
+                            final ImmutableManagementResourceRegistration registration) {
+        boolean changed = false;
+        if (!node.listed || node.dynamic || generation < 0 || generation != node.generation) {
+            changed = list(node, resource, registration);
+            node.generation = generation;
+            node.listed = true;
+        }
+
+        boolean dynamicSubtree = node.dynamic;
+        for (Iterator<Map.Entry<PathElement, Node>> it = node.children.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<PathElement, Node> entry = it.next();
+            final Node child = entry.getValue();
+            final long childGeneration = controller.getModelGeneration(child.address);
+            if (!child.listed || child.dynamicSubtree || childGeneration < 0 || childGeneration != child.generation) {
+                final Resource childResource = resource.getChild(entry.getKey());
+                if (childResource == null) {
+                    // Removed since the children were listed
+                    it.remove();
+                    changed = true;
+                    continue;
+                }
+                final ImmutableManagementResourceRegistration childRegistration = registration == null
+                        ? null : registration.getSubModel(PathAddress.pathAddress(entry.getKey()));
+                changed |= refresh(child, childGeneration, childResource, childRegistration);
+            }
+            dynamicSubtree |= child.dynamicSubtree;
+        }
+        node.dynamicSubtree = dynamicSubtree;
+        return changed;
+    }
+
+    private boolean list(final Node node, final Resource resource, final ImmutableManagementResourceRegistration registration) {
+        final Map<PathElement, Node> children = new LinkedHashMap<PathElement, Node>();
+        boolean changed = false;
+        for (String type : resource.getChildTypes()) {
+            if (resource.hasChildren(type)) {
+                for (ResourceEntry entry : resource.getChildren(type)) {
+                    final PathElement element = entry.getPathElement();
+                    final PathAddress address = node.address.append(element);
+                    if (address.equals(excludedAddress)) {
+                        continue;
+                    }
+                    Node child = node.children.get(element);
+                    if (child == null) {
+                        child = new Node(address, ObjectNameAddressUtil.createObjectName(domain, address));
+                        changed = true;
+                    }
+                    children.put(element, child);
+                }
+            }
+        }
+        changed |= children.size() != node.children.size();
+        node.children = children;
+        node.dynamic = hasDynamicChildren(resource, registration);
+        return changed;
+    }
+
+    /**
+     * Gets whether the children of a resource can be added or removed without an operation being committed.
+     */
+    private static boolean hasDynamicChildren(final Resource resource, final ImmutableManagementResourceRegistration registration) {
+        if (registration == null || resource.isProxy() || registration.isRemote() || registration.isRuntimeOnly()) {
+            return true;
+        }
+        for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+            if (child == null || child.isRemote() || child.isRuntimeOnly()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final PathAddress address;
+        private final ObjectName name;
+        private Map<PathElement, Node> children = Collections.emptyMap();
+        private long generation;
+        private boolean listed;
+        // Whether the children of the resource are listed on every refresh
+        private boolean dynamic;
+        // Whether the children of the resource or of one of its descendants are listed on every refresh
+        private boolean dynamicSubtree;
+
+        private Node(final PathAddress address, final ObjectName name) {
+            this.address = address;
+            this.name = name;
+        }
+    }
+
+    /**
+     * The names of the indexed resources at the time of a refresh.
+     */
+    private static final class Snapshot {
+        private final Map<ObjectName, PathAddress> addresses = new LinkedHashMap<ObjectName, PathAddress>();
+        // The names by key property, then by property value
+        private final Map<String, Map<String, List<ObjectName>>> properties = new HashMap<String, Map<String, List<ObjectName>>>();
+
+        private Snapshot(final Node root) {
+            add(root);
+        }
+
+        private void add(final Node node) {
+            addresses.put(node.name, node.address);
+            for (Map.Entry<String, String> property : node.name.getKeyPropertyList().entrySet()) {
+                Map<String, List<ObjectName>> values = properties.get(property.getKey());
+                if (values == null) {
+                    values = new HashMap<String, List<ObjectName>>();
+                    properties.put(property.getKey(), values);
+                }
+                List<ObjectName> names = values.get(property.getValue());
+                if (names == null) {
+                    names = new ArrayList<ObjectName>();
+                    values.put(property.getValue(), names);
+                }
+                names.add(node.name);
+            }
+            for (Node child : node.children.values()) {
+                add(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ObjectNameAddressIndex}.
+ */
+public class ObjectNameAddressIndexTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathElement SUBSYSTEM_FOO = pathElement("subsystem", "foo");
+    private static final PathElement SUBSYSTEM_BAR = pathElement("subsystem", "bar");
+    private static final PathElement RESOURCE_A = pathElement("resource", "a");
+    private static final PathElement RESOURCE_B = pathElement("resource", "b");
+    private static final PathElement PLATFORM_MBEAN = pathElement("core-service", "platform-mbean");
+
+    private TestController controller;
+    private ManagementResourceRegistration rootRegistration;
+    private Resource rootResource;
+    private ObjectNameAddressIndex index;
+
+    @Before
+    public void setup() {
+        NonResolvingResourceDescriptionResolver resolver = new NonResolvingResourceDescriptionResolver();
+        rootRegistration = ManagementResourceRegistration.Factory.create(
+                ResourceBuilder.Factory.create(pathElement("test"), resolver).build());
+        ManagementResourceRegistration subsystemRegistration = rootRegistration.registerSubModel(
+                new SimpleResourceDefinition(pathElement("subsystem"), resolver));
+        subsystemRegistration.registerSubModel(new SimpleResourceDefinition(pathElement("resource"), resolver));
+        rootRegistration.registerSubModel(new SimpleResourceDefinition(PLATFORM_MBEAN, resolver));
+
+        rootResource = Resource.Factory.create();
+        Resource foo = Resource.Factory.create();
+        foo.registerChild(RESOURCE_A, Resource.Factory.create());
+        rootResource.registerChild(SUBSYSTEM_FOO, foo);
+        rootResource.registerChild(SUBSYSTEM_BAR, Resource.Factory.create());
+        rootResource.registerChild(PLATFORM_MBEAN, Resource.Factory.create());
+
+        controller = new TestController();
+        index = new ObjectNameAddressIndex(DOMAIN, controller, PathAddress.pathAddress(PLATFORM_MBEAN));
+    }
+
+    @Test
+    public void testQueryAll() throws Exception {
+        assertQuery(null,
+                PathAddress.EMPTY_ADDRESS,
+                PathAddress.pathAddress(SUBSYSTEM_FOO),
+                PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_A),
+                PathAddress.pathAddress(SUBSYSTEM_BAR));
+    }
+
+    @Test
+    public void testQueryName() throws Exception {
+        PathAddress address = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_A);
+        assertQuery(ObjectNameAddressUtil.createObjectName(DOMAIN, address), address);
+        assertQuery(ObjectNameAddressUtil.createObjectName(DOMAIN, PathAddress.pathAddress(SUBSYSTEM_BAR, RESOURCE_A)));
+        assertQuery(ObjectNameAddressUtil.createObjectName(DOMAIN, PathAddress.pathAddress(PLATFORM_MBEAN)));
+    }
+
+    @Test
+    public void testQueryPattern() throws Exception {
+        PathAddress foo = PathAddress.pathAddress(SUBSYSTEM_FOO);
+        PathAddress fooA = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_A);
+        PathAddress bar = PathAddress.pathAddress(SUBSYSTEM_BAR);
+        assertQuery(ObjectName.getInstance("jboss.as:*"), PathAddress.EMPTY_ADDRESS, foo, fooA, bar);
+        assertQuery(ObjectName.getInstance("jboss.as:subsystem=foo,*"), foo, fooA);
+        assertQuery(ObjectName.getInstance("jboss.as:resource=a,*"), fooA);
+        assertQuery(ObjectName.getInstance("jboss.as:subsystem=*"), foo, bar);
+        assertQuery(ObjectName.getInstance("jboss.as:subsystem=b?r"), bar);
+        assertQuery(ObjectName.getInstance("*:subsystem=bar"), bar);
+        assertQuery(ObjectName.getInstance("jboss.as:subsystem=baz,*"));
+        assertQuery(ObjectName.getInstance("jboss.as.expr:*"));
+    }
+
+    @Test
+    public void testModelChanges() throws Exception {
+        PathAddress foo = PathAddress.pathAddress(SUBSYSTEM_FOO);
+        PathAddress fooA = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_A);
+        PathAddress fooB = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_B);
+        PathAddress bar = PathAddress.pathAddress(SUBSYSTEM_BAR);
+        ObjectName pattern = ObjectName.getInstance("jboss.as:subsystem=foo,*");
+        assertQuery(pattern, foo, fooA);
+
+        // The children of resources whose generation didn't change are not listed again
+        rootResource.getChild(SUBSYSTEM_FOO).registerChild(RESOURCE_B, Resource.Factory.create());
+        assertQuery(pattern, foo, fooA);
+
+        controller.modelChanged(fooB);
+        assertQuery(pattern, foo, fooA, fooB);
+
+        rootResource.getChild(SUBSYSTEM_FOO).removeChild(RESOURCE_A);
+        controller.modelChanged(fooA);
+        assertQuery(pattern, foo, fooB);
+
+        rootResource.removeChild(SUBSYSTEM_FOO);
+        controller.modelChanged(foo);
+        assertQuery(pattern);
+        assertQuery(null, PathAddress.EMPTY_ADDRESS, bar);
+    }
+
+    @Test
+    public void testUntrackedModelChanges() throws Exception {
+        PathAddress foo = PathAddress.pathAddress(SUBSYSTEM_FOO);
+        PathAddress fooA = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_A);
+        PathAddress fooB = PathAddress.pathAddress(SUBSYSTEM_FOO, RESOURCE_B);
+        ObjectName pattern = ObjectName.getInstance("jboss.as:subsystem=foo,*");
+        controller.tracked = false;
+        assertQuery(pattern, foo, fooA);
+
+        rootResource.getChild(SUBSYSTEM_FOO).registerChild(RESOURCE_B, Resource.Factory.create());
+        assertQuery(pattern, foo, fooA, fooB);
+    }
+
+    @Test
+    public void testUnregisteredChildren() throws Exception {
+        PathAddress bar = PathAddress.pathAddress(SUBSYSTEM_BAR);
+        PathAddress barRuntime = PathAddress.pathAddress(SUBSYSTEM_BAR, pathElement("runtime", "x"));
+        ObjectName pattern = ObjectName.getInstance("jboss.as:subsystem=bar,*");
+        rootResource.getChild(SUBSYSTEM_BAR).registerChild(pathElement("runtime", "x"), Resource.Factory.create());
+        controller.modelChanged(barRuntime);
+        assertQuery(pattern, bar, barRuntime);
+
+        // Resources without a registration can change without any operation, so they are always listed again
+        Resource runtime = rootResource.getChild(SUBSYSTEM_BAR).getChild(pathElement("runtime", "x"));
+        runtime.registerChild(pathElement("child", "y"), Resource.Factory.create());
+        assertQuery(pattern, bar, barRuntime, barRuntime.append(pathElement("child", "y")));
+    }
+
+    private void assertQuery(ObjectName pattern, PathAddress... expected) {
+        Map<ObjectName, PathAddress> result = index.query(pattern, rootResource, rootRegistration);
+        Assert.assertEquals(new HashSet<PathAddress>(Arrays.asList(expected)), new HashSet<PathAddress>(result.values()));
+        for (Map.Entry<ObjectName, PathAddress> entry : result.entrySet()) {
+            Assert.assertEquals(ObjectNameAddressUtil.createObjectName(DOMAIN, entry.getValue()), entry.getKey());
+        }
+    }
+
+    private static class TestController implements ModelController {
+
+        private final Map<PathAddress, Long> generations = new HashMap<PathAddress, Long>();
+        private long generation;
+        private boolean tracked = true;
+
+        void modelChanged(PathAddress address) {
+            generation++;
+            for (int i = 0; i <= address.size(); i++) {
+                generations.put(address.subAddress(0, i), generation);
+            }
+        }
+
+        @Override
+        public long getModelGeneration(PathAddress address) {
+            if (!tracked) {
+                return -1L;
+            }
+            long result = 0;
+            for (int i = 0; i <= address.size(); i++) {
+                Long parent = generations.get(address.subAddress(0, i));
+                if (parent != null && parent > result) {
+                    result = parent;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelControllerClient createClient(Executor executor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NotificationHandlerRegistration getNotificationRegistry() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
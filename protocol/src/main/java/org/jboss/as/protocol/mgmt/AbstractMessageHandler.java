@@ -36,6 +36,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.logging.ProtocolLogger;
+import org.jboss.remoting3.Attachments;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.CloseHandler;
 import org.jboss.remoting3.MessageOutputStream;
@@ -49,6 +50,11 @@ import org.xnio.Cancellable;
  */
 public abstract class AbstractMessageHandler extends ActiveOperationSupport implements ManagementMessageHandler, CloseHandler<Channel> {
 
+    /**
+     * The protocol version of the peer at the other end of a channel, as learned from the messages it sent.
+     */
+    private static final Attachments.Key<Integer> PEER_VERSION = new Attachments.Key<Integer>(Integer.class);
+
     private final ExecutorService executorService;
     private final AtomicInteger requestID = new AtomicInteger();
     private final Map<Integer, ActiveRequest<?, ?>> requests = new ConcurrentHashMap<Integer, ActiveRequest<?, ?>>(16, 0.75f, Runtime.getRuntime().availableProcessors());
@@ -100,6 +106,8 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
      */
     public void handleMessage(final Channel channel, final DataInput input, final ManagementProtocolHeader header) throws IOException {
         final byte type = header.getType();
+        // Requests carry the version of the peer, and responses the version both ends support
+        channel.getAttachments().attach(PEER_VERSION, header.getVersion());
         if(type == ManagementProtocol.TYPE_RESPONSE) {
             // Handle response to local requests
             final ManagementResponseHeader response =  (ManagementResponseHeader) header;
@@ -212,7 +220,7 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
                 @Override
                 public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
                     final MessageOutputStream os = channel.writeMessage();
-                    return writeHeader(header, os);
+                    return writeHeader(channel, header, os);
                 }
             });
 
@@ -339,7 +347,7 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
                 @Override
                 public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
                     final MessageOutputStream os = channel.writeMessage();
-                    return writeHeader(header, os);
+                    return writeHeader(channel, header, os);
                 }
 
             });
@@ -445,6 +453,29 @@ public abstract class AbstractMessageHandler extends ActiveOperationSupport impl
         return output;
     }
 
+    /**
+     * Write the management protocol header, or prepare it to be written with a compressed body if the peer on the
+     * channel supports compression.
+     *
+     * @param channel the channel
+     * @param header the mgmt protocol header
+     * @param os the output stream
+     * @throws IOException
+     */
+    private static FlushableDataOutput writeHeader(final Channel channel, final ManagementProtocolHeader header, final OutputStream os) throws IOException {
+        final int peerVersion;
+        if (header.getType() == ManagementProtocol.TYPE_REQUEST) {
+            final Integer version = channel.getAttachments().getAttachment(PEER_VERSION);
+            peerVersion = version == null ? 0 : version;
+        } else {
+            peerVersion = header.getVersion();
+        }
+        if (CompressingMessageOutputStream.isEnabled(header, peerVersion)) {
+            return FlushableDataOutputImpl.create(new CompressingMessageOutputStream(header, os, CompressingMessageOutputStream.THRESHOLD));
+        }
+        return writeHeader(header, os);
+    }
+
     /**
      * Get a fallback handler.
      *
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.protocol.mgmt;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.jboss.as.protocol.logging.ProtocolLogger;
+
+/**
+ * Stream writing a message whose body is deflated if it is larger than a threshold.
+ * <p>
+ * The header is only written once the size of the body is known to be below or above the threshold, that is when the
+ * buffered body exceeds the threshold, or when the stream is closed. It then states whether the rest of the message is
+ * compressed. Flushing the stream before that doesn't send anything, so that it doesn't prevent compression.
+ * </p>
+ * <p>
+ * A compressed body is deflated without sync flushes, which need Java 7, so flushing the stream only sends what the
+ * deflater has already produced, the end of the body being sent when the stream is closed. Management messages are only
+ * read once complete, so this doesn't delay their processing.
+ * </p>
+ */
+final class CompressingMessageOutputStream extends OutputStream {
+
+    /**
+     * The system property holding the size in bytes above which message bodies are compressed, a negative value disabling
+     * compression. Bodies are still decompressed if the peer compresses them.
+     */
+    static final String THRESHOLD_PROPERTY = "jboss.management.protocol.compression-threshold";
+    static final int DEFAULT_THRESHOLD = 64 * 1024;
+    static final int THRESHOLD;
+
+    static {
+        int threshold = DEFAULT_THRESHOLD;
+        final String value = SecurityActions.getSystemProperty(THRESHOLD_PROPERTY);
+        if (value != null) {
+            try {
+                threshold = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ProtocolLogger.ROOT_LOGGER.debugf("Invalid value %s for %s, using %d", value, THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+            }
+        }
+        THRESHOLD = threshold;
+    }
+
+    private final ManagementProtocolHeader header;
+    private final OutputStream out;
+    private final int threshold;
+    private byte[] buffer = new byte[512];
+    private int count;
+    private OutputStream body;
+    private Deflater deflater;
+
+    CompressingMessageOutputStream(final ManagementProtocolHeader header, final OutputStream out, final int threshold) {
+        this.header = header;
+        this.out = out;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Whether the body of a message can be compressed.
+     *
+     * @param header the header of the message
+     * @param peerVersion the protocol version supported by the peer
+     * @return {@code true} if the body of the message is to be compressed when large
+     */
+    static boolean isEnabled(final ManagementProtocolHeader header, final int peerVersion) {
+        return THRESHOLD >= 0 && header.hasBody() && peerVersion >= ManagementProtocol.COMPRESSION_VERSION;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (body == null) {
+            if (count < threshold) {
+                ensureCapacity(count + 1);
+                buffer[count++] = (byte) b;
+                return;
+            }
+            begin(true);
+        }
+        body.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (body == null) {
+            if (count + len <= threshold) {
+                ensureCapacity(count + len);
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            begin(true);
+        }
+        body.write(b, off, len);
+    }
+
+    private void ensureCapacity(final int size) {
+        if (size > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(threshold, Math.max(size, buffer.length << 1)));
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (body != null) {
+            body.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (body == null) {
+            begin(false);
+        }
+        try {
+            body.close();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private void begin(final boolean compressed) throws IOException {
+        header.setCompressed(compressed);
+        header.write(new DataOutputStream(out));
+        if (compressed) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            body = new BufferedOutputStream(new DeflaterOutputStream(out, deflater, 8192), 8192);
+        } else {
+            body = out;
+        }
+        body.write(buffer, 0, count);
+        buffer = null;
+    }
+}
@@ -27,6 +27,8 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.logging.ProtocolLogger;
@@ -65,9 +67,10 @@ public abstract class ManagementChannelReceiver implements ManagementMessageHand
         try {
             ProtocolLogger.ROOT_LOGGER.tracef("%s handling incoming data", this);
             lastMessageTime = System.currentTimeMillis();
-            final DataInput input = new DataInputStream(message);
-            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(input);
+            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(new DataInputStream(message));
             final byte type = header.getType();
+            final Inflater inflater = header.isCompressed() ? new Inflater() : null;
+            final DataInput input = new DataInputStream(inflater == null ? message : new InflaterInputStream(message, inflater, 8192));
             try {
                 if (type == ManagementProtocol.TYPE_PING) {
                     // Handle legacy ping/pong directly
@@ -92,6 +95,9 @@ public abstract class ManagementChannelReceiver implements ManagementMessageHand
                 } catch (IOException ignore) {
                     //
                 }
+                if (inflater != null) {
+                    inflater.end();
+                }
             }
             message.close();
         } catch(IOException e) {
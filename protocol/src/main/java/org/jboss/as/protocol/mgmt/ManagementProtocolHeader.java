@@ -41,6 +41,7 @@ import org.jboss.as.protocol.logging.ProtocolLogger;
 public abstract class ManagementProtocolHeader {
 
     private int version;
+    private boolean compressed;
 
     /**
      * Construct an instance with the protocol version for the header.
@@ -80,6 +81,28 @@ public abstract class ManagementProtocolHeader {
      */
     public abstract byte getType();
 
+    /**
+     * Whether the body following this header is deflated.
+     *
+     * @return {@code true} if the body is compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    /**
+     * Whether a body follows this header, that can then be compressed if the peer supports it.
+     *
+     * @return {@code true} if the message has a body
+     */
+    boolean hasBody() {
+        return false;
+    }
+
 
     /**
      * Validate the header signature.
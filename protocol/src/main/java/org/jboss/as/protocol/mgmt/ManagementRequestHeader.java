@@ -72,7 +72,12 @@ public class ManagementRequestHeader extends ManagementProtocolHeader {
         operationId = input.readByte();
         ProtocolUtils.expectHeader(input, ManagementProtocol.ONE_WAY);
         oneWay = input.readBoolean();
-        ProtocolUtils.expectHeader(input, ManagementProtocol.REQUEST_BODY);
+        final byte body = input.readByte();
+        if (body == ManagementProtocol.REQUEST_BODY_DEFLATE) {
+            setCompressed(true);
+        } else {
+            ProtocolUtils.expectHeader(body, ManagementProtocol.REQUEST_BODY);
+        }
     }
 
     /** {@inheritDoc} */
@@ -86,7 +91,7 @@ public class ManagementRequestHeader extends ManagementProtocolHeader {
         output.write(operationId);
         output.write(ManagementProtocol.ONE_WAY);
         output.writeBoolean(oneWay);
-        output.write(ManagementProtocol.REQUEST_BODY);
+        output.write(isCompressed() ? ManagementProtocol.REQUEST_BODY_DEFLATE : ManagementProtocol.REQUEST_BODY);
     }
 
     /**
@@ -120,4 +125,9 @@ public class ManagementRequestHeader extends ManagementProtocolHeader {
     public byte getType() {
         return ManagementProtocol.TYPE_REQUEST;
     }
+
+    @Override
+    boolean hasBody() {
+        return true;
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.protocol.mgmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+/**
+ * Tests of the compression of the body of management protocol messages.
+ */
+public class CompressingMessageOutputStreamTestCase {
+
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    public void testSmallMessageNotCompressed() throws IOException {
+        final byte[] body = createBody(THRESHOLD);
+        final ByteArrayOutputStream message = new ByteArrayOutputStream();
+        final CompressingMessageOutputStream os = createStream(message);
+        try {
+            os.write(body);
+        } finally {
+            os.close();
+        }
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(message.toByteArray()));
+        final ManagementProtocolHeader header = ManagementProtocolHeader.parse(input);
+        assertFalse(header.isCompressed());
+        assertArrayEquals(body, readBody(input));
+    }
+
+    @Test
+    public void testLargeMessageCompressed() throws IOException {
+        final byte[] body = createBody(THRESHOLD * 64);
+        final ByteArrayOutputStream message = new ByteArrayOutputStream();
+        final CompressingMessageOutputStream os = createStream(message);
+        try {
+            os.write(body, 0, 10);
+            for (int i = 10; i < 100; i++) {
+                os.write(body[i]);
+            }
+            os.write(body, 100, body.length - 100);
+        } finally {
+            os.close();
+        }
+        assertTrue(message.size() < body.length);
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(message.toByteArray()));
+        final ManagementRequestHeader header = (ManagementRequestHeader) ManagementProtocolHeader.parse(input);
+        assertTrue(header.isCompressed());
+        assertEquals(42, header.getRequestId());
+        assertArrayEquals(body, readBody(new InflaterInputStream(input)));
+    }
+
+    @Test
+    public void testFlushBeforeThresholdKeepsBuffering() throws IOException {
+        final byte[] body = createBody(THRESHOLD * 4);
+        final ByteArrayOutputStream message = new ByteArrayOutputStream();
+        final CompressingMessageOutputStream os = createStream(message);
+        try {
+            os.write(body, 0, 16);
+            os.flush();
+            assertEquals(0, message.size());
+            os.write(body, 16, body.length - 16);
+        } finally {
+            os.close();
+        }
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(message.toByteArray()));
+        final ManagementProtocolHeader header = ManagementProtocolHeader.parse(input);
+        assertTrue(header.isCompressed());
+        assertArrayEquals(body, readBody(new InflaterInputStream(input)));
+    }
+
+    @Test
+    public void testEnabled() {
+        final ManagementRequestHeader request = new ManagementRequestHeader(ManagementProtocol.VERSION, 1, 1, (byte) 1);
+        assertTrue(CompressingMessageOutputStream.isEnabled(request, ManagementProtocol.COMPRESSION_VERSION));
+        assertFalse(CompressingMessageOutputStream.isEnabled(request, ManagementProtocol.COMPRESSION_VERSION - 1));
+        final ManagementResponseHeader failure = new ManagementResponseHeader(ManagementProtocol.VERSION, 1, "failed");
+        assertFalse(CompressingMessageOutputStream.isEnabled(failure, ManagementProtocol.VERSION));
+    }
+
+    private static CompressingMessageOutputStream createStream(final ByteArrayOutputStream message) {
+        final ManagementRequestHeader header = new ManagementRequestHeader(ManagementProtocol.VERSION, 42, 7, (byte) 1);
+        return new CompressingMessageOutputStream(header, message, THRESHOLD);
+    }
+
+    private static byte[] createBody(final int size) {
+        // Repetitive content, as management models are
+        final byte[] body = new byte[size];
+        final Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return body;
+    }
+
+    private static byte[] readBody(final InputStream input) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[512];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            os.write(buffer, 0, read);
+        }
+        return os.toByteArray();
+    }
+}
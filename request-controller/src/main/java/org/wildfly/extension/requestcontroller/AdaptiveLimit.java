@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit on the number of active requests that adapts to the observed request latency, using a gradient algorithm.
+ * <p/>
+ * The execution times of the requests are averaged over short windows. The average of a window is compared with a long
+ * term average: while they are close the limit grows, by roughly the square root of the limit per window. When the
+ * latency goes up, meaning requests start waiting for a resource, the limit shrinks in proportion to the latency
+ * increase, so excess requests are rejected straight away instead of waiting until they time out. The limit always stays
+ * between a floor and a ceiling.
+ * <p/>
+ * Recording a sample is cheap and does not contend between threads, the limit itself is only computed once per window.
+ */
+final class AdaptiveLimit {
+
+    /**
+     * The limit used until enough samples have been recorded, if it is within the floor and the ceiling
+     */
+    static final int INITIAL_LIMIT = 100;
+
+    private static final long MIN_WINDOW_TIME = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    /**
+     * The weight of a window in the long term average
+     */
+    private static final double LONG_TERM_WEIGHT = 0.01;
+
+    /**
+     * How much the latency can grow above the long term average before the limit shrinks
+     */
+    private static final double TOLERANCE = 1.5;
+
+    /**
+     * The weight of a new limit in the smoothed limit
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private final int floor;
+
+    private final int ceiling;
+
+    private final LongAdder windowTime = new LongAdder();
+
+    private final LongAdder windowSamples = new LongAdder();
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private volatile int limit;
+
+    //guarded by this
+    private double estimatedLimit;
+
+    //guarded by this
+    private double longTermTime;
+
+    /**
+     * @param floor the minimum value of the limit
+     * @param ceiling the maximum value of the limit, a value lower or equal to zero meaning no maximum
+     */
+    AdaptiveLimit(int floor, int ceiling) {
+        this.floor = Math.max(1, floor);
+        this.ceiling = ceiling > 0 ? Math.max(this.floor, ceiling) : Integer.MAX_VALUE;
+        this.limit = Math.max(this.floor, Math.min(this.ceiling, INITIAL_LIMIT));
+        this.estimatedLimit = limit;
+    }
+
+    /**
+     * @return the current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Records the execution time of a request.
+     *
+     * @param time the execution time in nanoseconds
+     * @return {@code true} if the current window is over, in which case the caller must invoke {@link #update(int)}
+     */
+    boolean sample(long time) {
+        windowTime.add(time);
+        windowSamples.increment();
+        final long start = windowStart.get();
+        final long now = System.nanoTime();
+        return now - start >= MIN_WINDOW_TIME && windowSamples.sum() >= MIN_WINDOW_SAMPLES && windowStart.compareAndSet(start, now);
+    }
+
+    /**
+     * Computes the limit from the samples of the window that is over.
+     *
+     * @param activeRequests the number of requests that are currently active
+     * @return {@code true} if the limit changed
+     */
+    synchronized boolean update(int activeRequests) {
+        final long samples = windowSamples.sumThenReset();
+        final long time = windowTime.sumThenReset();
+        if (samples <= 0 || time <= 0) {
+            return false;
+        }
+        final double shortTermTime = (double) time / samples;
+        if (longTermTime == 0) {
+            longTermTime = shortTermTime;
+        } else {
+            longTermTime = longTermTime * (1 - LONG_TERM_WEIGHT) + shortTermTime * LONG_TERM_WEIGHT;
+            if (longTermTime > 2 * shortTermTime) {
+                //the latency went back to normal after a period of overload, catch up faster
+                longTermTime *= 0.95;
+            }
+        }
+        if (activeRequests < estimatedLimit / 2) {
+            //the limit is not what restricts the requests, so the samples say nothing about it
+            return false;
+        }
+        final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermTime / shortTermTime));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(floor, Math.min(ceiling, newLimit));
+        final int rounded = (int) estimatedLimit;
+        if (rounded == limit) {
+            return false;
+        }
+        limit = rounded;
+        return true;
+    }
+}
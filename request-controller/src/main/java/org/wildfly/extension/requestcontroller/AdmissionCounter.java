@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counts the active requests of a {@link RequestController} or a {@link ControlPoint}, without making all the threads
+ * update the same memory location.
+ * <p/>
+ * The counter hands out permits, one per active request. Free permits are either held by a central pool or parked in
+ * stripes, each stripe being on its own cache line. A thread takes and returns permits on its own stripe, and only goes
+ * to the central pool, a batch of permits at a time, when its stripe is empty or full. The other stripes are checked
+ * before a request is rejected, so the limit stays exact: there are never more active requests than the limit, and a
+ * request is only rejected if no free permit was found.
+ * <p/>
+ * The stripes can't be summed atomically, so they are bypassed while the counter is suspended: {@link #suspend()} moves
+ * the parked permits back to the central pool, after which released permits go straight to the pool and the release of
+ * the last active request can be reliably detected.
+ */
+final class AdmissionCounter {
+
+    /**
+     * The number of permits when the number of requests is not limited
+     */
+    private static final int UNLIMITED = Integer.MAX_VALUE >> 2;
+
+    /**
+     * The number of ints between two stripes, so that two stripes never share a cache line
+     */
+    private static final int PADDING = 16;
+
+    private static final int MAX_BATCH_SIZE = 32;
+
+    private final int stripeMask;
+
+    private final AtomicIntegerArray stripes;
+
+    private final AtomicInteger central = new AtomicInteger();
+
+    private volatile int total;
+
+    private volatile int batchSize;
+
+    private volatile boolean suspended;
+
+    /**
+     * Creates a counter with one stripe per available processor.
+     *
+     * @param limit the maximum number of active requests, a value lower or equal to zero meaning no limit
+     */
+    AdmissionCounter(int limit) {
+        this(Runtime.getRuntime().availableProcessors(), limit);
+    }
+
+    /**
+     * @param stripeCount the number of stripes, rounded up to a power of two
+     * @param limit the maximum number of active requests, a value lower or equal to zero meaning no limit
+     */
+    AdmissionCounter(int stripeCount, int limit) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripeMask = count - 1;
+        //the first slot is left unused so the first stripe does not share a cache line with the array header
+        this.stripes = new AtomicIntegerArray((count + 1) * PADDING);
+        setLimit(limit);
+    }
+
+    /**
+     * Changes the maximum number of active requests. If the limit is lowered below the number of active requests no
+     * request is admitted until enough of them have been released.
+     *
+     * @param limit the maximum number of active requests, a value lower or equal to zero meaning no limit
+     */
+    synchronized void setLimit(int limit) {
+        final int newTotal = limit > 0 ? limit : UNLIMITED;
+        final int delta = newTotal - total;
+        total = newTotal;
+        batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, newTotal / ((stripeMask + 1) * 4)));
+        central.addAndGet(delta);
+        if (delta < 0) {
+            //the permits parked in the stripes must not be used to go over the new limit
+            drainStripes();
+        }
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return {@code true} if the request was admitted, in which case {@link #release()} must be called once it is done
+     */
+    boolean acquire() {
+        final int index = index(stripe());
+        if (take(index)) {
+            return true;
+        }
+        int available = central.get();
+        while (available > 0) {
+            final int taken = suspended ? 1 : Math.min(available, batchSize);
+            if (central.compareAndSet(available, available - taken)) {
+                if (taken > 1) {
+                    park(index, taken - 1);
+                }
+                return true;
+            }
+            available = central.get();
+        }
+        //some free permits may be parked in the stripes of other threads
+        for (int i = 0; i <= stripeMask; ++i) {
+            if (take(index(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases an admitted request.
+     *
+     * @return {@code true} if the counter is suspended and there is no active request anymore
+     */
+    boolean release() {
+        if (!suspended) {
+            final int index = index(stripe());
+            //if the limit was lowered the permit goes to the central pool, where it is needed
+            if (stripes.get(index) < batchSize && central.get() >= 0) {
+                return park(index, 1);
+            }
+        }
+        return central.incrementAndGet() == total && suspended;
+    }
+
+    /**
+     * Bypasses the stripes until {@link #resume()} is called, so that {@link #release()} can detect when the last
+     * active request is done.
+     *
+     * @return {@code true} if there is no active request
+     */
+    boolean suspend() {
+        suspended = true;
+        drainStripes();
+        return central.get() == total;
+    }
+
+    void resume() {
+        suspended = false;
+    }
+
+    /**
+     * @return the number of active requests. This is only an estimate while requests are being admitted or released
+     */
+    int getActiveCount() {
+        int free = central.get();
+        for (int i = 0; i <= stripeMask; ++i) {
+            free += stripes.get(index(i));
+        }
+        return Math.max(0, total - free);
+    }
+
+    private boolean take(int index) {
+        int free = stripes.get(index);
+        while (free > 0) {
+            if (stripes.compareAndSet(index, free, free - 1)) {
+                return true;
+            }
+            free = stripes.get(index);
+        }
+        return false;
+    }
+
+    private boolean park(int index, int permits) {
+        stripes.addAndGet(index, permits);
+        //suspend() may have drained this stripe before the permits were added
+        return suspended && drain(index);
+    }
+
+    private boolean drain(int index) {
+        final int permits = stripes.getAndSet(index, 0);
+        return permits > 0 && central.addAndGet(permits) == total;
+    }
+
+    private void drainStripes() {
+        for (int i = 0; i <= stripeMask; ++i) {
+            drain(index(i));
+        }
+    }
+
+    private int stripe() {
+        final long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+
+    private static int index(int stripe) {
+        return (stripe + 1) * PADDING;
+    }
+}
@@ -31,4 +31,28 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String ADAPTIVE_LIMIT = "adaptive-limit";
+    String ADAPTIVE_LIMIT_FLOOR = "adaptive-limit-floor";
+    String ADAPTIVE_LIMIT_CEILING = "adaptive-limit-ceiling";
+    String CURRENT_LIMIT = "current-limit";
+    String DEFAULT_QUEUE_WEIGHT = "default-queue-weight";
+    String DEPLOYMENT_QUEUE_WEIGHTS = "deployment-queue-weights";
+    String ENTRY_POINT_QUEUE_WEIGHTS = "entry-point-queue-weights";
+    String QUEUE_WEIGHT = "queue-weight";
+    String CONTROL_POINT = "control-point";
+    String DEPLOYMENT = "deployment";
+    String ENTRY_POINT = "entry-point";
+    String PAUSED = "paused";
+    String ACCEPTED_REQUESTS = "accepted-requests";
+    String REJECTED_REQUESTS = "rejected-requests";
+    String QUEUED_REQUESTS = "queued-requests";
+    String TIMED_OUT_REQUESTS = "timed-out-requests";
+    String QUEUE_WAIT_TIME = "queue-wait-time";
+    String EXECUTION_TIME = "execution-time";
+    String COUNT = "count";
+    String MEAN = "mean";
+    String MAX = "max";
+    String PERCENTILE_50 = "50th-percentile";
+    String PERCENTILE_90 = "90th-percentile";
+    String PERCENTILE_99 = "99th-percentile";
 }
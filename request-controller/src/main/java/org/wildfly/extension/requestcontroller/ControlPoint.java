@@ -21,8 +21,9 @@
  */
 package org.wildfly.extension.requestcontroller;
 
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.suspend.ServerActivityCallback;
 import java.util.concurrent.Executor;
@@ -42,7 +43,6 @@ import java.util.concurrent.Executor;
  */
 public class ControlPoint {
 
-    private static final AtomicIntegerFieldUpdater<ControlPoint> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "activeRequestCount");
     private static final AtomicReferenceFieldUpdater<ControlPoint, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, ServerActivityCallback.class, "listener");
 
     private final RequestController controller;
@@ -53,8 +53,7 @@ public class ControlPoint {
     /**
      * The number of active requests that are using this entry point
      */
-    @SuppressWarnings("unused")
-    private volatile int activeRequestCount = 0;
+    private final AdmissionCounter activeRequestCount;
 
     /**
      * If this entry point is paused
@@ -70,11 +69,29 @@ public class ControlPoint {
      */
     private int referenceCount = 0;
 
+    /**
+     * The weight of the tasks queued through this entry point, relative to the other entry points
+     */
+    private volatile int queueWeight = 1;
+
+    /**
+     * Statistics of the requests of this entry point. These are always recorded, whether individual control points are
+     * tracked or not
+     */
+    private final LongAdder acceptedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder queuedRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+
     ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
         this.controller = controller;
         this.deployment = deployment;
         this.entryPoint = entryPoint;
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        //the count is not updated if control points are not tracked, so a single stripe is enough
+        this.activeRequestCount = trackIndividualControlPoints ? new AdmissionCounter(-1) : new AdmissionCounter(1, -1);
     }
 
     public String getEntryPoint() {
@@ -98,7 +115,7 @@ public class ControlPoint {
         }
         this.paused = true;
         listenerUpdater.set(this, requestCountListener);
-        if (activeRequestCountUpdater.get(this) == 0) {
+        if (activeRequestCount.suspend()) {
             if (listenerUpdater.compareAndSet(this, requestCountListener, null)) {
                 requestCountListener.done();
             }
@@ -114,6 +131,7 @@ public class ControlPoint {
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
+        activeRequestCount.resume();
     }
 
 
@@ -126,14 +144,18 @@ public class ControlPoint {
      */
     public RunResult beginRequest() throws Exception {
         if (paused) {
+            rejectedRequests.increment();
             return RunResult.REJECTED;
         }
         if(trackIndividualControlPoints) {
-            activeRequestCountUpdater.incrementAndGet(this);
+            activeRequestCount.acquire();
         }
         RunResult runResult = controller.beginRequest(false);
         if (runResult == RunResult.REJECTED) {
             decreaseRequestCount();
+            rejectedRequests.increment();
+        } else {
+            requestStarted();
         }
         return runResult;
     }
@@ -151,9 +173,16 @@ public class ControlPoint {
      */
     public RunResult forceBeginRequest() throws Exception {
         if(trackIndividualControlPoints) {
-            activeRequestCountUpdater.incrementAndGet(this);
+            activeRequestCount.acquire();
+        }
+        RunResult runResult = controller.beginRequest(true);
+        if (runResult == RunResult.RUN) {
+            requestStarted();
+        } else {
+            decreaseRequestCount();
+            rejectedRequests.increment();
         }
-        return controller.beginRequest(true);
+        return runResult;
     }
 
     /**
@@ -161,8 +190,14 @@ public class ControlPoint {
      */
     void beginExistingRequest() {
         if(trackIndividualControlPoints) {
-            activeRequestCountUpdater.incrementAndGet(this);
+            activeRequestCount.acquire();
         }
+        requestStarted();
+    }
+
+    private void requestStarted() {
+        acceptedRequests.increment();
+        RequestTimestamps.requestStarted(this);
     }
 
     /**
@@ -171,14 +206,17 @@ public class ControlPoint {
      * This cannot be done automatically when the handleRequest method completes, as some
      */
     public void requestComplete() {
+        final long time = RequestTimestamps.requestCompleted(this);
+        if (time >= 0) {
+            executionTime.record(time);
+        }
         decreaseRequestCount();
-        controller.requestComplete();
+        controller.requestComplete(time);
     }
 
     private void decreaseRequestCount() {
         if (trackIndividualControlPoints) {
-            int result = activeRequestCountUpdater.decrementAndGet(this);
-            if (paused && result == 0) {
+            if (activeRequestCount.release() && paused) {
                 ServerActivityCallback listener = listenerUpdater.get(this);
                 if (listener != null) {
                     if (listenerUpdater.compareAndSet(this, listener, null)) {
@@ -233,7 +271,67 @@ public class ControlPoint {
     }
 
     public int getActiveRequestCount() {
-        return activeRequestCountUpdater.get(this);
+        return activeRequestCount.getActiveCount();
+    }
+
+    void taskQueued() {
+        queuedRequests.increment();
+    }
+
+    void taskRejected() {
+        rejectedRequests.increment();
+    }
+
+    void taskTimedOut() {
+        timedOutRequests.increment();
+    }
+
+    void taskDequeued(long queueTime) {
+        queueWaitTime.record(queueTime);
+    }
+
+    /**
+     * @return The number of requests that were allowed to run, including the queued tasks that ran
+     */
+    long getAcceptedRequestCount() {
+        return acceptedRequests.sum();
+    }
+
+    /**
+     * @return The number of requests that were rejected, because of the request limit or of a suspend
+     */
+    long getRejectedRequestCount() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * @return The number of tasks that were queued
+     */
+    long getQueuedRequestCount() {
+        return queuedRequests.sum();
+    }
+
+    /**
+     * @return The number of queued tasks that timed out before they could run
+     */
+    long getTimedOutRequestCount() {
+        return timedOutRequests.sum();
+    }
+
+    LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    int getQueueWeight() {
+        return queueWeight;
+    }
+
+    void setQueueWeight(int queueWeight) {
+        this.queueWeight = queueWeight;
     }
 
     synchronized int increaseReferenceCount() {
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics of a control point.
+ */
+class ControlPointMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            return;
+        }
+        final RequestController requestController = (RequestController) service.getService().getValue();
+        final String name = context.getCurrentAddressValue();
+        for (ControlPoint controlPoint : requestController.getControlPoints()) {
+            if (name.equals(ControlPointResourceDefinition.getName(controlPoint))) {
+                setResult(context.getResult(), operation.require(ModelDescriptionConstants.NAME).asString(), controlPoint);
+                return;
+            }
+        }
+    }
+
+    private static void setResult(final ModelNode result, final String attributeName, final ControlPoint controlPoint) {
+        switch (attributeName) {
+            case Constants.DEPLOYMENT:
+                result.set(controlPoint.getDeployment());
+                break;
+            case Constants.ENTRY_POINT:
+                result.set(controlPoint.getEntryPoint());
+                break;
+            case Constants.PAUSED:
+                result.set(controlPoint.isPaused());
+                break;
+            case Constants.ACTIVE_REQUESTS:
+                result.set(controlPoint.getActiveRequestCount());
+                break;
+            case Constants.ACCEPTED_REQUESTS:
+                result.set(controlPoint.getAcceptedRequestCount());
+                break;
+            case Constants.REJECTED_REQUESTS:
+                result.set(controlPoint.getRejectedRequestCount());
+                break;
+            case Constants.QUEUED_REQUESTS:
+                result.set(controlPoint.getQueuedRequestCount());
+                break;
+            case Constants.TIMED_OUT_REQUESTS:
+                result.set(controlPoint.getTimedOutRequestCount());
+                break;
+            case Constants.QUEUE_WAIT_TIME:
+                setHistogram(result, controlPoint.getQueueWaitTime().snapshot());
+                break;
+            case Constants.EXECUTION_TIME:
+                setHistogram(result, controlPoint.getExecutionTime().snapshot());
+                break;
+        }
+    }
+
+    private static void setHistogram(final ModelNode result, final LatencyHistogram.Snapshot snapshot) {
+        result.get(Constants.COUNT).set(snapshot.getCount());
+        result.get(Constants.MEAN).set(snapshot.getMean());
+        result.get(Constants.MAX).set(snapshot.getMax());
+        result.get(Constants.PERCENTILE_50).set(snapshot.getPercentile(50));
+        result.get(Constants.PERCENTILE_90).set(snapshot.getPercentile(90));
+        result.get(Constants.PERCENTILE_99).set(snapshot.getPercentile(99));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime resource exposing the statistics of a {@link ControlPoint}. The name of the resource is the name of the
+ * deployment and the name of the entry point, separated by a colon.
+ */
+class ControlPointResourceDefinition extends SimpleResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement(Constants.CONTROL_POINT);
+
+    static final SimpleAttributeDefinition DEPLOYMENT = runtime(Constants.DEPLOYMENT, ModelType.STRING);
+    static final SimpleAttributeDefinition ENTRY_POINT = runtime(Constants.ENTRY_POINT, ModelType.STRING);
+    static final SimpleAttributeDefinition PAUSED = runtime(Constants.PAUSED, ModelType.BOOLEAN);
+    static final SimpleAttributeDefinition ACTIVE_REQUESTS = runtime(Constants.ACTIVE_REQUESTS, ModelType.INT);
+    static final SimpleAttributeDefinition ACCEPTED_REQUESTS = runtime(Constants.ACCEPTED_REQUESTS, ModelType.LONG);
+    static final SimpleAttributeDefinition REJECTED_REQUESTS = runtime(Constants.REJECTED_REQUESTS, ModelType.LONG);
+    static final SimpleAttributeDefinition QUEUED_REQUESTS = runtime(Constants.QUEUED_REQUESTS, ModelType.LONG);
+    static final SimpleAttributeDefinition TIMED_OUT_REQUESTS = runtime(Constants.TIMED_OUT_REQUESTS, ModelType.LONG);
+    static final ObjectTypeAttributeDefinition QUEUE_WAIT_TIME = histogram(Constants.QUEUE_WAIT_TIME);
+    static final ObjectTypeAttributeDefinition EXECUTION_TIME = histogram(Constants.EXECUTION_TIME);
+
+    static final AttributeDefinition[] METRICS = {DEPLOYMENT, ENTRY_POINT, PAUSED, ACTIVE_REQUESTS, ACCEPTED_REQUESTS,
+            REJECTED_REQUESTS, QUEUED_REQUESTS, TIMED_OUT_REQUESTS, QUEUE_WAIT_TIME, EXECUTION_TIME};
+
+    ControlPointResourceDefinition() {
+        super(new Parameters(PATH, RequestControllerExtension.getResolver(Constants.CONTROL_POINT)).setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        final ControlPointMetricsHandler handler = new ControlPointMetricsHandler();
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, handler);
+        }
+    }
+
+    static String getName(ControlPoint controlPoint) {
+        return controlPoint.getDeployment() + ':' + controlPoint.getEntryPoint();
+    }
+
+    private static SimpleAttributeDefinition runtime(String name, ModelType type) {
+        return SimpleAttributeDefinitionBuilder.create(name, type, false)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static ObjectTypeAttributeDefinition histogram(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                SimpleAttributeDefinitionBuilder.create(Constants.COUNT, ModelType.LONG, false).build(),
+                microseconds(Constants.MEAN),
+                microseconds(Constants.MAX),
+                microseconds(Constants.PERCENTILE_50),
+                microseconds(Constants.PERCENTILE_90),
+                microseconds(Constants.PERCENTILE_99))
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static SimpleAttributeDefinition microseconds(String name) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG, false)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .build();
+    }
+}
@@ -31,17 +31,14 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 
 /**
- * Write handler for the max requests attribute
+ * Write handler for the max requests attribute, and the attributes of the adaptive limit
  *
  * @author Stuart Douglas
  */
 class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
 
-    private final AttributeDefinition attributeDefinition;
-
-    MaxRequestsWriteHandler(final AttributeDefinition attributeDefinition) {
-        super(attributeDefinition);
-        this.attributeDefinition = attributeDefinition;
+    MaxRequestsWriteHandler(final AttributeDefinition... attributeDefinitions) {
+        super(attributeDefinitions);
     }
 
     @Override
@@ -67,12 +64,20 @@ class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
             return;
         }
         RequestController requestController = (RequestController) serviceController.getService().getValue();
-        final ModelNode modelNode = this.attributeDefinition.resolveModelAttribute(context, model);
+        applyLimits(context, model, requestController);
+    }
+
+    static void applyLimits(final OperationContext context, final ModelNode model, final RequestController requestController) throws OperationFailedException {
+        final ModelNode modelNode = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, model);
         if(!modelNode.isDefined()) {
             requestController.setMaxRequestCount(-1);
         } else {
             requestController.setMaxRequestCount(modelNode.asInt());
         }
+        final boolean adaptive = RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, model).asBoolean();
+        final int floor = RequestControllerRootDefinition.ADAPTIVE_LIMIT_FLOOR.resolveModelAttribute(context, model).asInt();
+        final ModelNode ceiling = RequestControllerRootDefinition.ADAPTIVE_LIMIT_CEILING.resolveModelAttribute(context, model);
+        requestController.setAdaptiveLimit(adaptive, floor, ceiling.isDefined() ? ceiling.asInt() : -1);
     }
 
 }
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AbstractWriteAttributeHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Write handler for the attributes defining the weights of the queued tasks of the control points.
+ */
+class QueueWeightsWriteHandler extends AbstractWriteAttributeHandler<Void> {
+
+    QueueWeightsWriteHandler(final AttributeDefinition... attributeDefinitions) {
+        super(attributeDefinitions);
+    }
+
+    @Override
+    protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                           ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> handbackHolder) throws OperationFailedException {
+        apply(context, context.readResource(PathAddress.EMPTY_ADDRESS).getModel());
+        return false;
+    }
+
+    @Override
+    protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                         ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+        final ModelNode restored = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
+        restored.get(attributeName).set(valueToRestore);
+        apply(context, restored);
+    }
+
+    private void apply(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        ServiceController<?> serviceController = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if(serviceController == null) {
+            return;
+        }
+        RequestController requestController = (RequestController) serviceController.getService().getValue();
+        applyWeights(context, model, requestController);
+    }
+
+    static void applyWeights(final OperationContext context, final ModelNode model, final RequestController requestController) throws OperationFailedException {
+        final int defaultWeight = RequestControllerRootDefinition.DEFAULT_QUEUE_WEIGHT.resolveModelAttribute(context, model).asInt();
+        final Map<String, Integer> deploymentWeights = toWeights(RequestControllerRootDefinition.DEPLOYMENT_QUEUE_WEIGHTS.unwrap(context, model));
+        final Map<String, Integer> entryPointWeights = toWeights(RequestControllerRootDefinition.ENTRY_POINT_QUEUE_WEIGHTS.unwrap(context, model));
+        requestController.setQueueWeights(defaultWeight, deploymentWeights, entryPointWeights);
+    }
+
+    private static Map<String, Integer> toWeights(final Map<String, String> properties) {
+        final Map<String, Integer> weights = new HashMap<>();
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            //the values have been validated against the element validator
+            weights.put(entry.getKey(), Integer.parseInt(entry.getValue().trim()));
+        }
+        return weights;
+    }
+}
@@ -34,17 +34,15 @@ import org.jboss.msc.value.InjectedValue;
 import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
 
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
 
 /**
  * A controller that manages the active requests that are running in the container.
@@ -54,6 +52,9 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
  * 1) Graceful shutdown - When the number of active request reaches zero then the container can be gracefully shut down
  * 2) Request limiting - This allows the total number of requests that are active to be limited.
  * <p/>
+ * Tasks that are queued while the limit is reached are kept in one queue per control point. The queues are drained
+ * with weighted fair scheduling, so that a deployment that queues many tasks cannot starve the others.
+ * <p/>
  *
  * @author Stuart Douglas
  */
@@ -61,12 +62,35 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("server", "global-request-controller");
 
-    private static final AtomicIntegerFieldUpdater<RequestController> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(RequestController.class, "activeRequestCount");
     private static final AtomicReferenceFieldUpdater<RequestController, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(RequestController.class, ServerActivityCallback.class, "listener");
 
     private volatile int maxRequestCount = -1;
 
-    private volatile int activeRequestCount = 0;
+    /**
+     * Runs only the force queued tasks
+     */
+    private static final Predicate<QueuedTask> FORCE_RUN = new Predicate<QueuedTask>() {
+        @Override
+        public boolean test(QueuedTask task) {
+            return task.forceRun;
+        }
+    };
+
+    private volatile AdaptiveLimit adaptiveLimit;
+
+    private boolean adaptiveLimitEnabled;
+
+    private int adaptiveLimitFloor;
+
+    private int adaptiveLimitCeiling;
+
+    private int defaultQueueWeight = 1;
+
+    private Map<String, Integer> deploymentQueueWeights = Collections.emptyMap();
+
+    private Map<String, Integer> entryPointQueueWeights = Collections.emptyMap();
+
+    private final AdmissionCounter activeRequestCount = new AdmissionCounter(-1);
 
     private volatile boolean paused = false;
 
@@ -88,9 +112,10 @@ public class RequestController implements Service<RequestController>, ServerActi
         listener.done();
     }
 
-    private Timer timer;
+    private TimeoutWheel timeoutWheel;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    //guarded by itself
+    private final WeightedFairQueue<ControlPoint, QueuedTask> taskQueue = new WeightedFairQueue<>();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -104,7 +129,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         this.paused = true;
         listenerUpdater.set(this, requestCountListener);
 
-        if (activeRequestCountUpdater.get(this) == 0) {
+        if (activeRequestCount.suspend()) {
             if (listenerUpdater.compareAndSet(this, requestCountListener, null)) {
                 requestCountListener.done();
             }
@@ -121,9 +146,8 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
-        }
+        activeRequestCount.resume();
+        runQueuedTasks();
     }
 
     /**
@@ -204,27 +228,20 @@ public class RequestController implements Service<RequestController>, ServerActi
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
         }
-        return new RequestControllerState(paused, activeRequestCount, maxRequestCount, eps);
+        return new RequestControllerState(paused, getActiveRequestCount(), maxRequestCount, eps);
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
-        boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
-                success = true;
-                break;
-            }
-            active = activeRequestCountUpdater.get(this);
+        if (paused && !force) {
+            return RunResult.REJECTED;
         }
-        if (success) {
+        if (activeRequestCount.acquire()) {
             //re-check the paused state
             //this is necessary because there is a race between checking paused and updating active requests
             //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
             //matter if it has already been invoked
             if(!force && paused) {
-                requestComplete();
+                requestComplete(-1);
                 return RunResult.REJECTED;
             }
             return RunResult.RUN;
@@ -233,20 +250,41 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    void requestComplete() {
+    /**
+     * Called when a request is complete.
+     *
+     * @param time The execution time of the request in nanoseconds, or -1 if it is not known, which is the case for
+     *             requests that completed in another thread than the one they started in
+     */
+    void requestComplete(long time) {
+        final AdaptiveLimit limit = adaptiveLimit;
+        if (limit != null && time >= 0) {
+            if (limit.sample(time)) {
+                updateAdaptiveLimit(limit);
+            }
+        }
         runQueuedTask(true);
     }
 
-    private void decrementRequestCount() {
+    private void updateAdaptiveLimit(AdaptiveLimit limit) {
+        if (limit.update(getActiveRequestCount())) {
+            synchronized (this) {
+                if (adaptiveLimit != limit) {
+                    return;
+                }
+                activeRequestCount.setLimit(limit.getLimit());
+            }
+            runQueuedTasks();
+        }
+    }
 
-        int result = activeRequestCountUpdater.decrementAndGet(this);
-        if (paused) {
-            if (paused && result == 0) {
-                ServerActivityCallback listener = listenerUpdater.get(this);
-                if (listener != null) {
-                    if (listenerUpdater.compareAndSet(this, listener, null)) {
-                        listener.done();
-                    }
+    private void decrementRequestCount() {
+        //this only returns true once suspended, when the last active request is done
+        if (activeRequestCount.release() && paused) {
+            ServerActivityCallback listener = listenerUpdater.get(this);
+            if (listener != null) {
+                if (listenerUpdater.compareAndSet(this, listener, null)) {
+                    listener.done();
                 }
             }
         }
@@ -268,12 +306,20 @@ public class RequestController implements Service<RequestController>, ServerActi
         ControlPoint ep = entryPoints.get(id);
         if (ep == null) {
             ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            ep.setQueueWeight(getQueueWeight(ep));
             entryPoints.put(id, ep);
         }
         ep.increaseReferenceCount();
         return ep;
     }
 
+    /**
+     * @return A snapshot of the control points
+     */
+    synchronized List<ControlPoint> getControlPoints() {
+        return new ArrayList<>(entryPoints.values());
+    }
+
     /**
      * Removes the specified entry point
      *
@@ -302,8 +348,92 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param maxRequestCount The max request count
      */
     public void setMaxRequestCount(int maxRequestCount) {
-        this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        synchronized (this) {
+            this.maxRequestCount = maxRequestCount;
+            updateRequestLimit();
+        }
+        runQueuedTasks();
+    }
+
+    /**
+     * Enables or disables the adaptive request limit. When enabled the number of requests that can be active at a time
+     * is adjusted from the observed request latency, between the given floor and ceiling, and never goes above the
+     * max request count.
+     *
+     * @param enabled If the limit is adaptive
+     * @param floor The minimum value of the adaptive limit
+     * @param ceiling The maximum value of the adaptive limit, a value lower or equal to zero meaning that only the max
+     *                request count applies
+     */
+    public void setAdaptiveLimit(boolean enabled, int floor, int ceiling) {
+        synchronized (this) {
+            this.adaptiveLimitEnabled = enabled;
+            this.adaptiveLimitFloor = floor;
+            this.adaptiveLimitCeiling = ceiling;
+            updateRequestLimit();
+        }
+        runQueuedTasks();
+    }
+
+    /**
+     * @return The number of requests that can currently be active at a time, or -1 if there is no limit. If the limit
+     * is adaptive this is its current value, otherwise this is the max request count
+     */
+    public int getCurrentRequestLimit() {
+        final AdaptiveLimit limit = adaptiveLimit;
+        return limit != null ? limit.getLimit() : maxRequestCount;
+    }
+
+    private void updateRequestLimit() {
+        assert Thread.holdsLock(this);
+        if (adaptiveLimitEnabled) {
+            int ceiling = adaptiveLimitCeiling;
+            if (maxRequestCount > 0 && (ceiling <= 0 || ceiling > maxRequestCount)) {
+                ceiling = maxRequestCount;
+            }
+            final AdaptiveLimit limit = new AdaptiveLimit(adaptiveLimitFloor, ceiling);
+            adaptiveLimit = limit;
+            activeRequestCount.setLimit(limit.getLimit());
+        } else {
+            adaptiveLimit = null;
+            activeRequestCount.setLimit(maxRequestCount);
+        }
+    }
+
+    /**
+     * Sets the weights used to share the request capacity between the queued tasks of the control points. The weight
+     * of a control point is the weight of its deployment if defined, otherwise the weight of its entry point if defined,
+     * otherwise the default weight.
+     *
+     * @param defaultWeight The weight of the control points without a specific weight
+     * @param deploymentWeights The weights by deployment name
+     * @param entryPointWeights The weights by entry point name
+     */
+    public synchronized void setQueueWeights(int defaultWeight, Map<String, Integer> deploymentWeights, Map<String, Integer> entryPointWeights) {
+        this.defaultQueueWeight = defaultWeight;
+        this.deploymentQueueWeights = new HashMap<>(deploymentWeights);
+        this.entryPointQueueWeights = new HashMap<>(entryPointWeights);
+        for (ControlPoint controlPoint : entryPoints.values()) {
+            controlPoint.setQueueWeight(getQueueWeight(controlPoint));
+        }
+    }
+
+    private int getQueueWeight(ControlPoint controlPoint) {
+        assert Thread.holdsLock(this);
+        Integer weight = deploymentQueueWeights.get(controlPoint.getDeployment());
+        if (weight == null) {
+            weight = entryPointQueueWeights.get(controlPoint.getEntryPoint());
+        }
+        return weight != null ? weight : defaultQueueWeight;
+    }
+
+    private boolean canRunQueuedTask() {
+        final int limit = getCurrentRequestLimit();
+        return limit < 0 || getActiveRequestCount() < limit;
+    }
+
+    private void runQueuedTasks() {
+        while (hasQueuedTasks() && canRunQueuedTask()) {
             if(!runQueuedTask(false)) {
                 break;
             }
@@ -320,19 +450,18 @@ public class RequestController implements Service<RequestController>, ServerActi
     @Override
     public void start(StartContext startContext) throws StartException {
         shutdownControllerInjectedValue.getValue().registerActivity(this);
-        timer = new Timer();
+        timeoutWheel = new TimeoutWheel("request-controller-timeout", 10, TimeUnit.MILLISECONDS, 512);
+        timeoutWheel.start();
     }
 
     @Override
     public void stop(StopContext stopContext) {
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
-        timer.cancel();
-        timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        timeoutWheel.stop();
+        timeoutWheel = null;
+        QueuedTask t;
+        while ((t = pollQueuedTask(false)) != null) {
+            t.run();
         }
     }
 
@@ -346,73 +475,73 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     public int getActiveRequestCount() {
-        return activeRequestCount;
+        return activeRequestCount.getActiveCount();
     }
 
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                controlPoint.taskRejected();
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
         QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        controlPoint.taskQueued();
+        synchronized (taskQueue) {
+            taskQueue.add(controlPoint, controlPoint.getQueueWeight(), queuedTask);
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
-                timer.schedule(queuedTask, timeout);
+                timeoutWheel.schedule(queuedTask, timeout);
             }
         }
     }
 
+    private boolean hasQueuedTasks() {
+        synchronized (taskQueue) {
+            return !taskQueue.isEmpty();
+        }
+    }
+
+    private QueuedTask pollQueuedTask(boolean forceRunOnly) {
+        synchronized (taskQueue) {
+            return forceRunOnly ? taskQueue.poll(FORCE_RUN) : taskQueue.poll();
+        }
+    }
+
     /**
-     * Runs a queued task, if the queue is not already empty.
+     * Runs a queued task, if the queue is not already empty. The control points take turns according to their weight.
      *
      * Note that this will decrement the request count if there are no queued tasks to be run
      *
-     * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}
+     * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}, in which case the permit
+     *                  is handed over to the queued task
      */
     private boolean runQueuedTask(boolean hasPermit) {
-        QueuedTask task = null;
         if(!hasPermit) {
-            if(!paused) {
-                if (beginRequest(false) == RunResult.REJECTED) {
-                    return false;
-                }
-                task = taskQueue.poll();
-            } else {
-                //the container is suspended, but we still need to run any force queued tasks
-                List<QueuedTask> storage = new ArrayList<>();
-                while (task == null && !taskQueue.isEmpty()) {
-                    QueuedTask tmp = taskQueue.poll();
-                    if(tmp.forceRun) {
-                        task = tmp;
-                    } else {
-                        storage.add(tmp);
-                    }
-                }
-                //this screws the order somewhat, but the container is suspending anyway, and the order
-                //was never guarenteed. if we push them back onto the front we will need to just go through them again
-                taskQueue.addAll(storage);
-                if(task == null) {
-                    return false;
-                }
-                //after all that we are at the max request limit anyway
-                if (beginRequest(true) == RunResult.REJECTED) {
-                    return false;
-                }
+            if(!hasQueuedTasks()) {
+                return false;
+            }
+            //while the container is suspended we still need to run any force queued tasks
+            if (beginRequest(paused) == RunResult.REJECTED) {
+                return false;
             }
         }
-        if(task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+        QueuedTask task;
+        while ((task = pollQueuedTask(paused)) != null) {
+            if(task.runRequest()) {
+                return true;
             }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
+            //the task timed out while it was queued, the permit goes to the next one
+        }
+        decrementRequestCount();
+        //a task may have been queued after the queue was found empty but before the permit was released
+        if(hasPermit && !paused && hasQueuedTasks() && canRunQueuedTask()) {
+            return runQueuedTask(false);
         }
+        return false;
     }
 
     private static final class ControlPointIdentifier {
@@ -450,13 +579,15 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    private static final class QueuedTask extends TimeoutWheel.Timeout {
 
-        private final Executor executor;
-        private final Runnable task;
-        private final Runnable cancelTask;
+        //cleared once the task is run, as the timeout stays in the wheel until its bucket comes round
+        private Executor executor;
+        private Runnable task;
+        private Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final long queueTime = System.nanoTime();
 
         //0 == queued
         //1 == run
@@ -474,6 +605,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                controlPoint.taskTimedOut();
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -487,7 +619,13 @@ public class RequestController implements Service<RequestController>, ServerActi
 
         public boolean runRequest() {
             if(state.compareAndSet(0, 1)) {
+                final Executor executor = this.executor;
+                final Runnable task = this.task;
+                this.executor = null;
+                this.task = null;
+                this.cancelTask = null;
                 cancel();
+                controlPoint.taskDequeued(System.nanoTime() - queueTime);
                 executor.execute(new Runnable() {
                     @Override
                     public void run() {
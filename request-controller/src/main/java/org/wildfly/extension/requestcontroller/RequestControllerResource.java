@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.wildfly.extension.requestcontroller.Constants.CONTROL_POINT;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.as.controller.registry.PlaceholderResource.PlaceholderResourceEntry;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
+
+/**
+ * The resource of the subsystem, which has a runtime {@code control-point} child for each control point currently known
+ * to the {@link RequestController}.
+ */
+class RequestControllerResource implements Resource {
+
+    private final Resource delegate;
+
+    /**
+     * Shared with the clones of this resource, as it is only set once the controller has been created
+     */
+    private final AtomicReference<RequestController> requestController;
+
+    RequestControllerResource() {
+        this(Resource.Factory.create(), new AtomicReference<RequestController>());
+    }
+
+    private RequestControllerResource(final Resource delegate, final AtomicReference<RequestController> requestController) {
+        this.delegate = delegate;
+        this.requestController = requestController;
+    }
+
+    void setRequestController(final RequestController requestController) {
+        this.requestController.set(requestController);
+    }
+
+    @Override
+    public ModelNode getModel() {
+        return delegate.getModel();
+    }
+
+    @Override
+    public void writeModel(final ModelNode newModel) {
+        delegate.writeModel(newModel);
+    }
+
+    @Override
+    public boolean isModelDefined() {
+        return delegate.isModelDefined();
+    }
+
+    @Override
+    public boolean hasChild(final PathElement element) {
+        if (CONTROL_POINT.equals(element.getKey())) {
+            return getControlPointNames().contains(element.getValue());
+        }
+        return delegate.hasChild(element);
+    }
+
+    @Override
+    public Resource getChild(final PathElement element) {
+        if (CONTROL_POINT.equals(element.getKey())) {
+            return hasChild(element) ? PlaceholderResource.INSTANCE : null;
+        }
+        return delegate.getChild(element);
+    }
+
+    @Override
+    public Resource requireChild(final PathElement element) {
+        if (CONTROL_POINT.equals(element.getKey())) {
+            if (hasChild(element)) {
+                return PlaceholderResource.INSTANCE;
+            }
+            throw new NoSuchResourceException(element);
+        }
+        return delegate.requireChild(element);
+    }
+
+    @Override
+    public boolean hasChildren(final String childType) {
+        if (CONTROL_POINT.equals(childType)) {
+            return !getControlPointNames().isEmpty();
+        }
+        return delegate.hasChildren(childType);
+    }
+
+    @Override
+    public Resource navigate(final PathAddress address) {
+        if (address.size() > 0 && CONTROL_POINT.equals(address.getElement(0).getKey())) {
+            if (address.size() > 1) {
+                throw new NoSuchResourceException(address.getElement(1));
+            }
+            return requireChild(address.getElement(0));
+        }
+        return delegate.navigate(address);
+    }
+
+    @Override
+    public Set<String> getChildTypes() {
+        final Set<String> result = new LinkedHashSet<>(delegate.getChildTypes());
+        result.add(CONTROL_POINT);
+        return result;
+    }
+
+    @Override
+    public Set<String> getChildrenNames(final String childType) {
+        if (CONTROL_POINT.equals(childType)) {
+            return getControlPointNames();
+        }
+        return delegate.getChildrenNames(childType);
+    }
+
+    @Override
+    public Set<ResourceEntry> getChildren(final String childType) {
+        if (CONTROL_POINT.equals(childType)) {
+            final Set<ResourceEntry> result = new LinkedHashSet<>();
+            for (String name : getControlPointNames()) {
+                result.add(new PlaceholderResourceEntry(CONTROL_POINT, name));
+            }
+            return result;
+        }
+        return delegate.getChildren(childType);
+    }
+
+    @Override
+    public void registerChild(final PathElement address, final Resource resource) {
+        if (CONTROL_POINT.equals(address.getKey())) {
+            throw RequestControllerLogger.ROOT_LOGGER.cannotRegisterResourceOfType(CONTROL_POINT);
+        }
+        delegate.registerChild(address, resource);
+    }
+
+    @Override
+    public void registerChild(final PathElement address, final int index, final Resource resource) {
+        if (CONTROL_POINT.equals(address.getKey())) {
+            throw RequestControllerLogger.ROOT_LOGGER.cannotRegisterResourceOfType(CONTROL_POINT);
+        }
+        delegate.registerChild(address, index, resource);
+    }
+
+    @Override
+    public Resource removeChild(final PathElement address) {
+        if (CONTROL_POINT.equals(address.getKey())) {
+            throw RequestControllerLogger.ROOT_LOGGER.cannotRemoveResourceOfType(CONTROL_POINT);
+        }
+        return delegate.removeChild(address);
+    }
+
+    @Override
+    public boolean isRuntime() {
+        return delegate.isRuntime();
+    }
+
+    @Override
+    public boolean isProxy() {
+        return delegate.isProxy();
+    }
+
+    @Override
+    public Set<String> getOrderedChildTypes() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Resource clone() {
+        return new RequestControllerResource(delegate.clone(), requestController);
+    }
+
+    private Set<String> getControlPointNames() {
+        final RequestController controller = requestController.get();
+        if (controller == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> names = new TreeSet<>();
+        for (ControlPoint controlPoint : controller.getControlPoints()) {
+            names.add(ControlPointResourceDefinition.getName(controlPoint));
+        }
+        return names;
+    }
+}
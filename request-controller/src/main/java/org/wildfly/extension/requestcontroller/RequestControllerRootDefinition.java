@@ -31,10 +31,12 @@ import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -54,9 +56,49 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setDefaultValue(new ModelNode(false))
             .build();
 
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT_FLOOR = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT_FLOOR, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(10))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT_CEILING = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT_CEILING, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition DEFAULT_QUEUE_WEIGHT = SimpleAttributeDefinitionBuilder.create(Constants.DEFAULT_QUEUE_WEIGHT, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final PropertiesAttributeDefinition DEPLOYMENT_QUEUE_WEIGHTS = new PropertiesAttributeDefinition.Builder(Constants.DEPLOYMENT_QUEUE_WEIGHTS, true)
+            .setAllowExpression(true)
+            .setElementValidator(new IntRangeValidator(1, false, true))
+            .setWrapperElement(Constants.DEPLOYMENT_QUEUE_WEIGHTS)
+            .setXmlName(Constants.QUEUE_WEIGHT)
+            .build();
+
+    public static final PropertiesAttributeDefinition ENTRY_POINT_QUEUE_WEIGHTS = new PropertiesAttributeDefinition.Builder(Constants.ENTRY_POINT_QUEUE_WEIGHTS, true)
+            .setAllowExpression(true)
+            .setElementValidator(new IntRangeValidator(1, false, true))
+            .setWrapperElement(Constants.ENTRY_POINT_QUEUE_WEIGHTS)
+            .setXmlName(Constants.QUEUE_WEIGHT)
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition CURRENT_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.CURRENT_LIMIT, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     private final boolean registerRuntimeOnly;
@@ -76,9 +118,9 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT, ADAPTIVE_LIMIT_FLOOR, ADAPTIVE_LIMIT_CEILING, DEFAULT_QUEUE_WEIGHT, DEPLOYMENT_QUEUE_WEIGHTS, ENTRY_POINT_QUEUE_WEIGHTS, ACTIVE_REQUESTS, CURRENT_LIMIT});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT, ADAPTIVE_LIMIT_FLOOR, ADAPTIVE_LIMIT_CEILING, DEFAULT_QUEUE_WEIGHT, DEPLOYMENT_QUEUE_WEIGHTS, ENTRY_POINT_QUEUE_WEIGHTS});
         }
     }
 
@@ -87,13 +129,29 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
         return Collections.emptyList();
     }
 
+    @Override
+    public void registerChildren(ManagementResourceRegistration resourceRegistration) {
+        super.registerChildren(resourceRegistration);
+        if(registerRuntimeOnly) {
+            resourceRegistration.registerSubModel(new ControlPointResourceDefinition());
+        }
+    }
+
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
-        MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler(MAX_REQUESTS);
+        MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler(MAX_REQUESTS, ADAPTIVE_LIMIT, ADAPTIVE_LIMIT_FLOOR, ADAPTIVE_LIMIT_CEILING);
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_LIMIT, null, handler);
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_LIMIT_FLOOR, null, handler);
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_LIMIT_CEILING, null, handler);
+        QueueWeightsWriteHandler weightsHandler = new QueueWeightsWriteHandler(DEFAULT_QUEUE_WEIGHT, DEPLOYMENT_QUEUE_WEIGHTS, ENTRY_POINT_QUEUE_WEIGHTS);
+        resourceRegistration.registerReadWriteAttribute(DEFAULT_QUEUE_WEIGHT, null, weightsHandler);
+        resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_QUEUE_WEIGHTS, null, weightsHandler);
+        resourceRegistration.registerReadWriteAttribute(ENTRY_POINT_QUEUE_WEIGHTS, null, weightsHandler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, new ReloadRequiredWriteAttributeHandler(TRACK_INDIVIDUAL_ENDPOINTS));
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            resourceRegistration.registerMetric(CURRENT_LIMIT, new CurrentLimitReadHandler());
         }
     }
 }
@@ -28,6 +28,7 @@ import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
@@ -49,6 +50,13 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
         super(attributeDefinitions);
     }
 
+    @Override
+    protected Resource createResource(OperationContext context) {
+        final Resource resource = new RequestControllerResource();
+        context.addResource(PathAddress.EMPTY_ADDRESS, resource);
+        return resource;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -64,12 +72,16 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
             }
         }, OperationContext.Stage.RUNTIME);
 
-        int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
 
         RequestController requestController = new RequestController(trackIndividual);
 
-        requestController.setMaxRequestCount(maxRequests);
+        MaxRequestsWriteHandler.applyLimits(context, resource.getModel(), requestController);
+        QueueWeightsWriteHandler.applyWeights(context, resource.getModel(), requestController);
+
+        if (resource instanceof RequestControllerResource) {
+            ((RequestControllerResource) resource).setRequestController(requestController);
+        }
 
         context.getServiceTarget().addService(RequestController.SERVICE_NAME, requestController)
                 .addDependency(SuspendController.SERVICE_NAME, SuspendController.class, requestController.getShutdownControllerInjectedValue())
@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and marshaller for the 1.1 version of the subsystem, which adds the adaptive limit and queue weight attributes.
+ */
+class RequestControllerSubsystemParser_1_1 extends PersistentResourceXMLParser {
+
+    static final RequestControllerSubsystemParser_1_1 INSTANCE = new RequestControllerSubsystemParser_1_1();
+
+    private final PersistentResourceXMLDescription xmlDescription;
+
+    private RequestControllerSubsystemParser_1_1() {
+        xmlDescription = builder(RequestControllerRootDefinition.INSTANCE, Namespace.CURRENT.getUriString())
+                .addAttributes(RequestControllerRootDefinition.MAX_REQUESTS, RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS,
+                        RequestControllerRootDefinition.ADAPTIVE_LIMIT, RequestControllerRootDefinition.ADAPTIVE_LIMIT_FLOOR,
+                        RequestControllerRootDefinition.ADAPTIVE_LIMIT_CEILING, RequestControllerRootDefinition.DEFAULT_QUEUE_WEIGHT,
+                        RequestControllerRootDefinition.DEPLOYMENT_QUEUE_WEIGHTS, RequestControllerRootDefinition.ENTRY_POINT_QUEUE_WEIGHTS)
+                .build();
+    }
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return xmlDescription;
+    }
+}
+
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+/**
+ * Keeps the start time of the requests that are running in the current thread, so their execution time can be measured
+ * without allocating anything per request.
+ * <p/>
+ * Requests can be nested, e.g. a web request invoking an EJB, so the start times are kept in a small stack. A request
+ * that completes in another thread than the one it started in is not measured, and leaves a stale entry behind in its
+ * original thread. Stale entries are discarded when a request below them completes, or when the stack is full.
+ */
+final class RequestTimestamps {
+
+    private static final int MAX_DEPTH = 8;
+
+    private static final ThreadLocal<RequestTimestamps> CURRENT = new ThreadLocal<RequestTimestamps>() {
+        @Override
+        protected RequestTimestamps initialValue() {
+            return new RequestTimestamps();
+        }
+    };
+
+    private final ControlPoint[] controlPoints = new ControlPoint[MAX_DEPTH];
+
+    private final long[] startTimes = new long[MAX_DEPTH];
+
+    private int depth;
+
+    private RequestTimestamps() {
+    }
+
+    /**
+     * Records that a request starts running in the current thread.
+     */
+    static void requestStarted(ControlPoint controlPoint) {
+        final RequestTimestamps timestamps = CURRENT.get();
+        if (timestamps.depth == MAX_DEPTH) {
+            //more likely to be stale entries than deeply nested requests
+            timestamps.clear(0);
+        }
+        timestamps.controlPoints[timestamps.depth] = controlPoint;
+        timestamps.startTimes[timestamps.depth++] = System.nanoTime();
+    }
+
+    /**
+     * Gets the execution time of a request that completes in the current thread.
+     *
+     * @return the execution time in nanoseconds, or -1 if the request did not start in the current thread
+     */
+    static long requestCompleted(ControlPoint controlPoint) {
+        final RequestTimestamps timestamps = CURRENT.get();
+        for (int i = timestamps.depth - 1; i >= 0; --i) {
+            if (timestamps.controlPoints[i] == controlPoint) {
+                final long time = System.nanoTime() - timestamps.startTimes[i];
+                timestamps.clear(i);
+                return time;
+            }
+        }
+        return -1;
+    }
+
+    private void clear(int newDepth) {
+        for (int i = newDepth; i < depth; ++i) {
+            controlPoints[i] = null;
+        }
+        depth = newDepth;
+    }
+}
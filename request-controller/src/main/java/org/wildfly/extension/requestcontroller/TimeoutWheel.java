@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
+
+/**
+ * A hashed timing wheel, used to time out queued tasks.
+ * <p/>
+ * Timeouts are hashed by their deadline into a fixed number of buckets, each bucket covering one tick. A single thread
+ * advances the wheel one tick at a time and runs the timeouts of the current bucket whose deadline is reached. Scheduling
+ * a timeout is a lock free enqueue, and cancelling it only marks it, so unlike {@link java.util.Timer} there is no shared
+ * heap to maintain whatever the number of queued tasks. Cancelled timeouts are unlinked the next time the wheel reaches
+ * their bucket, so they are released within one turn of the wheel rather than when their deadline is reached.
+ * <p/>
+ * Timeouts fire up to one tick late, which is fine for request queue timeouts.
+ */
+final class TimeoutWheel {
+
+    private final long tickDuration;
+
+    private final Timeout[] buckets;
+
+    private final int mask;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final String threadName;
+
+    private volatile Thread worker;
+
+    private volatile boolean running;
+
+    /**
+     * @param threadName the name of the thread advancing the wheel
+     * @param tickDuration the duration of a tick
+     * @param unit the unit of the tick duration
+     * @param ticksPerWheel the number of buckets, rounded up to a power of two
+     */
+    TimeoutWheel(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this.threadName = threadName;
+        this.tickDuration = Math.max(1, unit.toNanos(tickDuration));
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+    }
+
+    synchronized void start() {
+        if (worker == null) {
+            running = true;
+            final Thread thread = new Thread(new Worker(), threadName);
+            thread.setDaemon(true);
+            worker = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the wheel. Timeouts that have not expired yet are discarded.
+     */
+    synchronized void stop() {
+        final Thread thread = worker;
+        if (thread != null) {
+            running = false;
+            worker = null;
+            LockSupport.unpark(thread);
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            pending.clear();
+        }
+    }
+
+    /**
+     * Schedules a timeout. A timeout can only be scheduled once.
+     *
+     * @param timeout the timeout
+     * @param delay the delay in milliseconds
+     */
+    void schedule(Timeout timeout, long delay) {
+        timeout.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        pending.add(timeout);
+    }
+
+    /**
+     * A task run by the wheel once its delay has elapsed, unless it was cancelled.
+     */
+    abstract static class Timeout implements Runnable {
+
+        //only accessed by the wheel thread once scheduled
+        private long deadline;
+        private long rounds;
+        private Timeout next;
+
+        private volatile boolean cancelled;
+
+        /**
+         * Cancels the timeout, which won't be run and will be dropped by the wheel the next time it reaches its bucket.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+    }
+
+    private final class Worker implements Runnable {
+
+        private final long startTime = System.nanoTime();
+
+        private long tick;
+
+        @Override
+        public void run() {
+            while (running) {
+                final long deadline = startTime + (tick + 1) * tickDuration;
+                long wait;
+                while (running && (wait = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(TimeoutWheel.this, wait);
+                }
+                if (!running) {
+                    break;
+                }
+                transferPending();
+                expire();
+                tick++;
+            }
+            for (int i = 0; i < buckets.length; ++i) {
+                buckets[i] = null;
+            }
+        }
+
+        private void transferPending() {
+            Timeout timeout;
+            while ((timeout = pending.poll()) != null) {
+                final long expiryTick = Math.max(tick, (timeout.deadline - startTime) / tickDuration);
+                timeout.rounds = (expiryTick - tick) / buckets.length;
+                final int index = (int) (expiryTick & mask);
+                timeout.next = buckets[index];
+                buckets[index] = timeout;
+            }
+        }
+
+        private void expire() {
+            final int index = (int) (tick & mask);
+            Timeout timeout = buckets[index];
+            Timeout remaining = null;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.cancelled) {
+                    timeout.next = null;
+                } else if (timeout.rounds <= 0) {
+                    timeout.next = null;
+                    try {
+                        timeout.run();
+                    } catch (Throwable t) {
+                        RequestControllerLogger.ROOT_LOGGER.failedToRunTimeout(timeout, t);
+                    }
+                } else {
+                    timeout.rounds--;
+                    timeout.next = remaining;
+                    remaining = timeout;
+                }
+                timeout = next;
+            }
+            buckets[index] = remaining;
+        }
+    }
+}
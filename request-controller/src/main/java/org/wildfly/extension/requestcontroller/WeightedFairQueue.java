@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A queue made of one FIFO lane per key, the lanes being drained with deficit round robin scheduling.
+ * <p/>
+ * Lanes that have elements take turns, and during its turn a lane can hand out as many elements as its weight. A lane
+ * with a weight of 2 is therefore drained twice as fast as a lane with a weight of 1 while both have elements, and no
+ * lane can starve the others however many elements it holds. Lanes are discarded as soon as they are empty.
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @param <K> the type of the lane keys
+ * @param <E> the type of the elements
+ */
+final class WeightedFairQueue<K, E> {
+
+    private final Map<K, Lane<K, E>> lanes = new HashMap<>();
+
+    /**
+     * The lanes that have elements, the head of the deque being the lane whose turn it is
+     */
+    private final ArrayDeque<Lane<K, E>> activeLanes = new ArrayDeque<>();
+
+    /**
+     * The number of elements the head lane can still hand out during its turn, zero if its turn has not started
+     */
+    private int credit;
+
+    private int size;
+
+    /**
+     * Adds an element at the tail of a lane.
+     *
+     * @param key the key of the lane
+     * @param weight the weight of the lane, replacing the previous weight if the lane already exists
+     * @param element the element
+     */
+    void add(K key, int weight, E element) {
+        Lane<K, E> lane = lanes.get(key);
+        if (lane == null) {
+            lane = new Lane<>(key);
+            lanes.put(key, lane);
+            activeLanes.addLast(lane);
+        }
+        lane.weight = Math.max(1, weight);
+        lane.elements.addLast(element);
+        size++;
+    }
+
+    /**
+     * Removes the next element, according to the weights of the lanes.
+     *
+     * @return the element, or {@code null} if the queue is empty
+     */
+    E poll() {
+        final Lane<K, E> lane = activeLanes.peekFirst();
+        if (lane == null) {
+            return null;
+        }
+        if (credit <= 0) {
+            credit = lane.weight;
+        }
+        final E element = lane.elements.pollFirst();
+        size--;
+        if (lane.elements.isEmpty()) {
+            removeLane(lane);
+        } else if (--credit == 0) {
+            activeLanes.addLast(activeLanes.pollFirst());
+        }
+        return element;
+    }
+
+    /**
+     * Removes the first element that matches a predicate, visiting the lanes in turn order. This does not consume
+     * credit, it is only meant for the elements that must bypass the normal scheduling.
+     *
+     * @param predicate the predicate
+     * @return the element, or {@code null} if no element matches
+     */
+    E poll(Predicate<? super E> predicate) {
+        for (Lane<K, E> lane : activeLanes) {
+            for (Iterator<E> it = lane.elements.iterator(); it.hasNext(); ) {
+                final E element = it.next();
+                if (predicate.test(element)) {
+                    it.remove();
+                    size--;
+                    if (lane.elements.isEmpty()) {
+                        removeLane(lane);
+                    }
+                    return element;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void removeLane(Lane<K, E> lane) {
+        if (activeLanes.peekFirst() == lane) {
+            activeLanes.pollFirst();
+            credit = 0;
+        } else {
+            activeLanes.remove(lane);
+        }
+        lanes.remove(lane.key);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Lane<K, E> {
+        private final K key;
+        private final ArrayDeque<E> elements = new ArrayDeque<>();
+        private int weight;
+
+        private Lane(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -49,4 +49,14 @@ public interface RequestControllerLogger extends BasicLogger {
     @Message(id = 1, value = "Failed to cancel queued task %s")
     void failedToCancelTask(Object task, @Cause Exception e);
 
+    @LogMessage(level = WARN)
+    @Message(id = 2, value = "Failed to run timeout %s")
+    void failedToRunTimeout(Object timeout, @Cause Throwable cause);
+
+    @Message(id = 3, value = "Resources of type %s cannot be registered")
+    UnsupportedOperationException cannotRegisterResourceOfType(String childType);
+
+    @Message(id = 4, value = "Resources of type %s cannot be removed")
+    UnsupportedOperationException cannotRemoveResourceOfType(String childType);
+
 }
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AdaptiveLimit}.
+ */
+public class AdaptiveLimitTestCase {
+
+    private static final long MILLISECOND = 1000000L;
+
+    @Test
+    public void testLimitGrowsWhileLatencyIsStable() {
+        final AdaptiveLimit limit = new AdaptiveLimit(10, 200);
+        int previous = limit.getLimit();
+        for (int i = 0; i < 20; ++i) {
+            window(limit, 10 * MILLISECOND);
+            limit.update(limit.getLimit());
+            assertTrue(limit.getLimit() >= previous);
+            previous = limit.getLimit();
+        }
+        assertTrue(previous > AdaptiveLimit.INITIAL_LIMIT);
+        for (int i = 0; i < 200; ++i) {
+            window(limit, 10 * MILLISECOND);
+            limit.update(limit.getLimit());
+        }
+        assertEquals(200, limit.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWhenLatencyGrows() {
+        final AdaptiveLimit limit = new AdaptiveLimit(10, 200);
+        window(limit, 10 * MILLISECOND);
+        limit.update(limit.getLimit());
+        final int initial = limit.getLimit();
+        for (int i = 0; i < 5; ++i) {
+            window(limit, 50 * MILLISECOND);
+            limit.update(limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < initial);
+    }
+
+    @Test
+    public void testLimitStaysAboveFloor() {
+        final AdaptiveLimit limit = new AdaptiveLimit(90, 200);
+        window(limit, 10 * MILLISECOND);
+        limit.update(limit.getLimit());
+        for (int i = 0; i < 100; ++i) {
+            window(limit, 500 * MILLISECOND);
+            limit.update(limit.getLimit());
+            assertTrue(limit.getLimit() >= 90);
+        }
+        assertTrue(limit.getLimit() < 100);
+    }
+
+    @Test
+    public void testLimitIsKeptWhenNotReached() {
+        final AdaptiveLimit limit = new AdaptiveLimit(10, 200);
+        final int initial = limit.getLimit();
+        for (int i = 0; i < 10; ++i) {
+            window(limit, 10 * MILLISECOND);
+            assertFalse(limit.update(initial / 4));
+        }
+        assertEquals(initial, limit.getLimit());
+    }
+
+    @Test
+    public void testInitialLimitIsBounded() {
+        assertEquals(50, new AdaptiveLimit(5, 50).getLimit());
+        assertEquals(AdaptiveLimit.INITIAL_LIMIT, new AdaptiveLimit(5, -1).getLimit());
+        assertEquals(500, new AdaptiveLimit(500, -1).getLimit());
+    }
+
+    private static void window(AdaptiveLimit limit, long time) {
+        for (int i = 0; i < 20; ++i) {
+            limit.sample(time);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the admission of requests by {@link AdmissionCounter} with the single counter previously used by
+ * {@link RequestController}. This is not run as part of the build, run the {@link #main(String[])} method from the test
+ * class path to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class AdmissionCounterBenchmark {
+
+    /**
+     * The max request count, -1 meaning no limit
+     */
+    @Param({"-1", "1000"})
+    public int maxRequests;
+
+    private AdmissionCounter striped;
+
+    private SingleCounter single;
+
+    @Setup
+    public void setup() {
+        striped = new AdmissionCounter(maxRequests);
+        single = new SingleCounter(maxRequests);
+    }
+
+    @Benchmark
+    public void striped(Blackhole blackhole) {
+        if (striped.acquire()) {
+            Blackhole.consumeCPU(10);
+            blackhole.consume(striped.release());
+        }
+    }
+
+    @Benchmark
+    public void single(Blackhole blackhole) {
+        if (single.acquire()) {
+            Blackhole.consumeCPU(10);
+            blackhole.consume(single.release());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AdmissionCounterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The compare and set loop on a single field, as done by {@link RequestController} before it used
+     * {@link AdmissionCounter}.
+     */
+    static final class SingleCounter {
+
+        private static final AtomicIntegerFieldUpdater<SingleCounter> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(SingleCounter.class, "activeRequestCount");
+
+        private final int maxRequestCount;
+
+        @SuppressWarnings("unused")
+        private volatile int activeRequestCount = 0;
+
+        SingleCounter(int maxRequestCount) {
+            this.maxRequestCount = maxRequestCount;
+        }
+
+        boolean acquire() {
+            int active = activeRequestCountUpdater.get(this);
+            while (maxRequestCount <= 0 || active < maxRequestCount) {
+                if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+                    return true;
+                }
+                active = activeRequestCountUpdater.get(this);
+            }
+            return false;
+        }
+
+        boolean release() {
+            return activeRequestCountUpdater.decrementAndGet(this) == 0;
+        }
+    }
+}
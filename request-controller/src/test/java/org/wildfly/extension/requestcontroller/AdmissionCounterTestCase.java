@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AdmissionCounter}.
+ */
+public class AdmissionCounterTestCase {
+
+    @Test
+    public void testLimitIsExact() {
+        final AdmissionCounter counter = new AdmissionCounter(8, 10);
+        for (int i = 0; i < 10; ++i) {
+            assertTrue(counter.acquire());
+        }
+        assertFalse(counter.acquire());
+        assertEquals(10, counter.getActiveCount());
+        counter.release();
+        assertEquals(9, counter.getActiveCount());
+        assertTrue(counter.acquire());
+        assertFalse(counter.acquire());
+    }
+
+    @Test
+    public void testPermitsParkedByOtherThreadsAreUsed() throws Exception {
+        final AdmissionCounter counter = new AdmissionCounter(8, 4);
+        final Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                //parks the released permits in the stripe of this thread
+                for (int i = 0; i < 4; ++i) {
+                    counter.acquire();
+                }
+                for (int i = 0; i < 4; ++i) {
+                    counter.release();
+                }
+            }
+        });
+        other.start();
+        other.join();
+        for (int i = 0; i < 4; ++i) {
+            assertTrue(counter.acquire());
+        }
+        assertFalse(counter.acquire());
+    }
+
+    @Test
+    public void testLoweredLimit() {
+        final AdmissionCounter counter = new AdmissionCounter(8, 10);
+        for (int i = 0; i < 6; ++i) {
+            assertTrue(counter.acquire());
+        }
+        counter.setLimit(4);
+        assertFalse(counter.acquire());
+        counter.release();
+        counter.release();
+        assertFalse(counter.acquire());
+        counter.release();
+        assertTrue(counter.acquire());
+        counter.setLimit(-1);
+        assertTrue(counter.acquire());
+        assertEquals(5, counter.getActiveCount());
+    }
+
+    @Test
+    public void testSuspendDetectsLastRelease() {
+        final AdmissionCounter counter = new AdmissionCounter(8, -1);
+        assertTrue(counter.suspend());
+        counter.resume();
+        assertTrue(counter.acquire());
+        assertTrue(counter.acquire());
+        assertFalse(counter.suspend());
+        assertFalse(counter.release());
+        assertTrue(counter.release());
+        counter.resume();
+        assertTrue(counter.acquire());
+        assertFalse(counter.release());
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        final int limit = 16;
+        final int threadCount = 32;
+        final AdmissionCounter counter = new AdmissionCounter(8, limit);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; ++i) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 10000; ++j) {
+                        if (counter.acquire()) {
+                            final int current = active.incrementAndGet();
+                            int max = maxActive.get();
+                            while (current > max && !maxActive.compareAndSet(max, current)) {
+                                max = maxActive.get();
+                            }
+                            active.decrementAndGet();
+                            counter.release();
+                        }
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(maxActive.get() <= limit);
+        assertTrue(counter.suspend());
+        assertEquals(0, counter.getActiveCount());
+    }
+}
@@ -25,12 +25,17 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.io.IOException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.junit.Assert;
@@ -48,7 +53,7 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
     }
 
     @Test
@@ -64,6 +69,34 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        Assert.assertEquals(50, controller.getCurrentRequestLimit());
+        Assert.assertEquals(8, controller.getControlPoint("important.war", "ejb").getQueueWeight());
+        Assert.assertEquals(4, controller.getControlPoint("other.war", "ejb").getQueueWeight());
+        Assert.assertEquals(2, controller.getControlPoint("other.war", "web").getQueueWeight());
+
+        ControlPoint controlPoint = controller.getControlPoint("other.war", "web");
+        Assert.assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        controlPoint.requestComplete();
+        PathAddress address = PathAddress.pathAddress(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME),
+                PathElement.pathElement(Constants.CONTROL_POINT, "other.war:web"));
+        ModelNode result = mainServices.executeForResult(Util.getReadAttributeOperation(address, Constants.ACCEPTED_REQUESTS));
+        Assert.assertEquals(1, result.asLong());
+        result = mainServices.executeForResult(Util.getReadAttributeOperation(address, Constants.EXECUTION_TIME));
+        Assert.assertEquals(1, result.get(Constants.COUNT).asLong());
+        ModelNode readChildren = Util.createEmptyOperation(ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION, address.getParent());
+        readChildren.get(ModelDescriptionConstants.CHILD_TYPE).set(Constants.CONTROL_POINT);
+        result = mainServices.executeForResult(readChildren);
+        Assert.assertEquals(3, result.asList().size());
+    }
+
+    @Test
+    public void testParseVersion10() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(readResource("request-controller-1.0.xml"));
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
     }
 
     @Override
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link TimeoutWheel}.
+ */
+public class TimeoutWheelTestCase {
+
+    @Test
+    public void testTimeoutsExpire() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel("test-timeout", 10, TimeUnit.MILLISECONDS, 8);
+        wheel.start();
+        try {
+            final CountDownLatch latch = new CountDownLatch(3);
+            final long start = System.nanoTime();
+            //the delays cover more than one turn of the wheel
+            wheel.schedule(new CountingTimeout(latch), 20);
+            wheel.schedule(new CountingTimeout(latch), 150);
+            wheel.schedule(new CountingTimeout(latch), 300);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    public void testTimeoutsAreDiscardedOnStop() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel("test-timeout", 10, TimeUnit.MILLISECONDS, 8);
+        wheel.start();
+        final CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(new CountingTimeout(latch), 200);
+        wheel.stop();
+        assertFalse(latch.await(400, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancelledTimeoutsDoNotRun() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel("test-timeout", 10, TimeUnit.MILLISECONDS, 8);
+        wheel.start();
+        try {
+            final CountDownLatch cancelled = new CountDownLatch(1);
+            final CountingTimeout timeout = new CountingTimeout(cancelled);
+            wheel.schedule(timeout, 20);
+            timeout.cancel();
+            final CountDownLatch latch = new CountDownLatch(1);
+            wheel.schedule(new CountingTimeout(latch), 150);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertFalse(cancelled.await(0, TimeUnit.MILLISECONDS));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    public void testFailingTimeoutDoesNotStopTheWheel() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel("test-timeout", 10, TimeUnit.MILLISECONDS, 8);
+        wheel.start();
+        try {
+            final AtomicBoolean failed = new AtomicBoolean();
+            wheel.schedule(new TimeoutWheel.Timeout() {
+                @Override
+                public void run() {
+                    failed.set(true);
+                    throw new IllegalStateException();
+                }
+            }, 10);
+            final CountDownLatch latch = new CountDownLatch(1);
+            wheel.schedule(new CountingTimeout(latch), 50);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertTrue(failed.get());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    private static final class CountingTimeout extends TimeoutWheel.Timeout {
+
+        private final CountDownLatch latch;
+
+        private CountingTimeout(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
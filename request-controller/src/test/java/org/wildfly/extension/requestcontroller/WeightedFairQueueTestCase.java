@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link WeightedFairQueue}.
+ */
+public class WeightedFairQueueTestCase {
+
+    @Test
+    public void testLanesAreDrainedInTurns() {
+        final WeightedFairQueue<String, String> queue = new WeightedFairQueue<>();
+        for (int i = 0; i < 100; ++i) {
+            queue.add("noisy", 1, "noisy" + i);
+        }
+        queue.add("quiet", 1, "quiet0");
+        queue.add("quiet", 1, "quiet1");
+        assertEquals(102, queue.size());
+        assertEquals("noisy0", queue.poll());
+        assertEquals("quiet0", queue.poll());
+        assertEquals("noisy1", queue.poll());
+        assertEquals("quiet1", queue.poll());
+        for (int i = 2; i < 100; ++i) {
+            assertEquals("noisy" + i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testLanesAreDrainedInProportionToTheirWeight() {
+        final WeightedFairQueue<String, String> queue = new WeightedFairQueue<>();
+        for (int i = 0; i < 300; ++i) {
+            queue.add("a", 1, "a");
+            queue.add("b", 3, "b");
+        }
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < 200; ++i) {
+            if ("a".equals(queue.poll())) {
+                a++;
+            } else {
+                b++;
+            }
+        }
+        assertEquals(50, a);
+        assertEquals(150, b);
+    }
+
+    @Test
+    public void testPollMatching() {
+        final WeightedFairQueue<String, String> queue = new WeightedFairQueue<>();
+        queue.add("a", 1, "a0");
+        queue.add("a", 1, "forced-a1");
+        queue.add("b", 1, "b0");
+        final Predicate<String> forced = new Predicate<String>() {
+            @Override
+            public boolean test(String s) {
+                return s.startsWith("forced");
+            }
+        };
+        assertEquals("forced-a1", queue.poll(forced));
+        assertNull(queue.poll(forced));
+        assertEquals(2, queue.size());
+        assertEquals("a0", queue.poll());
+        assertEquals("b0", queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
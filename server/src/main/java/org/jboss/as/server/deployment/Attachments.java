@@ -92,6 +92,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
+    /**
+     * The hash of the deployment contents, only attached if the contents are managed by the content repository
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
     /**
      * <strong>Deprecated</strong>. The attached object does nothing; this key is only retained for
      * binary compatiblity. The management layer handles service verification internally, with no need
@@ -53,6 +53,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final CapabilityServiceSupport capabilityServiceSupport;
     private final AbstractVaultReader vaultReader;
     private final DeploymentOverlayIndex deploymentOverlays;
+    private final byte[] contentHash;
 
     /**
      * Construct a new instance.
@@ -65,11 +66,13 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param capabilityServiceSupport support for capability integration
      * @param vaultReader the vault reader
      * @param deploymentOverlays the deployment overlays
+     * @param contentHash the hash of the managed content, or {@code null} if the content is not managed
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent,
                                      final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration,
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
-                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays) {
+                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays,
+                                     final byte[] contentHash) {
         assert name != null : "name is null";
         this.name = name;
         this.managementName = managementName;
@@ -80,6 +83,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         this.capabilityServiceSupport = capabilityServiceSupport;
         this.vaultReader = vaultReader;
         this.deploymentOverlays = deploymentOverlays;
+        this.contentHash = contentHash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -87,6 +91,9 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.RUNTIME_NAME, name);
         deploymentUnit.putAttachment(Attachments.MANAGEMENT_NAME, managementName);
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENTS, contentsInjector.getValue());
+        if (contentHash != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+        }
         deploymentUnit.putAttachment(DeploymentResourceSupport.REGISTRATION_ATTACHMENT, registration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.MUTABLE_REGISTRATION_ATTACHMENT, mutableRegistration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.DEPLOYMENT_RESOURCE, resource);
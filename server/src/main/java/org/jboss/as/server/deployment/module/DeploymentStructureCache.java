@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.module;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.as.repository.HashUtil;
+import org.jboss.as.server.deployment.Attachable;
+import org.jboss.as.server.deployment.AttachmentKey;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.SimpleAttachable;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.modules.ModuleLoader;
+
+/**
+ * Keeps what the structure processors computed from the content of a deployment, so that a redeploy of the same
+ * content can skip parsing the descriptors and manifests again.
+ * <p>
+ * Entries are keyed by the hash of the managed content, the runtime name of the deployment and the hashes of the
+ * overlays applied to it. As the cached data references the deployment module loader, the whole cache is discarded
+ * when the loader changes, i.e. when the server is reloaded. Deployments whose content is not managed by the content
+ * repository can be modified in place and are never cached.
+ * </p>
+ * <p>
+ * Each entry is an {@link Attachable}: a processor stores its own results under its own private key. Cached values are
+ * shared by all the deployments of the same content, and must not be modified once attached.
+ * </p>
+ */
+public final class DeploymentStructureCache {
+
+    private static final int MAX_ENTRIES = 64;
+
+    private static final AttachmentKey<Attachable> ENTRY = AttachmentKey.create(Attachable.class);
+
+    private static final DeploymentStructureCache INSTANCE = new DeploymentStructureCache(MAX_ENTRIES);
+
+    private final Map<Key, Attachable> entries;
+    private ModuleLoader moduleLoader;
+
+    DeploymentStructureCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<Key, Attachable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Attachable> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache entry of the top level deployment of a deployment unit.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the cache entry, or {@code null} if the structure of the deployment can't be cached
+     */
+    public static Attachable getEntry(final DeploymentUnit deploymentUnit) {
+        final DeploymentUnit topLevelDeployment = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        Attachable entry = topLevelDeployment.getAttachment(ENTRY);
+        if (entry == null) {
+            entry = INSTANCE.getEntry(topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH),
+                    topLevelDeployment.getAttachment(Attachments.RUNTIME_NAME),
+                    topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX),
+                    topLevelDeployment.getAttachment(Attachments.SERVICE_MODULE_LOADER));
+            if (entry != null) {
+                topLevelDeployment.putAttachment(ENTRY, entry);
+            }
+        }
+        return entry;
+    }
+
+    synchronized Attachable getEntry(final byte[] contentHash, final String runtimeName, final DeploymentOverlayIndex overlays,
+                                     final ModuleLoader moduleLoader) {
+        if (contentHash == null || runtimeName == null || moduleLoader == null) {
+            return null;
+        }
+        if (this.moduleLoader != moduleLoader) {
+            // The dependencies cached for the previous loader can't be used anymore
+            entries.clear();
+            this.moduleLoader = moduleLoader;
+        }
+        final Map<String, String> overlayHashes = new TreeMap<String, String>();
+        if (overlays != null) {
+            for (Map.Entry<String, byte[]> overlay : overlays.getOverlays(runtimeName).entrySet()) {
+                overlayHashes.put(overlay.getKey(), HashUtil.bytesToHexString(overlay.getValue()));
+            }
+        }
+        final Key key = new Key(contentHash, runtimeName, overlayHashes);
+        Attachable entry = entries.get(key);
+        if (entry == null) {
+            entry = new SimpleAttachable();
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Key {
+        private final byte[] contentHash;
+        private final String runtimeName;
+        private final Map<String, String> overlayHashes;
+        private final int hashCode;
+
+        private Key(final byte[] contentHash, final String runtimeName, final Map<String, String> overlayHashes) {
+            this.contentHash = contentHash.clone();
+            this.runtimeName = runtimeName;
+            this.overlayHashes = overlayHashes;
+            this.hashCode = 31 * (31 * Arrays.hashCode(contentHash) + runtimeName.hashCode()) + overlayHashes.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hashCode == other.hashCode && Arrays.equals(contentHash, other.contentHash)
+                    && runtimeName.equals(other.runtimeName) && overlayHashes.equals(other.overlayHashes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
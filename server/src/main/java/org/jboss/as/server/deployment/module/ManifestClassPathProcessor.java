@@ -29,11 +29,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachable;
+import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -73,6 +75,12 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
 
     private static final String[] EMPTY_STRING_ARRAY = {};
 
+    /**
+     * The Class-Path entries of the resource roots, by path relative to the deployment root, kept in the
+     * {@link DeploymentStructureCache}
+     */
+    private static final AttachmentKey<Map<String, String[]>> CACHED_CLASS_PATH_ENTRIES = AttachmentKey.create(Map.class);
+
     /**
      * We only allow a single deployment at a time to be run through the class path processor.
      * <p/>
@@ -88,6 +96,7 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
         final VirtualFile topLevelRoot = topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_ROOT).getRoot();
         final ExternalModuleService externalModuleService = topLevelDeployment.getAttachment(Attachments.EXTERNAL_MODULE_SERVICE);
         final ResourceRoot deploymentRoot = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        final Map<String, String[]> cachedEntries = getCachedClassPathEntries(deploymentUnit);
 
         //These are resource roots that are already accessible by default
         //such as ear/lib jars an web-inf/lib jars
@@ -144,7 +153,7 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
                 continue;
             }
 
-            final String[] items = getClassPathEntries(resourceRoot);
+            final String[] items = getClassPathEntries(resourceRoot, topLevelRoot, cachedEntries);
             for (final String item : items) {
                 if (item.isEmpty() || item.equals(".")) { //a class path of . causes problems and is unnecessary, see WFLY-2725
                     continue;
@@ -233,6 +242,45 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
 
     }
 
+    private static Map<String, String[]> getCachedClassPathEntries(final DeploymentUnit deploymentUnit) {
+        final Attachable cacheEntry = DeploymentStructureCache.getEntry(deploymentUnit);
+        if (cacheEntry == null) {
+            return null;
+        }
+        synchronized (cacheEntry) {
+            Map<String, String[]> cachedEntries = cacheEntry.getAttachment(CACHED_CLASS_PATH_ENTRIES);
+            if (cachedEntries == null) {
+                cachedEntries = new ConcurrentHashMap<String, String[]>();
+                cacheEntry.putAttachment(CACHED_CLASS_PATH_ENTRIES, cachedEntries);
+            }
+            return cachedEntries;
+        }
+    }
+
+    private static String[] getClassPathEntries(final ResourceRoot resourceRoot, final VirtualFile topLevelRoot, final Map<String, String[]> cachedEntries) {
+        if (cachedEntries == null) {
+            return getClassPathEntries(resourceRoot);
+        }
+        final VirtualFile root = resourceRoot.getRoot();
+        final String path;
+        if (root.equals(topLevelRoot)) {
+            path = "";
+        } else {
+            try {
+                path = root.getPathNameRelativeTo(topLevelRoot);
+            } catch (IllegalArgumentException e) {
+                // not part of the deployment content
+                return getClassPathEntries(resourceRoot);
+            }
+        }
+        String[] items = cachedEntries.get(path);
+        if (items == null) {
+            items = getClassPathEntries(resourceRoot);
+            cachedEntries.put(path, items);
+        }
+        return items;
+    }
+
     private static String[] getClassPathEntries(final ResourceRoot resourceRoot) {
 
         final Manifest manifest;
@@ -43,6 +43,7 @@ import javax.xml.stream.XMLStreamReader;
 import org.jboss.as.server.DeployerChainAddHandler;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.ServerService;
+import org.jboss.as.server.deployment.Attachable;
 import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
@@ -55,6 +56,7 @@ import org.jboss.as.server.deployment.SubDeploymentMarker;
 import org.jboss.as.server.deployment.annotation.ResourceRootIndexer;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXmlParserRegisteringProcessor;
 import org.jboss.as.server.deployment.module.AdditionalModuleSpecification;
+import org.jboss.as.server.deployment.module.DeploymentStructureCache;
 import org.jboss.as.server.deployment.module.ModuleRootMarker;
 import org.jboss.as.server.deployment.module.ModuleSpecification;
 import org.jboss.as.server.deployment.module.ResourceRoot;
@@ -89,6 +91,8 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
 
     private static final AttachmentKey<ParseResult> RESULT_ATTACHMENT_KEY = AttachmentKey.create(ParseResult.class);
 
+    private static final AttachmentKey<ParseResult> CACHED_RESULT = AttachmentKey.create(ParseResult.class);
+
     public static void registerJBossXMLParsers() {
         DeployerChainAddHandler.addDeploymentProcessor(ServerService.SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_REGISTER_JBOSS_ALL_STRUCTURE_1_0, new JBossAllXmlParserRegisteringProcessor<ParseResult>(ROOT_1_0, RESULT_ATTACHMENT_KEY, JBossDeploymentStructureParser10.JBOSS_ALL_XML_PARSER));
         DeployerChainAddHandler.addDeploymentProcessor(ServerService.SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_REGISTER_JBOSS_ALL_STRUCTURE_1_1, new JBossAllXmlParserRegisteringProcessor<ParseResult>(ROOT_1_1, RESULT_ATTACHMENT_KEY, JBossDeploymentStructureParser11.JBOSS_ALL_XML_PARSER));
@@ -157,7 +161,19 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
 
         try {
             if(deploymentFile != null) {
-                result = parse(deploymentFile.getPhysicalFile(), deploymentUnit, moduleLoader);
+                final Attachable cacheEntry = DeploymentStructureCache.getEntry(deploymentUnit);
+                result = cacheEntry == null ? null : cacheEntry.getAttachment(CACHED_RESULT);
+                if (result == null || result.getModuleLoader() != moduleLoader) {
+                    result = parse(deploymentFile.getPhysicalFile(), deploymentUnit, moduleLoader);
+                    final ParseResult cachedResult = cacheEntry == null ? null : result.copyForCache();
+                    if (cachedResult != null) {
+                        cacheEntry.putAttachment(CACHED_RESULT, cachedResult);
+                    }
+                } else {
+                    ServerLogger.DEPLOYMENT_LOGGER.debugf("Using the cached structure of %s", deploymentFile);
+                    // the deployment gets its own copy, as the specs are modified while the deployment is processed
+                    result = result.copy(deploymentUnit);
+                }
             }
 
             final ModuleSpecification moduleSpec = deploymentUnit.getAttachment(Attachments.MODULE_SPECIFICATION);
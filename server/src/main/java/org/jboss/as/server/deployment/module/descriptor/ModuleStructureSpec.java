@@ -24,6 +24,7 @@ package org.jboss.as.server.deployment.module.descriptor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -135,4 +136,31 @@ class ModuleStructureSpec {
     public void setExcludedSubsystems(final Set<String> excludedSubsystems) {
         this.excludedSubsystems = excludedSubsystems;
     }
+
+    /**
+     * Creates a copy of this spec, including copies of its module dependencies, that can be modified independently.
+     *
+     * @return the copy
+     */
+    ModuleStructureSpec copy() {
+        final ModuleStructureSpec copy = new ModuleStructureSpec();
+        copy.moduleIdentifier = moduleIdentifier;
+        for (ModuleDependency dependency : moduleDependencies) {
+            final ModuleDependency dependencyCopy = new ModuleDependency(dependency.getModuleLoader(), dependency.getIdentifier(),
+                    dependency.isOptional(), dependency.isExport(), dependency.isImportServices(), dependency.isUserSpecified());
+            dependencyCopy.getImportFilters().addAll(dependency.getImportFilters());
+            dependencyCopy.getExportFilters().addAll(dependency.getExportFilters());
+            copy.moduleDependencies.add(dependencyCopy);
+        }
+        copy.systemDependencies.addAll(systemDependencies);
+        copy.resourceRoots.addAll(resourceRoots);
+        copy.exportFilters.addAll(exportFilters);
+        copy.exclusions.addAll(exclusions);
+        copy.classFileTransformers.addAll(classFileTransformers);
+        copy.aliases.addAll(aliases);
+        copy.annotationModules.addAll(annotationModules);
+        copy.excludedSubsystems = excludedSubsystems == null ? null : new HashSet<String>(excludedSubsystems);
+        copy.localLast = localLast;
+        return copy;
+    }
 }
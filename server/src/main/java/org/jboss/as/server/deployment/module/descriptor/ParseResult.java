@@ -88,4 +88,47 @@ class ParseResult {
     public Boolean getEarExclusionsCascadedToSubDeployments() {
         return earExclusionsCascadedToSubDeployments;
     }
+
+    /**
+     * Creates a copy of this result that does not reference the deployment it was parsed for, so it can be reused by
+     * another deployment of the same content.
+     *
+     * @return the copy, or {@code null} if the result holds resource roots, which belong to the deployment
+     */
+    ParseResult copyForCache() {
+        if (!additionalModules.isEmpty() || hasResourceRoots(rootDeploymentSpecification)) {
+            return null;
+        }
+        for (ModuleStructureSpec spec : subDeploymentSpecifications.values()) {
+            if (hasResourceRoots(spec)) {
+                return null;
+            }
+        }
+        return copy(null);
+    }
+
+    /**
+     * Creates a copy of this result for a deployment. The module structure specs are copied as well, so the copy can be
+     * modified without affecting this result.
+     *
+     * @param deploymentUnit the deployment the copy is for, or {@code null}
+     * @return the copy
+     */
+    ParseResult copy(final DeploymentUnit deploymentUnit) {
+        final ParseResult copy = new ParseResult(moduleLoader, deploymentUnit);
+        copy.earSubDeploymentsIsolated = earSubDeploymentsIsolated;
+        copy.earExclusionsCascadedToSubDeployments = earExclusionsCascadedToSubDeployments;
+        copy.rootDeploymentSpecification = rootDeploymentSpecification == null ? null : rootDeploymentSpecification.copy();
+        for (Map.Entry<String, ModuleStructureSpec> entry : subDeploymentSpecifications.entrySet()) {
+            copy.subDeploymentSpecifications.put(entry.getKey(), entry.getValue().copy());
+        }
+        for (ModuleStructureSpec additionalModule : additionalModules) {
+            copy.additionalModules.add(additionalModule.copy());
+        }
+        return copy;
+    }
+
+    private static boolean hasResourceRoots(final ModuleStructureSpec spec) {
+        return spec != null && !spec.getResourceRoots().isEmpty();
+    }
 }
@@ -44,7 +44,8 @@ import static java.lang.reflect.Modifier.STATIC;
 /**
  * A short-lived index of all the declared fields and methods of a class.
  * <p/>
- * The ClassReflectionIndex is only available during the deployment.
+ * The ClassReflectionIndex is only available during the deployment. The indexes of the classes of the JDK and of
+ * static modules are shared by all the deployments, which is why an index is never modified once built.
  *
  * @param <T> the type being indexed
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
@@ -22,19 +22,40 @@
 
 package org.jboss.as.server.deployment.reflect;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.security.ServerPermission;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleClassLoader;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A reflection index for a deployment.
+ * <p/>
+ * The indexes of the classes of the JDK and of the static modules are immutable and shared by all the deployments, as
+ * these classes are never unloaded. They are attached to the classes themselves. The indexes of the other classes,
+ * e.g. the classes of the deployment, are kept by the deployment index and released with it.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class DeploymentReflectionIndex {
-    private final Map<Class<?>, ClassReflectionIndex<?>> classes = new HashMap<Class<?>, ClassReflectionIndex<?>>();
+
+    /**
+     * The index used by the shared class indexes to look up the indexes of their superclasses and interfaces, which are
+     * shared as well.
+     */
+    private static final DeploymentReflectionIndex SHARED = new DeploymentReflectionIndex();
+
+    private static final ClassValue<ClassReflectionIndex<?>> SHARED_CLASSES = new ClassValue<ClassReflectionIndex<?>>() {
+        @Override
+        protected ClassReflectionIndex<?> computeValue(final Class<?> clazz) {
+            return createIndex(clazz, SHARED);
+        }
+    };
+
+    private final ConcurrentMap<Class<?>, ClassReflectionIndex<?>> classes = new ConcurrentHashMap<Class<?>, ClassReflectionIndex<?>>();
 
     DeploymentReflectionIndex() {
     }
@@ -59,15 +80,46 @@ public final class DeploymentReflectionIndex {
      * @return the index
      */
     @SuppressWarnings({"unchecked"})
-    public synchronized <T> ClassReflectionIndex<T> getClassIndex(Class<T> clazz) {
-        try {
-            ClassReflectionIndex<T> index = (ClassReflectionIndex<T>) classes.get(clazz);
+    public <T> ClassReflectionIndex<T> getClassIndex(Class<T> clazz) {
+        if (isShared(clazz)) {
+            return (ClassReflectionIndex<T>) SHARED_CLASSES.get(clazz);
+        }
+        if (this == SHARED) {
+            // Not expected as the supertypes of a shared class are shared, but don't retain a class that can be unloaded
+            return createIndex(clazz, this);
+        }
+        ClassReflectionIndex<T> index = (ClassReflectionIndex<T>) classes.get(clazz);
+        if (index == null) {
+            final ClassReflectionIndex<T> newIndex = createIndex(clazz, this);
+            index = (ClassReflectionIndex<T>) classes.putIfAbsent(clazz, newIndex);
             if (index == null) {
-                classes.put(clazz, index = new ClassReflectionIndex<T>(clazz, this));
+                index = newIndex;
             }
-            return index;
+        }
+        return index;
+    }
+
+    private static <T> ClassReflectionIndex<T> createIndex(final Class<T> clazz, final DeploymentReflectionIndex deploymentReflectionIndex) {
+        try {
+            return new ClassReflectionIndex<T>(clazz, deploymentReflectionIndex);
         } catch (Throwable e) {
             throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(clazz, clazz.getClassLoader(), e);
         }
     }
+
+    /**
+     * Whether the index of a class can be shared by all the deployments, i.e. the class comes from the JDK or from a
+     * static module.
+     */
+    private static boolean isShared(final Class<?> clazz) {
+        final ClassLoader classLoader = WildFlySecurityManager.getClassLoaderPrivileged(clazz);
+        if (classLoader == null) {
+            return true;
+        }
+        if (classLoader instanceof ModuleClassLoader) {
+            // Modules of deployments are loaded by the service module loader and unloaded on undeploy
+            return ((ModuleClassLoader) classLoader).getModule().getModuleLoader() == Module.getBootModuleLoader();
+        }
+        return false;
+    }
 }
@@ -68,6 +68,9 @@ public final class InstallReflectionIndexProcessor implements DeploymentUnitProc
     }
 
     public void undeploy(final DeploymentUnit context) {
+        // Release the indexes of the deployment classes, the shared indexes are kept
         context.removeAttachment(Attachments.REFLECTION_INDEX);
+        context.removeAttachment(Attachments.PROXY_REFLECTION_INDEX);
+        context.removeAttachment(Attachments.CLASS_INDEX);
     }
 }
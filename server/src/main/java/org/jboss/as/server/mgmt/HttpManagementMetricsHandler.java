@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.mgmt;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.domain.http.server.ManagementHttpRequestExecutor;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics about the requests of the HTTP management interface.
+ */
+public final class HttpManagementMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final SimpleAttributeDefinition ACTIVE_REQUESTS = new SimpleAttributeDefinitionBuilder("active-requests", ModelType.INT, false)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition QUEUED_REQUESTS = new SimpleAttributeDefinitionBuilder("queued-requests", ModelType.INT, false)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REJECTED_REQUESTS = new SimpleAttributeDefinitionBuilder("rejected-requests", ModelType.LONG, false)
+            .setStorageRuntime()
+            .build();
+
+    public static final AttributeDefinition[] METRICS = new AttributeDefinition[] {
+            ACTIVE_REQUESTS, QUEUED_REQUESTS, REJECTED_REQUESTS
+    };
+
+    public static final HttpManagementMetricsHandler INSTANCE = new HttpManagementMetricsHandler();
+
+    private HttpManagementMetricsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> service = context.getServiceRegistry(false).getService(UndertowHttpManagementService.SERVICE_NAME);
+        final ManagementHttpRequestExecutor executor = service == null || service.getState() != ServiceController.State.UP
+                ? null : ((UndertowHttpManagementService) service.getService()).getRequestExecutor();
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ModelNode result = context.getResult();
+        if (ACTIVE_REQUESTS.getName().equals(name)) {
+            result.set(executor == null ? 0 : executor.getActiveRequests());
+        } else if (QUEUED_REQUESTS.getName().equals(name)) {
+            result.set(executor == null ? 0 : executor.getQueuedRequests());
+        } else if (REJECTED_REQUESTS.getName().equals(name)) {
+            result.set(executor == null ? 0L : executor.getRejectedRequests());
+        }
+    }
+}
@@ -139,6 +139,9 @@ public class HttpManagementResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTE_DEFINITIONS) {
             resourceRegistration.registerReadWriteAttribute(attr, null, writeAttributeHandler);
         }
+        for (AttributeDefinition metric : HttpManagementMetricsHandler.METRICS) {
+            resourceRegistration.registerMetric(metric, HttpManagementMetricsHandler.INSTANCE);
+        }
     }
 
     @Override
@@ -34,6 +34,7 @@ import java.util.List;
 import org.jboss.as.controller.ControlledProcessStateService;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.domain.http.server.ConsoleMode;
+import org.jboss.as.domain.http.server.ManagementHttpRequestExecutor;
 import org.jboss.as.domain.http.server.ManagementHttpRequestProcessor;
 import org.jboss.as.domain.http.server.ManagementHttpServer;
 import org.jboss.as.domain.management.SecurityRealm;
@@ -312,6 +313,15 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
         return httpManagement;
     }
 
+    /**
+     * Gets the executor of the management requests of the running HTTP server.
+     *
+     * @return the request executor, or {@code null} if the server is not running
+     */
+    public synchronized ManagementHttpRequestExecutor getRequestExecutor() {
+        return serverManagement == null ? null : serverManagement.getRequestExecutor();
+    }
+
     /**
      * Get the interface binding injector.
      *
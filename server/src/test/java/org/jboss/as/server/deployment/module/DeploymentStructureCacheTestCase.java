@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.jboss.as.server.deployment.Attachable;
+import org.jboss.modules.ModuleFinder;
+import org.jboss.modules.ModuleLoader;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentStructureCache}.
+ */
+public class DeploymentStructureCacheTestCase {
+
+    private static final byte[] HASH = {1, 2, 3, 4};
+    private static final byte[] OTHER_HASH = {5, 6, 7, 8};
+
+    private final ModuleLoader moduleLoader = new ModuleLoader(new ModuleFinder[0]);
+
+    @Test
+    public void testSameContentSharesEntry() {
+        final DeploymentStructureCache cache = new DeploymentStructureCache(8);
+        final Attachable entry = cache.getEntry(HASH, "test.war", null, moduleLoader);
+        assertNotNull(entry);
+        assertSame(entry, cache.getEntry(HASH.clone(), "test.war", null, moduleLoader));
+        assertNotSame(entry, cache.getEntry(OTHER_HASH, "test.war", null, moduleLoader));
+        assertNotSame(entry, cache.getEntry(HASH, "other.war", null, moduleLoader));
+    }
+
+    @Test
+    public void testUnmanagedContentIsNotCached() {
+        final DeploymentStructureCache cache = new DeploymentStructureCache(8);
+        assertNull(cache.getEntry(null, "test.war", null, moduleLoader));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testModuleLoaderChangeClearsCache() {
+        final DeploymentStructureCache cache = new DeploymentStructureCache(8);
+        final Attachable entry = cache.getEntry(HASH, "test.war", null, moduleLoader);
+        cache.getEntry(OTHER_HASH, "other.war", null, moduleLoader);
+        assertEquals(2, cache.size());
+        final Attachable reloaded = cache.getEntry(HASH, "test.war", null, new ModuleLoader(new ModuleFinder[0]));
+        assertNotSame(entry, reloaded);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEldestEntryIsEvicted() {
+        final DeploymentStructureCache cache = new DeploymentStructureCache(2);
+        final Attachable first = cache.getEntry(HASH, "first.war", null, moduleLoader);
+        cache.getEntry(HASH, "second.war", null, moduleLoader);
+        cache.getEntry(HASH, "third.war", null, moduleLoader);
+        assertEquals(2, cache.size());
+        assertNotSame(first, cache.getEntry(HASH, "first.war", null, moduleLoader));
+    }
+}
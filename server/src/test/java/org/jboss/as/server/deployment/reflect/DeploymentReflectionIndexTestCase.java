@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentReflectionIndex}.
+ */
+public class DeploymentReflectionIndexTestCase {
+
+    @Test
+    public void testJdkClassIndexIsShared() {
+        final DeploymentReflectionIndex first = DeploymentReflectionIndex.create();
+        final DeploymentReflectionIndex second = DeploymentReflectionIndex.create();
+        assertSame(first.getClassIndex(ArrayList.class), second.getClassIndex(ArrayList.class));
+        assertNotNull(first.getClassIndex(ArrayList.class).getMethod(boolean.class, "add", Object.class));
+    }
+
+    @Test
+    public void testApplicationClassIndexIsNotShared() {
+        final DeploymentReflectionIndex first = DeploymentReflectionIndex.create();
+        final DeploymentReflectionIndex second = DeploymentReflectionIndex.create();
+        final ClassReflectionIndex<Indexed> index = first.getClassIndex(Indexed.class);
+        assertSame(index, first.getClassIndex(Indexed.class));
+        assertNotSame(index, second.getClassIndex(Indexed.class));
+    }
+
+    @Test
+    public void testClassMethodsIncludeSharedSuperclass() throws Exception {
+        final DeploymentReflectionIndex index = DeploymentReflectionIndex.create();
+        final Method method = index.getClassIndex(Object.class).getMethod(String.class, "toString");
+        assertNotNull(method);
+        assertEquals(true, index.getClassIndex(Indexed.class).getClassMethods().contains(method));
+    }
+
+    @Test
+    public void testConcurrentGetClassIndex() throws Exception {
+        final DeploymentReflectionIndex index = DeploymentReflectionIndex.create();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final Callable<ClassReflectionIndex<Indexed>> task = new Callable<ClassReflectionIndex<Indexed>>() {
+                @Override
+                public ClassReflectionIndex<Indexed> call() {
+                    return index.getClassIndex(Indexed.class);
+                }
+            };
+            final List<Future<ClassReflectionIndex<Indexed>>> results = executor.invokeAll(Collections.nCopies(32, task));
+            final ClassReflectionIndex<Indexed> expected = index.getClassIndex(Indexed.class);
+            for (Future<ClassReflectionIndex<Indexed>> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class Indexed {
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
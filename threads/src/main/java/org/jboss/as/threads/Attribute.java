@@ -32,15 +32,20 @@ public enum Attribute {
     UNKNOWN(null),
     /* Threads 1.0 attributes, in alpha order */
     ALLOW_CORE_TIMEOUT(CommonAttributes.ALLOW_CORE_TIMEOUT),
+    ASYNC_MODE(CommonAttributes.ASYNC_MODE),
     BLOCKING(CommonAttributes.BLOCKING),
     CORE_THREADS(CommonAttributes.CORE_THREADS),
     COUNT(CommonAttributes.COUNT),
+    ENABLED(CommonAttributes.ENABLED),
     GROUP_NAME(CommonAttributes.GROUP_NAME),
     MAX_THREADS(CommonAttributes.MAX_THREADS),
+    MIN_THREADS(CommonAttributes.MIN_THREADS),
     NAME(CommonAttributes.NAME),
+    PARALLELISM(CommonAttributes.PARALLELISM),
     PER_CPU(CommonAttributes.PER_CPU),
     PRIORITY(CommonAttributes.PRIORITY),
     QUEUE_LENGTH(CommonAttributes.QUEUE_LENGTH),
+    TARGET_QUEUE_WAIT(CommonAttributes.TARGET_QUEUE_WAIT),
     THREAD_NAME_PATTERN(CommonAttributes.THREAD_NAME_PATTERN),
     TIME(CommonAttributes.TIME),
     UNIT(CommonAttributes.UNIT),
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service providing the scheduler that periodically adjusts the sizes of the auto-tuned bounded queue thread pools.
+ * <p/>
+ * The service is started on demand by the thread pool services, and its thread is created by a
+ * {@link ThreadFactoryService} of its own.
+ */
+final class AutoTuneSchedulerService implements Service<ScheduledExecutorService> {
+
+    static final ServiceName SERVICE_NAME = ThreadsServices.THREAD.append("auto-tune-scheduler");
+
+    private static final ServiceName THREAD_FACTORY_SERVICE_NAME = SERVICE_NAME.append("thread-factory");
+
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Installs the service, unless it is already installed.
+     *
+     * @param context the context of the operation adding a thread pool
+     */
+    static void addService(final OperationContext context) {
+        if (context.getServiceRegistry(false).getService(SERVICE_NAME) != null) {
+            return;
+        }
+        final ServiceTarget target = context.getServiceTarget();
+        final ThreadFactoryService threadFactory = new ThreadFactoryService();
+        threadFactory.setThreadGroupName("auto-tune-scheduler-threads");
+        threadFactory.setNamePattern("%G - %t");
+        target.addService(THREAD_FACTORY_SERVICE_NAME, threadFactory)
+                .setInitialMode(ServiceController.Mode.ON_DEMAND)
+                .install();
+        final AutoTuneSchedulerService service = new AutoTuneSchedulerService();
+        target.addService(SERVICE_NAME, service)
+                .addDependency(THREAD_FACTORY_SERVICE_NAME, ThreadFactory.class, service.threadFactoryValue)
+                .setInitialMode(ServiceController.Mode.ON_DEMAND)
+                .install();
+    }
+
+    @Override
+    public synchronized void start(final StartContext context) throws StartException {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactoryValue.getValue());
+        scheduler.setKeepAliveTime(ThreadPoolAutoTuner.INTERVAL_SECONDS * 2, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public synchronized void stop(final StopContext context) {
+        // The thread pools depending on this service already cancelled their adjustments
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized ScheduledExecutorService getValue() throws IllegalStateException {
+        final ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler == null) {
+            throw ThreadsLogger.ROOT_LOGGER.autoTuneSchedulerUninitialized();
+        }
+        return scheduler;
+    }
+}
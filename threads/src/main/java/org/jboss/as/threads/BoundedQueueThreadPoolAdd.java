@@ -21,12 +21,17 @@
  */
 package org.jboss.as.threads;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.notification.NotificationSupport;
+import org.jboss.as.controller.notification.NotificationSupportService;
 import org.jboss.as.threads.ThreadPoolManagementUtils.BoundedThreadPoolParameters;
 import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
 
 /**
@@ -41,13 +46,15 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
     static final AttributeDefinition[] BLOCKING_ATTRIBUTES = new AttributeDefinition[] {PoolAttributeDefinitions.KEEPALIVE_TIME,
         PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY,
         PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.QUEUE_LENGTH,
-        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT};
+        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT, PoolAttributeDefinitions.AUTO_TUNE,
+        PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS, PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT};
 
     static final AttributeDefinition[] NON_BLOCKING_ATTRIBUTES = new AttributeDefinition[BLOCKING_ATTRIBUTES.length + 1] ;
 
     static final AttributeDefinition[] RW_ATTRIBUTES = new AttributeDefinition[] {PoolAttributeDefinitions.KEEPALIVE_TIME,
         PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.CORE_THREADS, PoolAttributeDefinitions.QUEUE_LENGTH,
-        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT};
+        PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT, PoolAttributeDefinitions.AUTO_TUNE,
+        PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS, PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT};
 
     static {
         System.arraycopy(BLOCKING_ATTRIBUTES, 0, NON_BLOCKING_ATTRIBUTES, 0, BLOCKING_ATTRIBUTES.length);
@@ -81,10 +88,21 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
                 params.getKeepAliveTime(),
                 params.isAllowCoreTimeout());
 
-        ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), serviceNameBase,
+        service.setAddress(context.getCurrentAddress());
+        service.setAutoTune(PoolAttributeDefinitions.AUTO_TUNE.resolveModelAttribute(context, model).asBoolean(),
+                PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.resolveModelAttribute(context, model).asInt(),
+                PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.resolveModelAttribute(context, model).asLong());
+
+        AutoTuneSchedulerService.addService(context);
+        ThreadPoolManagementUtils.createThreadPoolService(service, params.getName(), serviceNameBase,
                 params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
                 params.getHandoffExecutor(), handoffExecutorResolver, blocking ?  null : service.getHandoffExecutorInjector(),
-                context.getServiceTarget());
+                context.getServiceTarget())
+                .addDependency(ServiceBuilder.DependencyType.OPTIONAL, NotificationSupportService.SERVICE_NAME,
+                        NotificationSupport.class, service.getNotificationSupportInjector())
+                .addDependency(AutoTuneSchedulerService.SERVICE_NAME, ScheduledExecutorService.class,
+                        service.getAutoTuneSchedulerInjector())
+                .install();
     }
 
     boolean isBlocking() {
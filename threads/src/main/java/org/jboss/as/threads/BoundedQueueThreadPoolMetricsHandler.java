@@ -41,7 +41,9 @@ public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandl
 
     public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.CURRENT_THREAD_COUNT,
             PoolAttributeDefinitions.LARGEST_THREAD_COUNT, PoolAttributeDefinitions.REJECTED_COUNT,
-            PoolAttributeDefinitions.QUEUE_SIZE);
+            PoolAttributeDefinitions.QUEUE_SIZE, PoolAttributeDefinitions.QUEUE_WAIT_TIME,
+            PoolAttributeDefinitions.TASK_RUN_TIME, PoolAttributeDefinitions.EFFECTIVE_CORE_THREADS,
+            PoolAttributeDefinitions.EFFECTIVE_MAX_THREADS, PoolAttributeDefinitions.AUTO_TUNE_ADJUSTMENT_COUNT);
 
     public BoundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
         super(METRICS, serviceNameBase);
@@ -59,6 +61,16 @@ public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandl
             context.getResult().set(bounded.getRejectedCount());
         } else if (attributeName.equals(CommonAttributes.QUEUE_SIZE)) {
             context.getResult().set(bounded.getQueueSize());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME)) {
+            setTaskTimeResult(context, bounded.getQueueWaitTime());
+        } else if (attributeName.equals(CommonAttributes.TASK_RUN_TIME)) {
+            setTaskTimeResult(context, bounded.getTaskRunTime());
+        } else if (attributeName.equals(CommonAttributes.EFFECTIVE_CORE_THREADS)) {
+            context.getResult().set(bounded.getEffectiveCoreThreads());
+        } else if (attributeName.equals(CommonAttributes.EFFECTIVE_MAX_THREADS)) {
+            context.getResult().set(bounded.getEffectiveMaxThreads());
+        } else if (attributeName.equals(CommonAttributes.AUTO_TUNE_ADJUSTMENT_COUNT)) {
+            context.getResult().set(bounded.getAutoTuneAdjustmentCount());
         } else {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedBoundedQueueThreadPoolMetric(attributeName);
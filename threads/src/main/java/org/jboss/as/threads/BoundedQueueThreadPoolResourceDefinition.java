@@ -22,13 +22,20 @@
 
 package org.jboss.as.threads;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+
+import java.util.ResourceBundle;
+
+import org.jboss.as.controller.NotificationDefinition;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ReadResourceNameOperationStepHandler;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceName;
 
 /**
@@ -38,6 +45,19 @@ import org.jboss.msc.service.ServiceName;
  */
 public class BoundedQueueThreadPoolResourceDefinition extends SimpleResourceDefinition {
 
+    private static final NotificationDefinition.DataValueDescriptor POOL_RESIZED_DATA = new NotificationDefinition.DataValueDescriptor() {
+        @Override
+        public ModelNode describe(ResourceBundle bundle) {
+            final String prefix = "threadpool.common." + BoundedQueueThreadPoolService.POOL_RESIZED_NOTIFICATION + ".";
+            final ModelNode desc = new ModelNode();
+            for (String field : new String[] {BoundedQueueThreadPoolService.PREVIOUS_CORE_THREADS,
+                    BoundedQueueThreadPoolService.PREVIOUS_MAX_THREADS, CommonAttributes.CORE_THREADS, CommonAttributes.MAX_THREADS}) {
+                desc.get(field, DESCRIPTION).set(bundle.getString(prefix + field));
+            }
+            return desc;
+        }
+    };
+
     public static BoundedQueueThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly) {
         if (blocking) {
             return create(CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
@@ -92,6 +112,14 @@ public class BoundedQueueThreadPoolResourceDefinition extends SimpleResourceDefi
         }
     }
 
+    @Override
+    public void registerNotifications(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerNotification(NotificationDefinition.Builder.create(BoundedQueueThreadPoolService.POOL_RESIZED_NOTIFICATION,
+                getResourceDescriptionResolver())
+                .setDataValueDescriptor(POOL_RESIZED_DATA)
+                .build());
+    }
+
     public static void registerTransformers1_0(ResourceTransformationDescriptionBuilder parent) {
         registerTransformers1_0(parent, CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL);
         registerTransformers1_0(parent, CommonAttributes.BOUNDED_QUEUE_THREAD_POOL);
@@ -101,7 +129,16 @@ public class BoundedQueueThreadPoolResourceDefinition extends SimpleResourceDefi
         parent.addChildResource(PathElement.pathElement(type))
             .getAttributeBuilder()
                 .addRejectCheck(RejectAttributeChecker.SIMPLE_EXPRESSIONS, PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT)
-                .addRejectCheck(KeepAliveTimeAttributeDefinition.TRANSFORMATION_CHECKER, PoolAttributeDefinitions.KEEPALIVE_TIME);
+                .addRejectCheck(KeepAliveTimeAttributeDefinition.TRANSFORMATION_CHECKER, PoolAttributeDefinitions.KEEPALIVE_TIME)
+                // legacy hosts don't auto-tune, so the auto-tune attributes can only be dropped while they have their defaults
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, PoolAttributeDefinitions.AUTO_TUNE.getDefaultValue()),
+                        PoolAttributeDefinitions.AUTO_TUNE)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.getDefaultValue()),
+                        PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.getDefaultValue()),
+                        PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.AUTO_TUNE,
+                        PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS, PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT);
     }
 
 }
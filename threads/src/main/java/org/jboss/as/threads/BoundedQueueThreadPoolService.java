@@ -22,6 +22,11 @@
 
 package org.jboss.as.threads;
 
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationSupport;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -31,18 +36,30 @@ import org.jboss.msc.value.InjectedValue;
 import org.jboss.threads.QueueExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for creating, starting and stopping a thread pool executor with a bounded queue.
+ * <p/>
+ * When auto-tuning is enabled the core and maximum sizes of the executor are periodically adjusted by a
+ * {@link ThreadPoolAutoTuner}, between the auto-tune minimum and the configured maximum size, and each adjustment is
+ * emitted as a {@link #POOL_RESIZED_NOTIFICATION} notification.
  *
  * @author John E. Bailey
  */
 public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecutorService> {
 
+    static final String POOL_RESIZED_NOTIFICATION = "pool-resized";
+    static final String PREVIOUS_CORE_THREADS = "previous-core-threads";
+    static final String PREVIOUS_MAX_THREADS = "previous-max-threads";
+
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
+    private final InjectedValue<NotificationSupport> notificationSupportValue = new InjectedValue<NotificationSupport>();
+    private final InjectedValue<ScheduledExecutorService> autoTuneSchedulerValue = new InjectedValue<ScheduledExecutorService>();
     private final boolean blocking;
     private final int queueLength;
 
@@ -53,6 +70,17 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
     private TimeSpec keepAlive;
     private boolean allowCoreTimeout;
 
+    private PathAddress address;
+    private boolean autoTune;
+    private int autoTuneMinThreads = 1;
+    private long autoTuneTargetQueueWait = 100;
+    private ScheduledFuture<?> autoTuning;
+    private long lastAutoTuningTime;
+    private LatencyHistogram.Snapshot lastQueueWaitTime;
+    private LatencyHistogram.Snapshot lastRunTime;
+    private int lastRejectedCount;
+    private volatile long autoTuneAdjustmentCount;
+
     public BoundedQueueThreadPoolService(int coreThreads, int maxThreads, int queueLength, boolean blocking, TimeSpec keepAlive, boolean allowCoreTimeout) {
         this.coreThreads = coreThreads;
         this.maxThreads = maxThreads;
@@ -68,11 +96,15 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         QueueExecutor queueExecutor = new QueueExecutor(coreThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
         queueExecutor.setAllowCoreThreadTimeout(allowCoreTimeout);
         executor = new ManagedQueueExecutorService(queueExecutor);
+        if (autoTune) {
+            startAutoTuning();
+        }
     }
 
     public void stop(final StopContext context) {
         final ManagedQueueExecutorService executor;
         synchronized (this) {
+            stopAutoTuning();
             executor = this.executor;
             this.executor = null;
         }
@@ -100,6 +132,126 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         return handoffExecutorValue;
     }
 
+    Injector<NotificationSupport> getNotificationSupportInjector() {
+        return notificationSupportValue;
+    }
+
+    Injector<ScheduledExecutorService> getAutoTuneSchedulerInjector() {
+        return autoTuneSchedulerValue;
+    }
+
+    /**
+     * Sets the address of the resource of this pool, which is the source of the notifications it emits.
+     *
+     * @param address the address of the pool resource
+     */
+    synchronized void setAddress(PathAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * Configures the auto-tuning of the pool sizes.
+     *
+     * @param autoTune whether the pool sizes are adjusted from the observed load
+     * @param minThreads the lowest core size the pool can be adjusted to
+     * @param targetQueueWait the time in milliseconds that most tasks should not wait longer than
+     */
+    public synchronized void setAutoTune(boolean autoTune, int minThreads, long targetQueueWait) {
+        this.autoTuneMinThreads = minThreads;
+        this.autoTuneTargetQueueWait = targetQueueWait;
+        if (this.autoTune != autoTune) {
+            this.autoTune = autoTune;
+            final ManagedQueueExecutorService executor = this.executor;
+            if (executor != null) {
+                if (autoTune) {
+                    startAutoTuning();
+                } else {
+                    stopAutoTuning();
+                    // Go back to the configured sizes
+                    resize(executor, coreThreads, maxThreads);
+                }
+            }
+        }
+    }
+
+    private void startAutoTuning() {
+        final ManagedQueueExecutorService executor = this.executor;
+        lastAutoTuningTime = System.nanoTime();
+        lastQueueWaitTime = executor.getQueueWaitTime().snapshot();
+        lastRunTime = executor.getTaskRunTime().snapshot();
+        lastRejectedCount = executor.getRejectedCount();
+        autoTuning = autoTuneSchedulerValue.getValue().scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                autoTune();
+            }
+        }, ThreadPoolAutoTuner.INTERVAL_SECONDS, ThreadPoolAutoTuner.INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void stopAutoTuning() {
+        if (autoTuning != null) {
+            autoTuning.cancel(false);
+            autoTuning = null;
+        }
+    }
+
+    synchronized void autoTune() {
+        final ManagedQueueExecutorService executor = this.executor;
+        if (executor == null || autoTuning == null) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final LatencyHistogram.Snapshot queueWaitTime = executor.getQueueWaitTime().snapshot();
+        final LatencyHistogram.Snapshot runTime = executor.getTaskRunTime().snapshot();
+        final int rejectedCount = executor.getRejectedCount();
+        final long elapsed = TimeUnit.NANOSECONDS.toMicros(now - lastAutoTuningTime);
+        final int threads = Math.max(1, executor.getCurrentThreadCount());
+        final double utilization = elapsed <= 0 ? 0 : (double) runTime.since(lastRunTime).getTotal() / ((double) elapsed * threads);
+        final long queueWait = queueWaitTime.since(lastQueueWaitTime).getPercentile(90);
+        final long rejected = rejectedCount - lastRejectedCount;
+        lastAutoTuningTime = now;
+        lastQueueWaitTime = queueWaitTime;
+        lastRunTime = runTime;
+        lastRejectedCount = rejectedCount;
+
+        final ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(autoTuneMinThreads, maxThreads,
+                TimeUnit.MILLISECONDS.toMicros(autoTuneTargetQueueWait));
+        final int previousCoreThreads = executor.getCoreThreads();
+        final int previousMaxThreads = executor.getMaxThreads();
+        if (tuner.tune(previousCoreThreads, previousMaxThreads, queueWait, utilization, rejected)) {
+            resize(executor, tuner.getCoreThreads(), tuner.getMaxThreads());
+            autoTuneAdjustmentCount++;
+            emitPoolResized(previousCoreThreads, previousMaxThreads, tuner.getCoreThreads(), tuner.getMaxThreads());
+        }
+    }
+
+    private static void resize(ManagedQueueExecutorService executor, int coreThreads, int maxThreads) {
+        // The core size never goes over the maximum size, even in between
+        if (coreThreads > executor.getMaxThreads()) {
+            executor.setMaxThreads(maxThreads);
+            executor.setCoreThreads(coreThreads);
+        } else {
+            executor.setCoreThreads(coreThreads);
+            executor.setMaxThreads(maxThreads);
+        }
+    }
+
+    private void emitPoolResized(int previousCoreThreads, int previousMaxThreads, int coreThreads, int maxThreads) {
+        final NotificationSupport notificationSupport = notificationSupportValue.getOptionalValue();
+        if (notificationSupport == null || address == null) {
+            return;
+        }
+        final ModelNode data = new ModelNode();
+        data.get(PREVIOUS_CORE_THREADS).set(previousCoreThreads);
+        data.get(PREVIOUS_MAX_THREADS).set(previousMaxThreads);
+        data.get(CommonAttributes.CORE_THREADS).set(coreThreads);
+        data.get(CommonAttributes.MAX_THREADS).set(maxThreads);
+        final String name = address.getLastElement().getValue();
+        notificationSupport.emit(new Notification(POOL_RESIZED_NOTIFICATION, address,
+                ThreadsLogger.ROOT_LOGGER.threadPoolResized(name, previousCoreThreads, previousMaxThreads, coreThreads, maxThreads),
+                data));
+    }
+
     public synchronized void setCoreThreads(int coreThreads) {
         this.coreThreads = coreThreads;
         final ManagedQueueExecutorService executor = this.executor;
@@ -154,4 +306,24 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         final ManagedQueueExecutorService executor = getValue();
         return executor.getQueueSize();
     }
+
+    LatencyHistogram getQueueWaitTime() {
+        return getValue().getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return getValue().getTaskRunTime();
+    }
+
+    public int getEffectiveCoreThreads() {
+        return getValue().getCoreThreads();
+    }
+
+    public int getEffectiveMaxThreads() {
+        return getValue().getMaxThreads();
+    }
+
+    public long getAutoTuneAdjustmentCount() {
+        return autoTuneAdjustmentCount;
+    }
 }
@@ -78,6 +78,12 @@ public class BoundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteAtt
             }
         } else if (PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT.getName().equals(attributeName)) {
             pool.setAllowCoreTimeout(PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT.resolveModelAttribute(context, model).asBoolean());
+        } else if (PoolAttributeDefinitions.AUTO_TUNE.getName().equals(attributeName)
+                || PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.getName().equals(attributeName)
+                || PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.getName().equals(attributeName)) {
+            pool.setAutoTune(PoolAttributeDefinitions.AUTO_TUNE.resolveModelAttribute(context, model).asBoolean(),
+                    PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.resolveModelAttribute(context, model).asInt(),
+                    PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.resolveModelAttribute(context, model).asLong());
         } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedBoundedQueueThreadPoolAttribute(attributeName);
@@ -27,6 +27,11 @@ package org.jboss.as.threads;
 public interface CommonAttributes {
     String ACTIVE_COUNT = "active-count";
     String ALLOW_CORE_TIMEOUT = "allow-core-timeout";
+    String ASYNC_MODE = "async-mode";
+    String AUTO_TUNE = "auto-tune";
+    String AUTO_TUNE_ADJUSTMENT_COUNT = "auto-tune-adjustment-count";
+    String AUTO_TUNE_MIN_THREADS = "auto-tune-min-threads";
+    String AUTO_TUNE_TARGET_QUEUE_WAIT = "auto-tune-target-queue-wait";
     String BLOCKING = "blocking";
     String BLOCKING_BOUNDED_QUEUE_THREAD_POOL = "blocking-bounded-queue-thread-pool";
     String BLOCKING_QUEUELESS_THREAD_POOL = "blocking-queueless-thread-pool";
@@ -35,22 +40,40 @@ public interface CommonAttributes {
     String CORE_THREADS = "core-threads";
     String COUNT = "count";
     String CURRENT_THREAD_COUNT = "current-thread-count";
+    String EFFECTIVE_CORE_THREADS = "effective-core-threads";
+    String EFFECTIVE_MAX_THREADS = "effective-max-threads";
+    String ENABLED = "enabled";
+    String FORK_JOIN_POOL = "fork-join-pool";
     String PER_CPU = "per-cpu";
     String HANDOFF_EXECUTOR = "handoff-executor";
     String LARGEST_THREAD_COUNT = "largest-thread-count";
     String NAME = "name";
+    String PARALLELISM = "parallelism";
     String GROUP_NAME = "group-name";
     String KEEPALIVE_TIME = "keepalive-time";
+    String MAX = "max";
     String MAX_THREADS = "max-threads";
+    String MEAN = "mean";
+    String MIN_THREADS = "min-threads";
+    String PERCENTILE_50 = "50th-percentile";
+    String PERCENTILE_90 = "90th-percentile";
+    String PERCENTILE_99 = "99th-percentile";
     String PRIORITY = "priority";
     String PROPERTIES = "properties";
     String PROPERTY = "property";
     String QUEUELESS_THREAD_POOL = "queueless-thread-pool";
     String QUEUE_LENGTH = "queue-length";
     String QUEUE_SIZE = "queue-size";
+    String QUEUE_WAIT_TIME = "queue-wait-time";
+    String QUEUED_SUBMISSION_COUNT = "queued-submission-count";
+    String QUEUED_TASK_COUNT = "queued-task-count";
     String REJECTED_COUNT = "rejected-count";
+    String RUNNING_THREAD_COUNT = "running-thread-count";
     String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
+    String STEAL_COUNT = "steal-count";
+    String TARGET_QUEUE_WAIT = "target-queue-wait";
     String TASK_COUNT = "task-count";
+    String TASK_RUN_TIME = "task-run-time";
     String THREADS = "threads";
     String TIME = "time";
     String THREAD_FACTORY = "thread-factory";
@@ -58,4 +81,5 @@ public interface CommonAttributes {
     String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     String UNIT = "unit";
     String VALUE = "value";
+    String VIRTUAL_THREAD_EXECUTOR = "virtual-thread-executor";
 }
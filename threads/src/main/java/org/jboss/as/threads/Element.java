@@ -48,6 +48,11 @@ public enum Element {
     SUBSYSTEM(org.jboss.as.controller.parsing.Element.SUBSYSTEM.getLocalName()),
     THREAD_FACTORY(CommonAttributes.THREAD_FACTORY),
     UNBOUNDED_QUEUE_THREAD_POOL(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL),
+
+    // Threads 1.2 elements
+    AUTO_TUNE(CommonAttributes.AUTO_TUNE),
+    FORK_JOIN_POOL(CommonAttributes.FORK_JOIN_POOL),
+    VIRTUAL_THREAD_EXECUTOR(CommonAttributes.VIRTUAL_THREAD_EXECUTOR),
     ;
 
     private final String name;
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.threads.ForkJoinPoolResourceDefinition.FORK_JOIN_POOL_CAPABILITY;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+
+/**
+ * Adds a work-stealing fork join pool.
+ */
+public class ForkJoinPoolAdd extends AbstractAddStepHandler {
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] {PoolAttributeDefinitions.PARALLELISM,
+        PoolAttributeDefinitions.ASYNC_MODE, PoolAttributeDefinitions.THREAD_FACTORY};
+
+    private final ThreadFactoryResolver threadFactoryResolver;
+    private final ServiceName serviceNameBase;
+
+    public ForkJoinPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase) {
+        super(FORK_JOIN_POOL_CAPABILITY, ATTRIBUTES);
+        this.threadFactoryResolver = threadFactoryResolver;
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+
+        final String name = context.getCurrentAddressValue();
+        final ModelNode parallelism = PoolAttributeDefinitions.PARALLELISM.resolveModelAttribute(context, model);
+        final boolean asyncMode = PoolAttributeDefinitions.ASYNC_MODE.resolveModelAttribute(context, model).asBoolean();
+        final ModelNode threadFactory = PoolAttributeDefinitions.THREAD_FACTORY.resolveModelAttribute(context, model);
+
+        // Also registered under the name of the executors so it can be referenced like the other pools
+        final ServiceName serviceName = FORK_JOIN_POOL_CAPABILITY.getCapabilityServiceName(name, ForkJoinPool.class);
+        final ServiceTarget target = context.getServiceTarget();
+        final ServiceName threadFactoryServiceName = threadFactoryResolver.resolveThreadFactory(
+                threadFactory.isDefined() ? threadFactory.asString() : null, name, serviceName, target);
+        final ForkJoinPoolService service = new ForkJoinPoolService(threadFactoryServiceName,
+                parallelism.isDefined() ? parallelism.asInt() : 0, asyncMode);
+        target.addService(serviceName, service)
+                .addAliases(serviceNameBase.append(name))
+                .addDependency(threadFactoryServiceName)
+                .install();
+    }
+
+    ThreadFactoryResolver getThreadFactoryResolver() {
+        return threadFactoryResolver;
+    }
+}
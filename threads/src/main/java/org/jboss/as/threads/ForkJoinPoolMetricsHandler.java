@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Handles metrics for a fork join pool.
+ */
+public class ForkJoinPoolMetricsHandler extends ThreadPoolMetricsHandler {
+
+    public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.CURRENT_THREAD_COUNT,
+            PoolAttributeDefinitions.ACTIVE_COUNT, PoolAttributeDefinitions.RUNNING_THREAD_COUNT,
+            PoolAttributeDefinitions.STEAL_COUNT, PoolAttributeDefinitions.QUEUED_SUBMISSION_COUNT,
+            PoolAttributeDefinitions.QUEUED_TASK_COUNT);
+
+    public ForkJoinPoolMetricsHandler(final ServiceName serviceNameBase) {
+        super(METRICS, serviceNameBase);
+    }
+
+    @Override
+    protected void setResult(OperationContext context, final String attributeName, final Service<?> service)
+            throws OperationFailedException {
+        final ForkJoinPoolService pool = (ForkJoinPoolService) service;
+        if (attributeName.equals(CommonAttributes.CURRENT_THREAD_COUNT)) {
+            context.getResult().set(pool.getCurrentThreadCount());
+        } else if (attributeName.equals(CommonAttributes.ACTIVE_COUNT)) {
+            context.getResult().set(pool.getActiveCount());
+        } else if (attributeName.equals(CommonAttributes.RUNNING_THREAD_COUNT)) {
+            context.getResult().set(pool.getRunningThreadCount());
+        } else if (attributeName.equals(CommonAttributes.STEAL_COUNT)) {
+            context.getResult().set(pool.getStealCount());
+        } else if (attributeName.equals(CommonAttributes.QUEUED_SUBMISSION_COUNT)) {
+            context.getResult().set(pool.getQueuedSubmissionCount());
+        } else if (attributeName.equals(CommonAttributes.QUEUED_TASK_COUNT)) {
+            context.getResult().set(pool.getQueuedTaskCount());
+        } else {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw ThreadsLogger.ROOT_LOGGER.unsupportedForkJoinPoolMetric(attributeName);
+        }
+    }
+}
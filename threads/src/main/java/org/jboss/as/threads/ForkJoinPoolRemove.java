@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.threads.ForkJoinPoolResourceDefinition.FORK_JOIN_POOL_CAPABILITY;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Removes a work-stealing fork join pool.
+ */
+public class ForkJoinPoolRemove extends AbstractRemoveStepHandler {
+
+    private final ForkJoinPoolAdd addHandler;
+
+    public ForkJoinPoolRemove(ForkJoinPoolAdd addHandler) {
+        super(FORK_JOIN_POOL_CAPABILITY);
+        this.addHandler = addHandler;
+    }
+
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        final String name = context.getCurrentAddressValue();
+        final ModelNode threadFactory = PoolAttributeDefinitions.THREAD_FACTORY.resolveModelAttribute(context, model);
+        final ServiceName serviceName = FORK_JOIN_POOL_CAPABILITY.getCapabilityServiceName(name, ForkJoinPool.class);
+        context.removeService(serviceName);
+        addHandler.getThreadFactoryResolver().releaseThreadFactory(threadFactory.isDefined() ? threadFactory.asString() : null,
+                name, serviceName, context);
+    }
+
+    protected void recoverServices(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        addHandler.performRuntime(context, operation, model);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReadResourceNameOperationStepHandler;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for a work-stealing fork join pool.
+ */
+public class ForkJoinPoolResourceDefinition extends SimpleResourceDefinition {
+
+    /**
+     * The capability provided by a fork join pool, whose service value is a {@link ForkJoinPool}.
+     */
+    public static final String FORK_JOIN_POOL_CAPABILITY_NAME = "org.wildfly.threads.fork-join-pool";
+    static final RuntimeCapability<Void> FORK_JOIN_POOL_CAPABILITY =
+            RuntimeCapability.Builder.of(FORK_JOIN_POOL_CAPABILITY_NAME, true, ForkJoinPool.class).build();
+
+    public static ForkJoinPoolResourceDefinition create(boolean registerRuntimeOnly) {
+        return create(CommonAttributes.FORK_JOIN_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly);
+    }
+
+    public static ForkJoinPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                        ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        final ForkJoinPoolAdd addHandler = new ForkJoinPoolAdd(threadFactoryResolver, serviceNameBase);
+        return new ForkJoinPoolResourceDefinition(registerRuntimeOnly, type, serviceNameBase, addHandler);
+    }
+
+    private final boolean registerRuntimeOnly;
+    private final ServiceName serviceNameBase;
+
+    private ForkJoinPoolResourceDefinition(boolean registerRuntimeOnly, String type, ServiceName serviceNameBase,
+                                           ForkJoinPoolAdd addHandler) {
+        super(PathElement.pathElement(type),
+                new ThreadPoolResourceDescriptionResolver(CommonAttributes.FORK_JOIN_POOL, ThreadsExtension.RESOURCE_NAME,
+                        ThreadsExtension.class.getClassLoader()),
+                addHandler, new ForkJoinPoolRemove(addHandler));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerReadOnlyAttribute(PoolAttributeDefinitions.NAME, ReadResourceNameOperationStepHandler.INSTANCE);
+        new ForkJoinPoolWriteAttributeHandler().registerAttributes(resourceRegistration);
+        if (registerRuntimeOnly) {
+            new ForkJoinPoolMetricsHandler(serviceNameBase).registerAttributes(resourceRegistration);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing {@link java.util.concurrent.ForkJoinPool}.
+ */
+public class ForkJoinPoolService implements Service<ManagedForkJoinPool> {
+    private final ServiceName threadFactoryServiceName;
+    private final int parallelism;
+    private final boolean asyncMode;
+
+    private ManagedForkJoinPool pool;
+
+    /**
+     * Creates a new service.
+     *
+     * @param threadFactoryServiceName the name of the {@link ThreadFactoryService} whose settings the worker threads
+     *                                 are created with. The service must be a dependency of this service
+     * @param parallelism the parallelism level of the pool, or {@code 0} to use the number of available processors
+     * @param asyncMode {@code true} to process the tasks that are never joined in FIFO order
+     */
+    public ForkJoinPoolService(ServiceName threadFactoryServiceName, int parallelism, boolean asyncMode) {
+        this.threadFactoryServiceName = threadFactoryServiceName;
+        this.parallelism = parallelism;
+        this.asyncMode = asyncMode;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final int parallelism = this.parallelism > 0 ? this.parallelism : Runtime.getRuntime().availableProcessors();
+        // The worker threads are configured from the settings of the thread factory, as it can't create them itself
+        final Service<?> threadFactory = context.getController().getServiceContainer().getRequiredService(threadFactoryServiceName).getService();
+        pool = new ManagedForkJoinPool(parallelism, threadFactory instanceof ThreadFactoryService ? (ThreadFactoryService) threadFactory : null, asyncMode);
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedForkJoinPool pool;
+        synchronized (this) {
+            pool = this.pool;
+            this.pool = null;
+        }
+        // A ForkJoinPool offers no termination callback, the submitted tasks are completed after the service is down
+        pool.internalShutdown();
+    }
+
+    public synchronized ManagedForkJoinPool getValue() throws IllegalStateException {
+        final ManagedForkJoinPool value = this.pool;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.forkJoinPoolUninitialized();
+        }
+        return value;
+    }
+
+    public int getCurrentThreadCount() {
+        return getValue().getPoolSize();
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveThreadCount();
+    }
+
+    public int getRunningThreadCount() {
+        return getValue().getRunningThreadCount();
+    }
+
+    public long getStealCount() {
+        return getValue().getStealCount();
+    }
+
+    public int getQueuedSubmissionCount() {
+        return getValue().getQueuedSubmissionCount();
+    }
+
+    public long getQueuedTaskCount() {
+        return getValue().getQueuedTaskCount();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.threads.ForkJoinPoolResourceDefinition.FORK_JOIN_POOL_CAPABILITY;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Handles attribute writes for a fork join pool. The settings of a {@link ForkJoinPool} can't be changed once it is
+ * created, so all writes require a restart of the pool.
+ */
+public class ForkJoinPoolWriteAttributeHandler extends ThreadsWriteAttributeOperationHandler {
+
+    public ForkJoinPoolWriteAttributeHandler() {
+        super(ForkJoinPoolAdd.ATTRIBUTES, new AttributeDefinition[0]);
+    }
+
+    @Override
+    protected void applyOperation(final OperationContext context, ModelNode model, String attributeName,
+                                  ServiceController<?> service, boolean forRollback) throws OperationFailedException {
+        if (!forRollback) {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw ThreadsLogger.ROOT_LOGGER.unsupportedForkJoinPoolAttribute(attributeName);
+        }
+    }
+
+    @Override
+    protected ServiceController<?> getService(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final ServiceName serviceName = FORK_JOIN_POOL_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue(), ForkJoinPool.class);
+        ServiceController<?> controller = context.getServiceRegistry(true).getService(serviceName);
+        if (controller == null) {
+            throw ThreadsLogger.ROOT_LOGGER.forkJoinPoolServiceNotFound(serviceName);
+        }
+        return controller;
+    }
+}
@@ -28,13 +28,19 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.threads.JBossExecutors;
 
 
 /**
+ * Base class for the executors exposed by the subsystem resources, which can't be shut down by their users.
+ * <p/>
+ * The tasks given to {@code execute} and {@code submit} are timed, to expose how long they wait before running and how
+ * long they run. Tasks given to {@code invokeAll} and {@code invokeAny} are not.
  *
  * @author Alexey Loubyansky
  */
@@ -42,6 +48,8 @@ public abstract class ManagedExecutorService implements ExecutorService {
 
     private final ExecutorService executor;
 
+    private final TaskTimer timer = new TaskTimer();
+
     public ManagedExecutorService(ExecutorService executor) {
         if(executor == null) {
             throw ThreadsLogger.ROOT_LOGGER.nullExecutor();
@@ -55,13 +63,41 @@ public abstract class ManagedExecutorService implements ExecutorService {
 
     abstract void internalShutdown();
 
+    LatencyHistogram getQueueWaitTime() {
+        return timer.getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return timer.getRunTime();
+    }
+
+    /**
+     * Wraps a task so that it is timed, see {@link #discard(Runnable)} if the task is then not accepted.
+     */
+    final Runnable timed(Runnable task) {
+        return timer.wrap(task);
+    }
+
+    final void discard(Runnable task) {
+        timer.discard(task);
+    }
+
     /**
      * {@inheritDoc}
      * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        final Runnable task = timed(command);
+        boolean accepted = false;
+        try {
+            this.executor.execute(task);
+            accepted = true;
+        } finally {
+            if (!accepted) {
+                discard(task);
+            }
+        }
     }
 
     /**
@@ -116,7 +152,9 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        final FutureTask<T> future = new FutureTask<T>(task);
+        execute(future);
+        return future;
     }
 
     /**
@@ -125,7 +163,9 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        final FutureTask<T> future = new FutureTask<T>(task, result);
+        execute(future);
+        return future;
     }
 
     /**
@@ -134,7 +174,9 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        final FutureTask<Void> future = new FutureTask<Void>(task, null);
+        execute(future);
+        return future;
     }
 
     /**
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ForkJoinPool} whose life cycle is managed by its service, so it can't be shut down by its users.
+ */
+public class ManagedForkJoinPool extends ForkJoinPool {
+
+    /**
+     * @param parallelism the parallelism level
+     * @param threadFactory the configuration of the worker threads, or {@code null} for the defaults of {@link ForkJoinPool}
+     * @param asyncMode {@code true} to process the tasks that are never joined in FIFO order
+     */
+    ManagedForkJoinPool(int parallelism, ThreadFactoryService threadFactory, boolean asyncMode) {
+        super(parallelism, threadFactory == null ? defaultForkJoinWorkerThreadFactory
+                : new WorkerThreadFactory(threadFactory.getThreadGroupName(), threadFactory.getPriority(), threadFactory.getNamePattern()),
+                null, asyncMode);
+    }
+
+    void internalShutdown() {
+        super.shutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        // Don't shutdown managed pool
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // Don't shutdown managed pool
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates the worker threads of the pool with the settings of a {@link ThreadFactoryService}, as a
+     * {@link ForkJoinPool} can only run {@link ForkJoinWorkerThread}s. The name pattern is interpreted as by
+     * {@link org.jboss.threads.JBossThreadFactory}. A {@link ForkJoinWorkerThread} can't be created in a given thread
+     * group, so the group only provides the {@code %G} and {@code %p} values of the name pattern.
+     */
+    private static final class WorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private static final String DEFAULT_NAME_PATTERN = "pool-%f-thread-%t";
+        private static final AtomicInteger globalThreadSequence = new AtomicInteger(1);
+        private static final AtomicInteger factorySequence = new AtomicInteger(1);
+
+        private final String groupName;
+        private final Integer priority;
+        private final String namePattern;
+        private final int factoryId = factorySequence.getAndIncrement();
+        private final AtomicInteger threadSequence = new AtomicInteger(1);
+
+        private WorkerThreadFactory(String groupName, Integer priority, String namePattern) {
+            this.groupName = groupName == null ? "" : groupName;
+            this.priority = priority;
+            this.namePattern = namePattern == null ? DEFAULT_NAME_PATTERN : namePattern;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = new ManagedForkJoinWorkerThread(pool);
+            thread.setName(formatName(thread));
+            if (priority != null) {
+                thread.setPriority(priority);
+            }
+            thread.setDaemon(false);
+            return thread;
+        }
+
+        private String formatName(Thread thread) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = namePattern.length();
+            for (int i = 0; i < length; i++) {
+                final char c = namePattern.charAt(i);
+                if (c != '%' || i + 1 == length) {
+                    builder.append(c);
+                    continue;
+                }
+                final char specifier = namePattern.charAt(++i);
+                switch (specifier) {
+                    case '%':
+                        builder.append('%');
+                        break;
+                    case 't':
+                        builder.append(threadSequence.getAndIncrement());
+                        break;
+                    case 'g':
+                        builder.append(globalThreadSequence.getAndIncrement());
+                        break;
+                    case 'f':
+                        builder.append(factoryId);
+                        break;
+                    case 'i':
+                        builder.append(thread.getId());
+                        break;
+                    case 'G':
+                    case 'p':
+                        builder.append(groupName);
+                        break;
+                    default:
+                        builder.append('%').append(specifier);
+                        break;
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    private static final class ManagedForkJoinWorkerThread extends ForkJoinWorkerThread {
+
+        private ManagedForkJoinWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
@@ -133,18 +133,45 @@ public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorServic
     @Override
     public void executeBlocking(Runnable task)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task);
+        final Runnable timed = timed(task);
+        boolean accepted = false;
+        try {
+            executor.executeBlocking(timed);
+            accepted = true;
+        } finally {
+            if (!accepted) {
+                discard(timed);
+            }
+        }
     }
 
     @Override
     public void executeBlocking(Runnable task, long timeout, TimeUnit unit)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task, timeout, unit);
+        final Runnable timed = timed(task);
+        boolean accepted = false;
+        try {
+            executor.executeBlocking(timed, timeout, unit);
+            accepted = true;
+        } finally {
+            if (!accepted) {
+                discard(timed);
+            }
+        }
     }
 
     @Override
     public void executeNonBlocking(Runnable task)
             throws RejectedExecutionException {
-        executor.executeNonBlocking(task);
+        final Runnable timed = timed(task);
+        boolean accepted = false;
+        try {
+            executor.executeNonBlocking(timed);
+            accepted = true;
+        } finally {
+            if (!accepted) {
+                discard(timed);
+            }
+        }
     }
 }
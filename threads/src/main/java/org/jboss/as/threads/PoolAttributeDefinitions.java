@@ -23,9 +23,12 @@ package org.jboss.as.threads;
 
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -76,6 +79,36 @@ public interface PoolAttributeDefinitions {
             .setAllowExpression(true)
             .build();
 
+    SimpleAttributeDefinition PARALLELISM = new SimpleAttributeDefinitionBuilder(CommonAttributes.PARALLELISM, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, 0x7fff, true, true))
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    SimpleAttributeDefinition ASYNC_MODE = new SimpleAttributeDefinitionBuilder(CommonAttributes.ASYNC_MODE, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    SimpleAttributeDefinition AUTO_TUNE = new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_TUNE, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
+    SimpleAttributeDefinition AUTO_TUNE_MIN_THREADS = new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_TUNE_MIN_THREADS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+            .build();
+
+    SimpleAttributeDefinition AUTO_TUNE_TARGET_QUEUE_WAIT = new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_TUNE_TARGET_QUEUE_WAIT, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(100L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+            .build();
+
     // Metrics
 
     AttributeDefinition CURRENT_THREAD_COUNT = new SimpleAttributeDefinition(CommonAttributes.CURRENT_THREAD_COUNT, ModelType.INT, false);
@@ -85,4 +118,37 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition COMPLETED_TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.COMPLETED_TASK_COUNT, ModelType.INT, false);
     AttributeDefinition TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.TASK_COUNT, ModelType.INT, false);
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinition(CommonAttributes.QUEUE_SIZE, ModelType.INT, false);
+    AttributeDefinition STEAL_COUNT = new SimpleAttributeDefinition(CommonAttributes.STEAL_COUNT, ModelType.LONG, false);
+    AttributeDefinition QUEUED_SUBMISSION_COUNT = new SimpleAttributeDefinition(CommonAttributes.QUEUED_SUBMISSION_COUNT, ModelType.INT, false);
+    AttributeDefinition QUEUED_TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.QUEUED_TASK_COUNT, ModelType.LONG, false);
+    AttributeDefinition RUNNING_THREAD_COUNT = new SimpleAttributeDefinition(CommonAttributes.RUNNING_THREAD_COUNT, ModelType.INT, false);
+    AttributeDefinition EFFECTIVE_CORE_THREADS = new SimpleAttributeDefinition(CommonAttributes.EFFECTIVE_CORE_THREADS, ModelType.INT, false);
+    AttributeDefinition EFFECTIVE_MAX_THREADS = new SimpleAttributeDefinition(CommonAttributes.EFFECTIVE_MAX_THREADS, ModelType.INT, false);
+    AttributeDefinition AUTO_TUNE_ADJUSTMENT_COUNT = new SimpleAttributeDefinition(CommonAttributes.AUTO_TUNE_ADJUSTMENT_COUNT, ModelType.LONG, false);
+
+    // Fields of the task time metrics, in microseconds but for the count
+    SimpleAttributeDefinition TIME_COUNT = new SimpleAttributeDefinition(CommonAttributes.COUNT, ModelType.LONG, false);
+    SimpleAttributeDefinition TIME_MEAN = new SimpleAttributeDefinitionBuilder(CommonAttributes.MEAN, ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition TIME_MAX = new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX, ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition TIME_PERCENTILE_50 = new SimpleAttributeDefinitionBuilder(CommonAttributes.PERCENTILE_50, ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition TIME_PERCENTILE_90 = new SimpleAttributeDefinitionBuilder(CommonAttributes.PERCENTILE_90, ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition TIME_PERCENTILE_99 = new SimpleAttributeDefinitionBuilder(CommonAttributes.PERCENTILE_99, ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    ObjectTypeAttributeDefinition QUEUE_WAIT_TIME = ObjectTypeAttributeDefinition.Builder.of(CommonAttributes.QUEUE_WAIT_TIME,
+            TIME_COUNT, TIME_MEAN, TIME_MAX, TIME_PERCENTILE_50, TIME_PERCENTILE_90, TIME_PERCENTILE_99)
+            .setStorageRuntime()
+            .build();
+    ObjectTypeAttributeDefinition TASK_RUN_TIME = ObjectTypeAttributeDefinition.Builder.of(CommonAttributes.TASK_RUN_TIME,
+            TIME_COUNT, TIME_MEAN, TIME_MAX, TIME_PERCENTILE_50, TIME_PERCENTILE_90, TIME_PERCENTILE_99)
+            .setStorageRuntime()
+            .build();
 }
@@ -39,7 +39,8 @@ import org.jboss.msc.service.ServiceName;
 public class QueuelessThreadPoolMetricsHandler extends ThreadPoolMetricsHandler {
 
     public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.CURRENT_THREAD_COUNT, PoolAttributeDefinitions.LARGEST_THREAD_COUNT,
-            PoolAttributeDefinitions.REJECTED_COUNT,PoolAttributeDefinitions.QUEUE_SIZE);
+            PoolAttributeDefinitions.REJECTED_COUNT,PoolAttributeDefinitions.QUEUE_SIZE, PoolAttributeDefinitions.QUEUE_WAIT_TIME,
+            PoolAttributeDefinitions.TASK_RUN_TIME);
 
     public QueuelessThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
         super(METRICS, serviceNameBase);
@@ -57,6 +58,10 @@ public class QueuelessThreadPoolMetricsHandler extends ThreadPoolMetricsHandler
             context.getResult().set(pool.getRejectedCount());
         }else if (attributeName.equals(CommonAttributes.QUEUE_SIZE)) {
             context.getResult().set(pool.getRejectedCount());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME)) {
+            setTaskTimeResult(context, pool.getQueueWaitTime());
+        } else if (attributeName.equals(CommonAttributes.TASK_RUN_TIME)) {
+            setTaskTimeResult(context, pool.getTaskRunTime());
         } else {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedQueuelessThreadPoolMetric(attributeName);
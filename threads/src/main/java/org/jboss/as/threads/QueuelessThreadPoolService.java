@@ -22,6 +22,7 @@
 
 package org.jboss.as.threads;
 
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -134,4 +135,12 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
     TimeUnit getKeepAliveUnit() {
         return keepAlive == null ? TimeSpec.DEFAULT_KEEPALIVE.getUnit() : keepAlive.getUnit();
     }
+
+    LatencyHistogram getQueueWaitTime() {
+        return getValue().getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return getValue().getTaskRunTime();
+    }
 }
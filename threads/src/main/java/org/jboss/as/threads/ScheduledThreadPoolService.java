@@ -25,6 +25,7 @@ package org.jboss.as.threads;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -134,4 +135,12 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
             context.complete();
         }
     }
+
+    LatencyHistogram getQueueWaitTime() {
+        return getValue().getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return getValue().getTaskRunTime();
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jboss.as.controller.LatencyHistogram;
+
+/**
+ * Measures how long the tasks of a {@link ManagedExecutorService} wait before they start running, and how long they
+ * run.
+ * <p/>
+ * A task is timed by wrapping it before it is handed to the executor. The wrappers are recycled through a fixed set of
+ * slots once their task has run, so that timing a task doesn't allocate as long as there are no more tasks in flight
+ * than there are slots. Past that, extra wrappers are allocated and dropped once their task has run.
+ */
+final class TaskTimer {
+
+    private static final int SLOTS = 128;
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private final AtomicReferenceArray<TimedTask> freeTasks = new AtomicReferenceArray<TimedTask>(SLOTS);
+
+    TaskTimer() {
+        for (int i = 0; i < SLOTS; ++i) {
+            freeTasks.set(i, new TimedTask());
+        }
+    }
+
+    /**
+     * Wraps a task so that it is timed when it runs.
+     *
+     * @param task the task. Cannot be {@code null}
+     * @return the task to hand to the executor
+     */
+    Runnable wrap(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        TimedTask timed = acquire();
+        if (timed == null) {
+            timed = new TimedTask();
+        }
+        timed.task = task;
+        timed.submitted = System.nanoTime();
+        return timed;
+    }
+
+    /**
+     * Takes back a wrapper returned by {@link #wrap(Runnable)} whose task was not accepted by the executor.
+     *
+     * @param task the wrapper
+     */
+    void discard(Runnable task) {
+        if (task instanceof TimedTask) {
+            release((TimedTask) task);
+        }
+    }
+
+    LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    private TimedTask acquire() {
+        // Start at a random slot so concurrent submitters don't all go through the same slots
+        final int start = ThreadLocalRandom.current().nextInt(SLOTS);
+        for (int i = 0; i < SLOTS; ++i) {
+            final int slot = (start + i) & (SLOTS - 1);
+            if (freeTasks.get(slot) != null) {
+                final TimedTask task = freeTasks.getAndSet(slot, null);
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void release(TimedTask task) {
+        task.task = null;
+        final int start = ThreadLocalRandom.current().nextInt(SLOTS);
+        for (int i = 0; i < SLOTS; ++i) {
+            final int slot = (start + i) & (SLOTS - 1);
+            if (freeTasks.get(slot) == null && freeTasks.compareAndSet(slot, null, task)) {
+                return;
+            }
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+
+        private Runnable task;
+
+        private long submitted;
+
+        @Override
+        public void run() {
+            final Runnable task = this.task;
+            final long started = System.nanoTime();
+            queueWaitTime.record(started - submitted);
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - started);
+                release(this);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(task);
+        }
+    }
+}
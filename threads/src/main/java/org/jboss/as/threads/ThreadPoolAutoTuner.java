@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+/**
+ * Computes the core and maximum sizes of a bounded queue thread pool from the load observed since the previous
+ * adjustment.
+ * <p/>
+ * The pool grows when tasks were rejected, when tasks waited longer than the target queue wait or when the threads were
+ * almost always busy. It shrinks when the threads were mostly idle and the tasks didn't wait. The pool grows by a
+ * quarter and shrinks by an eighth, so that it follows a rising load quickly without oscillating when the load settles.
+ */
+final class ThreadPoolAutoTuner {
+
+    /**
+     * How often the pools are adjusted
+     */
+    static final long INTERVAL_SECONDS = 10;
+
+    static final double HIGH_UTILIZATION = 0.9;
+
+    static final double LOW_UTILIZATION = 0.5;
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final long targetQueueWait;
+    private int coreThreads;
+    private int poolMaxThreads;
+
+    /**
+     * @param minThreads the lowest core size
+     * @param maxThreads the highest maximum size
+     * @param targetQueueWait the time, in microseconds, that most tasks should not wait longer than
+     */
+    ThreadPoolAutoTuner(int minThreads, int maxThreads, long targetQueueWait) {
+        this.maxThreads = maxThreads;
+        this.minThreads = Math.min(minThreads, maxThreads);
+        this.targetQueueWait = targetQueueWait;
+    }
+
+    /**
+     * Computes the sizes of the pool, that are then available from {@link #getCoreThreads()} and
+     * {@link #getMaxThreads()}.
+     *
+     * @param currentCoreThreads the current core size of the pool
+     * @param currentMaxThreads the current maximum size of the pool
+     * @param queueWait the 90th percentile of the queue wait time in microseconds over the period
+     * @param utilization the ratio of the time the threads were busy over the period
+     * @param rejected the number of tasks rejected over the period
+     * @return {@code true} if the sizes changed
+     */
+    boolean tune(int currentCoreThreads, int currentMaxThreads, long queueWait, double utilization, long rejected) {
+        int core = clamp(currentCoreThreads);
+        int max = Math.max(core, clamp(currentMaxThreads));
+        if (rejected > 0 || queueWait > targetQueueWait || utilization > HIGH_UTILIZATION) {
+            final int step = Math.max(1, core / 4);
+            core = Math.min(maxThreads, core + step);
+            // Threads beyond the core size only start once the queue is full, so only rejections tell they are missing
+            max = rejected > 0 ? Math.min(maxThreads, max + step) : max;
+        } else if (queueWait <= targetQueueWait / 2 && utilization < LOW_UTILIZATION) {
+            final int step = Math.max(1, core / 8);
+            core = Math.max(minThreads, core - step);
+            max = max - step;
+        }
+        coreThreads = core;
+        poolMaxThreads = Math.max(core, max);
+        return coreThreads != currentCoreThreads || poolMaxThreads != currentMaxThreads;
+    }
+
+    private int clamp(int threads) {
+        return Math.max(minThreads, Math.min(maxThreads, threads));
+    }
+
+    int getCoreThreads() {
+        return coreThreads;
+    }
+
+    int getMaxThreads() {
+        return poolMaxThreads;
+    }
+}
@@ -72,10 +72,30 @@ class ThreadPoolManagementUtils {
                                              final HandoffExecutorResolver handoffExecutorResolver,
                                              final Injector<Executor> handoffExecutorInjector,
                                              final ServiceTarget target) {
+        createThreadPoolService(threadPoolService, threadPoolName, serviceNameBase,
+                threadFactoryName, threadFactoryResolver, threadFactoryInjector,
+                handoffExecutorName, handoffExecutorResolver, handoffExecutorInjector,
+                target).install();
+    }
+
+    /**
+     * Same as {@link #installThreadPoolService(Service, String, ServiceName, String, ThreadFactoryResolver, Injector, String, HandoffExecutorResolver, Injector, ServiceTarget)}
+     * but returns the builder of the thread pool service instead of installing it, so that dependencies can be added.
+     */
+    static <T> ServiceBuilder<T> createThreadPoolService(final Service<T> threadPoolService,
+                                                        final String threadPoolName,
+                                                        final ServiceName serviceNameBase,
+                                                        final String threadFactoryName,
+                                                        final ThreadFactoryResolver threadFactoryResolver,
+                                                        final Injector<ThreadFactory> threadFactoryInjector,
+                                                        final String handoffExecutorName,
+                                                        final HandoffExecutorResolver handoffExecutorResolver,
+                                                        final Injector<Executor> handoffExecutorInjector,
+                                                        final ServiceTarget target) {
 
         final ServiceName threadPoolServiceName = serviceNameBase.append(threadPoolName);
 
-        final ServiceBuilder<?> serviceBuilder = target.addService(threadPoolServiceName, threadPoolService);
+        final ServiceBuilder<T> serviceBuilder = target.addService(threadPoolServiceName, threadPoolService);
 
         final ServiceName threadFactoryServiceName = threadFactoryResolver.resolveThreadFactory(threadFactoryName,
                 threadPoolName, threadPoolServiceName, target);
@@ -89,8 +109,7 @@ class ThreadPoolManagementUtils {
             }
         }
 
-        serviceBuilder.install();
-
+        return serviceBuilder;
     }
 
     static void removeThreadPoolService(final String threadPoolName,
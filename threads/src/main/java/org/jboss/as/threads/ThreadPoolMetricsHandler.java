@@ -27,6 +27,7 @@ import java.util.List;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
@@ -71,6 +72,17 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
 
     protected abstract void setResult(OperationContext context, String attributeName, Service<?> service) throws OperationFailedException;
 
+    static void setTaskTimeResult(final OperationContext context, final LatencyHistogram histogram) {
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        final ModelNode result = context.getResult();
+        result.get(CommonAttributes.COUNT).set(snapshot.getCount());
+        result.get(CommonAttributes.MEAN).set(snapshot.getMean());
+        result.get(CommonAttributes.MAX).set(snapshot.getMax());
+        result.get(CommonAttributes.PERCENTILE_50).set(snapshot.getPercentile(50));
+        result.get(CommonAttributes.PERCENTILE_90).set(snapshot.getPercentile(90));
+        result.get(CommonAttributes.PERCENTILE_99).set(snapshot.getPercentile(99));
+    }
+
     protected ServiceController<?> getService(final OperationContext context, final ModelNode operation)
             throws OperationFailedException {
         final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
@@ -49,7 +49,11 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
                 PoolAttributeDefinitions.THREAD_FACTORY.getName(), PoolAttributeDefinitions.ACTIVE_COUNT.getName(),
                 PoolAttributeDefinitions.COMPLETED_TASK_COUNT.getName(), PoolAttributeDefinitions.CURRENT_THREAD_COUNT.getName(),
                 PoolAttributeDefinitions.LARGEST_THREAD_COUNT.getName(), PoolAttributeDefinitions.TASK_COUNT.getName(),
-                PoolAttributeDefinitions.QUEUE_SIZE.getName()));
+                PoolAttributeDefinitions.QUEUE_SIZE.getName(), PoolAttributeDefinitions.QUEUE_WAIT_TIME.getName(),
+                PoolAttributeDefinitions.TASK_RUN_TIME.getName(), PoolAttributeDefinitions.AUTO_TUNE.getName(),
+                PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.getName(), PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.getName(),
+                PoolAttributeDefinitions.EFFECTIVE_CORE_THREADS.getName(), PoolAttributeDefinitions.EFFECTIVE_MAX_THREADS.getName(),
+                PoolAttributeDefinitions.AUTO_TUNE_ADJUSTMENT_COUNT.getName()));
 
         // note we don't include REJECTED_COUNT as it has a different definition in different resources
     }
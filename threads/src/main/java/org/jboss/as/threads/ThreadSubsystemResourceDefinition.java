@@ -63,5 +63,9 @@ class ThreadSubsystemResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(UnboundedQueueThreadPoolResourceDefinition.create(registerRuntimeOnly));
 
         resourceRegistration.registerSubModel(ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly));
+
+        resourceRegistration.registerSubModel(VirtualThreadExecutorResourceDefinition.create(registerRuntimeOnly));
+
+        resourceRegistration.registerSubModel(ForkJoinPoolResourceDefinition.create(registerRuntimeOnly));
     }
 }
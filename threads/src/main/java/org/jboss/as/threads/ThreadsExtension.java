@@ -49,7 +49,7 @@ public class ThreadsExtension extends AbstractLegacyExtension {
     static final String RESOURCE_NAME = ThreadsExtension.class.getPackage().getName() + ".LocalDescriptions";
 
     private static final int MANAGEMENT_API_MAJOR_VERSION = 1;
-    private static final int MANAGEMENT_API_MINOR_VERSION = 1;
+    private static final int MANAGEMENT_API_MINOR_VERSION = 2;
     private static final int MANAGEMENT_API_MICRO_VERSION = 0;
     static final ModelVersion DEPRECATED_SINCE = ModelVersion.create(1, 1, 0);
 
@@ -77,6 +77,7 @@ public class ThreadsExtension extends AbstractLegacyExtension {
     @Override
     protected void initializeLegacyParsers(ExtensionParsingContext context) {
     context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.CURRENT.getUriString(), ThreadsParser.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.THREADS_1_1.getUriString(), ThreadsParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.THREADS_1_0.getUriString(), ThreadsParser.INSTANCE);
     }
 }
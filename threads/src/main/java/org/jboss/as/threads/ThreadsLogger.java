@@ -25,6 +25,7 @@ package org.jboss.as.threads;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.stream.Location;
@@ -149,4 +150,41 @@ interface ThreadsLogger extends BasicLogger {
 
     @Message(id = 31, value = "unit is null")
     IllegalArgumentException nullUnit();
+
+    @Message(id = 32, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorMetric(String attributeName);
+
+    @Message(id = 33, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorAttribute(String attributeName);
+
+    @Message(id = 34, value = "The executor service hasn't been initialized.")
+    IllegalStateException virtualThreadExecutorUninitialized();
+
+    @Message(id = 35, value = "Service '%s' not found.")
+    OperationFailedException virtualThreadExecutorServiceNotFound(ServiceName serviceName);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 36, value = "Virtual threads are not supported by this runtime, executor '%s' will use platform threads created by its thread factory")
+    void virtualThreadsNotSupported(String executorName);
+
+    @Message(id = 37, value = "Executor '%s' has been shut down")
+    RejectedExecutionException executorShutdown(String executorName);
+
+    @Message(id = 38, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedForkJoinPoolMetric(String attributeName);
+
+    @Message(id = 39, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedForkJoinPoolAttribute(String attributeName);
+
+    @Message(id = 40, value = "The fork join pool hasn't been initialized.")
+    IllegalStateException forkJoinPoolUninitialized();
+
+    @Message(id = 41, value = "Service '%s' not found.")
+    OperationFailedException forkJoinPoolServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 42, value = "Thread pool '%s' resized from %d core and %d maximum threads to %d core and %d maximum threads")
+    String threadPoolResized(String poolName, int previousCoreThreads, int previousMaxThreads, int coreThreads, int maxThreads);
+
+    @Message(id = 43, value = "The thread pool auto-tune scheduler hasn't been initialized.")
+    IllegalStateException autoTuneSchedulerUninitialized();
 }
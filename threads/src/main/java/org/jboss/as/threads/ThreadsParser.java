@@ -36,6 +36,7 @@ import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.FORK_JOIN_POOL;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
@@ -43,6 +44,7 @@ import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -177,6 +179,20 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     parseUnboundedQueueThreadPool(reader, readerNS, threadsNamespace, subsystemAddress, list, UNBOUNDED_QUEUE_THREAD_POOL, null);
                     break;
                 }
+                case FORK_JOIN_POOL: {
+                    if (threadsNamespace == Namespace.THREADS_1_1) {
+                        throw unexpectedElement(reader);
+                    }
+                    parseForkJoinPool(reader, readerNS, subsystemAddress, list, FORK_JOIN_POOL, null);
+                    break;
+                }
+                case VIRTUAL_THREAD_EXECUTOR: {
+                    if (threadsNamespace == Namespace.THREADS_1_1) {
+                        throw unexpectedElement(reader);
+                    }
+                    parseVirtualThreadExecutor(reader, readerNS, threadsNamespace, subsystemAddress, list, VIRTUAL_THREAD_EXECUTOR, null);
+                    break;
+                }
                 default: {
                     throw unexpectedElement(reader);
                 }
@@ -459,6 +475,13 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     PoolAttributeDefinitions.QUEUE_LENGTH.parseAndSetParameter(scaledCount, op, reader);
                     break;
                 }
+                case AUTO_TUNE: {
+                    if (threadsNamespace == Namespace.THREADS_1_1) {
+                        throw unexpectedElement(reader);
+                    }
+                    parseAutoTune(reader, op);
+                    break;
+                }
                 default: {
                     throw unexpectedElement(reader);
                 }
@@ -470,6 +493,32 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         return name;
     }
 
+    private void parseAutoTune(final XMLExtendedStreamReader reader, final ModelNode op) throws XMLStreamException {
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case ENABLED: {
+                    PoolAttributeDefinitions.AUTO_TUNE.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                case MIN_THREADS: {
+                    PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                case TARGET_QUEUE_WAIT: {
+                    PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        ParseUtils.requireNoContent(reader);
+    }
+
     public String parseUnboundedQueueThreadPool(final XMLExtendedStreamReader reader, String expectedNs, Namespace threadsNamespace, final ModelNode parentAddress,
                                                 final List<ModelNode> list, final String childType, final String providedName) throws XMLStreamException {
         final ModelNode op = new ModelNode();
@@ -770,6 +819,124 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         return name;
     }
 
+    public String parseVirtualThreadExecutor(final XMLExtendedStreamReader reader, String expectedNs, Namespace threadsNamespace, final ModelNode parentAddress,
+                                             final List<ModelNode> list, final String childType, final String providedName) throws XMLStreamException {
+        final ModelNode op = new ModelNode();
+        list.add(op);
+        op.get(OP).set(ADD);
+
+        String name = null;
+        int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case THREAD_NAME_PATTERN: {
+                    PoolAttributeDefinitions.THREAD_NAME_PATTERN.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (providedName != null) {
+            name = providedName;
+        } else if (name == null) {
+            throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+
+        final ModelNode address = parentAddress.clone();
+        address.add(childType, name);
+        address.protect();
+        op.get(OP_ADDR).set(address);
+
+        boolean foundMaxThreads = false;
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            Element element = nextElement(reader, expectedNs);
+            switch (element) {
+                case MAX_THREADS: {
+                    String scaledCount = parseCount(reader, threadsNamespace);
+                    PoolAttributeDefinitions.MAX_THREADS.parseAndSetParameter(scaledCount, op, reader);
+                    foundMaxThreads = true;
+                    break;
+                }
+                case THREAD_FACTORY: {
+                    String ref = readStringAttributeElement(reader, Attribute.NAME.getLocalName());
+                    PoolAttributeDefinitions.THREAD_FACTORY.parseAndSetParameter(ref, op, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        if (!foundMaxThreads) {
+            throw missingRequiredElement(reader, Collections.singleton(Element.MAX_THREADS));
+        }
+        return name;
+    }
+
+    public String parseForkJoinPool(final XMLExtendedStreamReader reader, String expectedNs, final ModelNode parentAddress,
+                                    final List<ModelNode> list, final String childType, final String providedName) throws XMLStreamException {
+        final ModelNode op = new ModelNode();
+        list.add(op);
+        op.get(OP).set(ADD);
+
+        String name = null;
+        int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case PARALLELISM: {
+                    PoolAttributeDefinitions.PARALLELISM.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                case ASYNC_MODE: {
+                    PoolAttributeDefinitions.ASYNC_MODE.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (providedName != null) {
+            name = providedName;
+        } else if (name == null) {
+            throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+
+        final ModelNode address = parentAddress.clone();
+        address.add(childType, name);
+        address.protect();
+        op.get(OP_ADDR).set(address);
+
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            Element element = nextElement(reader, expectedNs);
+            switch (element) {
+                case THREAD_FACTORY: {
+                    String ref = readStringAttributeElement(reader, Attribute.NAME.getLocalName());
+                    PoolAttributeDefinitions.THREAD_FACTORY.parseAndSetParameter(ref, op, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        return name;
+    }
+
     private String parseCount(final XMLExtendedStreamReader reader, Namespace expectedNS) throws XMLStreamException {
         switch (expectedNS) {
             case THREADS_1_0:
@@ -954,6 +1121,16 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
             }
 
         }
+        if (node.hasDefined(VIRTUAL_THREAD_EXECUTOR)) {
+            for (Property property : node.get(VIRTUAL_THREAD_EXECUTOR).asPropertyList()) {
+                writeVirtualThreadExecutor(writer, property);
+            }
+        }
+        if (node.hasDefined(FORK_JOIN_POOL)) {
+            for (Property property : node.get(FORK_JOIN_POOL).asPropertyList()) {
+                writeForkJoinPool(writer, property);
+            }
+        }
     }
 
     public void writeThreadFactory(final XMLExtendedStreamWriter writer, final Property property) throws XMLStreamException {
@@ -1004,9 +1181,27 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         if (!blocking) {
             writeRef(writer, node, Element.HANDOFF_EXECUTOR, HANDOFF_EXECUTOR);
         }
+        writeAutoTune(writer, node);
         writer.writeEndElement();
     }
 
+    private void writeAutoTune(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+        if (PoolAttributeDefinitions.AUTO_TUNE.isMarshallable(node) || PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS.isMarshallable(node)
+                || PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT.isMarshallable(node)) {
+            writer.writeEmptyElement(Element.AUTO_TUNE.getLocalName());
+            writeAttribute(writer, node, PoolAttributeDefinitions.AUTO_TUNE, Attribute.ENABLED);
+            writeAttribute(writer, node, PoolAttributeDefinitions.AUTO_TUNE_MIN_THREADS, Attribute.MIN_THREADS);
+            writeAttribute(writer, node, PoolAttributeDefinitions.AUTO_TUNE_TARGET_QUEUE_WAIT, Attribute.TARGET_QUEUE_WAIT);
+        }
+    }
+
+    private void writeAttribute(final XMLExtendedStreamWriter writer, final ModelNode node, final AttributeDefinition attributeDefinition,
+                                final Attribute attribute) throws XMLStreamException {
+        if (attributeDefinition.isMarshallable(node)) {
+            writer.writeAttribute(attribute.getLocalName(), node.get(attributeDefinition.getName()).asString());
+        }
+    }
+
     private void writeCountElement(AttributeDefinition attributeDefinition, ModelNode model, XMLExtendedStreamWriter writer) throws XMLStreamException {
         if (attributeDefinition.isMarshallable(model)) {
             writer.writeEmptyElement(attributeDefinition.getXmlName());
@@ -1078,6 +1273,42 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         writer.writeEndElement();
     }
 
+    public void writeVirtualThreadExecutor(final XMLExtendedStreamWriter writer, final Property property) throws XMLStreamException {
+        writeVirtualThreadExecutor(writer, property, Element.VIRTUAL_THREAD_EXECUTOR.getLocalName(), true);
+    }
+
+    public void writeVirtualThreadExecutor(final XMLExtendedStreamWriter writer, final Property property, final String elementName, final boolean includeName)
+            throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        ModelNode node = property.getValue();
+        if (includeName) {
+            writer.writeAttribute(Attribute.NAME.getLocalName(), property.getName());
+        }
+        PoolAttributeDefinitions.THREAD_NAME_PATTERN.marshallAsAttribute(node, writer);
+        writeCountElement(PoolAttributeDefinitions.MAX_THREADS, node, writer);
+        writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+
+        writer.writeEndElement();
+    }
+
+    public void writeForkJoinPool(final XMLExtendedStreamWriter writer, final Property property) throws XMLStreamException {
+        writeForkJoinPool(writer, property, Element.FORK_JOIN_POOL.getLocalName(), true);
+    }
+
+    public void writeForkJoinPool(final XMLExtendedStreamWriter writer, final Property property, final String elementName, final boolean includeName)
+            throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        ModelNode node = property.getValue();
+        if (includeName) {
+            writer.writeAttribute(Attribute.NAME.getLocalName(), property.getName());
+        }
+        PoolAttributeDefinitions.PARALLELISM.marshallAsAttribute(node, writer);
+        PoolAttributeDefinitions.ASYNC_MODE.marshallAsAttribute(node, writer);
+        writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+
+        writer.writeEndElement();
+    }
+
     private void writeRef(final XMLExtendedStreamWriter writer, final ModelNode node, Element element, String name)
             throws XMLStreamException {
         if (node.hasDefined(name)) {
@@ -41,7 +41,8 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
     public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.ACTIVE_COUNT,
             PoolAttributeDefinitions.COMPLETED_TASK_COUNT, PoolAttributeDefinitions.CURRENT_THREAD_COUNT,
             PoolAttributeDefinitions.LARGEST_THREAD_COUNT, PoolAttributeDefinitions.REJECTED_COUNT,
-            PoolAttributeDefinitions.TASK_COUNT, PoolAttributeDefinitions.QUEUE_SIZE);
+            PoolAttributeDefinitions.TASK_COUNT, PoolAttributeDefinitions.QUEUE_SIZE, PoolAttributeDefinitions.QUEUE_WAIT_TIME,
+            PoolAttributeDefinitions.TASK_RUN_TIME);
 
     public UnboundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
         super(METRICS, serviceNameBase);
@@ -65,6 +66,10 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
             context.getResult().set(pool.getTaskCount());
         }else if (attributeName.equals(CommonAttributes.QUEUE_SIZE)) {
             context.getResult().set(pool.getQueueSize());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME)) {
+            setTaskTimeResult(context, pool.getQueueWaitTime());
+        } else if (attributeName.equals(CommonAttributes.TASK_RUN_TIME)) {
+            setTaskTimeResult(context, pool.getTaskRunTime());
         } else {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedUnboundedQueueThreadPoolMetric(attributeName);
@@ -26,6 +26,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -147,4 +148,12 @@ public class UnboundedQueueThreadPoolService implements Service<ManagedJBossThre
     TimeUnit getKeepAliveUnit() {
         return keepAlive == null ? TimeSpec.DEFAULT_KEEPALIVE.getUnit() : keepAlive.getUnit();
     }
+
+    LatencyHistogram getQueueWaitTime() {
+        return getValue().getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return getValue().getTaskRunTime();
+    }
 }
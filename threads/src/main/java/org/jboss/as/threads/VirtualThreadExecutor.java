@@ -0,0 +1,371 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * Executor running each task on a virtual thread, with a cap on the number of tasks running at the same time.
+ * <p>
+ * Tasks submitted while the cap is reached are queued and picked up by the threads of the executor as they complete their
+ * current task. When the runtime doesn't support virtual threads, threads are created by the fallback thread factory.
+ * </p>
+ */
+final class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private final String name;
+    private final ThreadFactory threadFactory;
+    private final String threadNamePattern;
+    private final AtomicInteger threadSequence = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+    // ConcurrentLinkedQueue.size() traverses the queue
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final Runnable worker = new Worker();
+    private final List<ShutdownListener<?>> shutdownListeners = new ArrayList<ShutdownListener<?>>();
+    private volatile int maxThreads;
+    private volatile boolean shutdown;
+    private boolean terminated;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param name the name of the executor, used in messages and as default thread name prefix
+     * @param maxThreads the maximum number of tasks running at the same time
+     * @param threadNamePattern the pattern of the names of the threads, or {@code null} to keep the names given by the
+     *                          fallback thread factory and to use a name derived from the executor name for virtual threads
+     * @param fallbackThreadFactory the thread factory used if virtual threads are not supported
+     */
+    VirtualThreadExecutor(String name, int maxThreads, String threadNamePattern, ThreadFactory fallbackThreadFactory) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        if (VIRTUAL_THREAD_FACTORY != null) {
+            this.threadFactory = VIRTUAL_THREAD_FACTORY;
+            this.threadNamePattern = threadNamePattern == null ? name + "-%t" : threadNamePattern;
+        } else {
+            ThreadsLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+            this.threadFactory = fallbackThreadFactory;
+            this.threadNamePattern = threadNamePattern;
+        }
+    }
+
+    /**
+     * Gets the factory of virtual threads of the runtime. Virtual threads were added in Java 21, so the factory is
+     * looked up reflectively.
+     *
+     * @return the factory, or {@code null} if the runtime doesn't support virtual threads
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available, or a preview feature which isn't enabled
+            return null;
+        }
+    }
+
+    static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            rejectedCount.increment();
+            throw ThreadsLogger.ROOT_LOGGER.executorShutdown(name);
+        }
+        queue.add(task);
+        queueSize.incrementAndGet();
+        if (shutdown && queue.remove(task)) {
+            // Shut down concurrently, the task may never be picked up
+            queueSize.decrementAndGet();
+            rejectedCount.increment();
+            // The shutdown may have seen the task queued and left the termination to whoever removes it
+            terminateIfIdle();
+            throw ThreadsLogger.ROOT_LOGGER.executorShutdown(name);
+        }
+        startThread();
+    }
+
+    /**
+     * Starts a new thread if a task is queued and the maximum number of threads isn't reached.
+     *
+     * @return {@code true} if a thread was started
+     */
+    private boolean startThread() {
+        for (;;) {
+            final int count = threadCount.get();
+            if (count >= maxThreads || queue.isEmpty()) {
+                return false;
+            }
+            if (threadCount.compareAndSet(count, count + 1)) {
+                break;
+            }
+        }
+        boolean started = false;
+        try {
+            final Thread thread = threadFactory.newThread(worker);
+            if (thread != null) {
+                if (threadNamePattern != null) {
+                    thread.setName(formatThreadName(thread));
+                }
+                thread.start();
+                started = true;
+            }
+        } finally {
+            if (started) {
+                updateLargestThreadCount();
+            } else {
+                // Queued tasks are left to the running threads
+                if (threadCount.decrementAndGet() == 0 && shutdown && queue.isEmpty()) {
+                    terminate();
+                }
+            }
+        }
+        return started;
+    }
+
+    private void updateLargestThreadCount() {
+        final int count = threadCount.get();
+        int largest;
+        do {
+            largest = largestThreadCount.get();
+        } while (count > largest && !largestThreadCount.compareAndSet(largest, count));
+    }
+
+    /**
+     * Formats the name of a thread, replacing {@code %t} with the sequence number of the thread in this executor,
+     * {@code %i} with the thread id and {@code %%} with a percent sign.
+     */
+    private String formatThreadName(Thread thread) {
+        final StringBuilder builder = new StringBuilder(threadNamePattern.length() + 8);
+        final int length = threadNamePattern.length();
+        for (int i = 0; i < length; i++) {
+            final char c = threadNamePattern.charAt(i);
+            if (c == '%' && i + 1 < length) {
+                final char next = threadNamePattern.charAt(i + 1);
+                if (next == 't') {
+                    builder.append(threadSequence.incrementAndGet());
+                    i++;
+                    continue;
+                } else if (next == 'i') {
+                    builder.append(thread.getId());
+                    i++;
+                    continue;
+                } else if (next == '%') {
+                    builder.append('%');
+                    i++;
+                    continue;
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Called when a thread stops picking up tasks.
+     *
+     * @return {@code true} if the thread released its slot, {@code false} if it took it back to run tasks queued meanwhile
+     */
+    private boolean threadExited() {
+        final int count = threadCount.decrementAndGet();
+        if (!queue.isEmpty() && count < maxThreads && threadCount.compareAndSet(count, count + 1)) {
+            return false;
+        }
+        if (count == 0 && shutdown && queue.isEmpty()) {
+            terminate();
+        }
+        return true;
+    }
+
+    private void terminate() {
+        final List<ShutdownListener<?>> listeners;
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            notifyAll();
+            listeners = new ArrayList<ShutdownListener<?>>(shutdownListeners);
+            shutdownListeners.clear();
+        }
+        for (ShutdownListener<?> listener : listeners) {
+            listener.notifyShutdown();
+        }
+    }
+
+    <A> void addShutdownListener(final EventListener<A> listener, final A attachment) {
+        final ShutdownListener<A> shutdownListener = new ShutdownListener<A>(listener, attachment);
+        synchronized (this) {
+            if (!terminated) {
+                shutdownListeners.add(shutdownListener);
+                return;
+            }
+        }
+        shutdownListener.notifyShutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        terminateIfIdle();
+    }
+
+    /**
+     * Terminates the executor if it is shut down, and no thread is running and no task is queued.
+     */
+    private void terminateIfIdle() {
+        if (shutdown && threadCount.get() == 0 && queue.isEmpty()) {
+            terminate();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            tasks.add(task);
+        }
+        if (threadCount.get() == 0) {
+            terminate();
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return terminated;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + remaining;
+        while (!terminated) {
+            if (remaining <= 0L) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return true;
+    }
+
+    int getMaxThreads() {
+        return maxThreads;
+    }
+
+    void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+        // Run the queued tasks allowed by a raised limit, a lowered limit is applied as running tasks complete
+        while (startThread()) {
+            // keep starting threads
+        }
+    }
+
+    int getCurrentThreadCount() {
+        return threadCount.get();
+    }
+
+    int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    int getQueueSize() {
+        return queueSize.get();
+    }
+
+    int getRejectedCount() {
+        return rejectedCount.intValue();
+    }
+
+    private final class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            do {
+                Runnable task;
+                while (threadCount.get() <= maxThreads && (task = queue.poll()) != null) {
+                    queueSize.decrementAndGet();
+                    activeCount.incrementAndGet();
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        final Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                    } finally {
+                        activeCount.decrementAndGet();
+                    }
+                }
+            } while (!threadExited());
+        }
+    }
+
+    private static final class ShutdownListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        private ShutdownListener(EventListener<A> listener, A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        void notifyShutdown() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReadResourceNameOperationStepHandler;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for an executor running tasks on virtual threads.
+ */
+public class VirtualThreadExecutorResourceDefinition extends SimpleResourceDefinition {
+
+    public static VirtualThreadExecutorResourceDefinition create(boolean registerRuntimeOnly) {
+        return create(CommonAttributes.VIRTUAL_THREAD_EXECUTOR, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly);
+    }
+
+    public static VirtualThreadExecutorResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                                 ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        final VirtualThreadExecutorAdd addHandler = new VirtualThreadExecutorAdd(threadFactoryResolver, serviceNameBase);
+        return new VirtualThreadExecutorResourceDefinition(registerRuntimeOnly, type, serviceNameBase, addHandler);
+    }
+
+    private final boolean registerRuntimeOnly;
+    private final ServiceName serviceNameBase;
+
+    private VirtualThreadExecutorResourceDefinition(boolean registerRuntimeOnly, String type, ServiceName serviceNameBase,
+                                                    VirtualThreadExecutorAdd addHandler) {
+        super(PathElement.pathElement(type),
+                new ThreadPoolResourceDescriptionResolver(CommonAttributes.VIRTUAL_THREAD_EXECUTOR, ThreadsExtension.RESOURCE_NAME,
+                        ThreadsExtension.class.getClassLoader()),
+                addHandler, new VirtualThreadExecutorRemove(addHandler));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerReadOnlyAttribute(PoolAttributeDefinitions.NAME, ReadResourceNameOperationStepHandler.INSTANCE);
+        new VirtualThreadExecutorWriteAttributeHandler(serviceNameBase).registerAttributes(resourceRegistration);
+        if (registerRuntimeOnly) {
+            new VirtualThreadExecutorMetricsHandler(serviceNameBase).registerAttributes(resourceRegistration);
+        }
+    }
+}
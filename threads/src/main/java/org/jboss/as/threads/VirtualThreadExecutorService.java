@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping an executor running tasks on virtual threads.
+ */
+public class VirtualThreadExecutorService implements Service<ManagedVirtualThreadExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private final String name;
+    private final String threadNamePattern;
+
+    private ManagedVirtualThreadExecutorService executor;
+
+    private int maxThreads;
+
+    public VirtualThreadExecutorService(String name, int maxThreads, String threadNamePattern) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.threadNamePattern = threadNamePattern;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        executor = new ManagedVirtualThreadExecutorService(new VirtualThreadExecutor(name, maxThreads, threadNamePattern,
+                threadFactoryValue.getValue()));
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedVirtualThreadExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedVirtualThreadExecutorService getValue() throws IllegalStateException {
+        final ManagedVirtualThreadExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadExecutorUninitialized();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the injector of the thread factory creating the threads of the executor if the runtime doesn't support
+     * virtual threads.
+     *
+     * @return the injector
+     */
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+        final ManagedVirtualThreadExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setMaxThreads(maxThreads);
+        }
+    }
+
+    public int getCurrentThreadCount() {
+        return getValue().getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return getValue().getLargestThreadCount();
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return getValue().getQueueSize();
+    }
+
+    public int getRejectedCount() {
+        return getValue().getRejectedCount();
+    }
+
+    LatencyHistogram getQueueWaitTime() {
+        return getValue().getQueueWaitTime();
+    }
+
+    LatencyHistogram getTaskRunTime() {
+        return getValue().getTaskRunTime();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Handles attribute writes for an executor running tasks on virtual threads.
+ */
+public class VirtualThreadExecutorWriteAttributeHandler extends ThreadsWriteAttributeOperationHandler {
+
+    private final ServiceName serviceNameBase;
+
+    public VirtualThreadExecutorWriteAttributeHandler(ServiceName serviceNameBase) {
+        super(VirtualThreadExecutorAdd.ATTRIBUTES, VirtualThreadExecutorAdd.RW_ATTRIBUTES);
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    protected void applyOperation(final OperationContext context, ModelNode model, String attributeName,
+                                  ServiceController<?> service, boolean forRollback) throws OperationFailedException {
+
+        final VirtualThreadExecutorService executor = (VirtualThreadExecutorService) service.getService();
+
+        if (PoolAttributeDefinitions.MAX_THREADS.getName().equals(attributeName)) {
+            executor.setMaxThreads(PoolAttributeDefinitions.MAX_THREADS.resolveModelAttribute(context, model).asInt());
+        } else if (!forRollback) {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw ThreadsLogger.ROOT_LOGGER.unsupportedVirtualThreadExecutorAttribute(attributeName);
+        }
+    }
+
+    @Override
+    protected ServiceController<?> getService(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final String name = Util.getNameFromAddress(model.require(OP_ADDR));
+        final ServiceName serviceName = serviceNameBase.append(name);
+        ServiceController<?> controller = context.getServiceRegistry(true).getService(serviceName);
+        if (controller == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadExecutorServiceNotFound(serviceName);
+        }
+        return controller;
+    }
+}
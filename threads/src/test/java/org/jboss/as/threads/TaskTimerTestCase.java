@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TaskTimer}.
+ */
+public class TaskTimerTestCase {
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; ++i) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50500, snapshot.getMean());
+        assertEquals(100000, snapshot.getMax());
+        assertWithin(50000, snapshot.getPercentile(50));
+        assertWithin(90000, snapshot.getPercentile(90));
+        assertWithin(99000, snapshot.getPercentile(99));
+        assertEquals(100000, snapshot.getPercentile(100));
+    }
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.getPercentile(99));
+    }
+
+    @Test
+    public void testTimedTask() {
+        final TaskTimer timer = new TaskTimer();
+        final int[] runs = new int[1];
+        final Runnable task = timer.wrap(new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+            }
+        });
+        task.run();
+        assertEquals(1, runs[0]);
+        assertEquals(1, timer.getQueueWaitTime().snapshot().getCount());
+        assertEquals(1, timer.getRunTime().snapshot().getCount());
+    }
+
+    @Test
+    public void testFailedTask() {
+        final TaskTimer timer = new TaskTimer();
+        final Runnable task = timer.wrap(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException();
+            }
+        });
+        try {
+            task.run();
+            fail("Task should have failed");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        assertEquals(1, timer.getRunTime().snapshot().getCount());
+    }
+
+    @Test
+    public void testWrappersAreRecycled() {
+        final TaskTimer timer = new TaskTimer();
+        final Runnable noop = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        final Set<Runnable> wrappers = Collections.newSetFromMap(new IdentityHashMap<Runnable, Boolean>());
+        Runnable wrapped;
+        do {
+            wrapped = timer.wrap(noop);
+        } while (wrappers.add(wrapped) && wrappers.size() < 1000);
+        // Past the preallocated wrappers, new ones are allocated
+        assertEquals(1000, wrappers.size());
+        final Runnable last = wrapped;
+        wrappers.remove(last);
+        final Runnable first = wrappers.iterator().next();
+        first.run();
+        timer.discard(last);
+        // The wrapper of the task that ran is free again, as well as the one that was discarded
+        final Runnable recycled = timer.wrap(noop);
+        assertTrue(recycled == first || recycled == last);
+        final Runnable other = timer.wrap(noop);
+        assertTrue(other == first || other == last);
+        assertNotSame(recycled, other);
+        assertEquals(noop.toString(), other.toString());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 25% of " + expected, actual >= expected && actual <= expected * 5 / 4);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link ThreadPoolAutoTuner}.
+ */
+public class ThreadPoolAutoTunerTestCase {
+
+    @Test
+    public void testGrowOnRejections() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(1, 100, 1000);
+        assertTrue(tuner.tune(8, 10, 0, 0.2, 5));
+        assertEquals(10, tuner.getCoreThreads());
+        assertEquals(12, tuner.getMaxThreads());
+    }
+
+    @Test
+    public void testGrowOnQueueWait() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(1, 100, 1000);
+        assertTrue(tuner.tune(8, 10, 5000, 0.2, 0));
+        assertEquals(10, tuner.getCoreThreads());
+        // Without rejections, the maximum only follows the core size
+        assertEquals(10, tuner.getMaxThreads());
+
+        assertTrue(tuner.tune(10, 10, 5000, 0.2, 0));
+        assertEquals(12, tuner.getCoreThreads());
+        assertEquals(12, tuner.getMaxThreads());
+    }
+
+    @Test
+    public void testGrowOnUtilization() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(1, 100, 1000);
+        assertTrue(tuner.tune(2, 4, 0, 0.95, 0));
+        assertEquals(3, tuner.getCoreThreads());
+        assertEquals(4, tuner.getMaxThreads());
+    }
+
+    @Test
+    public void testShrinkWhenIdle() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(1, 100, 1000);
+        assertTrue(tuner.tune(16, 20, 100, 0.1, 0));
+        assertEquals(14, tuner.getCoreThreads());
+        assertEquals(18, tuner.getMaxThreads());
+    }
+
+    @Test
+    public void testSteady() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(1, 100, 1000);
+        assertFalse(tuner.tune(16, 20, 800, 0.7, 0));
+        assertEquals(16, tuner.getCoreThreads());
+        assertEquals(20, tuner.getMaxThreads());
+    }
+
+    @Test
+    public void testBounds() {
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(4, 10, 1000);
+        assertTrue(tuner.tune(8, 10, 5000, 1.0, 100));
+        assertEquals(10, tuner.getCoreThreads());
+        assertEquals(10, tuner.getMaxThreads());
+        assertFalse(tuner.tune(10, 10, 5000, 1.0, 100));
+
+        assertTrue(tuner.tune(5, 5, 0, 0.0, 0));
+        assertEquals(4, tuner.getCoreThreads());
+        assertEquals(4, tuner.getMaxThreads());
+        assertFalse(tuner.tune(4, 4, 0, 0.0, 0));
+
+        // Sizes outside of the bounds are brought back within them
+        assertTrue(tuner.tune(1, 50, 800, 0.7, 0));
+        assertEquals(4, tuner.getCoreThreads());
+        assertEquals(10, tuner.getMaxThreads());
+    }
+}
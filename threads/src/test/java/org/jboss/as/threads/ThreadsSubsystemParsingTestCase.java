@@ -40,14 +40,20 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUB
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
+import static org.jboss.as.threads.CommonAttributes.ASYNC_MODE;
+import static org.jboss.as.threads.CommonAttributes.AUTO_TUNE;
+import static org.jboss.as.threads.CommonAttributes.AUTO_TUNE_MIN_THREADS;
+import static org.jboss.as.threads.CommonAttributes.AUTO_TUNE_TARGET_QUEUE_WAIT;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
+import static org.jboss.as.threads.CommonAttributes.FORK_JOIN_POOL;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.PARALLELISM;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
@@ -58,6 +64,7 @@ import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -239,6 +246,22 @@ public class ThreadsSubsystemParsingTestCase extends AbstractSubsystemTest {
                 unboundedThreadPoolDesc.require(ATTRIBUTES).require(KEEPALIVE_TIME).require(VALUE_TYPE).require(UNIT)
                         .require(TYPE).asType());
 
+        ModelNode virtualThreadExecutorDesc = threadsDescription.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, MODEL_DESCRIPTION, "*");
+        assertEquals(ModelType.STRING, virtualThreadExecutorDesc.require(ATTRIBUTES).require(NAME).require(TYPE).asType());
+        assertEquals(ModelType.STRING, virtualThreadExecutorDesc.require(ATTRIBUTES).require(THREAD_FACTORY).require(TYPE)
+                .asType());
+        assertEquals(ModelType.STRING, virtualThreadExecutorDesc.require(ATTRIBUTES).require(THREAD_NAME_PATTERN).require(TYPE)
+                .asType());
+        assertEquals(ModelType.INT, virtualThreadExecutorDesc.require(ATTRIBUTES).require(MAX_THREADS).require(TYPE).asType());
+        assertFalse(virtualThreadExecutorDesc.require(ATTRIBUTES).has(KEEPALIVE_TIME));
+
+        ModelNode forkJoinPoolDesc = threadsDescription.get(CHILDREN, FORK_JOIN_POOL, MODEL_DESCRIPTION, "*");
+        assertEquals(ModelType.STRING, forkJoinPoolDesc.require(ATTRIBUTES).require(NAME).require(TYPE).asType());
+        assertEquals(ModelType.STRING, forkJoinPoolDesc.require(ATTRIBUTES).require(THREAD_FACTORY).require(TYPE).asType());
+        assertEquals(ModelType.INT, forkJoinPoolDesc.require(ATTRIBUTES).require(PARALLELISM).require(TYPE).asType());
+        assertEquals(ModelType.BOOLEAN, forkJoinPoolDesc.require(ATTRIBUTES).require(ASYNC_MODE).require(TYPE).asType());
+        assertFalse(forkJoinPoolDesc.require(ATTRIBUTES).has(MAX_THREADS));
+
     }
 
     @Test
@@ -1055,6 +1078,131 @@ public class ThreadsSubsystemParsingTestCase extends AbstractSubsystemTest {
         assertEquals(2, threadFactory.keys().size());
     }
 
+    @Test
+    public void testBoundedQueueThreadPoolAutoTune() throws Exception {
+        List<ModelNode> updates = createSubSystem("<bounded-queue-thread-pool name=\"test-pool\">" +
+                "   <core-threads count=\"4\"/>" +
+                "   <queue-length count=\"10\"/>" +
+                "   <max-threads count=\"20\"/>" +
+                "   <auto-tune enabled=\"true\" min-threads=\"2\" target-queue-wait=\"50\"/>" +
+                "</bounded-queue-thread-pool>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+
+        ModelNode pool = model.require("subsystem").require("threads").require(BOUNDED_QUEUE_THREAD_POOL).require("test-pool");
+        assertTrue(pool.require(AUTO_TUNE).asBoolean());
+        assertEquals(2, pool.require(AUTO_TUNE_MIN_THREADS).asInt());
+        assertEquals(50L, pool.require(AUTO_TUNE_TARGET_QUEUE_WAIT).asLong());
+    }
+
+    @Test
+    public void testBoundedQueueThreadPoolAutoTune1_1() throws Exception {
+        try {
+            createSubSystem("<bounded-queue-thread-pool name=\"test-pool\">" +
+                    "   <queue-length count=\"10\"/>" +
+                    "   <max-threads count=\"20\"/>" +
+                    "   <auto-tune enabled=\"true\"/>" +
+                    "</bounded-queue-thread-pool>", Namespace.THREADS_1_1);
+            fail("Expected failure for an element not supported by the namespace");
+        } catch (XMLStreamException e) {
+        }
+    }
+
+    @Test
+    public void testSimpleVirtualThreadExecutor() throws Exception {
+        List<ModelNode> updates = createSubSystem("<virtual-thread-executor name=\"test-executor\"><max-threads count=\"1000\"/></virtual-thread-executor>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("subsystem").require("threads");
+        ModelNode executor = subsystem.require("virtual-thread-executor");
+        assertEquals(1, executor.keys().size());
+        assertEquals(1000, executor.require("test-executor").require("max-threads").asInt());
+    }
+
+    @Test
+    public void testFullVirtualThreadExecutor() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<thread-factory name=\"test-factory\"/>" +
+                        "<virtual-thread-executor name=\"test-executor\" thread-name-pattern=\"test-%t\">" +
+                        "   <max-threads count=\"1000\"/>" +
+                        "   <thread-factory name=\"test-factory\"/>" +
+                        "</virtual-thread-executor>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+        executeForResult(updates.get(2));
+
+        ModelNode subsystem = model.require("subsystem").require("threads");
+        ModelNode executor = subsystem.require("virtual-thread-executor").require("test-executor");
+        assertEquals(1000, executor.require("max-threads").asInt());
+        assertEquals("test-%t", executor.require("thread-name-pattern").asString());
+        assertEquals("test-factory", executor.require("thread-factory").asString());
+    }
+
+    @Test
+    public void testVirtualThreadExecutor1_1() throws Exception {
+        try {
+            createSubSystem("<virtual-thread-executor name=\"test-executor\"><max-threads count=\"1000\"/></virtual-thread-executor>",
+                    Namespace.THREADS_1_1);
+            fail("Expected failure for an element not supported by the namespace");
+        } catch (XMLStreamException e) {
+        }
+    }
+
+    @Test
+    public void testSimpleForkJoinPool() throws Exception {
+        List<ModelNode> updates = createSubSystem("<fork-join-pool name=\"test-pool\"/>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("subsystem").require("threads");
+        ModelNode pool = subsystem.require("fork-join-pool");
+        assertEquals(1, pool.keys().size());
+        assertFalse(pool.require("test-pool").hasDefined("parallelism"));
+    }
+
+    @Test
+    public void testFullForkJoinPool() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<thread-factory name=\"test-factory\"/>" +
+                        "<fork-join-pool name=\"test-pool\" parallelism=\"4\" async-mode=\"true\">" +
+                        "   <thread-factory name=\"test-factory\"/>" +
+                        "</fork-join-pool>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+        executeForResult(updates.get(2));
+
+        ModelNode subsystem = model.require("subsystem").require("threads");
+        ModelNode pool = subsystem.require("fork-join-pool").require("test-pool");
+        assertEquals(4, pool.require("parallelism").asInt());
+        assertTrue(pool.require("async-mode").asBoolean());
+        assertEquals("test-factory", pool.require("thread-factory").asString());
+    }
+
+    @Test
+    public void testForkJoinPoolInvalidParallelismValue() throws Exception {
+        try {
+            createSubSystem("<fork-join-pool name=\"test-pool\" parallelism=\"0\"/>");
+            fail("Expected failure for invalid parallelism");
+        } catch (XMLStreamException e) {
+        }
+    }
+
     private ModelNode createOperation(String operationName, String... address) {
         ModelNode operation = new ModelNode();
         operation.get(OP).set(operationName);
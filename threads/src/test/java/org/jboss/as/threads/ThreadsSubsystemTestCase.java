@@ -46,18 +46,23 @@ public class ThreadsSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("threads-subsystem-1_1.xml");
+        return readResource("threads-subsystem-1_2.xml");
     }
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/jboss-as-threads_1_1.xsd";
+        return "schema/jboss-as-threads_1_2.xsd";
     }
 
     @Test
     public void testExpressions() throws Exception {
         standardSubsystemTest("expressions.xml");
     }
+
+    @Test
+    public void testSubsystem1_1() throws Exception {
+        standardSubsystemTest("threads-subsystem-1_1.xml", false);
+    }
     @Override
     protected void validateDescribeOperation(KernelServices hc, AdditionalInitialization serverInit, ModelNode expectedModel) throws Exception {
         final ModelNode operation = createDescribeOperation();